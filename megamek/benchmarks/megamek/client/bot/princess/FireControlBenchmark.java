@@ -0,0 +1,80 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.bot.princess;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import megamek.common.BenchmarkFixtures;
+import megamek.common.Entity;
+import megamek.common.Mounted;
+import megamek.common.loaders.EntityLoadingException;
+import megamek.common.logging.LogLevel;
+
+/**
+ * Princess' heat-aware single target firing plan search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FireControlBenchmark {
+
+    private Princess princess;
+    private FireControl fireControl;
+    private Entity shooter;
+    private Entity target;
+    private Map<Mounted, Double> ammoConservation;
+
+    @Setup
+    public void setUp() throws EntityLoadingException {
+        // The bot is never connected; it only provides the game and the behavior settings.
+        princess = new Princess("Benchmark", "localhost", 0, LogLevel.ERROR);
+        final Entity[] duel = BenchmarkFixtures.setUpDuel(princess.getGame());
+        shooter = duel[0];
+        target = duel[1];
+        fireControl = new FireControl(princess);
+        // Fire everything regardless of ammo supply
+        ammoConservation = new HashMap<>();
+        for (Mounted weapon : shooter.getWeaponList()) {
+            ammoConservation.put(weapon, 0.0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        princess.die();
+    }
+
+    @Benchmark
+    public FiringPlan getBestFiringPlan() {
+        return fireControl.getBestFiringPlan(shooter, target, princess.getGame(), ammoConservation);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.io.File;
+
+import megamek.common.loaders.EntityLoadingException;
+
+/**
+ * Shared fixtures for the JMH benchmarks. Boards and units are loaded from the
+ * shipped data directory, so the benchmarks have to be run with the megamek
+ * project directory as the working directory (the <code>jmh</code> Gradle task
+ * takes care of that).
+ */
+public final class BenchmarkFixtures {
+
+    /** A 16x17 sheet with woods and elevation changes. */
+    public static final String BOARD_FILE = "data/boards/GrassLands/16x17 Grasslands 1.board";
+
+    /** A handful of common Inner Sphere designs covering the weight classes. */
+    public static final String[] MECH_FILES = {
+            "data/mechfiles/mechs/3039u/Locust LCT-1V.mtf",
+            "data/mechfiles/mechs/3039u/Hunchback HBK-4G.mtf",
+            "data/mechfiles/mechs/3039u/Warhammer WHM-6R.mtf",
+            "data/mechfiles/mechs/3039u/Awesome AWS-8Q.mtf",
+            "data/mechfiles/mechs/3039u/Atlas AS7-D.mtf"
+    };
+
+    public static final String SHOOTER_FILE = "data/mechfiles/mechs/3039u/Warhammer WHM-6R.mtf";
+    public static final String TARGET_FILE = "data/mechfiles/mechs/3039u/Hunchback HBK-4G.mtf";
+
+    public static final Coords SHOOTER_POSITION = new Coords(3, 3);
+    public static final Coords TARGET_POSITION = new Coords(9, 12);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static IBoard loadBoard(final String fileName) {
+        final IBoard board = new Board();
+        board.load(new File(fileName));
+        return board;
+    }
+
+    public static Entity loadEntity(final String fileName) throws EntityLoadingException {
+        return new MechFileParser(new File(fileName)).getEntity();
+    }
+
+    /**
+     * Places a shooter owned by player 0 and a target owned by player 1 on the fixture
+     * board, ready for the firing phase.
+     *
+     * @param game The game to populate; a fresh {@link Game} or a client's copy.
+     * @return The shooter and the target, in that order.
+     */
+    public static Entity[] setUpDuel(final IGame game) throws EntityLoadingException {
+        game.setBoard(loadBoard(BOARD_FILE));
+
+        final IPlayer attacker = new Player(0, "Attacker");
+        attacker.setTeam(1);
+        final IPlayer defender = new Player(1, "Defender");
+        defender.setTeam(2);
+        game.addPlayer(attacker.getId(), attacker);
+        game.addPlayer(defender.getId(), defender);
+
+        final Entity shooter = loadEntity(SHOOTER_FILE);
+        shooter.setId(1);
+        shooter.setOwner(attacker);
+        place(game, shooter, SHOOTER_POSITION, 3);
+
+        final Entity target = loadEntity(TARGET_FILE);
+        target.setId(2);
+        target.setOwner(defender);
+        place(game, target, TARGET_POSITION, 0);
+
+        game.setPhase(IGame.Phase.PHASE_FIRING);
+        return new Entity[] { shooter, target };
+    }
+
+    private static void place(final IGame game, final Entity entity, final Coords position,
+                              final int facing) {
+        entity.setDeployed(true);
+        entity.setPosition(position);
+        entity.setFacing(facing);
+        entity.setSecondaryFacing(facing);
+        game.addEntity(entity);
+    }
+}
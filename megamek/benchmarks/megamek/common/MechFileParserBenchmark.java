@@ -0,0 +1,62 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import megamek.common.loaders.EntityLoadingException;
+
+/**
+ * Parsing the shipped unit files. Measures a full pass over the 3039 mech
+ * directory, which is what the unit cache does on a cold start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MechFileParserBenchmark {
+
+    private static final String UNIT_DIRECTORY = "data/mechfiles/mechs/3039u";
+
+    private File[] unitFiles;
+
+    @Setup
+    public void setUp() {
+        unitFiles = new File(UNIT_DIRECTORY).listFiles((dir, name) -> name.endsWith(".mtf"));
+    }
+
+    @Benchmark
+    public int parseUnitDirectory() throws EntityLoadingException {
+        int tonnage = 0;
+        for (File file : unitFiles) {
+            tonnage += (int) new MechFileParser(file).getEntity().getWeight();
+        }
+        return tonnage;
+    }
+}
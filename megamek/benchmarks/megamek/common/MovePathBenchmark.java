@@ -0,0 +1,71 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.loaders.EntityLoadingException;
+
+/**
+ * Recompiling a running path across the fixture board, the way the movement
+ * display and the path finders rebuild paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovePathBenchmark {
+
+    private IGame game;
+    private Entity mover;
+    private MovePath path;
+
+    @Setup
+    public void setUp() throws EntityLoadingException {
+        game = new Game();
+        mover = BenchmarkFixtures.setUpDuel(game)[0];
+        game.setPhase(IGame.Phase.PHASE_MOVEMENT);
+
+        path = new MovePath(game, mover);
+        path.addStep(MoveStepType.FORWARDS);
+        path.addStep(MoveStepType.FORWARDS);
+        path.addStep(MoveStepType.TURN_RIGHT);
+        path.addStep(MoveStepType.FORWARDS);
+        path.addStep(MoveStepType.FORWARDS);
+        path.addStep(MoveStepType.TURN_LEFT);
+        path.addStep(MoveStepType.FORWARDS);
+        path.addStep(MoveStepType.FORWARDS);
+    }
+
+    @Benchmark
+    public MovePath compile() {
+        path.compile(game, mover);
+        return path;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common.net;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import megamek.common.BenchmarkFixtures;
+import megamek.common.Game;
+import megamek.common.IGame;
+import megamek.common.loaders.EntityLoadingException;
+import megamek.common.net.marshall.PacketMarshaller;
+import megamek.common.net.marshall.PacketMarshallerFactory;
+
+/**
+ * Marshalling the two largest packets the server routinely sends: the board and
+ * the full entity list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketMarshallingBenchmark {
+
+    private PacketMarshaller marshaller;
+    private Packet boardPacket;
+    private Packet entitiesPacket;
+    private byte[] marshalledEntities;
+
+    @Setup
+    public void setUp() throws EntityLoadingException {
+        final IGame game = new Game();
+        BenchmarkFixtures.setUpDuel(game);
+        marshaller = PacketMarshallerFactory.getInstance()
+                .getMarshaller(PacketMarshaller.NATIVE_SERIALIZATION_MARSHALING);
+
+        boardPacket = new Packet(Packet.COMMAND_SENDING_BOARD, game.getBoard());
+        final Object[] data = new Object[2];
+        data[0] = game.getEntitiesVector();
+        data[1] = game.getOutOfGameEntitiesVector();
+        entitiesPacket = new Packet(Packet.COMMAND_SENDING_ENTITIES, data);
+        marshalledEntities = marshaller.marshall(entitiesPacket);
+    }
+
+    @Benchmark
+    public byte[] marshallBoard() {
+        return marshaller.marshall(boardPacket);
+    }
+
+    @Benchmark
+    public byte[] marshallEntities() {
+        return marshaller.marshall(entitiesPacket);
+    }
+
+    @Benchmark
+    public Packet unmarshallEntities() {
+        return marshaller.unmarshall(marshalledEntities);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common.pathfinder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import megamek.common.BenchmarkFixtures;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.Game;
+import megamek.common.IGame;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.loaders.EntityLoadingException;
+
+/**
+ * The one-to-all search behind the movement envelope and the A* search used for
+ * long range path planning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortestPathFinderBenchmark {
+
+    private IGame game;
+    private Entity mover;
+
+    @Setup
+    public void setUp() throws EntityLoadingException {
+        game = new Game();
+        mover = BenchmarkFixtures.setUpDuel(game)[0];
+        game.setPhase(IGame.Phase.PHASE_MOVEMENT);
+    }
+
+    @Benchmark
+    public Map<Coords, MovePath> oneToAllRunning() {
+        final ShortestPathFinder pf = ShortestPathFinder.newInstanceOfOneToAll(mover.getRunMP(),
+                MoveStepType.FORWARDS, game);
+        pf.run(new MovePath(game, mover));
+        return pf.getAllComputedPaths();
+    }
+
+    @Benchmark
+    public MovePath aStarAcrossBoard() {
+        final Coords destination = new Coords(game.getBoard().getWidth() - 2,
+                game.getBoard().getHeight() - 2);
+        final ShortestPathFinder pf = ShortestPathFinder.newInstanceOfAStar(destination,
+                MoveStepType.FORWARDS, game);
+        pf.run(new MovePath(game, mover));
+        return pf.getComputedPath(destination);
+    }
+}
@@ -17,7 +17,6 @@
 package megamek.client;
 
 import java.awt.*;
-import java.awt.image.RenderedImage;
 import java.io.*;
 import java.util.*;
 import java.util.List;
@@ -25,7 +24,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 
 
@@ -75,7 +73,6 @@ import megamek.common.net.PacketReceivedEvent;
 import megamek.common.options.GameOptions;
 import megamek.common.options.IBasicOption;
 import megamek.common.preference.PreferenceManager;
-import megamek.common.util.ImageUtil;
 import megamek.common.util.SerializationHelper;
 import megamek.common.util.StringUtil;
 import megamek.server.SmokeCloud;
@@ -109,6 +106,9 @@ public class Client implements IClientCommandHandler {
     public String phaseReport;
     public String roundReport;
 
+    /** The last round whose reports were asked for, so they aren't asked for twice */
+    private int lastRequestedReportRound = 0;
+
     // random generatorsI
     private RandomSkillsGenerator rsg;
     // And close client events!
@@ -127,8 +127,8 @@ public class Client implements IClientCommandHandler {
 
     public Map<String, Client> bots = new TreeMap<String, Client>(StringUtil.stringComparator());
 
-    //Hashtable for storing image tags containing base64Text src
-    private Hashtable<Integer, String> imgCache;
+    // the <img> tags of the unit icons in reports
+    private final ReportImageTags imgCache = new ReportImageTags();
 
     //board view for getting entity art assets
     private BoardView1 bv;
@@ -283,6 +283,7 @@ public class Client implements IClientCommandHandler {
         if (connection != null) {
             connection.close();
         }
+        imgCache.shutdown();
 
         for (int i = 0; i < closeClientListeners.size(); i++) {
             closeClientListeners.elementAt(i).clientClosed();
@@ -932,6 +933,21 @@ public class Client implements IClientCommandHandler {
         game.setBoard(newBoard);
     }
 
+    /**
+     * Builds the board from the local board files and the hexes in the net
+     * command, or asks for the whole board if the files differ from the
+     * server's.
+     */
+    protected void receiveBoardSource(Packet c) {
+        BoardSource source = (BoardSource) c.getObject(0);
+        Board newBoard = (Board) c.getObject(1);
+        if (source.restore(newBoard)) {
+            game.setBoard(newBoard);
+        } else {
+            send(new Packet(Packet.COMMAND_REQUEST_BOARD));
+        }
+    }
+
     /**
      * Loads the entities from the data in the net command.
      */
@@ -947,7 +963,7 @@ public class Client implements IClientCommandHandler {
                 cacheImgTag(e);
             }
         }
-        //cache the image data for the entities
+        //remember the images of the entities for the reports
         for(Entity e: newEntities) {
             cacheImgTag(e);
         }
@@ -1101,9 +1117,9 @@ public class Client implements IClientCommandHandler {
             return "[null report vector]";
         }
 
-        StringBuffer report = new StringBuffer();
+        StringBuilder report = new StringBuilder();
         for (Report r : v) {
-            report.append(r.getText());
+            r.appendText(report);
         }
 
         Set<Integer> set = new HashSet<Integer>();
@@ -1122,26 +1138,77 @@ public class Client implements IClientCommandHandler {
         String updatedReport = report.toString();
         //loop through the hashset of unique ids and replace the ids with img tags
         for (int i : set) {
-            if(getCachedImgTag(i) != null) {
-                updatedReport = updatedReport.replace("<span id='" + i + "'></span>", getCachedImgTag(i));
+            String imgTag = getCachedImgTag(i);
+            if (imgTag != null) {
+                updatedReport = updatedReport.replace("<span id='" + i + "'></span>", imgTag);
             }
         }
         return updatedReport;
     }
 
+    /**
+     * Stores the reports of a range of rounds sent by the server, e.g. after
+     * connecting to a game in progress.
+     */
+    protected void receiveReportRounds(int firstRound, Vector<Vector<Report>> rounds) {
+        if (keepGameLog() && (firstRound == 1)) {
+            // Re-write gamelog.txt from scratch
+            initGameLog();
+        }
+        for (int i = 0; i < rounds.size(); i++) {
+            game.setReports(firstRound + i, rounds.elementAt(i));
+            if (keepGameLog() && (log != null)) {
+                log.append(receiveReport(rounds.elementAt(i)));
+            }
+        }
+        // the history may come in several chunks; only the one with the
+        // current round can set the reports shown
+        if ((firstRound + rounds.size() - 1) >= game.getRoundCount()) {
+            roundReport = receiveReport(game.getReports(game.getRoundCount()));
+            // We don't really have a copy of the phase report at
+            // this point, so I guess we'll just use the round report
+            // until the next phase actually completes.
+            phaseReport = roundReport;
+        }
+    }
+
+    /**
+     * Asks the server for the reports of the given rounds. They arrive in one
+     * or more {@link Packet#COMMAND_SENDING_REPORTS_ROUNDS} packets.
+     */
+    public void requestReports(int firstRound, int lastRound) {
+        send(new Packet(Packet.COMMAND_REQUEST_REPORTS, new Object[] { firstRound, lastRound }));
+    }
+
+    /**
+     * Asks the server for the reports of the rounds up to the given one that
+     * this client doesn't have and hasn't asked for yet.
+     */
+    private void requestMissingReports(int lastRound) {
+        int firstRound = lastRequestedReportRound + 1;
+        while ((firstRound <= lastRound) && game.hasReports(firstRound)) {
+            firstRound++;
+        }
+        if (firstRound <= lastRound) {
+            requestReports(firstRound, lastRound);
+            lastRequestedReportRound = lastRound;
+        }
+    }
+
     /**
      * returns the stored <img> tag for given unit id
      */
     private String getCachedImgTag(int id){
-        if (!GUIPreferences.getInstance().getBoolean(GUIPreferences.ADVANCED_ROUND_REPORT_SPRITES)
-                || (imgCache == null) || !imgCache.containsKey(id)) {
+        if (!GUIPreferences.getInstance().getBoolean(GUIPreferences.ADVANCED_ROUND_REPORT_SPRITES)) {
             return null;
         }
-        return imgCache.get(id);
+        return imgCache.getTag(id);
     }
 
     /**
-     * Hashtable for storing <img> tags containing base64Text src.
+     * Remembers the current image of the entity for the <img> tags in the
+     * reports. The tag itself is created when a report needs it, or in the
+     * background if the report sprites are shown.
      */
     private void cacheImgTag(Entity entity){
 
@@ -1150,29 +1217,8 @@ public class Client implements IClientCommandHandler {
             return;
         }
 
-        if (imgCache == null) {
-            imgCache = new Hashtable<>();
-        } else if (imgCache.containsKey(entity.getId())) {
-            //remove images that should be refreshed
-            imgCache.remove(entity.getId());
-        }
-
-        if (getTargetImage(entity) != null) {
-            //convert image to base64, add to to <img> tag and store in cache
-            Image image = ImageUtil.getScaledImage(getTargetImage(entity), 56, 48);
-            try {
-                String base64Text;
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ImageIO.write((RenderedImage) image, "png", baos);
-                baos.flush();
-                base64Text = Base64.getEncoder().encodeToString(baos.toByteArray());
-                baos.close();
-                String img = "<img src='data:image/png;base64," + base64Text + "'>";
-                imgCache.put(entity.getId(), img);
-            } catch (final IOException ioe) {
-                throw new UncheckedIOException(ioe);
-            }
-        }
+        imgCache.setUnitImage(entity.getId(), getTargetImage(entity),
+                GUIPreferences.getInstance().getBoolean(GUIPreferences.ADVANCED_ROUND_REPORT_SPRITES));
     }
 
     /**
@@ -1373,6 +1419,9 @@ public class Client implements IClientCommandHandler {
         case Packet.COMMAND_SENDING_BOARD:
             receiveBoard(c);
             break;
+        case Packet.COMMAND_SENDING_BOARD_SOURCE:
+            receiveBoardSource(c);
+            break;
         case Packet.COMMAND_SENDING_ENTITIES:
             receiveEntities(c);
             break;
@@ -1388,6 +1437,8 @@ public class Client implements IClientCommandHandler {
                 }
             }
             game.addReports((Vector<Report>) c.getObject(0));
+            // completed rounds missed while connecting leave a gap
+            requestMissingReports(game.getReportRoundCount() - 1);
             roundReport = receiveReport(game.getReports(game.getRoundCount()));
             if (c.getCommand() == Packet.COMMAND_SENDING_REPORTS_TACTICAL_GENIUS) {
                 game.processGameEvent(new GameReportEvent(this, roundReport));
@@ -1414,6 +1465,12 @@ public class Client implements IClientCommandHandler {
             // until the next phase actually completes.
             phaseReport = roundReport;
             break;
+        case Packet.COMMAND_SENDING_REPORTS_ROUNDS:
+            receiveReportRounds(c.getIntValue(0), (Vector<Vector<Report>>) c.getObject(1));
+            break;
+        case Packet.COMMAND_SENDING_REPORT_ROUND_COUNT:
+            requestMissingReports(c.getIntValue(0));
+            break;
         case Packet.COMMAND_ENTITY_ATTACK:
             receiveAttack(c);
             break;
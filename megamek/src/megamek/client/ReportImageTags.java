@@ -0,0 +1,163 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import javax.imageio.ImageIO;
+
+import megamek.MegaMek;
+import megamek.common.util.ImageUtil;
+
+/**
+ * Keeps the &lt;img&gt; tags that show unit icons in the round reports. The
+ * icon is inlined into the tag as base64 PNG data, which is slow to create, so
+ * the tags are cached by image. The tileset shares one image between all units
+ * with the same icon, camo and damage level, so those units share one tag.
+ * <p>
+ * The client only records which image each unit has; a tag is created the first
+ * time a report refers to a unit with that image. Images can also be encoded
+ * ahead of time on a background thread, so that the report doesn't have to wait.
+ */
+class ReportImageTags {
+
+    /** The size of the unit icons in reports */
+    private static final int WIDTH = 56;
+    private static final int HEIGHT = 48;
+
+    // images don't override equals, so this works by identity
+    private final Map<Image, Future<String>> tags = new WeakHashMap<>();
+    private final Map<Integer, Image> unitImages = new HashMap<>();
+    private ExecutorService executor = null;
+
+    /**
+     * Records the image that the unit with the given id has in reports from now
+     * on.
+     *
+     * @param id the unit's id
+     * @param image the unit's image, or <code>null</code> if it has none
+     * @param prefetch true to create the tag for the image in the background
+     *            now, if there isn't one yet
+     */
+    synchronized void setUnitImage(int id, Image image, boolean prefetch) {
+        if (image == null) {
+            unitImages.remove(id);
+            return;
+        }
+        unitImages.put(id, image);
+        if (prefetch && !tags.containsKey(image)) {
+            tags.put(image, getExecutor().submit(() -> createTag(image)));
+        }
+    }
+
+    /**
+     * @return the tag for the given unit's image, or <code>null</code> if it
+     *         has none
+     */
+    String getTag(int id) {
+        final Future<String> tag;
+        FutureTask<String> created = null;
+        synchronized (this) {
+            final Image image = unitImages.get(id);
+            if (image == null) {
+                return null;
+            }
+            if (tags.containsKey(image)) {
+                tag = tags.get(image);
+            } else {
+                created = new FutureTask<>(() -> createTag(image));
+                tags.put(image, created);
+                tag = created;
+            }
+        }
+        if (created != null) {
+            // nobody has asked for it yet, so it's quicker to make it right here
+            created.run();
+        }
+        try {
+            return tag.get();
+        } catch (CancellationException ignored) {
+            return null;
+        } catch (ExecutionException e) {
+            MegaMek.getLogger().error(e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Forgets all images and tags. Tags that are waiting to be created in the
+     * background aren't created anymore.
+     */
+    synchronized void clear() {
+        unitImages.clear();
+        for (Future<String> tag : tags.values()) {
+            tag.cancel(false);
+        }
+        tags.clear();
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    synchronized void shutdown() {
+        clear();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "Report-image-tags");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Converts the image to base64 and puts it into an &lt;img&gt; tag.
+     */
+    String createTag(Image image) {
+        final BufferedImage scaled = ImageUtil.getScaledImage(image, WIDTH, HEIGHT);
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            ImageIO.write(scaled, "png", baos);
+            return "<img src='data:image/png;base64," + Base64.getEncoder().encodeToString(baos.toByteArray())
+                    + "'>";
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+}
@@ -119,8 +119,8 @@ public class BasicPathRanker extends PathRanker implements IPathRanker {
     double getMaxDamageAtRange(FireControl fireControl, Entity shooter,
                                int range, boolean useExtremeRange,
                                boolean useLOSRange) {
-        return fireControl.getMaxDamageAtRange(shooter, range, useExtremeRange,
-                                               useLOSRange);
+        return fireControl.getCachedMaxDamageAtRange(shooter, range, useExtremeRange,
+                                                     useLOSRange);
     }
 
     boolean canFlankAndKick(Entity enemy, Coords behind, Coords leftFlank,
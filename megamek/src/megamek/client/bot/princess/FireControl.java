@@ -374,6 +374,64 @@ public class FireControl {
         if (shooterState.isProne()) {
             toHitData.addModifier(TH_ATT_PRONE);
         }
+        final EntityState finalTargetState = targetState;
+        final ToHitModifierCache cache = getToHitModifierCache();
+        if (null == cache) {
+            toHitData.append(guessTargetToHitModifiers(target, targetState, game));
+        } else {
+            toHitData.append(cache.getTargetModifiers(target, targetState,
+                                                      () -> guessTargetToHitModifiers(target, finalTargetState,
+                                                                                      game)));
+        }
+
+        if (targetState.isProne() && (1 < distance)) {
+            toHitData.addModifier(TH_TAR_PRONE_RANGE);
+        } else if (targetState.isProne() && (1 == distance)) {
+            toHitData.addModifier(TH_TAR_PRONE_ADJ);
+        }
+
+        final boolean isShooterInfantry = (shooter instanceof Infantry);
+        if (!isShooterInfantry) {
+            if (target instanceof BattleArmor) {
+                toHitData.addModifier(TH_TAR_BA);
+            } else if (target instanceof MechWarrior) {
+                toHitData.addModifier(TH_TAR_MW);
+            } else if (target instanceof Infantry) {
+                toHitData.addModifier(TH_TAR_INF);
+            }
+        }
+
+        if (shooter.hasQuirk(OptionsConstants.QUIRK_POS_ANTI_AIR) &&
+            (target.isAirborne() || target.isAirborneVTOLorWIGE())) {
+            toHitData.addModifier(TH_ANTI_AIR);
+        }
+
+        if (shooter instanceof Mech) {
+            final Mech shooterMech = (Mech) shooter;
+            if (Mech.COCKPIT_INDUSTRIAL == shooterMech.getCockpitType()) {
+                toHitData.addModifier(TH_INDUSTRIAL);
+            } else if (Mech.COCKPIT_PRIMITIVE_INDUSTRIAL == shooterMech.getCockpitType()) {
+                toHitData.addModifier(TH_PRIMATIVE_INDUSTRIAL);
+            }
+        }
+
+        return toHitData;
+    }
+
+    /**
+     * Gets the toHit modifiers that only depend on the target and the hex it is in. These are the same for every
+     * shooter and weapon, so they are cached for the rest of the bot's turn.
+     *
+     * @param target      Who is being shot at.
+     * @param targetState The state of the target.
+     * @param game        The game being played.
+     * @return The estimated to hit modifiers.
+     */
+    ToHitData guessTargetToHitModifiers(final Targetable target,
+                                        final EntityState targetState,
+                                        final IGame game) {
+        final ToHitData toHitData = new ToHitData();
+
         if (targetState.isImmobile() && !target.isHexBeingBombed()) {
             toHitData.addModifier(TH_TAR_IMMOBILE);
         }
@@ -408,41 +466,10 @@ public class FireControl {
             toHitData.addModifier((smokeLevel % 2) + 1, TH_SMOKE);
         }
 
-        if (targetState.isProne() && (1 < distance)) {
-            toHitData.addModifier(TH_TAR_PRONE_RANGE);
-        } else if (targetState.isProne() && (1 == distance)) {
-            toHitData.addModifier(TH_TAR_PRONE_ADJ);
-        }
-
         if (EntityMovementType.MOVE_SKID == targetState.getMovementType()) {
             toHitData.addModifier(TH_TAR_SKID);
         }
 
-        final boolean isShooterInfantry = (shooter instanceof Infantry);
-        if (!isShooterInfantry) {
-            if (target instanceof BattleArmor) {
-                toHitData.addModifier(TH_TAR_BA);
-            } else if (target instanceof MechWarrior) {
-                toHitData.addModifier(TH_TAR_MW);
-            } else if (target instanceof Infantry) {
-                toHitData.addModifier(TH_TAR_INF);
-            }
-        }
-
-        if (shooter.hasQuirk(OptionsConstants.QUIRK_POS_ANTI_AIR) &&
-            (target.isAirborne() || target.isAirborneVTOLorWIGE())) {
-            toHitData.addModifier(TH_ANTI_AIR);
-        }
-
-        if (shooter instanceof Mech) {
-            final Mech shooterMech = (Mech) shooter;
-            if (Mech.COCKPIT_INDUSTRIAL == shooterMech.getCockpitType()) {
-                toHitData.addModifier(TH_INDUSTRIAL);
-            } else if (Mech.COCKPIT_PRIMITIVE_INDUSTRIAL == shooterMech.getCockpitType()) {
-                toHitData.addModifier(TH_PRIMATIVE_INDUSTRIAL);
-            }
-        }
-
         if (target instanceof Mech) {
             final Mech targetMech = (Mech) target;
             if (Mech.COCKPIT_SUPERHEAVY == targetMech.getCockpitType() ||
@@ -458,6 +485,14 @@ public class FireControl {
         return toHitData;
     }
 
+    /**
+     * @return The cache of to hit modifiers for the current bot turn, or null if there is none.
+     */
+    private @Nullable ToHitModifierCache getToHitModifierCache() {
+        final FireControlState fireControlState = owner.getFireControlState();
+        return (null == fireControlState) ? null : fireControlState.getToHitModifierCache();
+    }
+
     /**
      * Makes a rather poor guess as to what the to hit modifier will be with a physical attack.
      *
@@ -654,6 +689,40 @@ public class FireControl {
         return LosEffects.calculateLos(game, shooterId, target, shooterPosition, targetPosition, spotting);
     }
 
+    /**
+     * Gets the line of sight toHit modifiers between two hexes. These are the same for every weapon the shooter
+     * fires from that hex, so they are cached for the rest of the bot's turn.
+     *
+     * @param shooter         The unit doing the shooting.
+     * @param shooterPosition Where the shooter is.
+     * @param target          Who is being shot at.
+     * @param targetPosition  Where the target is.
+     * @param game            The game being played.
+     * @return The estimated to hit modifiers.
+     */
+    ToHitData guessLosToHitModifiers(final Entity shooter,
+                                     final Coords shooterPosition,
+                                     final Targetable target,
+                                     final Coords targetPosition,
+                                     final IGame game) {
+        // There is kindly already a class that will calculate line of sight for me
+        // todo take into account spotting for indirect fire.
+        final LosEffects losEffects = getLosEffects(game, shooter.getId(), target, shooterPosition, targetPosition,
+                                                    false);
+
+        // water is a separate los effect
+        final IHex targetHex = game.getBoard().getHex(targetPosition);
+        if (target instanceof Entity) {
+            if (targetHex.containsTerrain(Terrains.WATER)
+                && (1 == targetHex.terrainLevel(Terrains.WATER))
+                && (0 < ((Entity) target).height())) {
+                losEffects.setTargetCover(losEffects.getTargetCover() | LosEffects.COVER_HORIZONTAL);
+            }
+        }
+
+        return losEffects.losModifiers(game);
+    }
+
     /**
      * Returns the value of {@link Compute#getSwarmMekBaseToHit(Entity, Entity, IGame)}.
      *
@@ -857,27 +926,17 @@ public class FireControl {
         final ToHitData toHit = new ToHitData(shooter.getCrew().getGunnery(), TH_GUNNERY);
         toHit.append(baseMods);
 
-        // There is kindly already a class that will calculate line of sight for me
-        // todo take into account spotting for indirect fire.
-        final LosEffects losEffects = getLosEffects(game, shooter.getId(), target, shooterState.getPosition(),
-                                                    targetState.getPosition(), false);
-
-        // water is a separate los effect
-        final IHex targetHex = game.getBoard().getHex(targetState.getPosition());
-        Entity targetEntity = null;
-        if (target instanceof Entity) {
-            targetEntity = (Entity) target;
-        }
-        if (null != targetEntity) {
-            if (targetHex.containsTerrain(Terrains.WATER)
-                && (1 == targetHex.terrainLevel(Terrains.WATER))
-                && (0 < targetEntity.height())) {
-                losEffects.setTargetCover(losEffects.getTargetCover() | LosEffects.COVER_HORIZONTAL);
-            }
-        }
-
         // Can we still hit after taking into account LoS?
-        toHit.append(losEffects.losModifiers(game));
+        final Coords shooterPosition = shooterState.getPosition();
+        final Coords targetPosition = targetState.getPosition();
+        final ToHitModifierCache cache = getToHitModifierCache();
+        if (null == cache) {
+            toHit.append(guessLosToHitModifiers(shooter, shooterPosition, target, targetPosition, game));
+        } else {
+            toHit.append(cache.getLosModifiers(shooter.getId(), shooterPosition, target, targetPosition,
+                                               () -> guessLosToHitModifiers(shooter, shooterPosition, target,
+                                                                            targetPosition, game)));
+        }
         if ((TargetRoll.IMPOSSIBLE == toHit.getValue()) || (TargetRoll.AUTOMATIC_FAIL == toHit.getValue())) {
             return toHit; // you can't hit what you can't see
         }
@@ -891,7 +950,8 @@ public class FireControl {
         }
 
         // Handle mechs being swarmed.
-        if (targetEntity instanceof Mech) {
+        if (target instanceof Mech) {
+            final Entity targetEntity = (Entity) target;
             if (Infantry.SWARM_MEK.equals(weaponType.getInternalName())) {
                 toHit.append(getSwarmMekBaseToHit(shooter, targetEntity, game));
             }
@@ -1269,29 +1329,65 @@ public class FireControl {
     void calculateUtility(final FiringPlan firingPlan,
                           final int overheatTolerance,
                           final boolean shooterIsAero) {
+        firingPlan.setUtility(calculateUtility(firingPlan.getTarget(),
+                                               firingPlan.getHeat(),
+                                               firingPlan.getExpectedDamage(),
+                                               firingPlan.getExpectedCriticals(),
+                                               firingPlan.getKillProbability(),
+                                               overheatTolerance,
+                                               shooterIsAero));
+    }
+
+    /**
+     * calculates the 'utility' of a firing plan from its totals, so that
+     * plans don't have to be built just to be evaluated.
+     *
+     * @param target
+     *            Who is being shot at.
+     * @param heat
+     *            The total heat of the plan.
+     * @param expectedDamage
+     *            The total expected damage of the plan.
+     * @param expectedCriticals
+     *            The total expected critical hits of the plan.
+     * @param killProbability
+     *            The odds of the plan getting a kill.
+     * @param overheatTolerance
+     *            How much overheat we're willing to forgive.
+     * @param shooterIsAero
+     *            Set TRUE if the shooter is an Aero unit. Overheating Aeros
+     *            take stiffer penalties.
+     * @return The utility of the plan.
+     */
+    double calculateUtility(final Targetable target,
+                            final int heat,
+                            final double expectedDamage,
+                            final double expectedCriticals,
+                            final double killProbability,
+                            final int overheatTolerance,
+                            final boolean shooterIsAero) {
         int overheat = 0;
-        if (firingPlan.getHeat() > overheatTolerance) {
-            overheat = firingPlan.getHeat() - overheatTolerance;
+        if (heat > overheatTolerance) {
+            overheat = heat - overheatTolerance;
         }
 
         double modifier = 1;
-        modifier += calcCommandUtility(firingPlan.getTarget());
-        modifier += calcStrategicBuildingTargetUtility(firingPlan.getTarget());
-        modifier += calcPriorityUnitTargetUtility(firingPlan.getTarget());
+        modifier += calcCommandUtility(target);
+        modifier += calcStrategicBuildingTargetUtility(target);
+        modifier += calcPriorityUnitTargetUtility(target);
 
-        double expectedDamage = firingPlan.getExpectedDamage();
         double utility = 0;
         utility += DAMAGE_UTILITY * expectedDamage;
-        utility += CRITICAL_UTILITY * firingPlan.getExpectedCriticals();
-        utility += KILL_UTILITY * firingPlan.getKillProbability();
+        utility += CRITICAL_UTILITY * expectedCriticals;
+        utility += KILL_UTILITY * killProbability;
         // Multiply the combined damage/crit/kill utility for a target by a log-scaled factor based on the target's damage potential.
-        utility *= calcTargetPotentialDamageMultiplier(firingPlan.getTarget());
-        utility += TARGET_HP_FRACTION_DEALT_UTILITY * calcDamageAllocationUtility(firingPlan.getTarget(), expectedDamage);
-        utility -= calcCivilianTargetDisutility(firingPlan.getTarget());
+        utility *= calcTargetPotentialDamageMultiplier(target);
+        utility += TARGET_HP_FRACTION_DEALT_UTILITY * calcDamageAllocationUtility(target, expectedDamage);
+        utility -= calcCivilianTargetDisutility(target);
         utility *= modifier;
         utility -= (shooterIsAero ? OVERHEAT_DISUTILITY_AERO : OVERHEAT_DISUTILITY) * overheat;
-        utility -= (firingPlan.getTarget() instanceof MechWarrior) ? EJECTED_PILOT_DISUTILITY : 0;
-        firingPlan.setUtility(utility);
+        utility -= (target instanceof MechWarrior) ? EJECTED_PILOT_DISUTILITY : 0;
+        return utility;
     }
 
     protected double calcStrategicBuildingTargetUtility(final Targetable target) {
@@ -1435,7 +1531,7 @@ public class FireControl {
             return 0;
         }
         final Entity entity = (Entity) target;
-        return getMaxDamageAtRange(entity,1,false,false);
+        return getCachedMaxDamageAtRange(entity, 1, false, false);
     }
 
     /**
@@ -2008,34 +2104,10 @@ public class FireControl {
         }
 
         // build up heat table
-        for (int heatLevel = 1; heatLevel <= maxHeat; heatLevel++) {
-            bestPlans[heatLevel] = new FiringPlan(target);
-
-            // Include all the firing options that exist at the last heat level.
-            bestPlans[heatLevel].addAll(bestPlans[heatLevel - 1]);
-            calculateUtility(bestPlans[heatLevel], heatTolerance, isAero);
-
-            for (final WeaponFireInfo weaponFireInfo : nonZeroHeatOptions) {
-
-                final int leftoverHeatCapacity = heatLevel - weaponFireInfo.getHeat();
-
-                // If this attack produces heat and is not already included in the plan, check its utility.
-                if ((0 <= leftoverHeatCapacity) &&
-                    !bestPlans[leftoverHeatCapacity].containsWeapon(weaponFireInfo.getWeapon())) {
-
-                    // make sure to pass along arm flip state from the alpha strike, if any
-                    final FiringPlan testPlan = new FiringPlan(target, alphaStrike.getFlipArms());
-                    testPlan.addAll(bestPlans[heatLevel - weaponFireInfo.getHeat()]);
-                    testPlan.add(weaponFireInfo);
-                    calculateUtility(testPlan, heatTolerance, isAero);
-
-                    // If this plan has a higher utility, add it.
-                    if (testPlan.getUtility() > bestPlans[heatLevel].getUtility()) {
-                        bestPlans[heatLevel] = testPlan;
-                    }
-                }
-            }
-        }
+        final FiringPlanOptimizer optimizer = new FiringPlanOptimizer(this, target, heatTolerance, isAero);
+        final FiringPlan[] heatPlans = optimizer.calcPlansUnderHeat(bestPlans[0], nonZeroHeatOptions, maxHeat,
+                                                                    alphaStrike.getFlipArms());
+        System.arraycopy(heatPlans, 1, bestPlans, 1, maxHeat);
         
         // if we are an aero blasting away at ground targets, another good option for a heatless plan is to bomb the crap out of the enemy
         //bombs cannot be mixed with other attack types, so we calculate it separately and overwrite the 0-heat plan if it's better
@@ -2474,21 +2546,7 @@ public class FireControl {
                                                        weaponType.getRanges(weapon),
                                                        useExtremeRange,
                                                        useLOSRange);
-            // if the weapon has been disabled or is out of ammo, don't count it
-            if(weapon.isCrippled()) {
-                continue;
-            }
-            
-            int weaponDamage = weaponType.getDamage();
-            
-            // just a ball park estimate of missile and/or other cluster damage
-            // only a little over half of a cluster will generally hit
-            // but some cluster munitions do more than 1 point of damage per individual hit
-            // still better than just discounting them completely.
-            if(weaponDamage == WeaponType.DAMAGE_BY_CLUSTERTABLE) {
-                weaponDamage = weaponType.getRackSize();
-            }
-            
+            final double weaponDamage = WeaponDamageProfile.getDamage(weapon);
             if ((RangeType.RANGE_OUT != bracket) && (0 < weaponDamage)) {
                 maxDamage += weaponDamage;
             }
@@ -2497,6 +2555,23 @@ public class FireControl {
         return maxDamage;
     }
 
+    /**
+     * Same as {@link #getMaxDamageAtRange(Entity, int, boolean, boolean)}, but
+     * looked up in the shooter's {@link WeaponDamageProfile} for the current bot
+     * turn rather than worked out from its weapons every time.
+     */
+    double getCachedMaxDamageAtRange(final Entity shooter,
+                                     final int range,
+                                     final boolean useExtremeRange,
+                                     final boolean useLOSRange) {
+        final FireControlState fireControlState = owner.getFireControlState();
+        if (null == fireControlState) {
+            return getMaxDamageAtRange(shooter, range, useExtremeRange, useLOSRange);
+        }
+        return fireControlState.getWeaponDamageProfile(shooter)
+                               .getMaxDamageAtRange(range, useExtremeRange, useLOSRange);
+    }
+
     /**
      * makes sure facing falls between 0 and 5 This function likely already exists somewhere else
      *
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import megamek.common.Entity;
 import megamek.common.Targetable;
@@ -21,6 +22,8 @@ public class FireControlState {
     private Map<Integer, Integer> airborneTargetWeaponRanges;
     private Map<Integer, Boolean> isCommander;
     private Map<Integer, Boolean> isSubCommander;
+    private ToHitModifierCache toHitModifierCache;
+    private Map<Integer, WeaponDamageProfile> weaponDamageProfiles;
     
     public FireControlState() {
         additionalTargets = new ArrayList<>();
@@ -30,6 +33,8 @@ public class FireControlState {
         airborneTargetWeaponRanges = new HashMap<>();
         isCommander = new HashMap<>();
         isSubCommander = new HashMap<>();
+        toHitModifierCache = new ToHitModifierCache();
+        weaponDamageProfiles = new ConcurrentHashMap<>();
     }
     
     /**
@@ -97,6 +102,37 @@ public class FireControlState {
         isCommander.put(entity.getId(), value);                
     }
     
+    /**
+     * The to hit modifiers worked out so far during the current bot turn.
+     * Needs to be cleared at the start of each turn, as the game may have changed.
+     */
+    ToHitModifierCache getToHitModifierCache() {
+        return toHitModifierCache;
+    }
+    
+    /**
+     * The damage profile of the unit's weapons. It is worked out the first time it
+     * is needed during the current bot turn, and again when the unit has been
+     * replaced by an update from the server.
+     */
+    WeaponDamageProfile getWeaponDamageProfile(Entity entity) {
+        WeaponDamageProfile profile = weaponDamageProfiles.get(entity.getId());
+        if ((null == profile) || !profile.isFor(entity)) {
+            profile = WeaponDamageProfile.of(entity);
+            weaponDamageProfiles.put(entity.getId(), profile);
+        }
+        return profile;
+    }
+
+    /**
+     * Clears the data worked out during one of the bot's turns, as the board and
+     * units may have changed since.
+     */
+    void clearTurnData() {
+        toHitModifierCache.clear();
+        weaponDamageProfiles.clear();
+    }
+
     /**
      * Clears data that shouldn't persist phase-to-phase
      */
@@ -107,5 +143,7 @@ public class FireControlState {
     	airborneTargetWeaponRanges.clear();
     	isCommander.clear();
     	isSubCommander.clear();
+    	toHitModifierCache.clear();
+    	weaponDamageProfiles.clear();
     }
 }
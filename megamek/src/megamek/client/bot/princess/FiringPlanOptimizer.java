@@ -0,0 +1,264 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.bot.princess;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import megamek.common.Mounted;
+import megamek.common.Targetable;
+
+/**
+ * Works out which weapons a unit should fire to get the most out of a given
+ * amount of heat.
+ * <p>
+ * Plans are built up one weapon at a time, so instead of copying
+ * {@link FiringPlan}s and adding up their weapons again for every candidate,
+ * each plan is kept as the set of weapons it fires along with the totals that
+ * go into its utility. Only the plans that are finally picked are turned into
+ * {@link FiringPlan}s.
+ */
+class FiringPlanOptimizer {
+
+    private final FireControl fireControl;
+    private final Targetable target;
+    private final int heatTolerance;
+    private final boolean isAero;
+
+    /**
+     * @param fireControl   Calculates the utility of the plans.
+     * @param target        Who is being shot at.
+     * @param heatTolerance How much overheat we're willing to forgive.
+     * @param isAero        Set TRUE if the shooter is an Aero unit.
+     */
+    FiringPlanOptimizer(final FireControl fireControl,
+                        final Targetable target,
+                        final int heatTolerance,
+                        final boolean isAero) {
+        this.fireControl = fireControl;
+        this.target = target;
+        this.heatTolerance = heatTolerance;
+        this.isAero = isAero;
+    }
+
+    /**
+     * Creates an array that gives the 'best' firing plan (the maximum utility)
+     * under the heat of the index, starting from the plan that fires all the
+     * heatless weapons. Each plan is either the one for one less heat, or the
+     * plan for the heat left over after firing one more weapon plus that
+     * weapon, whichever has the higher utility.
+     *
+     * @param heatlessPlan The plan for zero heat, with its utility calculated.
+     * @param options      The weapons that generate heat.
+     * @param maxHeat      The highest heat to plan for.
+     * @param flipArms     Whether plans with added weapons should flip arms.
+     * @return The plans for each heat level from 0 to maxHeat.
+     */
+    FiringPlan[] calcPlansUnderHeat(final FiringPlan heatlessPlan,
+                                    final List<WeaponFireInfo> options,
+                                    final int maxHeat,
+                                    final boolean flipArms) {
+        final int optionCount = options.size();
+        final int[] heat = new int[optionCount];
+        final double[] damage = new double[optionCount];
+        final double[] criticals = new double[optionCount];
+        final double[] killProbability = new double[optionCount];
+        // Options firing the same weapon share a bit
+        final int[] weaponBit = new int[optionCount];
+        final Map<Mounted, Integer> weaponBits = new IdentityHashMap<>();
+        for (int i = 0; i < optionCount; i++) {
+            final WeaponFireInfo weaponFireInfo = options.get(i);
+            heat[i] = weaponFireInfo.getHeat();
+            damage[i] = weaponFireInfo.getExpectedDamageOnHit() * weaponFireInfo.getProbabilityToHit();
+            criticals[i] = weaponFireInfo.getExpectedCriticals();
+            killProbability[i] = weaponFireInfo.getKillProbability();
+            final Integer bit = weaponBits.putIfAbsent(weaponFireInfo.getWeapon(), i);
+            weaponBit[i] = (bit == null) ? i : bit;
+        }
+
+        final PlanNode[] bestPlans = new PlanNode[maxHeat + 1];
+        bestPlans[0] = new PlanNode(heatlessPlan);
+        for (int heatLevel = 1; heatLevel <= maxHeat; heatLevel++) {
+            // Include all the firing options that exist at the last heat level.
+            PlanNode best = new PlanNode(bestPlans[heatLevel - 1]);
+
+            for (int i = 0; i < optionCount; i++) {
+                final int leftoverHeatCapacity = heatLevel - heat[i];
+
+                // If this attack produces heat and is not already included in the plan, check its utility.
+                if ((0 > leftoverHeatCapacity) || bestPlans[leftoverHeatCapacity].fires(weaponBit[i])) {
+                    continue;
+                }
+                final PlanNode base = bestPlans[leftoverHeatCapacity];
+                final int testHeat = base.heat + heat[i];
+                final double testDamage = base.expectedDamage + damage[i];
+                final double testCriticals = base.expectedCriticals + criticals[i];
+                final double testSurvival = base.surviveProbability * (1 - killProbability[i]);
+                final double testUtility = fireControl.calculateUtility(target, testHeat, testDamage,
+                        testCriticals, 1 - testSurvival, heatTolerance, isAero);
+
+                // If this plan has a higher utility, use it.
+                if (testUtility > best.utility) {
+                    best = new PlanNode(base, i, weaponBit[i], flipArms, testHeat, testDamage,
+                            testCriticals, testSurvival, testUtility);
+                }
+            }
+            bestPlans[heatLevel] = best;
+        }
+
+        final FiringPlan[] plans = new FiringPlan[maxHeat + 1];
+        plans[0] = heatlessPlan;
+        for (int heatLevel = 1; heatLevel <= maxHeat; heatLevel++) {
+            plans[heatLevel] = bestPlans[heatLevel].toFiringPlan(heatlessPlan, options);
+        }
+        return plans;
+    }
+
+    /**
+     * Solves the 0/1 knapsack problem: picks the items with the greatest total
+     * value whose total heat does not go over the given maximum.
+     *
+     * @param heat    The heat of each item; negative heat counts as none.
+     * @param value   The value of each item.
+     * @param maxHeat The most heat that may be generated.
+     * @return The indexes of the chosen items, in ascending order.
+     */
+    static List<Integer> bestUnderHeat(final int[] heat, final double[] value, final int maxHeat) {
+        final List<Integer> chosen = new ArrayList<>();
+        if (0 > maxHeat) {
+            return chosen;
+        }
+
+        // bestValue[h] is the best value under h heat using the items seen so far
+        final double[] bestValue = new double[maxHeat + 1];
+        final BitSet[] taken = new BitSet[heat.length];
+        for (int item = 0; item < heat.length; item++) {
+            taken[item] = new BitSet(maxHeat + 1);
+            // go down so that each item is only used once
+            final int itemHeat = Math.max(0, heat[item]);
+            for (int heatLevel = maxHeat; heatLevel >= itemHeat; heatLevel--) {
+                final double withItem = bestValue[heatLevel - itemHeat] + value[item];
+                if (withItem > bestValue[heatLevel]) {
+                    bestValue[heatLevel] = withItem;
+                    taken[item].set(heatLevel);
+                }
+            }
+        }
+
+        int heatLevel = maxHeat;
+        for (int item = heat.length - 1; item >= 0; item--) {
+            if (taken[item].get(heatLevel)) {
+                chosen.add(0, item);
+                heatLevel -= Math.max(0, heat[item]);
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * A firing plan that is either the heatless plan, or another plan with one
+     * more weapon fired. The weapons are only put into a list once the plan is
+     * picked.
+     */
+    private static final class PlanNode {
+        private final PlanNode parent;
+        /** The option added to the parent, or -1 for a copy of it */
+        private final int addedOption;
+        private final BitSet weapons;
+        private final boolean flipArms;
+        private final int heat;
+        private final double expectedDamage;
+        private final double expectedCriticals;
+        private final double surviveProbability;
+        private final double utility;
+
+        /**
+         * The heatless plan
+         */
+        private PlanNode(final FiringPlan heatlessPlan) {
+            parent = null;
+            addedOption = -1;
+            weapons = new BitSet();
+            flipArms = heatlessPlan.getFlipArms();
+            heat = heatlessPlan.getHeat();
+            expectedDamage = heatlessPlan.getExpectedDamage();
+            expectedCriticals = heatlessPlan.getExpectedCriticals();
+            double survive = 1;
+            for (final WeaponFireInfo weaponFireInfo : heatlessPlan) {
+                survive *= 1 - weaponFireInfo.getKillProbability();
+            }
+            surviveProbability = survive;
+            utility = heatlessPlan.getUtility();
+        }
+
+        /**
+         * A plan that fires the same weapons as the given one
+         */
+        private PlanNode(final PlanNode copyOf) {
+            parent = copyOf;
+            addedOption = -1;
+            weapons = copyOf.weapons;
+            flipArms = false;
+            heat = copyOf.heat;
+            expectedDamage = copyOf.expectedDamage;
+            expectedCriticals = copyOf.expectedCriticals;
+            surviveProbability = copyOf.surviveProbability;
+            utility = copyOf.utility;
+        }
+
+        private PlanNode(final PlanNode parent, final int addedOption, final int weaponBit,
+                         final boolean flipArms, final int heat, final double expectedDamage,
+                         final double expectedCriticals, final double surviveProbability,
+                         final double utility) {
+            this.parent = parent;
+            this.addedOption = addedOption;
+            weapons = (BitSet) parent.weapons.clone();
+            weapons.set(weaponBit);
+            this.flipArms = flipArms;
+            this.heat = heat;
+            this.expectedDamage = expectedDamage;
+            this.expectedCriticals = expectedCriticals;
+            this.surviveProbability = surviveProbability;
+            this.utility = utility;
+        }
+
+        private boolean fires(final int weaponBit) {
+            return weapons.get(weaponBit);
+        }
+
+        /**
+         * @return A firing plan with the heatless weapons followed by the added
+         *         ones in the order they were added.
+         */
+        private FiringPlan toFiringPlan(final FiringPlan heatlessPlan, final List<WeaponFireInfo> options) {
+            final List<WeaponFireInfo> added = new ArrayList<>();
+            for (PlanNode node = this; node.parent != null; node = node.parent) {
+                if (node.addedOption >= 0) {
+                    added.add(options.get(node.addedOption));
+                }
+            }
+            final FiringPlan plan = new FiringPlan(heatlessPlan.getTarget(), flipArms);
+            plan.addAll(heatlessPlan);
+            for (int i = added.size() - 1; i >= 0; i--) {
+                plan.add(added.get(i));
+            }
+            plan.setUtility(utility);
+            return plan;
+        }
+    }
+}
@@ -20,8 +20,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import megamek.MegaMek;
 import megamek.client.bot.BotClient;
@@ -40,6 +47,7 @@ import megamek.common.MovePath.MoveStepType;
 import megamek.common.Targetable;
 import megamek.common.Terrains;
 import megamek.common.pathfinder.AbstractPathFinder.Filter;
+import megamek.common.pathfinder.AbstractPathFinder.StopConditionInterrupted;
 import megamek.common.pathfinder.AeroGroundPathFinder;
 import megamek.common.pathfinder.AeroGroundPathFinder.AeroGroundOffBoardFilter;
 import megamek.common.util.BoardUtilities;
@@ -57,9 +65,19 @@ import megamek.common.pathfinder.SpheroidPathFinder;
  * a) possible paths that units in play can take, and
  * b) their possible locations
  *
+ * Paths for different units can be calculated at the same time, see
+ * {@link #submitRecalculation(Entity)}. Each calculation is given a ticket when
+ * it is requested and only stores its results if no newer calculation for the same
+ * unit has been requested since.
  */
 public class PathEnumerator {
 
+    /**
+     * The most path calculations that are run at the same time
+     */
+    private static final int MAX_CALCULATION_THREADS =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
     private final Princess owner;
     private final IGame game;
     private final Map<Integer, List<MovePath>> unitPaths = new ConcurrentHashMap<>();
@@ -71,6 +89,16 @@ public class PathEnumerator {
     private AtomicBoolean mapHasBridges = null;
     private final Object BRIDGE_LOCK = new Object();
 
+    private final Map<Integer, Future<?>> pendingCalculations = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> calculationTickets = new ConcurrentHashMap<>();
+    private final AtomicLong nextTicket = new AtomicLong();
+    // guards issuing tickets and storing results, so a stale calculation can't overwrite a newer one
+    private final Object TICKET_LOCK = new Object();
+    // the cluster and behavior trackers used for long range paths aren't thread safe
+    private final Object LONG_RANGE_LOCK = new Object();
+    private ExecutorService calculationExecutor = null;
+    private boolean shutDown = false;
+
     public PathEnumerator(Princess owningPrincess, IGame game) {
         owner = owningPrincess;
         this.game = game;
@@ -83,6 +111,7 @@ public class PathEnumerator {
     void clear() {
         getOwner().getLogger().methodBegin();
         try {
+            cancelAllRecalculations();
             getUnitPaths().clear();
             getUnitPotentialLocations().clear();
             getLastKnownLocations().clear();
@@ -148,13 +177,18 @@ public class PathEnumerator {
      * Calculate what to do on my turn.
      * Has a retry mechanism for when the turn calculation fails due to concurrency issues
      */
-    public synchronized void recalculateMovesFor(final Entity mover) {
+    public void recalculateMovesFor(final Entity mover) {
+        cancelRecalculation(mover.getId());
+        recalculateMovesFor(mover, issueTicket(mover.getId()));
+    }
+
+    private void recalculateMovesFor(final Entity mover, final long ticket) {
         int retryCount = 0;
         boolean success = false;
-        
+
         while((retryCount < BotClient.BOT_TURN_RETRY_COUNT) && !success) {
-            success = recalculateMovesForWorker(mover);
-            
+            success = recalculateMovesForWorker(mover, ticket);
+
             if(!success) {
                 // if we fail, take a nap for 500-1500 milliseconds, then try again
                 // as it may be due to some kind of thread-related issue
@@ -164,41 +198,161 @@ public class PathEnumerator {
                 try {
                     Thread.sleep(Compute.randomInt(1000) + 500);
                 } catch (InterruptedException e) {
-                    MegaMek.getLogger().error(e.toString());
+                    // the calculation has been cancelled
+                    return;
                 }
             }
         }
     }
-    
+
+    /**
+     * Queues a path calculation for the given unit to be run in the background,
+     * cancelling any calculation for it that is still pending. Does nothing once
+     * the enumerator has been shut down.
+     */
+    void submitRecalculation(final Entity mover) {
+        final int id = mover.getId();
+        synchronized (pendingCalculations) {
+            if (shutDown) {
+                return;
+            }
+            cancelRecalculation(id);
+            final long ticket = issueTicket(id);
+            pendingCalculations.put(id, getCalculationExecutor().submit(() -> recalculateMovesFor(mover, ticket)));
+        }
+    }
+
+    /**
+     * Cancels the pending path calculation for the given unit, if there is one.
+     * If it's already running, its results are discarded.
+     */
+    void cancelRecalculation(int entityId) {
+        synchronized (pendingCalculations) {
+            final Future<?> pending = pendingCalculations.remove(entityId);
+            if (pending != null) {
+                pending.cancel(true);
+            }
+            calculationTickets.remove(entityId);
+        }
+    }
+
+    private void cancelAllRecalculations() {
+        synchronized (pendingCalculations) {
+            for (Future<?> pending : pendingCalculations.values()) {
+                pending.cancel(true);
+            }
+            pendingCalculations.clear();
+            calculationTickets.clear();
+        }
+    }
+
+    /**
+     * @return true if there are path calculations queued or running
+     */
+    boolean hasPendingRecalculations() {
+        pendingCalculations.values().removeIf(Future::isDone);
+        return !pendingCalculations.isEmpty();
+    }
+
+    /**
+     * Blocks until all path calculations queued so far have finished or been
+     * cancelled.
+     */
+    void awaitPendingRecalculations() {
+        while (hasPendingRecalculations()) {
+            for (Future<?> pending : new ArrayList<>(pendingCalculations.values())) {
+                try {
+                    pending.get();
+                } catch (CancellationException ignored) {
+                    // replaced by a newer calculation, which the next pass waits for
+                } catch (ExecutionException e) {
+                    MegaMek.getLogger().error(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the background path calculations. No more can be submitted afterwards.
+     */
+    void shutdown() {
+        synchronized (pendingCalculations) {
+            shutDown = true;
+            cancelAllRecalculations();
+            if (calculationExecutor != null) {
+                calculationExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private ExecutorService getCalculationExecutor() {
+        synchronized (pendingCalculations) {
+            if (calculationExecutor == null) {
+                final AtomicInteger threadCount = new AtomicInteger();
+                calculationExecutor = Executors.newFixedThreadPool(MAX_CALCULATION_THREADS, r -> {
+                    Thread thread = new Thread(r, "Princess-path-enumerator-" + threadCount.incrementAndGet()
+                            + " (" + getOwner().getName() + ")");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return calculationExecutor;
+        }
+    }
+
+    private long issueTicket(int entityId) {
+        synchronized (TICKET_LOCK) {
+            final long ticket = nextTicket.incrementAndGet();
+            calculationTickets.put(entityId, ticket);
+            return ticket;
+        }
+    }
+
+    private boolean isCurrent(int entityId, long ticket) {
+        final Long current = calculationTickets.get(entityId);
+        return (current != null) && (current == ticket) && !Thread.currentThread().isInterrupted();
+    }
+
     /**
      * calculates all moves for a given unit, keeping the shortest (or longest, depending) path to each facing/pair
+     *
+     * @return false if the calculation failed and should be retried
      */
-    private boolean recalculateMovesForWorker(final Entity mover) {
+    private boolean recalculateMovesForWorker(final Entity mover, final long ticket) {
         try {
-    
-            // Record it's current position.
-            getLastKnownLocations().put(
-                    mover.getId(),
-                    CoordFacingCombo.createCoordFacingCombo(
-                            mover.getPosition(), mover.getFacing()));
-
-            // Clear out any already calculated paths.
-            getUnitPaths().remove(mover.getId());
-            getLongRangePaths().remove(mover.getId());
-            
-            // if the entity does not exist in the game for any reason, let's cut out safely
-            // otherwise, we'll run into problems calculating paths
-            if (getGame().getEntity(mover.getId()) == null) {
-                // clean up orphaned entries in local storage
-                getUnitMovableAreas().remove(mover.getId());
-                getUnitPotentialLocations().remove(mover.getId());
-                getLastKnownLocations().remove(mover.getId());
-                return true;
+            synchronized (TICKET_LOCK) {
+                if (!isCurrent(mover.getId(), ticket)) {
+                    return true;
+                }
+
+                // Record it's current position.
+                getLastKnownLocations().put(
+                        mover.getId(),
+                        CoordFacingCombo.createCoordFacingCombo(
+                                mover.getPosition(), mover.getFacing()));
+
+                // Clear out any already calculated paths.
+                getUnitPaths().remove(mover.getId());
+                getLongRangePaths().remove(mover.getId());
+
+                // if the entity does not exist in the game for any reason, let's cut out safely
+                // otherwise, we'll run into problems calculating paths
+                if (getGame().getEntity(mover.getId()) == null) {
+                    // clean up orphaned entries in local storage
+                    getUnitMovableAreas().remove(mover.getId());
+                    getUnitPotentialLocations().remove(mover.getId());
+                    getLastKnownLocations().remove(mover.getId());
+                    return true;
+                }
             }
 
             // Start constructing the new list of paths.
             List<MovePath> paths = new ArrayList<>();
-            
+            List<BulldozerMovePath> longRangePaths = null;
+
             // Aero movement on atmospheric ground maps
             // currently only applies to a) conventional aircraft, b) aerotech units, c) lams in air mode
             if(mover.isAirborneAeroOnGroundMap() && !((IAero) mover).isSpheroid()) {
@@ -258,7 +412,7 @@ public class PathEnumerator {
                 paths.addAll(ipf.getAllComputedPathsUncategorized());
                 
                 // generate long-range paths appropriate to the bot's current state
-                updateLongRangePaths(mover);
+                longRangePaths = calculateLongRangePaths(mover);
             // this handles situations where a unit is high up in the air, but is not an aircraft
             // such as an ejected pilot or a unit hot dropping from a dropship, as these cannot move
             } else if (!mover.isAero() && mover.isAirborne()) {
@@ -268,12 +422,14 @@ public class PathEnumerator {
                 LongestPathFinder lpf = LongestPathFinder
                         .newInstanceOfLongestPath(mover.getRunMPwithoutMASC(),
                                 MoveStepType.FORWARDS, getGame());
+                lpf.addStopCondition(new StopConditionInterrupted<>());
                 lpf.run(new MovePath(game, mover));
                 paths.addAll(lpf.getLongestComputedPaths());
 
                 //add walking moves
                 lpf = LongestPathFinder.newInstanceOfLongestPath(
                         mover.getWalkMP(), MoveStepType.BACKWARDS, getGame());
+                lpf.addStopCondition(new StopConditionInterrupted<>());
                 lpf.run(new MovePath(getGame(), mover));
                 paths.addAll(lpf.getLongestComputedPaths());
 
@@ -282,6 +438,7 @@ public class PathEnumerator {
                     ShortestPathFinder spf = ShortestPathFinder
                             .newInstanceOfOneToAll(mover.getJumpMP(),
                                     MoveStepType.FORWARDS, getGame());
+                    spf.addStopCondition(new StopConditionInterrupted<>());
                     spf.run((new MovePath(game, mover))
                             .addStep(MoveStepType.START_JUMP));
                     paths.addAll(spf.getAllComputedPathsUncategorized());
@@ -308,18 +465,28 @@ public class PathEnumerator {
                 paths = new ArrayList<>(filter.doFilter(paths));
                 
                 // generate long-range paths appropriate to the bot's current state
-                updateLongRangePaths(mover);
+                longRangePaths = calculateLongRangePaths(mover);
             }
 
-            // Update our locations and add the computed paths.
-            updateUnitLocations(mover, paths);
-            getUnitPaths().put(mover.getId(), paths);
+            synchronized (TICKET_LOCK) {
+                // a newer calculation has been requested while this one was running
+                if (!isCurrent(mover.getId(), ticket)) {
+                    return true;
+                }
+
+                // Update our locations and add the computed paths.
+                updateUnitLocations(mover, paths);
+                getUnitPaths().put(mover.getId(), paths);
+                if (longRangePaths != null) {
+                    getLongRangePaths().put(mover.getId(), longRangePaths);
+                }
 
-            // calculate bounding area for move
-            ConvexBoardArea myArea = new ConvexBoardArea();
-            myArea.addCoordFacingCombos(getUnitPotentialLocations().get(
-                    mover.getId()).iterator(), owner.getBoard());
-            getUnitMovableAreas().put(mover.getId(), myArea);
+                // calculate bounding area for move
+                ConvexBoardArea myArea = new ConvexBoardArea();
+                myArea.addCoordFacingCombos(getUnitPotentialLocations().get(
+                        mover.getId()).iterator(), owner.getBoard());
+                getUnitMovableAreas().put(mover.getId(), myArea);
+            }
 
             return true;
         } catch(Exception e) {
@@ -329,18 +496,26 @@ public class PathEnumerator {
     }
     
     /**
-     * Worker function that updates the long-range path collection for a particular entity
+     * Worker function that calculates the long-range path collection for a particular entity
+     *
+     * @return the long-range paths, or null if the entity doesn't need any
      */
-    private void updateLongRangePaths(final Entity mover) {
+    private List<BulldozerMovePath> calculateLongRangePaths(final Entity mover) {
         // don't bother doing this if the entity can't move anyway
         // or if it's not one of mine
         // or if I've already moved it
         if((mover.getWalkMP() == 0) ||
-                ((getOwner().getLocalPlayer() != null) && (mover.getOwnerId() != getOwner().getLocalPlayer().getId())) || 
+                ((getOwner().getLocalPlayer() != null) && (mover.getOwnerId() != getOwner().getLocalPlayer().getId())) ||
                 !mover.isSelectableThisTurn()) {
-            return;
+            return null;
         }
-        
+
+        synchronized (LONG_RANGE_LOCK) {
+            return calculateLongRangePathsWorker(mover);
+        }
+    }
+
+    private List<BulldozerMovePath> calculateLongRangePathsWorker(final Entity mover) {
         DestructionAwareDestinationPathfinder dpf = new DestructionAwareDestinationPathfinder();
         
         // where are we going?
@@ -369,22 +544,21 @@ public class PathEnumerator {
                 break;
         }
         
-        if(!getLongRangePaths().containsKey(mover.getId())) {
-            getLongRangePaths().put(mover.getId(), new ArrayList<>());
-        }
-        
+        List<BulldozerMovePath> longRangePaths = new ArrayList<>();
+
         // calculate a ground-bound long range path
         BulldozerMovePath bmp = dpf.findPathToCoords(mover, destinations, owner.getClusterTracker());
-        
+
         if(bmp != null) {
-            getLongRangePaths().get(mover.getId()).add(bmp);
+            longRangePaths.add(bmp);
         }
-        
+
         // calculate a jumping long range path
-        BulldozerMovePath jmp = dpf.findPathToCoords(mover, destinations, true, owner.getClusterTracker()); 
+        BulldozerMovePath jmp = dpf.findPathToCoords(mover, destinations, true, owner.getClusterTracker());
         if(jmp != null) {
-            getLongRangePaths().get(mover.getId()).add(jmp);
+            longRangePaths.add(jmp);
         }
+        return longRangePaths;
     }
     
     private void adjustPathsForBridges(List<MovePath> paths) {
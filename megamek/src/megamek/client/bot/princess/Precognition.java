@@ -32,6 +32,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import megamek.client.bot.princess.BotGeometry.CoordFacingCombo;
 import megamek.common.Board;
+import megamek.common.BoardSource;
 import megamek.common.Building;
 import megamek.common.ComputeECM;
 import megamek.common.Coords;
@@ -39,6 +40,7 @@ import megamek.common.ECMInfo;
 import megamek.common.Entity;
 import megamek.common.Flare;
 import megamek.common.Game;
+import megamek.common.GameSnapshot;
 import megamek.common.GameTurn;
 import megamek.common.IGame;
 import megamek.common.IHex;
@@ -90,6 +92,12 @@ public class Precognition implements Runnable {
     private IGame game;
     private final ReentrantLock GAME_LOCK = new ReentrantLock();
 
+    /**
+     * The latest snapshot of game, taken lazily and discarded whenever a
+     * packet changes the game.
+     */
+    private volatile GameSnapshot snapshot;
+
     /**
      * Computing ECMInfo requires iterating over all Entities in the Game and 
      * this can be an expensive operation, so it's cheaper to use cache it and
@@ -235,6 +243,9 @@ public class Precognition implements Runnable {
             case Packet.COMMAND_SENDING_BOARD:
                 receiveBoard(c);
                 break;
+            case Packet.COMMAND_SENDING_BOARD_SOURCE:
+                receiveBoardSource(c);
+                break;
             case Packet.COMMAND_SENDING_ENTITIES:
                 receiveEntities(c);
                 break;
@@ -247,6 +258,12 @@ public class Precognition implements Runnable {
                         .getObject(0);
                 getGame().setAllReports(allReports);
                 break;
+            case Packet.COMMAND_SENDING_REPORTS_ROUNDS:
+                Vector<Vector<Report>> rounds = (Vector<Vector<Report>>) c.getObject(1);
+                for (int i = 0; i < rounds.size(); i++) {
+                    getGame().setReports(c.getIntValue(0) + i, rounds.elementAt(i));
+                }
+                break;
             case Packet.COMMAND_ENTITY_ATTACK:
                 receiveAttack(c);
                 break;
@@ -311,6 +328,7 @@ public class Precognition implements Runnable {
                 break;
         }
         } finally {
+            snapshot = null;
             GAME_LOCK.unlock();
         }
     }
@@ -357,10 +375,6 @@ public class Precognition implements Runnable {
         }
     }
 
-    private boolean isEntityOnMap(final Entity entity) {
-        return entity.isDeployed() && !entity.isOffBoard();
-    }
-
     /**
      * Makes sure pathEnumerator has up to date information about other units
      * locations call this right before making a move. automatically pauses.
@@ -370,12 +384,13 @@ public class Precognition implements Runnable {
 
         try {
             pause();
-            for (Entity entity : getGame().getEntitiesVector()) {
+            final GameSnapshot currentGame = getGameSnapshot();
+            for (Entity entity : currentGame.getEntities()) {
                 // If Precog is done, just exit
                 if (getDone().get()) {
                     return;
                 }
-                if (!isEntityOnMap(entity)) {
+                if (!currentGame.getUnitState(entity.getId()).isOnMap()) {
                     continue;
                 }
                 if (((!getPathEnumerator().getLastKnownLocations().containsKey(entity.getId()))
@@ -387,7 +402,7 @@ public class Precognition implements Runnable {
                     // .getId()).coords+" but its actually at "+entity.getPosition());
                     // else
                     // System.err.println("  I had no idea where it was");
-                    dirtifyUnit(entity.getId());
+                    dirtifyUnit(entity.getId(), currentGame);
                 }
             }
             while (!getDirtyUnits().isEmpty()) {
@@ -397,13 +412,15 @@ public class Precognition implements Runnable {
                 }
                 
                 Integer entityId = getDirtyUnits().pollFirst();
-                Entity entity = getGame().getEntity(entityId);
+                Entity entity = currentGame.getEntity(entityId);
                 if (entity != null) {
                     getOwner().getLogger().debug("recalculating paths for " + entity.getDisplayName());
-                    getPathEnumerator().recalculateMovesFor(entity);
-                    getOwner().getLogger().debug("finished recalculating paths for " + entity.getDisplayName());
+                    getPathEnumerator().submitRecalculation(entity);
                 }
             }
+            // wait for these and anything the background thread queued before it paused
+            getPathEnumerator().awaitPendingRecalculations();
+            getOwner().getLogger().debug("finished recalculating paths");
         } finally {
             getOwner().getLogger().methodEnd();
         }
@@ -421,12 +438,17 @@ public class Precognition implements Runnable {
                     ecmInfo = ComputeECM.computeAllEntitiesECMInfo(
                             getGame().getEntitiesVector());
                 } else if (!getDirtyUnits().isEmpty()) {
-                    Entity entity = getGame().getEntity(getDirtyUnits().pollFirst());
-                    if ((entity != null) && isEntityOnMap(entity)) {
-                        unPause();
-                        getOwner().getLogger().debug("recalculating paths for " + entity.getDisplayName());
-                        getPathEnumerator().recalculateMovesFor(entity);
-                        getOwner().getLogger().debug("finished recalculating paths for " + entity.getDisplayName());
+                    // hand every dirty unit to the path enumerator, which works on
+                    // several of them at once
+                    final GameSnapshot currentGame = getGameSnapshot();
+                    Integer entityId;
+                    while (!getWaitWhenDone().get() && ((entityId = getDirtyUnits().pollFirst()) != null)) {
+                        Entity entity = currentGame.getEntity(entityId);
+                        if ((entity != null) && currentGame.getUnitState(entityId).isOnMap()) {
+                            unPause();
+                            getOwner().getLogger().debug("recalculating paths for " + entity.getDisplayName());
+                            getPathEnumerator().submitRecalculation(entity);
+                        }
                     }
                 } else if (getWaitWhenDone().get()) {
                     waitForUnpause(); // paused for a reason
@@ -441,6 +463,7 @@ public class Precognition implements Runnable {
 
     void signalDone() {
         getDone().set(true);
+        getPathEnumerator().shutdown();
     }
 
     /**
@@ -478,8 +501,8 @@ public class Precognition implements Runnable {
     private void processGameEvents() {
         getOwner().getLogger().methodBegin();
 
-        // We don't want Game to change while this is happening
-        GAME_LOCK.lock();
+        // Work from a snapshot so that incoming packets aren't held up while this is happening
+        final GameSnapshot currentGame = getGameSnapshot();
         try {
             LinkedList<GameEvent> eventsToProcessIterator = new LinkedList<>(getEventsToProcess());
             int numEvents = eventsToProcessIterator.size();
@@ -493,24 +516,24 @@ public class Precognition implements Runnable {
                 getEventsToProcess().remove(event);
                 if (event instanceof GameEntityChangeEvent) {
                     // Ignore entity changes that don't happen during movement
-                    if (getGame().getPhase() != IGame.Phase.PHASE_MOVEMENT) {
+                    if (currentGame.getPhase() != IGame.Phase.PHASE_MOVEMENT) {
                         continue;
                     }
                     GameEntityChangeEvent changeEvent = (GameEntityChangeEvent) event;
                     if (changeEvent.getEntity() == null) {
                         continue; // just to be safe
                     }
-                    Entity entity = getGame().getEntity(changeEvent.getEntity().getId());
+                    Entity entity = currentGame.getEntity(changeEvent.getEntity().getId());
                     if (entity == null) {
                         continue; // not sure how this can happen, but just to be
                         // safe
                     }
                     // a lot of odd entity changes are send during the firing phase,
                     // none of which are relevant
-                    if (getGame().getPhase() == IGame.Phase.PHASE_FIRING) {
+                    if (currentGame.getPhase() == IGame.Phase.PHASE_FIRING) {
                         continue;
                     }
-                    Coords position = entity.getPosition();
+                    Coords position = currentGame.getUnitState(entity.getId()).getPosition();
                     if (position == null) {
                         continue;
                     }
@@ -521,7 +544,7 @@ public class Precognition implements Runnable {
                                     + changeEvent.getEntity().getDisplayName()
                                     + " (ID " + entity.getId() + ")");
                     Integer entityId = changeEvent.getEntity().getId();
-                    dirtifyUnit(entityId);
+                    dirtifyUnit(entityId, currentGame);
 
                 } else if (event instanceof GamePhaseChangeEvent) {
                     GamePhaseChangeEvent phaseChange = (GamePhaseChangeEvent) event;
@@ -530,8 +553,9 @@ public class Precognition implements Runnable {
                     // All units are dirty
                     if (phaseChange.getNewPhase() == IGame.Phase.PHASE_MOVEMENT) {
                         getPathEnumerator().clear();
-                        for (Entity entity : getGame().getEntitiesVector()) {
-                            if (entity.isActive() && entity.isDeployed() && entity.getPosition() != null) {
+                        for (Entity entity : currentGame.getEntities()) {
+                            GameSnapshot.UnitState state = currentGame.getUnitState(entity.getId());
+                            if (entity.isActive() && state.isDeployed() && state.getPosition() != null) {
                                 getDirtyUnits().add(entity.getId());
                             }
                         }
@@ -540,7 +564,6 @@ public class Precognition implements Runnable {
             }
             getOwner().getLogger().debug("Events still to process: " + getEventsToProcess().size());
         } finally {
-            GAME_LOCK.unlock();
             getOwner().getLogger().methodEnd();
         }
     }
@@ -549,14 +572,12 @@ public class Precognition implements Runnable {
      * Called when a unit has moved and should be put on the dirty list, as well
      * as any units who's moves contain that unit
      */
-    private void dirtifyUnit(int id) {
+    private void dirtifyUnit(int id, GameSnapshot currentGame) {
         getOwner().getLogger().methodBegin();
-        // Prevent Game from changing while processing
-        GAME_LOCK.lock();
         try {
             // first of all, if a unit has been removed, remove it from the list and
             // stop
-            if (getGame().getEntity(id) == null) {
+            if (currentGame.getEntity(id) == null) {
                 getPathEnumerator().getLastKnownLocations().remove(id);
                 getPathEnumerator().getUnitMovableAreas().remove(id);
                 getPathEnumerator().getUnitPaths().remove(id);
@@ -566,14 +587,14 @@ public class Precognition implements Runnable {
             // if a unit has moved or deployed, then it becomes dirty, and any units
             // with its initial or final position
             // in their list become dirty
-            if (!getGame().getEntity(id).isAero()) {
+            if (!currentGame.getEntity(id).isAero()) {
                 TreeSet<Integer> toDirty = new TreeSet<>(
                         getPathEnumerator().getEntitiesWithLocation(
-                                getGame().getEntity(id).getPosition(), true));
+                                currentGame.getUnitState(id).getPosition(), true));
                 if (getPathEnumerator().getLastKnownLocations()
                         .containsKey(id)) {
-                    if ((getGame().getEntity(id) != null)
-                            && getGame().getEntity(id).isSelectableThisTurn()) {
+                    if ((currentGame.getEntity(id) != null)
+                            && currentGame.getEntity(id).isSelectableThisTurn()) {
                         toDirty.addAll(getPathEnumerator()
                                 .getEntitiesWithLocation(getPathEnumerator()
                                         .getLastKnownLocations().get(id)
@@ -583,9 +604,9 @@ public class Precognition implements Runnable {
                 // no need to dirty units that aren't selectable this turn
                 List<Integer> toRemove = new ArrayList<>();
                 for (Integer index : toDirty) {
-                    if ((getGame().getEntity(index) == null) || (!getGame()
+                    if ((currentGame.getEntity(index) == null) || (!currentGame
                             .getEntity(index).isSelectableThisTurn())
-                            && (getGame()
+                            && (currentGame
                                     .getPhase() == IGame.Phase.PHASE_MOVEMENT)) {
                         toRemove.add(index);
                     }
@@ -596,33 +617,37 @@ public class Precognition implements Runnable {
 
                 if (toDirty.size() != 0) {
                     StringBuilder msg = new StringBuilder("The following units have become dirty");
-                    if (getGame().getEntity(id) != null) {
+                    if (currentGame.getEntity(id) != null) {
                         msg.append(" as a result of a nearby move of ")
-                           .append(getGame().getEntity(id).getDisplayName());
+                           .append(currentGame.getEntity(id).getDisplayName());
                     }
 
                     Iterator<Integer> dirtyIterator = toDirty.descendingIterator();
                     while (dirtyIterator.hasNext()) {
                         Integer i = dirtyIterator.next();
-                        Entity e = getGame().getEntity(i);
+                        Entity e = currentGame.getEntity(i);
                         if (e != null) {
                             msg.append("\n  ").append(e.getDisplayName());
                         }
                     }
                     getOwner().getLogger().debug(msg.toString());
                 }
+                for (Integer i : toDirty) {
+                    // anything already being worked out for these is out of date
+                    getPathEnumerator().cancelRecalculation(i);
+                }
                 getDirtyUnits().addAll(toDirty);
             }
-            Entity entity = getGame().getEntity(id);
+            Entity entity = currentGame.getEntity(id);
             if ((entity != null) && (entity.isSelectableThisTurn()) ||
-                (getGame().getPhase() != IGame.Phase.PHASE_MOVEMENT)) {
+                (currentGame.getPhase() != IGame.Phase.PHASE_MOVEMENT)) {
+                getPathEnumerator().cancelRecalculation(id);
                 getDirtyUnits().add(id);
             } else if (entity != null) {
                 getPathEnumerator().getLastKnownLocations().put(id,
                         CoordFacingCombo.createCoordFacingCombo(entity));
             }
         } finally {
-            GAME_LOCK.unlock();
             getOwner().getLogger().methodEnd();
         }
     }
@@ -682,6 +707,7 @@ public class Precognition implements Runnable {
         try {
             getOwner().getLogger().debug("GAME_LOCK write locked.");
             game.reset();
+            snapshot = null;
         } finally {
             GAME_LOCK.unlock();
             getOwner().getLogger().debug("GAME_LOCK write unlocked.");
@@ -698,6 +724,28 @@ public class Precognition implements Runnable {
             getOwner().getLogger().debug("GAME_LOCK read unlocked.");
         }
     }
+
+    /**
+     * Returns a snapshot of the game as of the last packet received. The same
+     * snapshot is handed out until another packet changes the game, so this is
+     * cheap to call before every decision.
+     */
+    GameSnapshot getGameSnapshot() {
+        GameSnapshot current = snapshot;
+        if (current == null) {
+            GAME_LOCK.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = GameSnapshot.of(game);
+                    snapshot = current;
+                }
+            } finally {
+                GAME_LOCK.unlock();
+            }
+        }
+        return current;
+    }
    
     /**
      * Returns the individual player assigned the index parameter.
@@ -735,6 +783,19 @@ public class Precognition implements Runnable {
         getGame().setBoard(newBoard);
     }
 
+    /**
+     * Builds the board from the local board files and the hexes in the net
+     * command. If that fails, Princess asks for the whole board, which is
+     * passed on here as well.
+     */
+    private void receiveBoardSource(Packet c) {
+        BoardSource source = (BoardSource) c.getObject(0);
+        Board newBoard = (Board) c.getObject(1);
+        if (source.restore(newBoard)) {
+            getGame().setBoard(newBoard);
+        }
+    }
+
     /**
      * Loads the entities from the data in the net command.
      */
@@ -623,6 +623,8 @@ public class Princess extends BotClient {
         getLogger().methodBegin();
 
         try {
+            // the board and units may have changed since our last turn
+            fireControlState.clearTurnData();
             // get the first entity that can act this turn make sure weapons 
             // are loaded
             final Entity shooter = getEntityToFire(fireControlState);
@@ -1082,6 +1084,8 @@ public class Princess extends BotClient {
         getLogger().methodBegin();
 
         try {
+            // the board and units may have changed since our last turn
+            fireControlState.clearTurnData();
             initialize();
             // get the first entity that can act this turn
             final Entity attacker = game.getFirstEntity(getMyTurn());
@@ -1253,6 +1257,9 @@ public class Princess extends BotClient {
         }
 
         try {
+            // the board and units may have changed since our last turn
+            fireControlState.clearTurnData();
+
             // figure out who moved last, and who's move lists need to be 
             // updated
 
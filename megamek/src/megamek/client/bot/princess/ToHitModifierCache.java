@@ -0,0 +1,173 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.bot.princess;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import megamek.common.Coords;
+import megamek.common.EntityMovementType;
+import megamek.common.Targetable;
+import megamek.common.ToHitData;
+
+/**
+ * Holds the parts of the guessed to hit modifiers that only depend on the target
+ * and the hexes involved, so that they are worked out once per bot turn instead
+ * of once for every weapon on every path being ranked.
+ * <p>
+ * Target modifiers are keyed by the target and the parts of its
+ * {@link EntityState} that they depend on, so a target in a different state
+ * gets its own entry. Line of sight modifiers are keyed by the shooter, the
+ * target and the hexes of both. Neither accounts for changes to the board or the
+ * units themselves, so the cache must be cleared whenever the game may have
+ * changed, i.e. at the start of each of the bot's turns.
+ * <p>
+ * The cached {@link ToHitData} are shared and must not be modified; append them
+ * to another {@link ToHitData} instead.
+ */
+class ToHitModifierCache {
+
+    private final Map<TargetKey, ToHitData> targetModifiers = new ConcurrentHashMap<>();
+    private final Map<LosKey, ToHitData> losModifiers = new ConcurrentHashMap<>();
+
+    /**
+     * @param target      Who is being shot at.
+     * @param targetState The state of the target.
+     * @param calculator  Works out the modifiers if they aren't cached yet.
+     * @return The modifiers that only depend on the target and its hex.
+     */
+    ToHitData getTargetModifiers(final Targetable target,
+                                 final EntityState targetState,
+                                 final Supplier<ToHitData> calculator) {
+        return getOrCalculate(targetModifiers, new TargetKey(target, targetState), calculator);
+    }
+
+    /**
+     * @param shooterId       The id of the unit doing the shooting.
+     * @param shooterPosition Where the shooter is.
+     * @param target          Who is being shot at.
+     * @param targetPosition  Where the target is.
+     * @param calculator      Works out the modifiers if they aren't cached yet.
+     * @return The line of sight modifiers between the two hexes.
+     */
+    ToHitData getLosModifiers(final int shooterId,
+                              final Coords shooterPosition,
+                              final Targetable target,
+                              final Coords targetPosition,
+                              final Supplier<ToHitData> calculator) {
+        return getOrCalculate(losModifiers, new LosKey(shooterId, shooterPosition, target, targetPosition),
+                              calculator);
+    }
+
+    /**
+     * Forgets all cached modifiers.
+     */
+    void clear() {
+        targetModifiers.clear();
+        losModifiers.clear();
+    }
+
+    private static <K> ToHitData getOrCalculate(final Map<K, ToHitData> cache,
+                                                final K key,
+                                                final Supplier<ToHitData> calculator) {
+        // not computeIfAbsent, as the calculation may look at other keys
+        ToHitData modifiers = cache.get(key);
+        if (null == modifiers) {
+            modifiers = calculator.get();
+            cache.put(key, modifiers);
+        }
+        return modifiers;
+    }
+
+    private static final class TargetKey {
+        private final int targetType;
+        private final int targetId;
+        private final Coords position;
+        private final int hexesMoved;
+        private final boolean jumping;
+        private final boolean immobile;
+        private final EntityMovementType movementType;
+
+        private TargetKey(final Targetable target, final EntityState targetState) {
+            targetType = target.getTargetType();
+            targetId = target.getTargetId();
+            position = targetState.getPosition();
+            hexesMoved = targetState.getHexesMoved();
+            jumping = targetState.isJumping();
+            immobile = targetState.isImmobile();
+            movementType = targetState.getMovementType();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TargetKey)) {
+                return false;
+            }
+            final TargetKey other = (TargetKey) o;
+            return (targetType == other.targetType) && (targetId == other.targetId)
+                   && (hexesMoved == other.hexesMoved) && (jumping == other.jumping)
+                   && (immobile == other.immobile) && (movementType == other.movementType)
+                   && Objects.equals(position, other.position);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetType, targetId, position, hexesMoved, jumping, immobile, movementType);
+        }
+    }
+
+    private static final class LosKey {
+        private final int shooterId;
+        private final Coords shooterPosition;
+        private final int targetType;
+        private final int targetId;
+        private final Coords targetPosition;
+
+        private LosKey(final int shooterId,
+                       final Coords shooterPosition,
+                       final Targetable target,
+                       final Coords targetPosition) {
+            this.shooterId = shooterId;
+            this.shooterPosition = shooterPosition;
+            targetType = target.getTargetType();
+            targetId = target.getTargetId();
+            this.targetPosition = targetPosition;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LosKey)) {
+                return false;
+            }
+            final LosKey other = (LosKey) o;
+            return (shooterId == other.shooterId) && (targetType == other.targetType)
+                   && (targetId == other.targetId) && Objects.equals(shooterPosition, other.shooterPosition)
+                   && Objects.equals(targetPosition, other.targetPosition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shooterId, shooterPosition, targetType, targetId, targetPosition);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.bot.princess;
+
+import megamek.common.Entity;
+import megamek.common.Mounted;
+import megamek.common.RangeType;
+import megamek.common.WeaponType;
+
+/**
+ * The damage a unit's weapons can do at each range, worked out once so that the
+ * path rankers don't have to resolve the ranges of every weapon for every path
+ * and every enemy.
+ * <p>
+ * A profile reflects the unit's weapons when it was made; it is only valid for as
+ * long as the {@link Entity} it was made from is, see {@link #isFor(Entity)}.
+ */
+final class WeaponDamageProfile {
+
+    private final Entity entity;
+    /** Damage of the weapons that reach the range without extreme range. */
+    private final double[] withinLongRange;
+    /** Damage of the weapons for which the range is extreme range. */
+    private final double[] atExtremeRange;
+    /** Damage of all weapons that don't reach past extreme range. */
+    private final double[] beyondExtremeRange;
+    private final double totalDamage;
+
+    private WeaponDamageProfile(final Entity entity) {
+        this.entity = entity;
+
+        int maxRange = 0;
+        for (final Mounted weapon : entity.getWeaponList()) {
+            final int[] ranges = ((WeaponType) weapon.getType()).getRanges(weapon);
+            if (null != ranges) {
+                maxRange = Math.max(maxRange, ranges[RangeType.RANGE_EXTREME]);
+            }
+        }
+        withinLongRange = new double[maxRange + 1];
+        atExtremeRange = new double[maxRange + 1];
+        beyondExtremeRange = new double[maxRange + 1];
+
+        double total = 0;
+        for (final Mounted weapon : entity.getWeaponList()) {
+            final WeaponType weaponType = (WeaponType) weapon.getType();
+            final int[] ranges = weaponType.getRanges(weapon);
+            final double damage = getDamage(weapon);
+            if ((null == ranges) || (0 >= damage)) {
+                continue;
+            }
+            total += damage;
+            // the same brackets as RangeType.rangeBracket()
+            for (int range = 0; range <= maxRange; range++) {
+                if (range > ranges[RangeType.RANGE_EXTREME]) {
+                    beyondExtremeRange[range] += damage;
+                } else if (range > ranges[RangeType.RANGE_LONG]) {
+                    atExtremeRange[range] += damage;
+                } else {
+                    withinLongRange[range] += damage;
+                }
+            }
+        }
+        totalDamage = total;
+    }
+
+    /**
+     * Works out the damage profile of the unit's weapons as they are now.
+     */
+    static WeaponDamageProfile of(final Entity entity) {
+        return new WeaponDamageProfile(entity);
+    }
+
+    /**
+     * @return true if this profile was made from the given entity object
+     */
+    boolean isFor(final Entity entity) {
+        return this.entity == entity;
+    }
+
+    /**
+     * Same as {@link FireControl#getMaxDamageAtRange(Entity, int, boolean, boolean)}
+     * for the unit this profile was made from.
+     */
+    double getMaxDamageAtRange(final int range,
+                               final boolean useExtremeRange,
+                               final boolean useLOSRange) {
+        if (range >= withinLongRange.length) {
+            // out of reach of every weapon's extreme range
+            return useLOSRange ? totalDamage : 0;
+        }
+        final int index = Math.max(0, range);
+        double damage = withinLongRange[index];
+        if (useExtremeRange) {
+            damage += atExtremeRange[index];
+        }
+        if (useLOSRange) {
+            damage += beyondExtremeRange[index];
+        }
+        return damage;
+    }
+
+    /**
+     * The damage a weapon counts with, or 0 if it can't be fired.
+     */
+    static double getDamage(final Mounted weapon) {
+        // if the weapon has been disabled or is out of ammo, don't count it
+        if (weapon.isCrippled()) {
+            return 0;
+        }
+        final WeaponType weaponType = (WeaponType) weapon.getType();
+        int weaponDamage = weaponType.getDamage();
+
+        // just a ball park estimate of missile and/or other cluster damage
+        // only a little over half of a cluster will generally hit
+        // but some cluster munitions do more than 1 point of damage per individual hit
+        // still better than just discounting them completely.
+        if (weaponDamage == WeaponType.DAMAGE_BY_CLUSTERTABLE) {
+            weaponDamage = weaponType.getRackSize();
+        }
+        return Math.max(0, weaponDamage);
+    }
+}
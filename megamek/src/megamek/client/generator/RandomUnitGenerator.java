@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Vector;
@@ -40,6 +41,7 @@ import java.util.zip.ZipFile;
 import megamek.common.Configuration;
 import megamek.common.MechSummary;
 import megamek.common.MechSummaryCache;
+import megamek.common.util.WeightedSampler;
 
 /**
  * This class sets up a random unit generator that can then
@@ -111,6 +113,8 @@ public class RandomUnitGenerator implements Serializable {
     protected class RatEntry {
         private Vector<String> units;
         private Vector<Float> weights;
+        // made from the units and weights the first time the RAT is rolled on
+        private volatile RatSampler sampler;
 
         RatEntry(){
             setUnits(new Vector<String>());
@@ -123,6 +127,7 @@ public class RandomUnitGenerator implements Serializable {
 
         public void setUnits(Vector<String> units) {
             this.units = units;
+            sampler = null;
         }
 
         public Vector<Float> getWeights() {
@@ -131,6 +136,35 @@ public class RandomUnitGenerator implements Serializable {
 
         public void setWeights(Vector<Float> weights) {
             this.weights = weights;
+            sampler = null;
+        }
+    }
+
+    /**
+     * The units of a RAT, ready to be rolled on. Only units that pass a filter
+     * may be included.
+     */
+    private static final class RatSampler {
+        private final String[] units;
+        private final WeightedSampler sampler;
+
+        RatSampler(List<String> units, List<Float> weights) {
+            this.units = units.toArray(new String[0]);
+            final double[] w = new double[weights.size()];
+            for (int i = 0; i < w.length; i++) {
+                w[i] = weights.get(i);
+            }
+            sampler = new WeightedSampler(w);
+        }
+
+        /**
+         * @param rand a random number from 0 (inclusive) to 1 (exclusive)
+         * @return the unit or RAT reference for the roll, or null if the RAT is
+         *         empty
+         */
+        String roll(double rand) {
+            final int index = sampler.indexOf(rand * sampler.getTotal());
+            return (index < 0) ? null : units[index];
         }
     }
 
@@ -414,56 +448,79 @@ public class RandomUnitGenerator implements Serializable {
                 retryCount++;
             }
             
-            Map<String, RatEntry> ratMap = getRatMap();
-            if (null != ratMap) {
-                RatEntry re = ratMap.get(ratName);
-                if (filter != null) {
-                	RatEntry filtered = new RatEntry();
-                	float totalWeight = 0.0f;
-                	MechSummaryCache msc = MechSummaryCache.getInstance();
-                	for (int i = 0; i < re.getUnits().size(); i++) {
-                		if (!re.getUnits().get(i).startsWith("@")) {
-	                		MechSummary ms = msc.getMech(re.getUnits().get(i));
-	                		if (ms == null || !filter.test(ms)) {
-	                			continue;
-	                		}
-                		}
-            			filtered.getUnits().add(re.getUnits().get(i));
-            			filtered.getWeights().add(re.getWeights().get(i));
-            			totalWeight += re.getWeights().get(i);
-                	}
-                	for (int i = 0; i < filtered.getWeights().size(); i++) {
-                		filtered.getWeights().set(i, filtered.getWeights().get(i) / totalWeight);
-                	}
-                	re = filtered;
-                }
-                if ((null != re) && (re.getUnits().size() > 0)) {
-                    for (int roll = 0; roll < numRolls; roll++) {
-                        double rand = getRandom();
-                        int i = 0;
-                        while (i < re.getWeights().size() && rand > re.getWeights().get(i)) {
-                            rand -= re.getWeights().get(i);
-                            i++;
-                        }
-                        String name = re.getUnits().get(i);
+            if (null != getRatMap()) {
+                rollOn(numRolls, ratName, filter, new HashMap<>(), units);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return units;
+    }
 
-                        // If this is a RAT reference, roll the unit on the referenced RAT.
-                        if (name.startsWith("@")) {
-                            units.addAll(generate(1, name.replaceFirst("@", ""), filter));
-                            continue;
-                        }
+    /**
+     * Rolls units on a RAT, following references to other RATs.
+     *
+     * @param filteredRats the RATs filtered so far in this generation
+     */
+    private void rollOn(int numRolls, String ratName, Predicate<MechSummary> filter,
+            Map<String, RatSampler> filteredRats, List<MechSummary> units) {
+        final RatSampler rat = getSampler(ratName, filter, filteredRats);
+        if (rat == null) {
+            return;
+        }
+        for (int roll = 0; roll < numRolls; roll++) {
+            String name = rat.roll(getRandom());
+            if (name == null) {
+                return;
+            }
 
-                        MechSummary unit = getMechByName(name);
-                        if (null != unit) {
-                            units.add(unit);
-                        }
+            // If this is a RAT reference, roll the unit on the referenced RAT.
+            if (name.startsWith("@")) {
+                rollOn(1, name.replaceFirst("@", ""), filter, filteredRats, units);
+                continue;
+            }
+
+            MechSummary unit = getMechByName(name);
+            if (null != unit) {
+                units.add(unit);
+            }
+        }
+    }
+
+    /**
+     * @return the units of the RAT that pass the filter, or null if there is
+     *         no such RAT
+     */
+    private RatSampler getSampler(String ratName, Predicate<MechSummary> filter,
+            Map<String, RatSampler> filteredRats) {
+        final RatEntry re = getRatMap().get(ratName);
+        if (re == null) {
+            return null;
+        } else if (filter == null) {
+            if (re.sampler == null) {
+                re.sampler = new RatSampler(re.getUnits(), re.getWeights());
+            }
+            return re.sampler;
+        }
+        RatSampler filtered = filteredRats.get(ratName);
+        if (filtered == null) {
+            List<String> filteredUnits = new ArrayList<>();
+            List<Float> filteredWeights = new ArrayList<>();
+            MechSummaryCache msc = MechSummaryCache.getInstance();
+            for (int i = 0; i < re.getUnits().size(); i++) {
+                if (!re.getUnits().get(i).startsWith("@")) {
+                    MechSummary ms = msc.getMech(re.getUnits().get(i));
+                    if (ms == null || !filter.test(ms)) {
+                        continue;
                     }
                 }
+                filteredUnits.add(re.getUnits().get(i));
+                filteredWeights.add(re.getWeights().get(i));
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            filtered = new RatSampler(filteredUnits, filteredWeights);
+            filteredRats.put(ratName, filtered);
         }
-        return units;
+        return filtered;
     }
 
     protected MechSummary getMechByName(String name) {
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import megamek.common.Compute;
 import megamek.common.EntityMovementMode;
 import megamek.common.MechSummary;
+import megamek.common.util.WeightedSampler;
 
 /**
  * Manages random assignment table generated by RATGenerator.
@@ -121,6 +122,9 @@ public class UnitTable {
 
     int salvageTotal;
     int unitTotal;
+    /* Pick the entries for a roll, in the same way as walking the lists. */
+    private WeightedSampler salvageSampler;
+    private WeightedSampler unitSampler;
     /* Filtering can reduce the total weight of the units. Calculate the salvage pct when
      * creating the table to maintain the same proportion. */
     int salvagePct;
@@ -156,6 +160,12 @@ public class UnitTable {
                 salvagePct = salvageTotal * 100 / (salvageTotal + unitTotal);
             }
         }
+        salvageSampler = samplerFor(salvageTable);
+        unitSampler = samplerFor(unitTable);
+    }
+
+    private static WeightedSampler samplerFor(List<TableEntry> entries) {
+        return new WeightedSampler(entries.stream().mapToInt(te -> te.weight).toArray());
     }
 
     /**
@@ -247,6 +257,10 @@ public class UnitTable {
      * @return - the selected unit, or null if no units pass the filter.
      */
     public MechSummary generateUnit(UnitFilter filter) {
+        return generateUnit(filter, (filter == null) ? null : new FilteredUnits(filter));
+    }
+
+    private MechSummary generateUnit(UnitFilter filter, FilteredUnits filtered) {
         int roll = Compute.randomInt(100);
         if (roll < salvagePct) {
             MechSummary ms = generateSalvage(filter);
@@ -255,23 +269,18 @@ public class UnitTable {
             }
         }
         List<TableEntry> useUnitList = unitTable;
+        WeightedSampler useSampler = unitSampler;
         int unitMapSize = unitTotal;
-        if (filter != null) {
-            useUnitList = unitTable.stream().filter(te -> filter.include(te.getUnitEntry()))
-                    .collect(Collectors.toList());
-            unitMapSize = useUnitList.stream().mapToInt(te -> te.weight).sum();
+        if (filtered != null) {
+            useUnitList = filtered.entries;
+            useSampler = filtered.sampler;
+            unitMapSize = filtered.total;
         }
 
         if (unitMapSize > 0) {
             roll = Compute.randomInt(unitMapSize);
-            for (TableEntry te : useUnitList) {
-                if (roll < te.weight) {
-                    return te.getUnitEntry();
-                }
-                roll -= te.weight;
-            }
+            return useUnitList.get(useSampler.indexOf(roll)).getUnitEntry();
         }
-        assert(unitMapSize == 0);
         return null;
     }
 
@@ -294,8 +303,10 @@ public class UnitTable {
      */
     public ArrayList<MechSummary> generateUnits(int num, UnitFilter filter) {
         ArrayList<MechSummary> retVal = new ArrayList<>();
+        // filter the table once for all rolls
+        FilteredUnits filtered = (filter == null) ? null : new FilteredUnits(filter);
         for (int i = 0; i < num; i++) {
-            MechSummary ms = generateUnit(filter);
+            MechSummary ms = generateUnit(filter, filtered);
             if (ms != null) {
                 retVal.add(ms);
             }
@@ -316,14 +327,8 @@ public class UnitTable {
     private MechSummary generateSalvage(UnitFilter filter) {
         while (salvageTotal > 0) {
             int roll = Compute.randomInt(salvageTotal);
-            TableEntry salvageEntry = null;
-            for (TableEntry te : salvageTable) {
-                if (roll < te.weight) {
-                    salvageEntry = te;
-                    break;
-                }
-                roll -= te.weight;
-            }
+            int index = salvageSampler.indexOf(roll);
+            TableEntry salvageEntry = (index < 0) ? null : salvageTable.get(index);
             if (salvageEntry != null) {
                 UnitTable salvage = UnitTable.findTable(salvageEntry.getSalvageFaction(),
                         key.getUnitType(), key.getYear() - 5, key.getRating(),
@@ -334,6 +339,7 @@ public class UnitTable {
                 } else {
                     salvageTotal -= salvageEntry.weight;
                     salvageTable.remove(salvageEntry);
+                    salvageSampler = samplerFor(salvageTable);
                 }
             }
         }
@@ -341,6 +347,20 @@ public class UnitTable {
         return null;
     }
 
+    /* The unit entries that pass a filter, ready to be rolled on. */
+    private class FilteredUnits {
+        final List<TableEntry> entries;
+        final WeightedSampler sampler;
+        final int total;
+
+        FilteredUnits(UnitFilter filter) {
+            entries = unitTable.stream().filter(te -> filter.include(te.getUnitEntry()))
+                    .collect(Collectors.toList());
+            sampler = samplerFor(entries);
+            total = (int) sampler.getTotal();
+        }
+    }
+
     /* A tuple that contains either a salvage or a faction entry along with its relative weight.
      * in the table. */
     public static class TableEntry implements Comparable<TableEntry> {
@@ -981,6 +981,9 @@ public class ClientGUI extends JPanel implements WindowListener, BoardViewListen
             //cleanup our timers first
             bv.die();
         }
+        if (minimap != null) {
+            minimap.die();
+        }
         for (String s : phaseComponents.keySet()) {
             JComponent component = phaseComponents.get(s);
             if (component instanceof ReportDisplay) {
@@ -0,0 +1,206 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.ui.swing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.IBoard;
+import megamek.common.IGame;
+import megamek.common.event.BoardEvent;
+import megamek.common.event.BoardListener;
+import megamek.common.event.BoardListenerAdapter;
+import megamek.common.event.GameBoardChangeEvent;
+import megamek.common.event.GameBoardNewEvent;
+import megamek.common.event.GameEntityChangeEvent;
+import megamek.common.event.GameListener;
+import megamek.common.event.GameListenerAdapter;
+
+/**
+ * Collects the entity and board changes of a game and hands them to a
+ * {@link Listener} as one {@link ChangeSet}, once per pass of the event
+ * dispatch thread.
+ * <p>
+ * The client applies every packet of a burst on the event dispatch thread
+ * before it gets to anything queued while doing so, so a listener that redraws
+ * in {@link Listener#gameChangesApplied(ChangeSet)} redraws once for all the
+ * units updated at the end of a phase instead of once per unit. Listeners that
+ * need to see every single event (e.g. to animate a move path) should keep
+ * doing that part in their {@link GameListener}.
+ * <p>
+ * Changes may be recorded on any thread; they are always delivered on the
+ * event dispatch thread.
+ */
+public class GameChangeCoalescer {
+
+    /**
+     * Receives the changes collected by a {@link GameChangeCoalescer}.
+     */
+    public interface Listener {
+        void gameChangesApplied(ChangeSet changes);
+    }
+
+    /**
+     * The changes made to a game since the last delivery.
+     */
+    public static final class ChangeSet {
+        private final Collection<Entity> entities;
+        private final Set<Coords> hexes;
+        private final boolean boardChanged;
+
+        ChangeSet(Collection<Entity> entities, Set<Coords> hexes, boolean boardChanged) {
+            this.entities = Collections.unmodifiableCollection(entities);
+            this.hexes = Collections.unmodifiableSet(hexes);
+            this.boardChanged = boardChanged;
+        }
+
+        /**
+         * @return the changed entities, each in its latest version and in the
+         *         order they were first changed
+         */
+        public Collection<Entity> getEntities() {
+            return entities;
+        }
+
+        /**
+         * @return the hexes that were replaced on the board
+         */
+        public Set<Coords> getHexes() {
+            return hexes;
+        }
+
+        /**
+         * @return true if the board as a whole changed, e.g. all its hexes or
+         *         its minefields, so that {@link #getHexes()} is incomplete
+         */
+        public boolean isBoardChanged() {
+            return boardChanged;
+        }
+    }
+
+    private final IGame game;
+    private final Listener listener;
+    private IBoard board;
+
+    private Map<Integer, Entity> entities = new LinkedHashMap<>();
+    private Set<Coords> hexes = new LinkedHashSet<>();
+    private boolean boardChanged;
+    private boolean flushPending;
+
+    private final GameListener gameListener = new GameListenerAdapter() {
+        @Override
+        public void gameEntityChange(GameEntityChangeEvent e) {
+            if (e.getEntity() != null) {
+                synchronized (GameChangeCoalescer.this) {
+                    entities.put(e.getEntity().getId(), e.getEntity());
+                    scheduleFlush();
+                }
+            }
+        }
+
+        @Override
+        public void gameBoardChanged(GameBoardChangeEvent e) {
+            markBoardChanged();
+        }
+
+        @Override
+        public void gameBoardNew(GameBoardNewEvent e) {
+            setBoard(e.getNewBoard());
+            markBoardChanged();
+        }
+    };
+
+    private final BoardListener boardListener = new BoardListenerAdapter() {
+        @Override
+        public void boardChangedHex(BoardEvent b) {
+            synchronized (GameChangeCoalescer.this) {
+                hexes.add(b.getCoords());
+                scheduleFlush();
+            }
+        }
+
+        @Override
+        public void boardChangedAllHexes(BoardEvent b) {
+            markBoardChanged();
+        }
+    };
+
+    /**
+     * Starts collecting the changes of the given game for the listener.
+     */
+    public GameChangeCoalescer(IGame game, Listener listener) {
+        this.game = game;
+        this.listener = listener;
+        game.addGameListener(gameListener);
+        setBoard(game.getBoard());
+    }
+
+    /**
+     * Stops collecting changes. Changes that weren't delivered yet are dropped.
+     */
+    public synchronized void dispose() {
+        game.removeGameListener(gameListener);
+        setBoard(null);
+        entities.clear();
+        hexes.clear();
+        boardChanged = false;
+    }
+
+    private synchronized void setBoard(IBoard newBoard) {
+        if (board != null) {
+            board.removeBoardListener(boardListener);
+        }
+        board = newBoard;
+        if (board != null) {
+            board.addBoardListener(boardListener);
+        }
+    }
+
+    private synchronized void markBoardChanged() {
+        boardChanged = true;
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushPending) {
+            flushPending = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        final ChangeSet changes;
+        synchronized (this) {
+            flushPending = false;
+            if (entities.isEmpty() && hexes.isEmpty() && !boardChanged) {
+                return;
+            }
+            changes = new ChangeSet(new ArrayList<>(entities.values()), hexes, boardChanged);
+            entities = new LinkedHashMap<>();
+            hexes = new LinkedHashSet<>();
+            boardChanged = false;
+        }
+        listener.gameChangesApplied(changes);
+    }
+}
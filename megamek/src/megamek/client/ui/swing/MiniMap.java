@@ -51,6 +51,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StreamTokenizer;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
@@ -93,7 +94,6 @@ import megamek.common.actions.WeaponAttackAction;
 import megamek.common.event.BoardEvent;
 import megamek.common.event.BoardListener;
 import megamek.common.event.BoardListenerAdapter;
-import megamek.common.event.GameBoardChangeEvent;
 import megamek.common.event.GameBoardNewEvent;
 import megamek.common.event.GameListener;
 import megamek.common.event.GameListenerAdapter;
@@ -131,6 +131,7 @@ public class MiniMap extends JPanel {
     private IBoardView m_bview;
     private IGame m_game;
     private IBoard m_board;
+    private GameChangeCoalescer gameChanges;
     private Container m_dialog;
     private static final int margin = 6;
     private int topMargin;
@@ -164,8 +165,15 @@ public class MiniMap extends JPanel {
     private ClientGUI clientgui = null;
 
     boolean dirtyMap = true;
+    /** The hexes that changed since the terrain was last drawn */
     boolean[][] dirty;
+    boolean dirtyHexes;
     private Image terrainBuffer;
+    /**
+     * The terrain with roads and heights; the part of the map that only
+     * changes with the board. Units and attacks are drawn over a copy of it.
+     */
+    private Image staticBuffer;
     
     // Here come the Strat Ops / NATO unit symbols
     Map<Coords, Integer> multiUnits = new HashMap<Coords, Integer>();
@@ -326,6 +334,12 @@ public class MiniMap extends JPanel {
         m_bview.addBoardViewListener(boardViewListener);
         m_game.addGameListener(gameListener);
         m_board.addBoardListener(boardListener);
+        // minefield updates come one by one, draw the map once for all of them
+        gameChanges = new GameChangeCoalescer(m_game, changes -> {
+            if (changes.isBoardChanged()) {
+                drawMap();
+            }
+        });
         initialize();
     }
 
@@ -344,6 +358,22 @@ public class MiniMap extends JPanel {
         assert (m_client != null);
     }
 
+    /**
+     * Stops listening to the game, board and board view.
+     */
+    public void die() {
+        if (m_game != null) {
+            m_game.removeGameListener(gameListener);
+            gameChanges.dispose();
+        }
+        if (m_board != null) {
+            m_board.removeBoardListener(boardListener);
+        }
+        if (m_bview != null) {
+            m_bview.removeBoardViewListener(boardViewListener);
+        }
+    }
+
     public void setBoard(IBoard board) {
         m_board = board;
         initializeMap();
@@ -532,10 +562,9 @@ public class MiniMap extends JPanel {
 
     private void clean() {
         dirtyMap = false;
+        dirtyHexes = false;
         for (int i = 0; i < dirty.length; i++) {
-            for (int j = 0; j < dirty[i].length; j++) {
-                dirty[i][j] = false;
-            }
+            Arrays.fill(dirty[i], false);
         }
     }
 
@@ -560,7 +589,7 @@ public class MiniMap extends JPanel {
         requiredHeight = (((2 * m_board.getHeight()) + 1)
                           * currentHexSideByCos30) + (2 * margin) + buttonHeight;
 
-        dirty = new boolean[(m_board.getWidth() / 10) + 1][(m_board.getHeight() / 10) + 1];
+        dirty = new boolean[m_board.getWidth()][m_board.getHeight()];
         dirtyMap = true;
         
         unitSize = unitSizes[zoom];
@@ -634,6 +663,7 @@ public class MiniMap extends JPanel {
         Graphics gg = terrainBuffer.getGraphics();
         gg.setColor(BACKGROUND);
         gg.fillRect(0, 0, getSize().width, getSize().height);
+        staticBuffer = createImage(getSize().width, getSize().height);
 
         if (getSize().width > requiredWidth) {
             leftMargin = ((getSize().width - requiredWidth) / 2) + margin;
@@ -705,33 +735,11 @@ public class MiniMap extends JPanel {
         Color oldColor = g.getColor();
         g.setColor(oldColor);
         if (!minimized) {
-            roadHexIndexes.removeAllElements();
-            Graphics gg = terrainBuffer.getGraphics();
-            // Activate AA
-            if (GUIPreferences.getInstance().getAntiAliasing()) {
-                ((Graphics2D)gg).setRenderingHint(
-                        RenderingHints.KEY_ANTIALIASING,
-                        RenderingHints.VALUE_ANTIALIAS_ON);
-            }
-            for (int j = 0; j < m_board.getWidth(); j++) {
-                for (int k = 0; k < m_board.getHeight(); k++) {
-                    IHex h = m_board.getHex(j, k);
-                    if (dirtyMap || dirty[j / 10][k / 10]) {
-                        gg.setColor(terrainColor(h, j, k));
-                        paintCoord(gg, j, k, true);
-                    }
-                    addRoadElements(h, j, k);
-                    // Color invalid hexes red when in the Map Editor
-                    if ((m_game != null) && 
-                            (m_game.getPhase() == IGame.Phase.PHASE_UNKNOWN)
-                            && !h.isValid(null)) {
-                        gg.setColor(GUIPreferences.getInstance().getWarningColor());
-                        paintCoord(gg, j, k, true);
-                    }
-                }
+            if (dirtyMap || dirtyHexes) {
+                drawStaticBuffer();
             }
             // draw backbuffer
-            g.drawImage(terrainBuffer, 0, 0, this);
+            g.drawImage(staticBuffer, 0, 0, this);
 
             if (firstLOS != null) {
                 paintSingleCoordBorder(g, firstLOS.getX(), firstLOS.getY(), Color.red);
@@ -740,19 +748,6 @@ public class MiniMap extends JPanel {
                 paintSingleCoordBorder(g, secondLOS.getX(), secondLOS.getY(), Color.red);
             }
 
-            if (!roadHexIndexes.isEmpty()) {
-                paintRoads(g);
-            }
-
-            if (SHOW_NO_HEIGHT != heightDisplayMode) {
-                for (int j = 0; j < m_board.getWidth(); j++) {
-                    for (int k = 0; k < m_board.getHeight(); k++) {
-                        IHex h = m_board.getHex(j, k);
-                        paintHeight(g, h, j, k);
-                    }
-                }
-            }
-
             // draw Drop Zone
             if ((null != m_client) && (null != m_game)) { // sanity check!
                 if (IGame.Phase.PHASE_DEPLOYMENT == m_game.getPhase()) {
@@ -803,7 +798,6 @@ public class MiniMap extends JPanel {
                     paintUnit(g, e);
                 }
             }
-            clean();
         }
 
         if ((m_client != null) && (m_client.getArtilleryAutoHit() != null)) {
@@ -819,6 +813,61 @@ public class MiniMap extends JPanel {
         repaint();
     }
     
+    /**
+     * Repaints the changed hexes of the terrain buffer and redraws the static
+     * buffer from it. Everything that doesn't change with the board stays out
+     * of here, so that moving units don't repaint the terrain.
+     */
+    private void drawStaticBuffer() {
+        roadHexIndexes.removeAllElements();
+        Graphics gg = terrainBuffer.getGraphics();
+        // Activate AA
+        if (GUIPreferences.getInstance().getAntiAliasing()) {
+            ((Graphics2D)gg).setRenderingHint(
+                    RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        for (int j = 0; j < m_board.getWidth(); j++) {
+            for (int k = 0; k < m_board.getHeight(); k++) {
+                IHex h = m_board.getHex(j, k);
+                if (dirtyMap || dirty[j][k]) {
+                    gg.setColor(terrainColor(h, j, k));
+                    paintCoord(gg, j, k, true);
+                }
+                addRoadElements(h, j, k);
+                // Color invalid hexes red when in the Map Editor
+                if ((m_game != null) && 
+                        (m_game.getPhase() == IGame.Phase.PHASE_UNKNOWN)
+                        && !h.isValid(null)) {
+                    gg.setColor(GUIPreferences.getInstance().getWarningColor());
+                    paintCoord(gg, j, k, true);
+                }
+            }
+        }
+
+        Graphics g = staticBuffer.getGraphics();
+        if (GUIPreferences.getInstance().getAntiAliasing()) {
+            ((Graphics2D)g).setRenderingHint(
+                    RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        g.drawImage(terrainBuffer, 0, 0, this);
+
+        if (!roadHexIndexes.isEmpty()) {
+            paintRoads(g);
+        }
+
+        if (SHOW_NO_HEIGHT != heightDisplayMode) {
+            for (int j = 0; j < m_board.getWidth(); j++) {
+                for (int k = 0; k < m_board.getHeight(); k++) {
+                    IHex h = m_board.getHex(j, k);
+                    paintHeight(g, h, j, k);
+                }
+            }
+        }
+        clean();
+    }
+
     private void paintBVSection(Graphics g) {
         if (minimized || (m_bview == null)) {
             return;
@@ -1769,7 +1818,8 @@ public class MiniMap extends JPanel {
                     dirtyMap = true;
                     return;
                 }
-                dirty[x / 10][y / 10] = true;
+                dirty[x][y] = true;
+                dirtyHexes = true;
             }
 
         }
@@ -1815,11 +1865,6 @@ public class MiniMap extends JPanel {
             m_board = b;
             initializeMap();
         }
-
-        @Override
-        public void gameBoardChanged(GameBoardChangeEvent e) {
-            drawMap();
-        }
     };
 
     BoardViewListener boardViewListener = new BoardViewListenerAdapter() {
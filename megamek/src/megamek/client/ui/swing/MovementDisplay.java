@@ -48,6 +48,11 @@ import megamek.common.actions.AirmechRamAttackAction;
 import megamek.common.actions.ChargeAttackAction;
 import megamek.common.actions.DfaAttackAction;
 import megamek.common.actions.RamAttackAction;
+import megamek.common.event.GameBoardChangeEvent;
+import megamek.common.event.GameBoardNewEvent;
+import megamek.common.event.GameEntityChangeEvent;
+import megamek.common.event.GameEntityNewEvent;
+import megamek.common.event.GameEntityRemoveEvent;
 import megamek.common.event.GamePhaseChangeEvent;
 import megamek.common.event.GameTurnChangeEvent;
 import megamek.common.options.GameOptions;
@@ -274,6 +279,8 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
     private MovePath cmd; // considering movement data
     // what "gear" is our mech in?
     private int gear;
+    // computes the movement envelopes in the background
+    private final MovementEnvelopeService envelopes;
     // is the shift key held?
     private boolean shiftheld;
     /**
@@ -308,6 +315,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         super(clientgui);
 
         this.clientgui = clientgui;
+        envelopes = (clientgui != null) ? new MovementEnvelopeService(clientgui.getClient().getGame()) : null;
         if (clientgui != null) {
             clientgui.getClient().getGame().addGameListener(this);
             clientgui.getBoardView().addBoardViewListener(this);
@@ -1132,6 +1140,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         // clear board cursors
         clientgui.getBoardView().select(null);
         clientgui.getBoardView().cursor(null);
+        envelopes.cancelRequest();
         clientgui.getBoardView().clearMovementEnvelope();
 
         if (ce == null) {
@@ -1555,6 +1564,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
 
         disableButtons();
         clientgui.bv.clearMovementData();
+        envelopes.cancelRequest();
         clientgui.bv.clearMovementEnvelope();
         if (ce().hasUMU()) {
             clientgui.getClient().sendUpdateEntity(ce());
@@ -4372,6 +4382,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
             // ignore
             return;
         }
+        precomputeMovementEnvelopes();
 
         if (clientgui.getClient().isMyTurn()) {
             // Can the player unload entities stranded on immobile transports?
@@ -4402,6 +4413,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
 
     @Override
     public void gamePhaseChange(GamePhaseChangeEvent e) {
+        envelopes.invalidate();
         // In case of a /reset command, ensure the state gets reset
         if (clientgui.getClient().getGame().getPhase() 
                 == IGame.Phase.PHASE_LOUNGE) {
@@ -4440,6 +4452,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         // do nothing if deactivated in the settings
         if (!GUIPreferences.getInstance()
                 .getBoolean(GUIPreferences.MOVE_ENVELOPE)) {
+            envelopes.cancelRequest();
             clientgui.bv.clearMovementEnvelope();
             return;
         }
@@ -4457,44 +4470,27 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         if (en.isDone()) {
             return;
         }
-        
-        Map<Coords, MovePath> mvEnvData = new HashMap<Coords, MovePath>();
-        MovePath mp = new MovePath(clientgui.getClient().getGame(), en);
 
-        int maxMP;
-        if (mvMode == GEAR_JUMP || mvMode == GEAR_DFA) {
-            maxMP = en.getJumpMP();
-        } else if (mvMode == GEAR_BACKUP) {
-            maxMP = en.getWalkMP();
-        } else if (ce() instanceof Mech && !(ce() instanceof QuadVee)
-                && ce().getMovementMode() == EntityMovementMode.TRACKED) {
-            //A non-QuadVee 'Mech that is using tracked movement is limited to walking
-            maxMP = en.getWalkMP();
-        } else {
-            if (clientgui.getClient().getGame().getOptions()
-                         .booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_SPRINT)) {
-                maxMP = en.getSprintMP();
-            } else {
-                maxMP = en.getRunMP();
-            }
-        }
-        MoveStepType stepType = (mvMode == GEAR_BACKUP) ? MoveStepType.BACKWARDS
-                : MoveStepType.FORWARDS;
-        if (mvMode == GEAR_JUMP || mvMode == GEAR_DFA) {
-            mp.addStep(MoveStepType.START_JUMP);
-        }
+        // the envelope is found in the background; until then, show none
+        final Entity mover = en;
+        final int mode = mvMode;
+        clientgui.bv.clearMovementEnvelope();
+        envelopes.request(mover, mode, mvEnvMP -> clientgui.bv.setMovementEnvelope(mvEnvMP,
+                mover.getWalkMP(), mover.getRunMP(), mover.getJumpMP(), mode));
+    }
 
-        ShortestPathFinder pf = ShortestPathFinder.newInstanceOfOneToAll(maxMP,
-                stepType, en.getGame());
-        pf.run(mp);
-        mvEnvData = pf.getAllComputedPaths();
-        Map<Coords, Integer> mvEnvMP = new HashMap<Coords, Integer>(
-                (int) ((mvEnvData.size() * 1.25) + 1));
-        for (Coords c : mvEnvData.keySet()) {
-            mvEnvMP.put(c, mvEnvData.get(c).countMp(mvMode == GEAR_JUMP));
+    /**
+     * Has the movement envelopes of the local player's units computed in the
+     * background, so they are ready when the player selects them.
+     */
+    private void precomputeMovementEnvelopes() {
+        if (!GUIPreferences.getInstance().getBoolean(GUIPreferences.MOVE_ENVELOPE)) {
+            return;
+        }
+        final IGame game = clientgui.getClient().getGame();
+        for (Entity en : game.getPlayerEntities(clientgui.getClient().getLocalPlayer(), false)) {
+            envelopes.precompute(en);
         }
-        clientgui.bv.setMovementEnvelope(mvEnvMP, en.getWalkMP(), en
-                .getRunMP(), en.getJumpMP(), mvMode);
     }
 
     public void computeModifierEnvelope() {
@@ -5811,6 +5807,35 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         clientgui.getMenuBar().setMoveBombEnabled(enabled);
     }
 
+    // Anything that changes a unit or the board may change where units can
+    // move, so the computed movement envelopes it affects are dropped
+    @Override
+    public void gameEntityNew(GameEntityNewEvent e) {
+        for (Entity en : e.GetEntities()) {
+            envelopes.invalidate(en);
+        }
+    }
+
+    @Override
+    public void gameEntityRemove(GameEntityRemoveEvent e) {
+        envelopes.invalidate(e.getEntity());
+    }
+
+    @Override
+    public void gameEntityChange(GameEntityChangeEvent e) {
+        envelopes.invalidate(e.getEntity());
+    }
+
+    @Override
+    public void gameBoardNew(GameBoardNewEvent e) {
+        envelopes.invalidate();
+    }
+
+    @Override
+    public void gameBoardChanged(GameBoardChangeEvent e) {
+        envelopes.invalidate();
+    }
+
     /**
      * Stop just ignoring events and actually stop listening to them.
      */
@@ -5818,6 +5843,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         if (clientgui != null) {
             clientgui.getClient().getGame().removeGameListener(this);
             clientgui.getBoardView().removeBoardViewListener(this);
+            envelopes.shutdown();
         }
     }
 
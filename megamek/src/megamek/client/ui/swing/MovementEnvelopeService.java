@@ -0,0 +1,471 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.ui.swing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import megamek.MegaMek;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.IGame;
+import megamek.common.Mech;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.QuadVee;
+import megamek.common.options.OptionsConstants;
+import megamek.common.pathfinder.ShortestPathFinder;
+
+/**
+ * Computes movement envelopes for the {@link MovementDisplay} on a background
+ * thread, so that selecting a unit doesn't block the UI while all of its paths
+ * are found.
+ * <p>
+ * Envelopes are cached until {@link #invalidate()} is called, which also
+ * cancels all work that is queued or running, except that the envelope last
+ * requested is computed again. When a single unit changes,
+ * {@link #invalidate(Entity)} only drops the envelopes that it may affect, so
+ * while other players move, the envelopes {@link #precompute(Entity)} has
+ * worked out for the local player's units mostly survive until it's their
+ * turn. Requests for the selected unit are always run before the precomputed
+ * ones.
+ * <p>
+ * The paths are found in the live game, which the event dispatch thread keeps
+ * changing. An envelope that was being computed when a unit changed is
+ * computed again, and a computation that fails on a half-made change is
+ * retried.
+ */
+class MovementEnvelopeService {
+
+    // how often a requested envelope is computed before giving up on it
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final IGame game;
+
+    private final Map<EnvelopeKey, Future<Map<Coords, Integer>>> envelopes = new HashMap<>();
+    // where the units were when the cached envelopes were computed; null until needed
+    private Map<Integer, Coords> positions = null;
+    private final List<EnvelopeKey> precomputeQueue = new ArrayList<>();
+    private Future<?> precomputing = null;
+    // the request whose result should be shown; older results are dropped
+    private EnvelopeKey currentRequest = null;
+    private Consumer<Map<Coords, Integer>> currentConsumer = null;
+    private ExecutorService executor = null;
+
+    MovementEnvelopeService(IGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Computes the envelope of the given unit in the given gear, and passes it
+     * to the consumer on the event dispatch thread. If another envelope is
+     * requested before it's done, the consumer isn't called. If the cached
+     * envelopes are invalidated, it's computed again for the unit's new state.
+     *
+     * @param en the unit
+     * @param mvMode one of the <code>MovementDisplay.GEAR_*</code> constants
+     * @param onDone gets the MP needed to reach each hex
+     */
+    synchronized void request(Entity en, int mvMode, Consumer<Map<Coords, Integer>> onDone) {
+        request(en, mvMode, onDone, 1);
+    }
+
+    private synchronized void request(Entity en, int mvMode, Consumer<Map<Coords, Integer>> onDone,
+            int attempt) {
+        final EnvelopeKey key = new EnvelopeKey(en, mvMode, getMaxMP(game, en, mvMode));
+        currentRequest = key;
+        currentConsumer = onDone;
+        precomputeQueue.remove(key);
+        Future<Map<Coords, Integer>> envelope = envelopes.get(key);
+        if (envelope == null) {
+            envelope = submit(en, key);
+        }
+        if (envelope.isDone()) {
+            deliver(key, envelope, onDone, attempt);
+        } else {
+            final Future<Map<Coords, Integer>> pending = envelope;
+            getExecutor().execute(() -> deliver(key, pending, onDone, attempt));
+        }
+    }
+
+    /**
+     * Forgets the last request, so its result won't be shown.
+     */
+    synchronized void cancelRequest() {
+        currentRequest = null;
+        currentConsumer = null;
+    }
+
+    /**
+     * Queues the computation of the envelopes the given unit can use this turn,
+     * to be run when there is nothing else to do.
+     */
+    synchronized void precompute(Entity en) {
+        if ((en.getPosition() == null) || en.isDone() || en.isOffBoard()) {
+            return;
+        }
+        queuePrecompute(en, MovementDisplay.GEAR_LAND);
+        queuePrecompute(en, MovementDisplay.GEAR_BACKUP);
+        if (en.getJumpMP() > 0) {
+            queuePrecompute(en, MovementDisplay.GEAR_JUMP);
+        }
+        if (precomputing == null) {
+            precomputeNext();
+        }
+    }
+
+    /**
+     * Drops all cached envelopes and cancels the work that is queued or running.
+     * To be called when anything that affects movement has changed, such as the
+     * board or any unit. An envelope that was requested but not delivered yet
+     * is requested again.
+     */
+    synchronized void invalidate() {
+        for (Future<?> envelope : envelopes.values()) {
+            envelope.cancel(true);
+        }
+        envelopes.clear();
+        positions = null;
+        precomputeQueue.clear();
+        if (precomputing != null) {
+            precomputing.cancel(true);
+            precomputing = null;
+        }
+        requestAgain();
+    }
+
+    /**
+     * Drops the envelopes that a change to the given unit, which may have been
+     * added, moved or removed, may affect: those of the unit itself, those that
+     * reach or border the hex it was in or is in now, and those that were still
+     * being computed. The envelopes of other units that were dropped are queued
+     * to be precomputed again, and one that was requested is requested again.
+     */
+    synchronized void invalidate(Entity en) {
+        if (positions == null) {
+            // nothing is known about where the units were
+            invalidate();
+            return;
+        }
+        final Coords oldPosition = positions.get(en.getId());
+        final Coords newPosition = (game.getEntity(en.getId()) != null) ? en.getPosition() : null;
+        if (newPosition != null) {
+            positions.put(en.getId(), newPosition);
+        } else {
+            positions.remove(en.getId());
+        }
+        boolean ownDropped = false;
+        for (Iterator<Map.Entry<EnvelopeKey, Future<Map<Coords, Integer>>>> i = envelopes.entrySet()
+                .iterator(); i.hasNext(); ) {
+            final Map.Entry<EnvelopeKey, Future<Map<Coords, Integer>>> entry = i.next();
+            final EnvelopeKey key = entry.getKey();
+            final boolean own = (key.entityId == en.getId());
+            if (!own && !isAffected(entry.getValue(), oldPosition, newPosition)) {
+                continue;
+            }
+            entry.getValue().cancel(true);
+            i.remove();
+            if (own) {
+                ownDropped = true;
+            } else if (!key.equals(currentRequest) && !precomputeQueue.contains(key)) {
+                precomputeQueue.add(key);
+            }
+        }
+        precomputeQueue.removeIf(key -> key.entityId == en.getId());
+        if (ownDropped && (newPosition != null)) {
+            precompute(en);
+        } else if ((precomputing == null) && !precomputeQueue.isEmpty()) {
+            precomputeNext();
+        }
+        if ((currentRequest != null) && !envelopes.containsKey(currentRequest)) {
+            requestAgain();
+        }
+    }
+
+    /**
+     * @return true if the envelope may change when a unit moves from the old
+     *         to the new position, either of which may be null
+     */
+    private static boolean isAffected(Future<Map<Coords, Integer>> envelope, Coords oldPosition,
+            Coords newPosition) {
+        if (!envelope.isDone()) {
+            // it may have seen the unit in either place
+            return true;
+        }
+        final Map<Coords, Integer> mvEnvMP;
+        try {
+            mvEnvMP = envelope.get();
+        } catch (CancellationException | ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+        return (mvEnvMP == null) || isNear(mvEnvMP, oldPosition) || isNear(mvEnvMP, newPosition);
+    }
+
+    /**
+     * @return true if the hex is in the envelope or borders it, e.g. a hex that
+     *         was blocked until the unit in it left
+     */
+    private static boolean isNear(Map<Coords, Integer> mvEnvMP, Coords position) {
+        if (position == null) {
+            return false;
+        } else if (mvEnvMP.containsKey(position)) {
+            return true;
+        }
+        for (int dir = 0; dir < 6; dir++) {
+            if (mvEnvMP.containsKey(position.translated(dir))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Requests the envelope that was last requested again, for the unit's
+     * current state, or forgets the request if the unit is gone.
+     */
+    private void requestAgain() {
+        if (currentRequest == null) {
+            return;
+        }
+        final Entity en = game.getEntity(currentRequest.entityId);
+        if (en != null) {
+            request(en, currentRequest.mvMode, currentConsumer);
+        } else {
+            cancelRequest();
+        }
+    }
+
+    /**
+     * Stops the background thread. No more envelopes can be requested
+     * afterwards.
+     */
+    synchronized void shutdown() {
+        cancelRequest();
+        invalidate();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void queuePrecompute(Entity en, int mvMode) {
+        final EnvelopeKey key = new EnvelopeKey(en, mvMode, getMaxMP(game, en, mvMode));
+        if (!envelopes.containsKey(key) && !precomputeQueue.contains(key)) {
+            precomputeQueue.add(key);
+        }
+    }
+
+    private synchronized void precomputeNext() {
+        precomputing = null;
+        while (!precomputeQueue.isEmpty()) {
+            final EnvelopeKey key = precomputeQueue.remove(0);
+            final Entity en = game.getEntity(key.entityId);
+            if ((en == null) || envelopes.containsKey(key)
+                    || !key.equals(new EnvelopeKey(en, key.mvMode, getMaxMP(game, en, key.mvMode)))) {
+                continue;
+            }
+            submit(en, key);
+            // one at a time, so that a request for the selected unit doesn't wait long
+            precomputing = getExecutor().submit(this::precomputeNext);
+            return;
+        }
+    }
+
+    private Future<Map<Coords, Integer>> submit(Entity en, EnvelopeKey key) {
+        if (positions == null) {
+            positions = new HashMap<>();
+            for (Entity other : game.getEntitiesVector()) {
+                if (other.getPosition() != null) {
+                    positions.put(other.getId(), other.getPosition());
+                }
+            }
+        }
+        final Future<Map<Coords, Integer>> envelope = getExecutor()
+                .submit(() -> computeEnvelope(en, key.mvMode, key.maxMP));
+        envelopes.put(key, envelope);
+        return envelope;
+    }
+
+    private void deliver(EnvelopeKey key, Future<Map<Coords, Integer>> envelope,
+            Consumer<Map<Coords, Integer>> onDone, int attempt) {
+        final Map<Coords, Integer> mvEnvMP;
+        try {
+            mvEnvMP = envelope.get();
+        } catch (CancellationException ignored) {
+            // invalidated, which asks again if it's still wanted
+            return;
+        } catch (ExecutionException e) {
+            retry(key, envelope, attempt, e.getCause());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (mvEnvMP == null) {
+            return;
+        }
+        final Runnable show = () -> {
+            synchronized (this) {
+                if (!key.equals(currentRequest)) {
+                    return;
+                }
+                cancelRequest();
+            }
+            onDone.accept(mvEnvMP);
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            show.run();
+        } else {
+            SwingUtilities.invokeLater(show);
+        }
+    }
+
+    /**
+     * Computes a requested envelope again if it failed, most likely because a
+     * unit was changed while its paths were found.
+     */
+    private synchronized void retry(EnvelopeKey key, Future<Map<Coords, Integer>> envelope, int attempt,
+            Throwable cause) {
+        if (envelopes.get(key) == envelope) {
+            envelopes.remove(key);
+        }
+        final Entity en = game.getEntity(key.entityId);
+        if (!key.equals(currentRequest) || (en == null)) {
+            return;
+        } else if (attempt >= MAX_ATTEMPTS) {
+            MegaMek.getLogger().error(cause);
+            cancelRequest();
+            return;
+        }
+        MegaMek.getLogger().warning(getClass(), "Computing the movement envelope failed, trying again: " + cause);
+        request(en, key.mvMode, currentConsumer, attempt + 1);
+    }
+
+    /**
+     * @return the MP needed to reach every hex the unit can reach, or
+     *         <code>null</code> if the computation was cancelled
+     */
+    Map<Coords, Integer> computeEnvelope(Entity en, int mvMode, int maxMP) {
+        final boolean jumping = (mvMode == MovementDisplay.GEAR_JUMP)
+                || (mvMode == MovementDisplay.GEAR_DFA);
+        final MovePath mp = new MovePath(game, en);
+        if (jumping) {
+            mp.addStep(MoveStepType.START_JUMP);
+        }
+        final MoveStepType stepType = (mvMode == MovementDisplay.GEAR_BACKUP) ? MoveStepType.BACKWARDS
+                : MoveStepType.FORWARDS;
+        final ShortestPathFinder pf = ShortestPathFinder.newInstanceOfOneToAll(maxMP, stepType, game);
+        pf.addStopCondition(e -> Thread.currentThread().isInterrupted());
+        pf.run(mp);
+        if (Thread.currentThread().isInterrupted()) {
+            return null;
+        }
+        final Map<Coords, MovePath> mvEnvData = pf.getAllComputedPaths();
+        final Map<Coords, Integer> mvEnvMP = new HashMap<>((int) ((mvEnvData.size() * 1.25) + 1));
+        for (Map.Entry<Coords, MovePath> entry : mvEnvData.entrySet()) {
+            mvEnvMP.put(entry.getKey(), entry.getValue().countMp(mvMode == MovementDisplay.GEAR_JUMP));
+        }
+        return mvEnvMP;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            // one thread; the game isn't safe to read from several at once
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "Movement-envelope");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * @return the most MP the unit can spend when moving in the given gear
+     */
+    static int getMaxMP(IGame game, Entity en, int mvMode) {
+        if ((mvMode == MovementDisplay.GEAR_JUMP) || (mvMode == MovementDisplay.GEAR_DFA)) {
+            return en.getJumpMP();
+        } else if (mvMode == MovementDisplay.GEAR_BACKUP) {
+            return en.getWalkMP();
+        } else if ((en instanceof Mech) && !(en instanceof QuadVee)
+                && (en.getMovementMode() == EntityMovementMode.TRACKED)) {
+            // A non-QuadVee 'Mech that is using tracked movement is limited to walking
+            return en.getWalkMP();
+        } else if (game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_SPRINT)) {
+            return en.getSprintMP();
+        } else {
+            return en.getRunMP();
+        }
+    }
+
+    /**
+     * The state of a unit that its envelope depends on. Changes to other units
+     * are handled by {@link #invalidate(Entity)}, those to the board by
+     * {@link #invalidate()}.
+     */
+    private static final class EnvelopeKey {
+        private final int entityId;
+        private final int mvMode;
+        private final int maxMP;
+        private final Coords position;
+        private final int facing;
+        private final int elevation;
+        private final EntityMovementMode movementMode;
+
+        EnvelopeKey(Entity en, int mvMode, int maxMP) {
+            entityId = en.getId();
+            this.mvMode = mvMode;
+            this.maxMP = maxMP;
+            position = en.getPosition();
+            facing = en.getFacing();
+            elevation = en.getElevation();
+            movementMode = en.getMovementMode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            final EnvelopeKey other = (EnvelopeKey) o;
+            return (entityId == other.entityId) && (mvMode == other.mvMode) && (maxMP == other.maxMP)
+                    && Objects.equals(position, other.position) && (facing == other.facing)
+                    && (elevation == other.elevation) && (movementMode == other.movementMode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityId, mvMode, maxMP, position, facing, elevation, movementMode);
+        }
+    }
+}
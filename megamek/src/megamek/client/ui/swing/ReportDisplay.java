@@ -17,6 +17,7 @@ package megamek.client.ui.swing;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
 
 import javax.swing.AbstractAction;
 import javax.swing.JButton;
@@ -30,8 +31,14 @@ import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.event.HyperlinkEvent;
 import javax.swing.event.HyperlinkListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.StyleConstants;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLDocument;
 import javax.swing.text.html.HTMLEditorKit;
 
+import megamek.MegaMek;
 import megamek.client.Client;
 import megamek.client.ui.GBC;
 import megamek.client.ui.Messages;
@@ -57,6 +64,11 @@ public class ReportDisplay extends AbstractPhaseDisplay implements
 
     private boolean rerolled; // have we rerolled an init?
 
+    /**
+     * The client property that holds the report text a pane shows
+     */
+    private static final String REPORT_TEXT = "ReportDisplay.reportText"; //$NON-NLS-1$
+
     /**
      * Creates and lays out a new movement phase display for the specified
      * clientgui.getClient().
@@ -185,11 +197,10 @@ public class ReportDisplay extends AbstractPhaseDisplay implements
             final Client client = clientgui.getClient();
             for (int catchup = phaseTab + 1; catchup <= round; catchup++) {
                 if (tabs.indexOfTab("Round " + catchup) != -1) {
-                    ((JTextPane) ((JScrollPane) tabs.getComponentAt(tabs
+                    showReport((JTextPane) ((JScrollPane) tabs.getComponentAt(tabs
                             .indexOfTab("Round " + catchup))).getViewport()
-                            .getView()).setText("<pre>"
-                            + client.receiveReport(client.getGame().getReports(
-                                    catchup)) + "</pre>");
+                            .getView(), client.receiveReport(client.getGame().getReports(
+                                    catchup)));
                     continue;
                 }
                 String text = roundText;
@@ -201,7 +212,7 @@ public class ReportDisplay extends AbstractPhaseDisplay implements
                 setupStylesheet(ta);
                 BASE64ToolKit toolKit = new BASE64ToolKit();
                 ta.setEditorKit(toolKit);
-                ta.setText("<pre>" + text + "</pre>");
+                showReport(ta, text);
                 ta.setEditable(false);
                 ta.setOpaque(false);
                 tabs.add("Round " + catchup, new JScrollPane(ta));
@@ -213,7 +224,7 @@ public class ReportDisplay extends AbstractPhaseDisplay implements
             setupStylesheet(ta);
             BASE64ToolKit toolKit = new BASE64ToolKit();
             ta.setEditorKit(toolKit);
-            ta.setText("<pre>" + phaseText + "</pre>");
+            showReport(ta, phaseText);
             ta.setEditable(false);
             ta.setOpaque(false);
 
@@ -223,8 +234,8 @@ public class ReportDisplay extends AbstractPhaseDisplay implements
             tabs.setSelectedComponent(sp);
         } else {
             // Update the existing round tab and the phase tab.
-            ((JTextPane) ((JScrollPane) tabs.getComponentAt(tabs.indexOfTab("Round " + round))).getViewport().getView()).setText("<pre>" + roundText + "</pre>");
-            ((JTextPane) ((JScrollPane) tabs.getComponentAt(tabs.indexOfTab("Phase"))).getViewport().getView()).setText("<pre>" + phaseText + "</pre>");
+            showReport((JTextPane) ((JScrollPane) tabs.getComponentAt(tabs.indexOfTab("Round " + round))).getViewport().getView(), roundText);
+            showReport((JTextPane) ((JScrollPane) tabs.getComponentAt(tabs.indexOfTab("Phase"))).getViewport().getView(), phaseText);
         }
     }
 
@@ -235,18 +246,53 @@ public class ReportDisplay extends AbstractPhaseDisplay implements
                "pre { font-family: " + font.getFamily() + "; font-size: 12pt; font-style:normal;}");
     }
 
+    /**
+     * Shows the given report in the pane. While a round goes on its report
+     * only grows, so when the pane already shows the start of the text just the
+     * rest is added to the document.
+     */
+    private static void showReport(JTextPane pane, String text) {
+        String shown = (String) pane.getClientProperty(REPORT_TEXT);
+        if ((shown != null) && text.startsWith(shown)) {
+            if (text.length() > shown.length()) {
+                appendReport(pane, text.substring(shown.length()));
+            }
+        } else {
+            pane.setText("<pre>" + text + "</pre>");
+        }
+        pane.putClientProperty(REPORT_TEXT, text);
+    }
+
+    /**
+     * Adds the text to the end of the pane's document, without parsing what is
+     * already there again.
+     */
+    private static void appendReport(JTextPane pane, String text) {
+        HTMLDocument doc = (HTMLDocument) pane.getDocument();
+        Element body = doc.getElement(doc.getDefaultRootElement(),
+                StyleConstants.NameAttribute, HTML.Tag.BODY);
+        if (body == null) {
+            pane.setText(pane.getText() + "<pre>" + text + "</pre>");
+            return;
+        }
+        try {
+            doc.insertBeforeEnd(body, "<pre>" + text + "</pre>");
+        } catch (BadLocationException | IOException e) {
+            MegaMek.getLogger().error(e);
+        }
+    }
+
     public void appendReportTab(String additionalText) {
         int phaseTab = tabs.indexOfTab("Phase");
         if (phaseTab > 0) {
             JTextPane pane = ((JTextPane) ((JScrollPane) tabs.getComponentAt(phaseTab - 1)).getViewport().getView());
-            BASE64ToolKit toolKit = new BASE64ToolKit();
-            pane.setEditorKit(toolKit);
-            pane.setText(pane.getText() + "<pre>"+additionalText+"</pre>");
+            appendReport(pane, additionalText);
+            // the pane no longer shows just the round report
+            pane.putClientProperty(REPORT_TEXT, null);
         }
         JTextPane pane = ((JTextPane) ((JScrollPane) tabs.getComponentAt(phaseTab)).getViewport().getView());
-        BASE64ToolKit toolKit = new BASE64ToolKit();
-        pane.setEditorKit(toolKit);
-        pane.setText(pane.getText() + "<pre>"+additionalText+"</pre>");
+        appendReport(pane, additionalText);
+        pane.putClientProperty(REPORT_TEXT, null);
     }
 
     public void resetTabs() {
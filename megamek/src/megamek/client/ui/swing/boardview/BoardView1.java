@@ -93,6 +93,7 @@ import megamek.client.ui.SharedUtility;
 import megamek.client.ui.swing.ChatterBox2;
 import megamek.client.ui.swing.ClientGUI;
 import megamek.client.ui.swing.GUIPreferences;
+import megamek.client.ui.swing.GameChangeCoalescer;
 import megamek.client.ui.swing.MovementDisplay;
 import megamek.client.ui.swing.tileset.HexTileset;
 import megamek.client.ui.swing.tileset.TilesetManager;
@@ -154,7 +155,6 @@ import megamek.common.actions.SearchlightAttackAction;
 import megamek.common.actions.WeaponAttackAction;
 import megamek.common.event.BoardEvent;
 import megamek.common.event.BoardListener;
-import megamek.common.event.GameBoardChangeEvent;
 import megamek.common.event.GameBoardNewEvent;
 import megamek.common.event.GameEntityChangeEvent;
 import megamek.common.event.GameEntityNewEvent;
@@ -509,6 +509,9 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
     /** A map overlay showing some important keybinds. */ 
     KeyBindingsOverlay keybindOverlay;
 
+    /** Batches the unit and hex updates of a packet burst into one redraw */
+    private final GameChangeCoalescer gameChanges;
+
 
     /**
      * Construct a new board view for the specified game
@@ -525,6 +528,7 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
 
         game.addGameListener(gameListener);
         game.getBoard().addBoardListener(this);
+        gameChanges = new GameChangeCoalescer(game, this::gameChangesApplied);
         
         keybindOverlay = new KeyBindingsOverlay(game, clientgui);
         addDisplayable(keybindOverlay);
@@ -5179,13 +5183,6 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
      * megamek.common.BoardListener#boardChangedHex(megamek.common.BoardEvent)
      */
     public void boardChangedHex(BoardEvent b) {
-        hexImageCache.remove(b.getCoords());
-        // Also repaint the surrounding hexes because of shadows, border etc.
-        for (int dir: allDirections) { 
-            hexImageCache.remove(b.getCoords().translated(dir));
-        }
-        clearShadowMap();
-        repaint();
     }
 
     /*
@@ -5227,8 +5224,6 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
             final GameOptions gopts = game.getOptions();
             GUIPreferences guip = GUIPreferences.getInstance();
 
-            updateEcmList();
-            
             //For Entities that have converted to another mode, check for a different sprite
             if (game.getPhase() == IGame.Phase.PHASE_MOVEMENT
                     && en.isConvertingNow()) {
@@ -5242,11 +5237,8 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
                     (en.getCrew().isEjected() != e.getOldEntity().getCrew().isEjected()))) {
                 tileManager.reloadImage(en);
             }
-            
-            redrawAllEntities();
-            if (game.getPhase() == IGame.Phase.PHASE_MOVEMENT) {
-                refreshMoveVectors();
-            }
+
+            // the sprites are redrawn in gameChangesApplied
             if ((mp != null) && (mp.size() > 0) && guip.getShowMoveStep()
                     && !gopts.booleanOption(OptionsConstants.INIT_SIMULTANEOUS_MOVEMENT)) {
                 if ((localPlayer == null)
@@ -5314,14 +5306,14 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
             clearShadowMap();
         }
 
-        @Override
-        public void gameBoardChanged(GameBoardChangeEvent e) {
-            clearHexImageCache();
-            boardChanged();
-        }
-
         @Override
         public void gamePhaseChange(GamePhaseChangeEvent e) {
+            // the forces are final now, so their images can be made while the
+            // players wait for the board
+            if (e.getOldPhase() == Phase.PHASE_LOUNGE) {
+                tileManager.preloadEntityImages(game);
+            }
+
             if (GUIPreferences.getInstance().getGameSummaryBoardView() && ((e.getOldPhase() == Phase.PHASE_DEPLOYMENT)
                     || (e.getOldPhase() == Phase.PHASE_MOVEMENT) || (e.getOldPhase() == Phase.PHASE_TARGETING)
                     || (e.getOldPhase() == Phase.PHASE_FIRING) || (e.getOldPhase() == Phase.PHASE_PHYSICAL))) {
@@ -5378,6 +5370,41 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
         }
     };
 
+    /**
+     * Redraws what the units and hexes changed since the last call affect. The
+     * single events of a packet burst are collected by {@link #gameChanges}, so
+     * this runs once for all the units updated at the end of a phase.
+     */
+    private void gameChangesApplied(GameChangeCoalescer.ChangeSet changes) {
+        if (changes.isBoardChanged()) {
+            clearHexImageCache();
+        } else {
+            for (Coords c : changes.getHexes()) {
+                hexImageCache.remove(c);
+                // Also repaint the surrounding hexes because of shadows, border etc.
+                for (int dir : allDirections) {
+                    hexImageCache.remove(c.translated(dir));
+                }
+            }
+        }
+        if (!changes.getHexes().isEmpty()) {
+            clearShadowMap();
+        }
+        if (!changes.getEntities().isEmpty()) {
+            updateEcmList();
+        }
+        if (changes.isBoardChanged()) {
+            boardChanged();
+        } else if (!changes.getEntities().isEmpty()) {
+            redrawAllEntities();
+        }
+        if (!changes.getEntities().isEmpty()
+                && (game.getPhase() == IGame.Phase.PHASE_MOVEMENT)) {
+            refreshMoveVectors();
+        }
+        repaint();
+    }
+
     synchronized void boardChanged() {
         redrawAllEntities();
         redrawAllFlares();
@@ -6541,6 +6568,7 @@ public class BoardView1 extends JPanel implements IBoardView, Scrollable,
 
     public void die() {
         ourTask.cancel();
+        gameChanges.dispose();
         fovHighlightingAndDarkening.die();
     }
 
@@ -0,0 +1,180 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.ui.swing.tileset;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.awt.image.PixelGrabber;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import megamek.MegaMek;
+import megamek.client.ui.swing.util.PlayerColour;
+import megamek.common.icons.Camouflage;
+import megamek.common.util.ImageUtil;
+
+/**
+ * Applies camouflage to unit icons. Tinting an icon goes through it pixel by
+ * pixel, so the results are kept for the whole program: all units that have
+ * the same icon and camouflage share one tinted image, no matter which board
+ * view or game they are in. Images may be tinted on any thread.
+ */
+final class CamouflagedImages {
+
+    private static final int IMG_WIDTH = HexTileset.HEX_W;
+    private static final int IMG_HEIGHT = HexTileset.HEX_H;
+    private static final int IMG_SIZE = IMG_WIDTH * IMG_HEIGHT;
+
+    /** The most tinted images kept; the least recently used are dropped first */
+    private static final int MAX_IMAGES = 512;
+
+    private static final Map<Key, Future<Image>> IMAGES = new LinkedHashMap<Key, Future<Image>>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Future<Image>> eldest) {
+            return size() > MAX_IMAGES;
+        }
+    };
+
+    private CamouflagedImages() {
+    }
+
+    /**
+     * @return the image with the camouflage applied, from the cache if it has
+     *         been tinted before
+     */
+    static Image get(Image image, Camouflage camouflage) {
+        if (image == null) {
+            return null;
+        }
+        final Key key = new Key(image, camouflage);
+        final Future<Image> tinted;
+        FutureTask<Image> created = null;
+        synchronized (IMAGES) {
+            if (IMAGES.containsKey(key)) {
+                tinted = IMAGES.get(key);
+            } else {
+                created = new FutureTask<>(() -> tint(image, camouflage));
+                IMAGES.put(key, created);
+                tinted = created;
+            }
+        }
+        if (created != null) {
+            created.run();
+        }
+        try {
+            return tinted.get();
+        } catch (ExecutionException e) {
+            MegaMek.getLogger().error(e.getCause());
+            return image;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return image;
+        }
+    }
+
+    /** Overlays the camo or colour on the gray pixels of the image. */
+    private static Image tint(Image image, Camouflage camouflage) {
+        final boolean colourCamouflage = camouflage.isColourCamouflage();
+        final int colour = colourCamouflage ? PlayerColour.parseFromString(camouflage.getFilename()).getHex() : -1;
+
+        // Prepare the images for access
+        int[] pMech = new int[IMG_SIZE];
+        int[] pCamo = new int[IMG_SIZE];
+        try {
+            grabImagePixels(image, pMech);
+            if (!colourCamouflage) {
+                grabImagePixels(camouflage.getImage(), pCamo);
+            }
+        } catch (Exception e) {
+            MegaMek.getLogger().error("Failed to grab pixels for an image to apply the camo." + e.getMessage());
+            return image;
+        }
+
+        // Overlay the camo or color
+        for (int i = 0; i < IMG_SIZE; i++) {
+            int pixel = pMech[i];
+            int alpha = (pixel >> 24) & 0xff;
+            int red = (pixel >> 16) & 0xff;
+            int green = (pixel >> 8) & 0xff;
+            int blue = (pixel) & 0xff;
+
+            // Don't apply the camo over colored (not gray) pixels
+            if (!(red == green && green == blue)) {
+                continue;
+            }
+
+            // Apply the camo only on the icon pixels, not on transparent pixels
+            if (alpha != 0) {
+                int pixel1 = colourCamouflage ? colour : pCamo[i];
+                int red1 = (pixel1 >> 16) & 0xff;
+                int green1 = (pixel1 >> 8) & 0xff;
+                int blue1 = (pixel1) & 0xff;
+
+                int red2 = red1 * blue / 255;
+                int green2 = green1 * blue / 255;
+                int blue2 = blue1 * blue / 255;
+
+                pMech[i] = (alpha << 24) | (red2 << 16) | (green2 << 8) | blue2;
+            }
+        }
+
+        BufferedImage result = new BufferedImage(IMG_WIDTH, IMG_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        result.setRGB(0, 0, IMG_WIDTH, IMG_HEIGHT, pMech, 0, IMG_WIDTH);
+        return ImageUtil.createAcceleratedImage(result);
+    }
+
+    /** Initiates the PixelGrabber for the given image and int array. */
+    private static void grabImagePixels(Image img, int[] pixels) throws InterruptedException {
+        PixelGrabber pg = new PixelGrabber(img, 0, 0, IMG_WIDTH, IMG_HEIGHT, pixels, 0, IMG_WIDTH);
+        pg.grabPixels();
+        if ((pg.getStatus() & ImageObserver.ABORT) != 0) {
+            throw new RuntimeException("ImageObserver aborted.");
+        }
+    }
+
+    /** An icon by identity and a camouflage by value */
+    private static final class Key {
+        private final Image image;
+        private final Camouflage camouflage;
+
+        Key(Image image, Camouflage camouflage) {
+            this.image = image;
+            this.camouflage = camouflage;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return (image == other.image) && Objects.equals(camouflage, other.camouflage);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * System.identityHashCode(image)) + Objects.hashCode(camouflage);
+        }
+    }
+}
@@ -21,12 +21,13 @@ import java.awt.Image;
 import java.awt.geom.AffineTransform;
 import java.awt.image.*;
 import java.io.File;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 import megamek.MegaMek;
 import megamek.client.ui.swing.GUIPreferences;
-import megamek.client.ui.swing.util.PlayerColour;
 import megamek.common.icons.Camouflage;
 import megamek.common.util.fileUtils.ImageFileFactory;
 import megamek.common.*;
@@ -87,6 +88,11 @@ public class EntityImage {
     private Image base;
     /** The wreck base image used for this icon. */
     private Image wreck;
+    /** The unit and wreck images as they were passed in, before any camo or decals. */
+    private final Image sourceBase;
+    private final Image sourceWreck;
+    /** True once the facings have been created. */
+    private volatile boolean loaded = false;
     /** The damage decal image used for this icon. */
     private Image decal;
     /** The smoke image used for this icon. */
@@ -128,9 +134,11 @@ public class EntityImage {
     public EntityImage(Image base, Image wreck, Camouflage camouflage, Component comp,
                        Entity entity, int secondaryPos, boolean preview) {
         this.base = base;
+        sourceBase = base;
         setCamouflage(camouflage);
         parent = comp;
         this.wreck = wreck;
+        sourceWreck = wreck;
         this.dmgLevel = calculateDamageLevel(entity);
         // hack: gun emplacements are pretty beefy but have weight 0
         this.weight = entity instanceof GunEmplacement ?
@@ -188,9 +196,31 @@ public class EntityImage {
         return dmgLevel;
     }
 
-    /** Creates images applying damage decals, rotating and scaling. */
-    public void loadFacings() {
+    /**
+     * Returns a key that is equal for all EntityImages that result in the same
+     * images, so that units that look the same can share them. Images are
+     * compared by identity.
+     */
+    List<Object> getLookKey() {
+        return Arrays.asList(sourceBase, sourceWreck, camouflage, decal, smoke, pos, isInfantry, isPreview);
+    }
+
+    /** @return true if the facings have been created */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Creates images applying damage decals, rotating and scaling. Does nothing
+     * if that has already been done; if another thread is doing it, waits for
+     * it to finish.
+     */
+    public synchronized void loadFacings() {
+        if (loaded) {
+            return;
+        }
         if (base == null) {
+            loaded = true;
             return;
         }
 
@@ -230,6 +260,7 @@ public class EntityImage {
                 wreckFacings[i] = rotateImage(wreck, i);
             }
         }
+        loaded = true;
     }
 
     /** Rotates a given unit image into direction dir. */
@@ -253,10 +284,12 @@ public class EntityImage {
     }
 
     public Image getFacing(int facing) {
+        loadFacings();
         return facings[facing];
     }
 
     public Image getWreckFacing(int facing) {
+        loadFacings();
         return wreckFacings[facing];
     }
 
@@ -265,6 +298,7 @@ public class EntityImage {
     }
 
     public Image getIcon() {
+        loadFacings();
         return icon;
     }
 
@@ -288,56 +322,7 @@ public class EntityImage {
 
     /** Applies the unit individual or player camouflage to the icon. */
     private Image applyColor(Image image) {
-        if (image == null) {
-            return null;
-        }
-        final boolean colourCamouflage = getCamouflage().isColourCamouflage();
-        final int colour = colourCamouflage ? PlayerColour.parseFromString(getCamouflage().getFilename()).getHex() : -1;
-
-        // Prepare the images for access
-        int[] pMech = new int[IMG_SIZE];
-        int[] pCamo = new int[IMG_SIZE];
-        try {
-            grabImagePixels(image, pMech);
-            if (!colourCamouflage) {
-                grabImagePixels(camouflage.getImage(), pCamo);
-            }
-        } catch (Exception e) {
-            MegaMek.getLogger().error("Failed to grab pixels for an image to apply the camo." + e.getMessage());
-            return image;
-        }
-
-        // Overlay the camo or color
-        for (int i = 0; i < IMG_SIZE; i++) {
-            int pixel = pMech[i];
-            int alpha = (pixel >> 24) & 0xff;
-            int red = (pixel >> 16) & 0xff;
-            int green = (pixel >> 8) & 0xff;
-            int blue = (pixel) & 0xff;
-
-            // Don't apply the camo over colored (not gray) pixels
-            if (!(red == green && green == blue)) {
-                continue;
-            }
-
-            // Apply the camo only on the icon pixels, not on transparent pixels
-            if (alpha != 0) {
-                int pixel1 = colourCamouflage ? colour : pCamo[i];
-                int red1 = (pixel1 >> 16) & 0xff;
-                int green1 = (pixel1 >> 8) & 0xff;
-                int blue1 = (pixel1) & 0xff;
-
-                int red2 = red1 * blue / 255;
-                int green2 = green1 * blue / 255;
-                int blue2 = blue1 * blue / 255;
-
-                pMech[i] = (alpha << 24) | (red2 << 16) | (green2 << 8) | blue2;
-            }
-        }
-        
-        Image result = parent.createImage(new MemoryImageSource(IMG_WIDTH,
-                IMG_HEIGHT, pMech, 0, IMG_WIDTH));
-        return ImageUtil.createAcceleratedImage(result);
+        return CamouflagedImages.get(image, getCamouflage());
     }
     
     /** Applies the damage decal image to the icon. */
@@ -28,6 +28,7 @@ import java.awt.image.FilteredImageSource;
 import java.awt.image.ImageProducer;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import megamek.MegaMek;
 import megamek.client.ui.ITilesetManager;
@@ -36,7 +37,6 @@ import megamek.client.ui.swing.boardview.BoardView1;
 import megamek.client.ui.swing.tileset.MechTileset.MechEntry;
 import megamek.client.ui.swing.util.EntityWreckHelper;
 import megamek.client.ui.swing.util.ImageCache;
-import megamek.client.ui.swing.util.PlayerColour;
 import megamek.client.ui.swing.util.RotateFilter;
 import megamek.common.*;
 import megamek.common.annotations.Nullable;
@@ -85,7 +85,8 @@ public class TilesetManager implements IPreferenceChangeListener, ITilesetManage
     // mech images
     private MechTileset wreckTileset = new MechTileset(
             new MegaMekFile(Configuration.unitImagesDir(), DIR_NAME_WRECKS).getFile());
-    private List<EntityImage> mechImageList = new ArrayList<>();
+    // the images shared by all units that look the same, see EntityImage.getLookKey()
+    private Map<List<Object>, EntityImage> mechImageSets = new HashMap<>();
     private Map<ArrayList<Integer>, EntityImage> mechImages = new HashMap<>();
     private Map<String, Image> wreckageDecals = new HashMap<>();
     private Map<String, Integer> wreckageDecalCount;
@@ -506,17 +507,10 @@ public class TilesetManager implements IPreferenceChangeListener, ITilesetManage
             }
         }
 
-        // load all mech images
-        for (Entity e : game.getEntitiesVector()) {
-            if (e.getSecondaryPositions().isEmpty()) {
-                loadImage(e, -1);
-            } else {
-                for (Integer secPos : e.getSecondaryPositions().keySet()) {
-                    loadImage(e, secPos);
-                }
-            }
-
-        }
+        // load all mech images; those that look different are made in parallel
+        List<EntityImage> newImages = registerEntityImages(game.getEntitiesVector());
+        newImages.parallelStream().forEach(EntityImage::loadFacings);
+        newImages.forEach(this::trackEntityImage);
 
         minefieldSign = LoadSpecificImage(Configuration.hexesDir(), Minefield.FILENAME_IMAGE);
         nightFog = LoadSpecificImage(Configuration.hexesDir(), FILENAME_NIGHT_IMAGE);
@@ -611,41 +605,83 @@ public class TilesetManager implements IPreferenceChangeListener, ITilesetManage
      * Load a single entity image
      */
     public synchronized void loadImage(Entity entity, int secondaryPos) {
+        EntityImage entityImage = registerEntityImage(entity, secondaryPos);
+        boolean isNew = !entityImage.isLoaded();
+        // waits if the image is being made by a preload
+        entityImage.loadFacings();
+        if (isNew) {
+            trackEntityImage(entityImage);
+        }
+    }
+
+    /**
+     * Starts making the images of all units in the game on a worker pool, so
+     * that they are ready when the board is first drawn. Units that look the
+     * same share one image, which is made only once.
+     */
+    public void preloadEntityImages(IGame game) {
+        List<EntityImage> newImages = registerEntityImages(game.getEntitiesVector());
+        if (!newImages.isEmpty()) {
+            CompletableFuture.runAsync(() -> newImages.parallelStream().forEach(EntityImage::loadFacings))
+                    .exceptionally(e -> {
+                        MegaMek.getLogger().error(e);
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Relates the units to their images, see {@link #registerEntityImage(Entity, int)}.
+     *
+     * @return the images among them that haven't been made yet
+     */
+    private synchronized List<EntityImage> registerEntityImages(List<Entity> entities) {
+        Set<EntityImage> newImages = new LinkedHashSet<>();
+        for (Entity e : entities) {
+            if (e.getSecondaryPositions().isEmpty()) {
+                addIfNew(registerEntityImage(e, -1), newImages);
+            } else {
+                for (Integer secPos : e.getSecondaryPositions().keySet()) {
+                    addIfNew(registerEntityImage(e, secPos), newImages);
+                }
+            }
+        }
+        return new ArrayList<>(newImages);
+    }
+
+    private static void addIfNew(EntityImage entityImage, Set<EntityImage> newImages) {
+        if (!entityImage.isLoaded()) {
+            newImages.add(entityImage);
+        }
+    }
+
+    /**
+     * Relates the unit to the image of units that look like it, creating a new
+     * one if there is none. The image's facings may not have been made yet.
+     */
+    private synchronized EntityImage registerEntityImage(Entity entity, int secondaryPos) {
         Image base = MMStaticDirectoryManager.getMechTileset().imageFor(entity, secondaryPos);
         Image wreck = wreckTileset.imageFor(entity, secondaryPos);
 
         IPlayer player = entity.getOwner();
-        PlayerColour tint = player.getColour();
-
         Camouflage camouflage = entity.getCamouflageOrElse(player.getCamouflage());
-        EntityImage entityImage = null;
 
         // check if we have a duplicate image already loaded
-        for (Iterator<EntityImage> j = mechImageList.iterator(); j.hasNext();) {
-            EntityImage onList = j.next();
-            if ((onList.getBase() != null) && onList.getBase().equals(base)
-                    && onList.getCamouflage().equals(camouflage)
-                    && (onList.getDmgLvl() == entity.getDamageLevel(false))) {
-                entityImage = onList;
-                break;
-            }
-        }
-
-        // if we don't have a cached image, make a new one
-        if (entityImage == null) {
-            entityImage = new EntityImage(base, wreck, camouflage, boardview, entity, secondaryPos);
-            mechImageList.add(entityImage);
-            entityImage.loadFacings();
-            for (int j = 0; j < 6; j++) {
-                tracker.addImage(entityImage.getFacing(j), 1);
-            }
-        }
+        EntityImage newImage = new EntityImage(base, wreck, camouflage, boardview, entity, secondaryPos);
+        EntityImage entityImage = mechImageSets.computeIfAbsent(newImage.getLookKey(), k -> newImage);
 
         // relate this id to this image set
         ArrayList<Integer> temp = new ArrayList<>();
         temp.add(entity.getId());
         temp.add(secondaryPos);
         mechImages.put(temp, entityImage);
+        return entityImage;
+    }
+
+    private synchronized void trackEntityImage(EntityImage entityImage) {
+        for (int j = 0; j < 6; j++) {
+            tracker.addImage(entityImage.getFacing(j), 1);
+        }
     }
 
     /**
@@ -657,7 +693,7 @@ public class TilesetManager implements IPreferenceChangeListener, ITilesetManage
         started = false;
 
         tracker = new MediaTracker(boardview);
-        mechImageList.clear();
+        mechImageSets.clear();
         mechImages.clear();
         hexTileset.clearAllHexes();
     }    
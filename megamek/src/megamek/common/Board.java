@@ -17,11 +17,9 @@ package megamek.common;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
@@ -99,6 +97,17 @@ public class Board implements Serializable, IBoard {
 
     private IHex[] data;
 
+    /**
+     * Set when the hex array has been handed out to a {@link GameSnapshot}. The
+     * next hex change copies the array first, so the snapshot keeps its hexes.
+     */
+    private transient boolean hexesShared = false;
+
+    /**
+     * Incremented by every board event, see {@link #getChangeCount()}.
+     */
+    private transient int changeCount = 0;
+
     /**
      * The path to the file to load as background image for this board. To avoid
      * the Server sending a serialized image, the image isn't loaded until
@@ -263,6 +272,7 @@ public class Board implements Serializable, IBoard {
         this.width = width;
         this.height = height;
         this.data = data;
+        hexesShared = false;
 
         initializeAll(errBuff);
         processBoardEvent(new BoardEvent(this, null, BoardEvent.BOARD_NEW_BOARD));
@@ -676,6 +686,7 @@ public class Board implements Serializable, IBoard {
      *            the hex to be set into position.
      */
     public void setHex(int x, int y, IHex hex) {
+        unshareHexes();
         data[(y * width) + x] = hex;
         initializeHex(x, y);
         // If this hex has exitable terrain, we may need to update the exits in
@@ -712,6 +723,7 @@ public class Board implements Serializable, IBoard {
             throw new IllegalStateException("setHexes received two collections differeing size!");
         }
 
+        unshareHexes();
         // Update all input hexes, plus create a set of coords that need
         // updating
         Iterator<Coords> coordIter = coords.iterator();
@@ -741,6 +753,87 @@ public class Board implements Serializable, IBoard {
 
     }
 
+    /**
+     * Returns the hex array without copying it, for use by {@link GameSnapshot}.
+     * Later calls to {@link #setHex(int, int, IHex)} or
+     * {@link #setHexes(List, List)} replace the array instead of writing into it.
+     *
+     * @return the hexes in row major order
+     */
+    IHex[] shareHexes() {
+        hexesShared = true;
+        return data;
+    }
+
+    private void unshareHexes() {
+        if (hexesShared) {
+            data = data.clone();
+            hexesShared = false;
+        }
+    }
+
+    /**
+     * Creates a copy of this board that leaves out the hexes which are the same
+     * as in the given base board, for sending to clients that can build the
+     * base board themselves. Everything else is shared with this board, so the
+     * copy must only be used for sending.
+     *
+     * @param base the board the client can build, see {@link BoardSource}
+     * @return the copy, with <code>null</code> for every hex that is the same
+     *         as in the base board
+     */
+    public Board createDelta(IBoard base) {
+        final IHex[] changed = new IHex[data.length];
+        if ((base.getWidth() == width) && (base.getHeight() == height)) {
+            for (int i = 0; i < data.length; i++) {
+                if (!BoardSource.sameHex(data[i], base.getHex(i % width, i / width))) {
+                    changed[i] = data[i];
+                }
+            }
+        } else {
+            System.arraycopy(data, 0, changed, 0, data.length);
+        }
+        final Board delta = new Board(width, height, changed, buildings, infernos);
+        delta.minElevation = minElevation;
+        delta.maxElevation = maxElevation;
+        delta.mapType = mapType;
+        delta.backgroundPaths = backgroundPaths;
+        delta.numBoardsWidth = numBoardsWidth;
+        delta.numBoardsHeight = numBoardsHeight;
+        delta.subBoardWidth = subBoardWidth;
+        delta.subBoardHeight = subBoardHeight;
+        delta.flipBGHoriz = flipBGHoriz;
+        delta.flipBGVert = flipBGVert;
+        delta.specialHexes = specialHexes;
+        delta.roadsAutoExit = roadsAutoExit;
+        delta.description = description;
+        delta.annotations = annotations;
+        return delta;
+    }
+
+    /**
+     * Fills in the hexes left out by {@link #createDelta(IBoard)} with copies
+     * of the hexes of the base board.
+     *
+     * @param base the base board built from the board's {@link BoardSource}
+     * @return false if the base board doesn't fit this board
+     */
+    public boolean restoreHexes(IBoard base) {
+        if ((base.getWidth() != width) || (base.getHeight() != height)) {
+            return false;
+        }
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == null) {
+                final IHex hex = base.getHex(i % width, i / width);
+                if (hex == null) {
+                    return false;
+                }
+                data[i] = hex.duplicate();
+            }
+        }
+        return true;
+    }
+
     /**
      * Sets the hex into the location specified by the Coords.
      *
@@ -922,11 +1015,14 @@ public class Board implements Serializable, IBoard {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The parsed file is kept in the {@link BoardCache}, so loading the same file
+     * again only parses it once more if it has been changed.
      */
     @Override
     public void load(final File filepath) {
-        try (InputStream is = new FileInputStream(filepath)) {
-            load(is);
+        try {
+            load(BoardCache.getInstance().getBoardFileData(filepath), null, false);
         } catch (IOException ex) {
             MegaMek.getLogger().error(this, "IO Error opening file to load board! " + ex);
         }
@@ -940,115 +1036,45 @@ public class Board implements Serializable, IBoard {
     }
 
     public void load(InputStream is, StringBuffer errBuff, boolean continueLoadOnError) {
-        int nw = 0, nh = 0, di = 0;
-        IHex[] nd = new IHex[0];
-        int index = 0;
-        resetStoredElevation();
-        try (Reader r = new BufferedReader(new InputStreamReader(is))) {
-            StreamTokenizer st = new StreamTokenizer(r);
-            st.eolIsSignificant(true);
-            st.commentChar('#');
-            st.quoteChar('"');
-            st.wordChars('_', '_');
-            while (st.nextToken() != StreamTokenizer.TT_EOF) {
-                if ((st.ttype == StreamTokenizer.TT_WORD) && st.sval.equalsIgnoreCase("size")) {
-                    // read rest of line
-                    String[] args = { "0", "0" };
-                    int i = 0;
-                    while ((st.nextToken() == StreamTokenizer.TT_WORD) || (st.ttype == '"')
-                            || (st.ttype == StreamTokenizer.TT_NUMBER)) {
-                        args[i++] = st.ttype == StreamTokenizer.TT_NUMBER ? (int) st.nval + "" : st.sval;
-                    }
-                    nw = Integer.parseInt(args[0]);
-                    nh = Integer.parseInt(args[1]);
-                    nd = new IHex[nw * nh];
-                    di = 0;
-                } else if ((st.ttype == StreamTokenizer.TT_WORD) && st.sval.equalsIgnoreCase("option")) {
-                    // read rest of line
-                    String[] args = { "", "" };
-                    int i = 0;
-                    while ((st.nextToken() == StreamTokenizer.TT_WORD) || (st.ttype == '"')
-                            || (st.ttype == StreamTokenizer.TT_NUMBER)) {
-                        args[i++] = st.ttype == StreamTokenizer.TT_NUMBER ? (int) st.nval + "" : st.sval;
-                    }
-                    // Only expect certain options.
-                    if (args[0].equalsIgnoreCase("exit_roads_to_pavement")) {
-                        if (args[1].equalsIgnoreCase("false")) {
-                            roadsAutoExit = false;
-                        } else {
-                            roadsAutoExit = true;
-                        }
-                    } // End exit_roads_to_pavement-option
-                } else if ((st.ttype == StreamTokenizer.TT_WORD) && st.sval.equalsIgnoreCase("hex")) {
-                    // read rest of line
-                    String[] args = { "", "0", "", "" };
-                    int i = 0;
-                    while ((st.nextToken() == StreamTokenizer.TT_WORD) || (st.ttype == '"')
-                            || (st.ttype == StreamTokenizer.TT_NUMBER)) {
-                        args[i++] = st.ttype == StreamTokenizer.TT_NUMBER ? (int) st.nval + "" : st.sval;
-                    }
-                    int elevation = Integer.parseInt(args[1]);
-                    // The coordinates in the .board file are ignored!
-                    nd[index] = new Hex(elevation, args[2], args[3], new Coords(index % nw, index / nw));
-                    index++;
-                } else if ((st.ttype == StreamTokenizer.TT_WORD) && st.sval.equalsIgnoreCase("background")) {
-                    st.nextToken();
-                    File bgFile = new MegaMekFile(Configuration.boardBackgroundsDir(),
-                            st.sval).getFile();
-                    if (bgFile.exists()) {
-                        backgroundPaths.add(bgFile.getPath());
-                    } else {
-                        MegaMek.getLogger().error(this, 
-                                "Board specified background image, but path couldn't be found! Path: " + bgFile.getPath());
-                    }
-                } else if ((st.ttype == StreamTokenizer.TT_WORD) && st.sval.equalsIgnoreCase("description")) {
-                    st.nextToken();
-                    if (st.ttype == '"') {
-                        String d = getDescription();
-                        if (null == d) {
-                            setDescription(st.sval);
-                        } else {
-                            setDescription(d + "\n\n" + st.sval);
-                        }
-                    }
-                } else if ((st.ttype == StreamTokenizer.TT_WORD) && st.sval.equalsIgnoreCase("note")) {
-                    st.nextToken();
-                    if (st.ttype == StreamTokenizer.TT_NUMBER) {
-                        int x, y, coordWidth = 100;
-                        int coords = (int)st.nval;
-                        if (coords > 9999) {
-                            coordWidth = 1000;
-                        }
-                        y = coords % coordWidth;
-                        coords /= coordWidth;
-                        x = coords;
-                        st.nextToken();
-                        Coords c = new Coords(x, y);
-                        if (st.ttype == '"') {
-                            Collection<String> a = new ArrayList<>(getAnnotations(c));
-                            a.add(st.sval);
-                            setAnnotations(c, a);
-                        }
-                    }
-                } else if ((st.ttype == StreamTokenizer.TT_WORD) && st.sval.equalsIgnoreCase("end")) {
-                    break;
-                }
-            }
+        BoardFileData parsed;
+        try (InputStream in = is) {
+            parsed = BoardFileData.parse(in);
         } catch (IOException ex) {
             MegaMek.getLogger().error(this, "I/O Error: " + ex);
+            parsed = BoardFileData.empty();
         }
+        load(parsed, errBuff, continueLoadOnError);
+    }
 
-        // fill nulls with blank hexes
-        for (int i = 0; i < nd.length; i++) {
-            if (nd[i] == null) {
-                nd[i] = new Hex();
+    private void load(BoardFileData parsed, StringBuffer errBuff, boolean continueLoadOnError) {
+        final int nw = parsed.getWidth();
+        final int nh = parsed.getHeight();
+        resetStoredElevation();
+        if (parsed.getRoadsAutoExit() != null) {
+            roadsAutoExit = parsed.getRoadsAutoExit();
+        }
+        backgroundPaths.addAll(parsed.getBackgroundPaths());
+        if (parsed.getDescription() != null) {
+            String d = getDescription();
+            if (null == d) {
+                setDescription(parsed.getDescription());
+            } else {
+                setDescription(d + "\n\n" + parsed.getDescription());
             }
         }
+        for (Map.Entry<Coords, ? extends Collection<String>> note : parsed.getAnnotations().entrySet()) {
+            Collection<String> a = new ArrayList<>(getAnnotations(note.getKey()));
+            a.addAll(note.getValue());
+            setAnnotations(note.getKey(), a);
+        }
+
+        // blank hexes where the file has none
+        IHex[] nd = parsed.createHexes();
 
         // check data integrity
-        if (isValid(nd, nw, nh, errBuff) && ((nw > 1) || (nh > 1) || (di == (nw * nh)))) {
+        if (isValid(nd, nw, nh, errBuff) && ((nw > 1) || (nh > 1) || (0 == (nw * nh)))) {
             newData(nw, nh, nd, errBuff);
-        } else if (continueLoadOnError && ((nw > 1) || (nh > 1) || (di == (nw * nh)))) {
+        } else if (continueLoadOnError && ((nw > 1) || (nh > 1) || (0 == (nw * nh)))) {
             MegaMek.getLogger().error(this, "Invalid board data!");
             newData(nw, nh, nd, errBuff);
         } else if (errBuff == null){
@@ -1637,6 +1663,7 @@ public class Board implements Serializable, IBoard {
     }
 
     protected void processBoardEvent(BoardEvent event) {
+        changeCount++;
         if (boardListeners == null) {
             return;
         }
@@ -1655,6 +1682,11 @@ public class Board implements Serializable, IBoard {
         }
     }
 
+    @Override
+    public int getChangeCount() {
+        return changeCount;
+    }
+
     protected Vector<BoardListener> getListeners() {
         if (boardListeners == null) {
             boardListeners = new Vector<BoardListener>();
@@ -0,0 +1,223 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import megamek.MegaMek;
+
+/**
+ * Keeps what is needed to build boards without doing the work again: the
+ * parsed contents and hashes of the board files, and the last few base boards
+ * that were built from a {@link BoardSource}. The cache is shared by everything in the process, so
+ * a client running next to the server or several bots only build each base
+ * board once.
+ * <p>
+ * The cached base boards must not be changed; {@link Board#restoreHexes(IBoard)}
+ * copies the hexes it takes from them.
+ */
+public final class BoardCache {
+
+    /** How many base boards to keep */
+    private static final int MAX_BASE_BOARDS = 2;
+
+    /** How many parsed board files to keep */
+    private static final int MAX_BOARD_FILES = 64;
+
+    private static final BoardCache instance = new BoardCache();
+
+    private final Map<File, FileHash> fileHashes = new HashMap<>();
+    private final Map<String, IBoard> baseBoards = new LinkedHashMap<String, IBoard>(4, 0.75f, true) {
+        private static final long serialVersionUID = -2911403413565306247L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IBoard> eldest) {
+            return size() > MAX_BASE_BOARDS;
+        }
+    };
+
+    private final Map<File, ParsedFile> boardFiles = new LinkedHashMap<File, ParsedFile>(16, 0.75f, true) {
+        private static final long serialVersionUID = 4190474315573707618L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, ParsedFile> eldest) {
+            return size() > MAX_BOARD_FILES;
+        }
+    };
+
+    private BoardCache() {
+    }
+
+    public static BoardCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the SHA-256 hash of a file's contents. The hash is only worked out
+     * again when the file has been changed since the last call.
+     *
+     * @return the hash as a hex string, or <code>null</code> if the file can't
+     *         be read
+     */
+    public synchronized String getFileHash(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        final FileHash cached = fileHashes.get(file);
+        if ((cached != null) && (cached.lastModified == file.lastModified())
+                && (cached.length == file.length())) {
+            return cached.hash;
+        }
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        final String hash = hashFile(file);
+        if (hash != null) {
+            fileHashes.put(file, new FileHash(lastModified, length, hash));
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the parsed contents of a board file. The file is only parsed again
+     * when it has been changed since the last call, so a sheet that is used
+     * several times, or again in a later game, is read once.
+     *
+     * @throws IOException if the file can't be read
+     */
+    BoardFileData getBoardFileData(File file) throws IOException {
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        synchronized (this) {
+            final ParsedFile cached = boardFiles.get(file);
+            if ((cached != null) && (cached.lastModified == lastModified) && (cached.length == length)) {
+                return cached.data;
+            }
+        }
+        final BoardFileData data;
+        try (InputStream is = new FileInputStream(file)) {
+            data = BoardFileData.parse(is);
+        }
+        synchronized (this) {
+            boardFiles.put(file, new ParsedFile(lastModified, length, data));
+        }
+        return data;
+    }
+
+    /**
+     * Gets the base board of a source, building it from the local board files
+     * if it isn't cached.
+     *
+     * @return the base board, or <code>null</code> if the local files can't be
+     *         used to build the same board as the server
+     */
+    public IBoard getBaseBoard(BoardSource source) {
+        final String hexHash = source.getHexHash();
+        if (hexHash == null) {
+            return null;
+        }
+        synchronized (this) {
+            final IBoard cached = baseBoards.get(hexHash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final IBoard base = source.createBaseBoard();
+        if ((base == null) || !hexHash.equals(BoardSource.hashHexes(base))) {
+            return null;
+        }
+        putBaseBoard(hexHash, base);
+        return base;
+    }
+
+    /**
+     * Remembers a base board that was built from the given source by
+     * {@link BoardSource#prepare()}.
+     */
+    void putBaseBoard(BoardSource source, IBoard base) {
+        if (source.getHexHash() != null) {
+            putBaseBoard(source.getHexHash(), base);
+        }
+    }
+
+    private synchronized void putBaseBoard(String hexHash, IBoard base) {
+        baseBoards.put(hexHash, base);
+    }
+
+    /**
+     * Forgets all cached hashes, board files and base boards.
+     */
+    synchronized void clear() {
+        fileHashes.clear();
+        boardFiles.clear();
+        baseBoards.clear();
+    }
+
+    private static String hashFile(File file) {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            MegaMek.getLogger().error(e);
+            return null;
+        }
+        final byte[] buffer = new byte[8192];
+        try (InputStream is = new FileInputStream(file);
+             InputStream dis = new DigestInputStream(is, md)) {
+            while (0 < dis.read(buffer)) { }
+        } catch (IOException e) {
+            MegaMek.getLogger().error(e);
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (byte d : md.digest()) {
+            sb.append(String.format("%02x", d));
+        }
+        return sb.toString();
+    }
+
+    private static final class ParsedFile {
+        private final long lastModified;
+        private final long length;
+        private final BoardFileData data;
+
+        private ParsedFile(long lastModified, long length, BoardFileData data) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.data = Objects.requireNonNull(data);
+        }
+    }
+
+    private static final class FileHash {
+        private final long lastModified;
+        private final long length;
+        private final String hash;
+
+        private FileHash(long lastModified, long length, String hash) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = Objects.requireNonNull(hash);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import megamek.MegaMek;
+import megamek.common.util.fileUtils.MegaMekFile;
+
+/**
+ * The contents of a .board file, parsed but not yet turned into a
+ * {@link Board}. The file is read in one go and scanned by hand, which is a lot
+ * faster than feeding it through a {@link java.io.StreamTokenizer} a character
+ * at a time. The scanner follows the rules of the tokenizer that
+ * {@link Board} used to set up, so files are read exactly as before.
+ * <p>
+ * Parsed files are kept by the {@link BoardCache}, so the hexes held here must
+ * never be changed; {@link #createHexes()} hands out copies.
+ */
+final class BoardFileData {
+
+    private int width;
+    private int height;
+    private IHex[] hexes = new IHex[0];
+    private Boolean roadsAutoExit;
+    private String description;
+    private final List<String> backgroundPaths = new ArrayList<>();
+    private final Map<Coords, List<String>> annotations = new LinkedHashMap<>();
+
+    private BoardFileData() {
+    }
+
+    /**
+     * @return the data of a file with nothing in it
+     */
+    static BoardFileData empty() {
+        return new BoardFileData();
+    }
+
+    /**
+     * Parses a board file. The stream is read to its end but not closed.
+     */
+    static BoardFileData parse(InputStream is) throws IOException {
+        final StringBuilder text = new StringBuilder();
+        final Reader r = new InputStreamReader(is);
+        final char[] buffer = new char[8192];
+        int read;
+        while ((read = r.read(buffer)) > 0) {
+            text.append(buffer, 0, read);
+        }
+        final BoardFileData data = new BoardFileData();
+        data.parse(new Scanner(text));
+        return data;
+    }
+
+    private void parse(Scanner sc) {
+        int index = 0;
+        while (sc.nextToken() != Scanner.TT_EOF) {
+            if (sc.ttype != Scanner.TT_WORD) {
+                continue;
+            }
+            if (sc.sval.equalsIgnoreCase("size")) {
+                final String[] args = { "0", "0" };
+                sc.readArgs(args);
+                width = Integer.parseInt(args[0]);
+                height = Integer.parseInt(args[1]);
+                hexes = new IHex[width * height];
+            } else if (sc.sval.equalsIgnoreCase("option")) {
+                final String[] args = { "", "" };
+                sc.readArgs(args);
+                // Only expect certain options.
+                if (args[0].equalsIgnoreCase("exit_roads_to_pavement")) {
+                    roadsAutoExit = !args[1].equalsIgnoreCase("false");
+                }
+            } else if (sc.sval.equalsIgnoreCase("hex")) {
+                final String[] args = { "", "0", "", "" };
+                sc.readArgs(args);
+                final int elevation = Integer.parseInt(args[1]);
+                // The coordinates in the .board file are ignored!
+                if (index < hexes.length) {
+                    hexes[index] = new Hex(elevation, args[2], args[3], new Coords(index % width, index / width));
+                }
+                index++;
+            } else if (sc.sval.equalsIgnoreCase("background")) {
+                if (sc.nextToken() == Scanner.TT_WORD || sc.ttype == '"') {
+                    final File bgFile = new MegaMekFile(Configuration.boardBackgroundsDir(), sc.sval).getFile();
+                    if (bgFile.exists()) {
+                        backgroundPaths.add(bgFile.getPath());
+                    } else {
+                        MegaMek.getLogger().error("Board specified background image, but path couldn't be found! Path: "
+                                + bgFile.getPath());
+                    }
+                }
+            } else if (sc.sval.equalsIgnoreCase("description")) {
+                if (sc.nextToken() == '"') {
+                    description = (description == null) ? sc.sval : description + "\n\n" + sc.sval;
+                }
+            } else if (sc.sval.equalsIgnoreCase("note")) {
+                if (sc.nextToken() == Scanner.TT_NUMBER) {
+                    int coordWidth = 100;
+                    int coords = (int) sc.nval;
+                    if (coords > 9999) {
+                        coordWidth = 1000;
+                    }
+                    final int y = coords % coordWidth;
+                    final int x = coords / coordWidth;
+                    if (sc.nextToken() == '"') {
+                        annotations.computeIfAbsent(new Coords(x, y), c -> new ArrayList<>()).add(sc.sval);
+                    }
+                }
+            } else if (sc.sval.equalsIgnoreCase("end")) {
+                break;
+            }
+        }
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return copies of the parsed hexes, with blank hexes where the file had
+     *         none
+     */
+    IHex[] createHexes() {
+        final IHex[] copy = new IHex[hexes.length];
+        for (int i = 0; i < hexes.length; i++) {
+            copy[i] = (hexes[i] == null) ? new Hex() : hexes[i].duplicate();
+        }
+        return copy;
+    }
+
+    /**
+     * @return the exit_roads_to_pavement option, or <code>null</code> if the
+     *         file doesn't set it
+     */
+    Boolean getRoadsAutoExit() {
+        return roadsAutoExit;
+    }
+
+    /**
+     * @return the descriptions in the file joined by blank lines, or
+     *         <code>null</code> if it has none
+     */
+    String getDescription() {
+        return description;
+    }
+
+    List<String> getBackgroundPaths() {
+        return Collections.unmodifiableList(backgroundPaths);
+    }
+
+    Map<Coords, ? extends Collection<String>> getAnnotations() {
+        return Collections.unmodifiableMap(annotations);
+    }
+
+    /**
+     * Splits a board file into the same tokens as a {@link java.io.StreamTokenizer}
+     * with significant line ends, <code>#</code> and <code>/</code> comments,
+     * <code>"</code> and <code>'</code> quotes, <code>_</code> as a word
+     * character and number parsing.
+     */
+    static final class Scanner {
+        static final int TT_EOF = -1;
+        static final int TT_EOL = '\n';
+        static final int TT_NUMBER = -2;
+        static final int TT_WORD = -3;
+
+        private final CharSequence text;
+        private int pos = 0;
+
+        int ttype;
+        String sval;
+        double nval;
+
+        Scanner(CharSequence text) {
+            this.text = text;
+        }
+
+        /**
+         * Reads the words, numbers and quoted strings up to the end of the line
+         * into the given array, leaving the defaults of the missing ones. The
+         * token that ends the arguments is skipped.
+         */
+        void readArgs(String[] args) {
+            int i = 0;
+            while ((nextToken() == TT_WORD) || (ttype == '"') || (ttype == TT_NUMBER)) {
+                if (i < args.length) {
+                    args[i] = (ttype == TT_NUMBER) ? Integer.toString((int) nval) : sval;
+                }
+                i++;
+            }
+        }
+
+        int nextToken() {
+            sval = null;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '\r') {
+                    pos++;
+                    if ((pos < text.length()) && (text.charAt(pos) == '\n')) {
+                        pos++;
+                    }
+                    return ttype = TT_EOL;
+                } else if (c == '\n') {
+                    pos++;
+                    return ttype = TT_EOL;
+                } else if (c <= ' ') {
+                    pos++;
+                } else if ((c == '#') || (c == '/')) {
+                    while ((pos < text.length()) && (text.charAt(pos) != '\r') && (text.charAt(pos) != '\n')) {
+                        pos++;
+                    }
+                } else if (isNumberStart(c)) {
+                    return readNumber();
+                } else if (isWordChar(c)) {
+                    final int start = pos;
+                    pos++;
+                    while ((pos < text.length())
+                            && (isWordChar(text.charAt(pos)) || isNumberChar(text.charAt(pos)))) {
+                        pos++;
+                    }
+                    sval = text.subSequence(start, pos).toString();
+                    return ttype = TT_WORD;
+                } else if ((c == '"') || (c == '\'')) {
+                    return readQuoted(c);
+                } else {
+                    pos++;
+                    return ttype = c;
+                }
+            }
+            return ttype = TT_EOF;
+        }
+
+        private int readNumber() {
+            boolean negative = false;
+            if (text.charAt(pos) == '-') {
+                pos++;
+                final char next = (pos < text.length()) ? text.charAt(pos) : ' ';
+                if ((next != '.') && ((next < '0') || (next > '9'))) {
+                    return ttype = '-';
+                }
+                negative = true;
+            }
+            double value = 0;
+            int decimals = 0;
+            boolean seenDot = false;
+            while (pos < text.length()) {
+                final char c = text.charAt(pos);
+                if ((c == '.') && !seenDot) {
+                    seenDot = true;
+                } else if ((c >= '0') && (c <= '9')) {
+                    value = (value * 10) + (c - '0');
+                    if (seenDot) {
+                        decimals++;
+                    }
+                } else {
+                    break;
+                }
+                pos++;
+            }
+            if (decimals > 0) {
+                value /= Math.pow(10, decimals);
+            }
+            nval = negative ? -value : value;
+            return ttype = TT_NUMBER;
+        }
+
+        private int readQuoted(char quote) {
+            final StringBuilder sb = new StringBuilder();
+            pos++;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if ((c == quote) || (c == '\n') || (c == '\r')) {
+                    break;
+                }
+                pos++;
+                if ((c == '\\') && (pos < text.length())) {
+                    c = text.charAt(pos++);
+                    switch (c) {
+                        case 'a':
+                            c = 0x7;
+                            break;
+                        case 'b':
+                            c = '\b';
+                            break;
+                        case 'f':
+                            c = 0xC;
+                            break;
+                        case 'n':
+                            c = '\n';
+                            break;
+                        case 'r':
+                            c = '\r';
+                            break;
+                        case 't':
+                            c = '\t';
+                            break;
+                        case 'v':
+                            c = 0xB;
+                            break;
+                        default:
+                            if ((c >= '0') && (c <= '7')) {
+                                c = readOctal(c);
+                            }
+                    }
+                }
+                sb.append(c);
+            }
+            // the closing quote; an unterminated string ends at the line end
+            if ((pos < text.length()) && (text.charAt(pos) == quote)) {
+                pos++;
+            }
+            sval = sb.toString();
+            return ttype = quote;
+        }
+
+        private char readOctal(char first) {
+            int value = first - '0';
+            final int maxDigits = (first <= '3') ? 3 : 2;
+            for (int digits = 1; (digits < maxDigits) && (pos < text.length()); digits++) {
+                final char c = text.charAt(pos);
+                if ((c < '0') || (c > '7')) {
+                    break;
+                }
+                value = (value * 8) + (c - '0');
+                pos++;
+            }
+            return (char) value;
+        }
+
+        private static boolean isNumberStart(char c) {
+            return ((c >= '0') && (c <= '9')) || (c == '.') || (c == '-');
+        }
+
+        private static boolean isNumberChar(char c) {
+            return isNumberStart(c);
+        }
+
+        private static boolean isWordChar(char c) {
+            return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || (c == '_') || (c >= 0xA0);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import megamek.MegaMek;
+import megamek.common.util.BoardUtilities;
+import megamek.common.util.fileUtils.MegaMekFile;
+
+/**
+ * Describes how a game board was put together from the board files in the
+ * boards directory, so that clients which have the same files can build the
+ * board themselves instead of receiving every hex from the server.
+ * <p>
+ * The board built from the files is called the base board. Sheets that were
+ * randomly generated are left blank in the base board. The server sends the
+ * source along with a copy of the real board that only holds the hexes that
+ * differ from the base board, see {@link Board#createDelta(IBoard)}. The
+ * source carries a hash of each board file and of the base board's hexes, so a
+ * client with different files notices and asks for the whole board instead.
+ */
+public class BoardSource implements Serializable {
+
+    private static final long serialVersionUID = 2580466785340914466L;
+
+    private final int boardWidth;
+    private final int boardHeight;
+    private final int mapWidth;
+    private final int mapHeight;
+    private final int medium;
+
+    /** The board names of the sheets, <code>null</code> for generated ones */
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<String> sheetHashes = new ArrayList<>();
+    private final List<Boolean> rotated = new ArrayList<>();
+
+    /** The hash of the base board's hexes, see {@link #hashHexes(IBoard)} */
+    private String hexHash;
+
+    /**
+     * @param boardWidth  the width of each sheet
+     * @param boardHeight the height of each sheet
+     * @param mapWidth    the number of sheets across
+     * @param mapHeight   the number of sheets down
+     * @param medium      the map medium, see {@link MapSettings#getMedium()}
+     */
+    public BoardSource(int boardWidth, int boardHeight, int mapWidth, int mapHeight, int medium) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.medium = medium;
+    }
+
+    /**
+     * Adds the next sheet, loaded from the board file with the given name.
+     *
+     * @return false if the file can't be read
+     */
+    public boolean addSheet(String name, boolean isRotated) {
+        final String hash = BoardCache.getInstance().getFileHash(getBoardFile(name));
+        sheetNames.add(name);
+        sheetHashes.add(hash);
+        rotated.add(isRotated);
+        return hash != null;
+    }
+
+    /**
+     * Adds the next sheet, which was randomly generated and so is left blank in
+     * the base board.
+     */
+    public void addGeneratedSheet(boolean isRotated) {
+        sheetNames.add(null);
+        sheetHashes.add(null);
+        rotated.add(isRotated);
+    }
+
+    /**
+     * Builds the base board and remembers the hash of its hexes. Must be called
+     * by the server before the source is sent.
+     *
+     * @return the base board, or <code>null</code> if it can't be built
+     */
+    public IBoard prepare() {
+        hexHash = null;
+        final IBoard base = createBaseBoard();
+        if (base != null) {
+            hexHash = hashHexes(base);
+            BoardCache.getInstance().putBaseBoard(this, base);
+        }
+        return base;
+    }
+
+    /**
+     * @return the hash of the base board's hexes, or <code>null</code> if it
+     *         has not been prepared
+     */
+    public String getHexHash() {
+        return hexHash;
+    }
+
+    /**
+     * Fills in the hexes that the server left out of a board sent along with
+     * this source.
+     *
+     * @param delta the board made by {@link Board#createDelta(IBoard)}
+     * @return false if the base board can't be built from the local board
+     *         files, in which case the whole board has to be requested
+     */
+    public boolean restore(Board delta) {
+        final IBoard base = BoardCache.getInstance().getBaseBoard(this);
+        return (base != null) && delta.restoreHexes(base);
+    }
+
+    /**
+     * Builds the base board from the local board files.
+     *
+     * @return the base board, or <code>null</code> if one of the files is
+     *         missing or differs from the one the source was made from
+     */
+    IBoard createBaseBoard() {
+        final IBoard[] sheets = new IBoard[sheetNames.size()];
+        for (int i = 0; i < sheets.length; i++) {
+            final String name = sheetNames.get(i);
+            if (name != null) {
+                final String hash = BoardCache.getInstance().getFileHash(getBoardFile(name));
+                if ((hash == null) || !hash.equals(sheetHashes.get(i))) {
+                    return null;
+                }
+            }
+        }
+        IntStream.range(0, sheets.length).parallel().forEach(i -> sheets[i] = createSheet(i));
+        try {
+            return BoardUtilities.combine(boardWidth, boardHeight, mapWidth, mapHeight, sheets, rotated, medium);
+        } catch (IllegalArgumentException e) {
+            // a board file of the wrong size
+            MegaMek.getLogger().error(e);
+            return null;
+        }
+    }
+
+    private IBoard createSheet(int index) {
+        final String name = sheetNames.get(index);
+        if (name == null) {
+            final IHex[] blank = new IHex[boardWidth * boardHeight];
+            for (int h = 0; h < blank.length; h++) {
+                blank[h] = new Hex();
+            }
+            return new Board(boardWidth, boardHeight, blank);
+        }
+        final Board sheet = new Board();
+        sheet.load(getBoardFile(name));
+        BoardUtilities.flip(sheet, rotated.get(index), rotated.get(index));
+        return sheet;
+    }
+
+    private static File getBoardFile(String name) {
+        return new MegaMekFile(Configuration.boardsDir(), name + ".board").getFile();
+    }
+
+    /**
+     * Works out a hash of everything about the hexes of a board that
+     * {@link #sameHex(IHex, IHex)} compares.
+     *
+     * @return the hash as a hex string, or <code>null</code> if there is no
+     *         hashing algorithm available
+     */
+    public static String hashHexes(IBoard board) {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            MegaMek.getLogger().error(e);
+            return null;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(board.getWidth());
+            out.writeInt(board.getHeight());
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    writeHex(out, board.getHex(x, y));
+                }
+                // digest a row at a time to keep the buffer small
+                out.flush();
+                md.update(bytes.toByteArray());
+                bytes.reset();
+            }
+        } catch (IOException e) {
+            // can't happen when writing to memory
+            MegaMek.getLogger().error(e);
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (byte d : md.digest()) {
+            sb.append(String.format("%02x", d));
+        }
+        return sb.toString();
+    }
+
+    private static void writeHex(DataOutputStream out, IHex hex) throws IOException {
+        if (hex == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        out.writeInt(hex.getLevel());
+        out.writeUTF((hex.getTheme() == null) ? "" : hex.getTheme());
+        out.writeInt(hex.getFireTurn());
+        final int[] types = hex.getTerrainTypes();
+        Arrays.sort(types);
+        out.writeInt(types.length);
+        for (int type : types) {
+            final ITerrain terrain = hex.getTerrain(type);
+            out.writeInt(type);
+            out.writeInt(terrain.getLevel());
+            out.writeInt(terrain.getExits());
+            out.writeBoolean(terrain.hasExitsSpecified());
+            out.writeInt(terrain.getTerrainFactor());
+        }
+    }
+
+    /**
+     * @return true if the hexes have the same level, theme and terrains
+     */
+    public static boolean sameHex(IHex a, IHex b) {
+        if ((a == null) || (b == null)) {
+            return a == b;
+        }
+        if ((a.getLevel() != b.getLevel()) || (a.getFireTurn() != b.getFireTurn())
+                || !String.valueOf(a.getTheme()).equals(String.valueOf(b.getTheme()))) {
+            return false;
+        }
+        final int[] types = a.getTerrainTypes();
+        if (types.length != b.getTerrainTypes().length) {
+            return false;
+        }
+        for (int type : types) {
+            final ITerrain ta = a.getTerrain(type);
+            final ITerrain tb = b.getTerrain(type);
+            if ((tb == null) || (ta.getLevel() != tb.getLevel()) || (ta.getExits() != tb.getExits())
+                    || (ta.hasExitsSpecified() != tb.hasExitsSpecified())
+                    || (ta.getTerrainFactor() != tb.getTerrainFactor())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
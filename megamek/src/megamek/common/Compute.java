@@ -158,7 +158,7 @@ public class Compute {
      * Wrapper to random#d6(n)
      */
     public static int d6(int dice) {
-        Roll roll = random.d6(dice);
+        Roll roll = getRNG().d6(dice);
         if (Server.getServerInstance() != null) {
             if (Server.getServerInstance().getGame().getOptions()
                       .booleanOption(OptionsConstants.BASE_RNG_LOG)) {
@@ -172,7 +172,7 @@ public class Compute {
      * Wrapper to random#d6(n)
      */
     public static int d6(int dice, int keep) {
-        Roll roll = random.d6(dice, keep);
+        Roll roll = getRNG().d6(dice, keep);
         if (Server.getServerInstance() != null) {
             if (Server.getServerInstance().getGame().getOptions()
                       .booleanOption(OptionsConstants.BASE_RNG_LOG)) {
@@ -186,7 +186,7 @@ public class Compute {
      * Wrapper to random#d6()
      */
     public static int d6() {
-        Roll roll = random.d6();
+        Roll roll = getRNG().d6();
         if (Server.getServerInstance() != null) {
             if (Server.getServerInstance().getGame().getOptions()
                       .booleanOption(OptionsConstants.BASE_RNG_LOG)) {
@@ -200,7 +200,7 @@ public class Compute {
      * Wrapper to random#randomInt(n)
      */
     public static int randomInt(int maxValue) {
-        Roll roll = new MMRoll(random, maxValue);
+        Roll roll = new MMRoll(getRNG(), maxValue);
         return roll.getIntValue();
     }
 
@@ -208,11 +208,34 @@ public class Compute {
      * Wrapper to random#randomFloat()
      */
     public static float randomFloat() {
-        return random.randomFloat();
+        return getRNG().randomFloat();
     }
 
     /**
-     * Sets the RNG to the desired type
+     * @return the generator used for all rolls that aren't made from a stream:
+     *         that of the game room the current thread is working for, if any,
+     *         else the one set with {@link #setRNG(MMRandom)}
+     */
+    public static MMRandom getRNG() {
+        MMRandom roomRNG = Server.getRoomRNG();
+        return (null != roomRNG) ? roomRNG : random;
+    }
+
+    /**
+     * Returns a generator for a separate stream of rolls that can be used on
+     * another thread. With a seeded RNG the stream gives the same rolls for the
+     * same name and round, no matter when it is asked for, so a name must only
+     * be used once per round.
+     *
+     * @param name the name of the stream, e.g. "entity." + the id of the unit
+     * @see MMRandom#stream(String)
+     */
+    public static MMRandom randomStream(String name) {
+        return getRNG().stream(name);
+    }
+
+    /**
+     * Sets the RNG to the desired type. Game rooms keep their own.
      */
     public static void setRNG(int type) {
         random = MMRandom.generate(type);
@@ -221,7 +244,7 @@ public class Compute {
     /**
      * Sets the RNG to the specific instance.
      * @param random A non-null instance of {@see MMRandom} to use
-     *               for all random number generation.
+     *               for all random number generation outside game rooms.
      */
     public static void setRNG(MMRandom random) {
         Compute.random = Objects.requireNonNull(random);
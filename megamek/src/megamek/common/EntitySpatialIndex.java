@@ -0,0 +1,131 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the units near a hex without looking at every unit in the game. Units
+ * are kept in buckets of {@link #BUCKET_SIZE} by {@link #BUCKET_SIZE} hexes by
+ * their main position, so a radius query only looks at the buckets that overlap
+ * the radius.
+ * <p>
+ * The index is kept up to date by the {@link Game} together with its position
+ * lookup, so it goes stale in the same cases.
+ */
+final class EntitySpatialIndex {
+
+    /** The width and height of a bucket, in hexes */
+    static final int BUCKET_SIZE = 8;
+
+    private final Map<Long, Set<Integer>> buckets = new HashMap<>();
+    private final Map<Integer, Coords> positions = new HashMap<>();
+
+    /**
+     * Moves a unit to its new position, or takes it out of the index if it has
+     * none.
+     */
+    void update(int id, Coords position) {
+        final Coords old = positions.get(id);
+        if ((old == null) ? (position == null) : old.equals(position)) {
+            return;
+        }
+        remove(id);
+        if (position != null) {
+            positions.put(id, position);
+            buckets.computeIfAbsent(bucketKey(bucket(position.getX()), bucket(position.getY())),
+                    k -> new HashSet<>()).add(id);
+        }
+    }
+
+    void remove(int id) {
+        final Coords old = positions.remove(id);
+        if (old != null) {
+            final long key = bucketKey(bucket(old.getX()), bucket(old.getY()));
+            final Set<Integer> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        buckets.clear();
+        positions.clear();
+    }
+
+    boolean isEmpty() {
+        return positions.isEmpty();
+    }
+
+    /**
+     * @return the ids of the units whose position is between the given
+     *         distances of the center, both included, in no particular order
+     */
+    List<Integer> idsBetween(Coords center, int minDistance, int maxDistance) {
+        final List<Integer> result = new ArrayList<>();
+        if ((maxDistance < minDistance) || (maxDistance < 0)) {
+            return result;
+        }
+        // a step to a neighbouring hex changes x and y by at most one, so all
+        // hexes in range are in this box
+        final int minX = bucket(center.getX() - maxDistance);
+        final int maxX = bucket(center.getX() + maxDistance);
+        final int minY = bucket(center.getY() - maxDistance);
+        final int maxY = bucket(center.getY() + maxDistance);
+        if (((long) (maxX - minX + 1) * (maxY - minY + 1)) > buckets.size()) {
+            // a huge radius; it is cheaper to look at every bucket
+            for (Set<Integer> bucket : buckets.values()) {
+                addInRange(bucket, center, minDistance, maxDistance, result);
+            }
+            return result;
+        }
+        for (int bx = minX; bx <= maxX; bx++) {
+            for (int by = minY; by <= maxY; by++) {
+                final Set<Integer> bucket = buckets.get(bucketKey(bx, by));
+                if (bucket != null) {
+                    addInRange(bucket, center, minDistance, maxDistance, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addInRange(Set<Integer> bucket, Coords center, int minDistance, int maxDistance,
+            List<Integer> result) {
+        for (Integer id : bucket) {
+            final int distance = center.distance(positions.get(id));
+            if ((distance >= minDistance) && (distance <= maxDistance)) {
+                result.add(id);
+            }
+        }
+    }
+
+    private static int bucket(int coordinate) {
+        return Math.floorDiv(coordinate, BUCKET_SIZE);
+    }
+
+    private static long bucketKey(int bx, int by) {
+        return ((long) bx << 32) | (by & 0xFFFFFFFFL);
+    }
+}
@@ -15,6 +15,8 @@
 
 package megamek.common;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -29,6 +31,7 @@ import java.util.UUID;
 import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 
 import megamek.MegaMek;
 import megamek.common.GameTurn.SpecificEntityTurn;
@@ -100,6 +103,12 @@ public class Game implements Serializable, IGame {
 
     private final Map<Coords, HashSet<Integer>> entityPosLookup = new HashMap<>();
 
+    /**
+     * Finds units near a hex, see {@link #getEntitiesWithin(Coords, int)}. Kept
+     * up to date together with the position lookup; rebuilt after loading.
+     */
+    private transient EntitySpatialIndex entitySpatialIndex;
+
     /**
      * have the entities been deployed?
      */
@@ -115,6 +124,12 @@ public class Game implements Serializable, IGame {
      */
     private int roundCount = 0;
 
+    /**
+     * The RNG when the seeded RNG type is used, so that its position is saved
+     * with the game. Never sent to the clients.
+     */
+    private MMRandom.SeededRandom seededRandom;
+
     /**
      * The current turn list
      */
@@ -340,6 +355,14 @@ public class Game implements Serializable, IGame {
         return options;
     }
 
+    public MMRandom.SeededRandom getSeededRandom() {
+        return seededRandom;
+    }
+
+    public void setSeededRandom(MMRandom.SeededRandom random) {
+        seededRandom = random;
+    }
+
     public void setOptions(GameOptions options) {
         if (null == options) {
             System.err.println("Can't set the game options to null!");
@@ -1454,6 +1477,7 @@ public class Game implements Serializable, IGame {
         entities.clear();
         entityIds.clear();
         entityPosLookup.clear();
+        getEntitySpatialIndex().clear();
 
         vOutOfGame.removeAllElements();
 
@@ -1626,6 +1650,74 @@ public class Game implements Serializable, IGame {
         return Collections.unmodifiableList(vector);
     }
     
+    /**
+     * Returns the entities whose position is at most the given distance from a
+     * hex, in the order of their ids. Unlike
+     * {@link #getEntitiesVector(Coords)} this includes units that can't be
+     * targeted. Only the units near the hex are looked at, so this is much
+     * cheaper than going through all entities.
+     *
+     * @param c the center hex
+     * @param radius the largest distance from the center, in hexes
+     * @return the entities in range
+     */
+    public List<Entity> getEntitiesWithin(Coords c, int radius) {
+        return getEntitiesBetween(c, 0, radius, e -> true);
+    }
+
+    /**
+     * Returns the entities whose position is at most the given distance from a
+     * hex and that pass a filter, such as being an enemy of a unit or belonging
+     * to a team. See {@link #getEntitiesWithin(Coords, int)}.
+     */
+    public List<Entity> getEntitiesWithin(Coords c, int radius, Predicate<Entity> filter) {
+        return getEntitiesBetween(c, 0, radius, filter);
+    }
+
+    /**
+     * Returns the entities whose position is exactly the given distance from a
+     * hex, that is on a ring around it. See
+     * {@link #getEntitiesWithin(Coords, int)}.
+     */
+    public List<Entity> getEntitiesAtDistance(Coords c, int distance, Predicate<Entity> filter) {
+        return getEntitiesBetween(c, distance, distance, filter);
+    }
+
+    private synchronized List<Entity> getEntitiesBetween(Coords c, int minDistance, int maxDistance,
+            Predicate<Entity> filter) {
+        if (getEntitySpatialIndex().isEmpty() && !entities.isEmpty()) {
+            resetEntityPositionLookup();
+        }
+        List<Integer> ids = getEntitySpatialIndex().idsBetween(c, minDistance, maxDistance);
+        Collections.sort(ids);
+        List<Entity> result = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            Entity e = getEntity(id);
+            if (e == null) {
+                continue;
+            }
+            // the index could be stale if a position was changed without updating it
+            if (e.getPosition() == null) {
+                continue;
+            }
+            int distance = c.distance(e.getPosition());
+            if ((distance >= minDistance) && (distance <= maxDistance) && filter.test(e)) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    private EntitySpatialIndex getEntitySpatialIndex() {
+        if (entitySpatialIndex == null) {
+            entitySpatialIndex = new EntitySpatialIndex();
+            for (Entity e : entities) {
+                entitySpatialIndex.update(e.getId(), e.getPosition());
+            }
+        }
+        return entitySpatialIndex;
+    }
+
     /**
      * Convenience function that gets a list of all off-board enemy entities.
      * @param player
@@ -2766,6 +2858,26 @@ public class Game implements Serializable, IGame {
         gameReports.set(v);
     }
 
+    public void setReports(int r, Vector<Report> v) {
+        gameReports.set(r, v);
+    }
+
+    public boolean hasReports(int r) {
+        return gameReports.has(r);
+    }
+
+    public int getReportRoundCount() {
+        return gameReports.getRoundCount();
+    }
+
+    public void setReportArchiveDirectory(File directory) throws IOException {
+        gameReports.setArchiveDirectory(directory);
+    }
+
+    public void closeReportArchive() {
+        gameReports.closeArchive();
+    }
+
     public void clearAllReports() {
         gameReports.clear();
     }
@@ -3541,6 +3653,7 @@ public class Game implements Serializable, IGame {
      */
     public synchronized void updateEntityPositionLookup(Entity e,
             HashSet<Coords> oldPositions) {
+        getEntitySpatialIndex().update(e.getId(), e.getPosition());
         HashSet<Coords> newPositions = e.getOccupiedCoords();
         // Check to see that the position has actually changed
         if (newPositions.equals(oldPositions)) {
@@ -3571,6 +3684,7 @@ public class Game implements Serializable, IGame {
     }
 
     private void removeEntityPositionLookup(Entity e) {
+        getEntitySpatialIndex().remove(e.getId());
         // Remove Entity from cache
         for (Coords pos : e.getOccupiedCoords()) {
             HashSet<Integer> posEntities = entityPosLookup.get(pos);
@@ -3582,6 +3696,7 @@ public class Game implements Serializable, IGame {
 
     private void resetEntityPositionLookup() {
         entityPosLookup.clear();
+        getEntitySpatialIndex().clear();
         for (Entity e : entities) {
             updateEntityPositionLookup(e, null);
         }
@@ -16,12 +16,20 @@ package megamek.common;
 
 
 import megamek.MegaMek;
+
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Vector;
 
 /**
  * This class is a container for the various reports created by the server
  * during a game.
+ * <p>
+ * The server can keep the reports of completed rounds in a
+ * {@link ReportArchive} instead of memory. Their place in the reports vector is
+ * then taken by <code>null</code> and they are read back when asked for. On a
+ * client a <code>null</code> round is one that hasn't been received yet.
  */
 public class GameReports implements Serializable {
 
@@ -31,6 +39,9 @@ public class GameReports implements Serializable {
     private static final long serialVersionUID = -2388197938278797669L;
     private Vector<Vector<Report>> reports;
 
+    /** Holds the completed rounds, if they aren't kept in memory */
+    private transient ReportArchive archive;
+
     GameReports() {
         reports = new Vector<Vector<Report>>();
     }
@@ -41,8 +52,19 @@ public class GameReports implements Serializable {
             round = 1;
         }
         if (round > reports.size()) {
-            // First reports for the round.
+            // First reports for the round. Leave a gap for any rounds that
+            // are missing.
+            while (reports.size() < (round - 1)) {
+                reports.addElement(null);
+            }
             reports.addElement(new Vector<Report>(v));
+            archiveCompletedRounds();
+        } else if (reports.elementAt(round - 1) == null) {
+            // The round was archived or never received
+            Vector<Report> roundReports = get(round);
+            roundReports = (roundReports == null) ? new Vector<Report>() : new Vector<Report>(roundReports);
+            roundReports.addAll(v);
+            reports.set(round - 1, roundReports);
         } else {
             // Already have some reports for this round, so we'll append these
             // new ones.
@@ -59,7 +81,15 @@ public class GameReports implements Serializable {
             round = 1;
         }
         if (round <= reports.size()) {
-            return reports.elementAt(round - 1);
+            Vector<Report> roundReports = reports.elementAt(round - 1);
+            if ((roundReports == null) && (archive != null)) {
+                try {
+                    return archive.read(round);
+                } catch (IOException e) {
+                    MegaMek.getLogger().error("Unable to read the reports of round " + round, e);
+                }
+            }
+            return roundReports;
         }
         Exception badRound = new RuntimeException(
                 "ERROR: GameReports.get() was asked for reports of a round [" + round + "] which it does not posses.");
@@ -71,7 +101,34 @@ public class GameReports implements Serializable {
      *  Get all the reports.
      */
     public Vector<Vector<Report>> get() {
-        return reports;
+        if (archive == null) {
+            return reports;
+        }
+        Vector<Vector<Report>> all = new Vector<>(reports.size());
+        for (int round = 1; round <= reports.size(); round++) {
+            all.add(get(round));
+        }
+        return all;
+    }
+
+    /**
+     * @return the last round there are reports for
+     */
+    public int getRoundCount() {
+        return reports.size();
+    }
+
+    /**
+     * @return true if the reports of the given round are here, or can be read
+     *         back from the archive
+     */
+    public boolean has(int round) {
+        if (round == 0) {
+            round = 1;
+        }
+        return (round > 0) && (round <= reports.size())
+                && ((reports.elementAt(round - 1) != null)
+                        || ((archive != null) && archive.contains(round)));
     }
 
     /**
@@ -79,11 +136,96 @@ public class GameReports implements Serializable {
      * @param v
      */
     public void set(Vector<Vector<Report>> v) {
+        clearArchive();
         reports = v;
     }
 
+    /**
+     * Sets the reports of a single round, leaving a gap for any rounds before it
+     * that are missing.
+     */
+    public void set(int round, Vector<Report> v) {
+        if (round == 0) {
+            round = 1;
+        }
+        while (reports.size() < round) {
+            reports.addElement(null);
+        }
+        reports.set(round - 1, new Vector<Report>(v));
+    }
+
     public void clear() {
+        clearArchive();
         reports = new Vector<Vector<Report>>();
     }
 
+    /**
+     * Keeps the reports of completed rounds in a file in the given directory
+     * from now on, instead of in memory.
+     */
+    public void setArchiveDirectory(File directory) throws IOException {
+        if (archive != null) {
+            archive.close();
+        }
+        archive = new ReportArchive(directory);
+        archiveCompletedRounds();
+    }
+
+    /**
+     * Closes the archive and deletes its file. The archived rounds are lost, so
+     * this is only for a game that is done with.
+     */
+    public void closeArchive() {
+        if (archive != null) {
+            archive.close();
+            archive = null;
+        }
+    }
+
+    /**
+     * Moves every round but the current and the last completed one to the
+     * archive.
+     */
+    private void archiveCompletedRounds() {
+        if (archive == null) {
+            return;
+        }
+        for (int round = 1; round < reports.size() - 1; round++) {
+            Vector<Report> roundReports = reports.elementAt(round - 1);
+            if (roundReports == null) {
+                continue;
+            }
+            try {
+                archive.write(round, roundReports);
+                reports.set(round - 1, null);
+            } catch (IOException e) {
+                MegaMek.getLogger().error("Unable to archive the reports of round " + round, e);
+                return;
+            }
+        }
+    }
+
+    private void clearArchive() {
+        if (archive == null) {
+            return;
+        }
+        try {
+            archive.clear();
+        } catch (IOException e) {
+            MegaMek.getLogger().error("Unable to clear the report archive", e);
+        }
+    }
+
+    /**
+     * Saved games get all the reports, whether they are archived or not.
+     */
+    private Object writeReplace() {
+        if (archive == null) {
+            return this;
+        }
+        GameReports copy = new GameReports();
+        copy.reports = get();
+        return copy;
+    }
+
 }
@@ -0,0 +1,232 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable view of a game's board and units at one point in time, meant for
+ * bots that want to evaluate the game on another thread without holding the lock
+ * that guards packet updates.
+ * <p>
+ * Taking a snapshot is cheap because it shares structure with the game instead
+ * of copying it:
+ * <ul>
+ * <li>The hex array is shared with the {@link Board}; the board copies it the
+ * next time a hex is replaced.</li>
+ * <li>{@link Entity} objects are shared. Packet updates replace entities rather
+ * than modify them, but some fields are still changed in place, so the
+ * position related state of every unit is copied into a {@link UnitState}.
+ * Prefer that over the live entity's getters.</li>
+ * </ul>
+ * A snapshot must be taken on the thread that updates the game, or while holding
+ * the lock that guards it. After that it can be used from any thread.
+ */
+public final class GameSnapshot {
+
+    private final int round;
+    private final IGame.Phase phase;
+    private final int boardWidth;
+    private final int boardHeight;
+    private final IHex[] hexes;
+    private final Map<Integer, Entity> entities;
+    private final Map<Integer, UnitState> unitStates;
+    private final Map<Coords, List<Integer>> unitsByPosition;
+
+    private GameSnapshot(IGame game) {
+        round = game.getRoundCount();
+        phase = game.getPhase();
+
+        final IBoard board = game.getBoard();
+        boardWidth = board.getWidth();
+        boardHeight = board.getHeight();
+        if (board instanceof Board) {
+            hexes = ((Board) board).shareHexes();
+        } else {
+            hexes = new IHex[boardWidth * boardHeight];
+            for (int y = 0; y < boardHeight; y++) {
+                for (int x = 0; x < boardWidth; x++) {
+                    hexes[(y * boardWidth) + x] = board.getHex(x, y);
+                }
+            }
+        }
+
+        final List<Entity> gameEntities = game.getEntitiesVector();
+        final Map<Integer, Entity> entityMap = new LinkedHashMap<>(gameEntities.size() * 2);
+        final Map<Integer, UnitState> stateMap = new HashMap<>(gameEntities.size() * 2);
+        final Map<Coords, List<Integer>> positionMap = new HashMap<>();
+        for (Entity entity : gameEntities) {
+            entityMap.put(entity.getId(), entity);
+            final UnitState state = new UnitState(entity);
+            stateMap.put(entity.getId(), state);
+            if (state.getPosition() != null) {
+                positionMap.computeIfAbsent(state.getPosition(), c -> new ArrayList<>(2)).add(entity.getId());
+            }
+        }
+        entities = Collections.unmodifiableMap(entityMap);
+        unitStates = Collections.unmodifiableMap(stateMap);
+        unitsByPosition = positionMap;
+    }
+
+    /**
+     * Takes a snapshot of the given game. See the class comment for the threading
+     * requirements.
+     */
+    public static GameSnapshot of(IGame game) {
+        return new GameSnapshot(game);
+    }
+
+    public int getRoundCount() {
+        return round;
+    }
+
+    public IGame.Phase getPhase() {
+        return phase;
+    }
+
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    public boolean contains(Coords c) {
+        return (c != null) && (c.getX() >= 0) && (c.getY() >= 0)
+                && (c.getX() < boardWidth) && (c.getY() < boardHeight);
+    }
+
+    /**
+     * @return the hex at the given position, or <code>null</code> if it's not on
+     *         the board
+     */
+    public IHex getHex(Coords c) {
+        return contains(c) ? hexes[(c.getY() * boardWidth) + c.getX()] : null;
+    }
+
+    /**
+     * @return the entity with the given id, or <code>null</code> if it wasn't in
+     *         the game when the snapshot was taken
+     */
+    public Entity getEntity(int id) {
+        return entities.get(id);
+    }
+
+    /**
+     * @return all entities in the game, in the game's order
+     */
+    public Collection<Entity> getEntities() {
+        return entities.values();
+    }
+
+    /**
+     * @return the position related state of the given unit when the snapshot was
+     *         taken, or <code>null</code> if it wasn't in the game
+     */
+    public UnitState getUnitState(int id) {
+        return unitStates.get(id);
+    }
+
+    /**
+     * @return the ids of the units whose main position is the given hex
+     */
+    public List<Integer> getEntityIdsAt(Coords c) {
+        final List<Integer> ids = unitsByPosition.get(c);
+        return (ids == null) ? Collections.emptyList() : Collections.unmodifiableList(ids);
+    }
+
+    /**
+     * The state of a unit that may change while the snapshot is in use.
+     */
+    public static final class UnitState {
+        private final Coords position;
+        private final int facing;
+        private final int secondaryFacing;
+        private final int elevation;
+        private final int altitude;
+        private final boolean deployed;
+        private final boolean offBoard;
+        private final boolean prone;
+        private final boolean done;
+        private final int ownerId;
+
+        private UnitState(Entity entity) {
+            position = entity.getPosition();
+            facing = entity.getFacing();
+            secondaryFacing = entity.getSecondaryFacing();
+            elevation = entity.getElevation();
+            altitude = entity.getAltitude();
+            deployed = entity.isDeployed();
+            offBoard = entity.isOffBoard();
+            prone = entity.isProne();
+            done = entity.isDone();
+            ownerId = entity.getOwnerId();
+        }
+
+        public Coords getPosition() {
+            return position;
+        }
+
+        public int getFacing() {
+            return facing;
+        }
+
+        public int getSecondaryFacing() {
+            return secondaryFacing;
+        }
+
+        public int getElevation() {
+            return elevation;
+        }
+
+        public int getAltitude() {
+            return altitude;
+        }
+
+        public boolean isDeployed() {
+            return deployed;
+        }
+
+        public boolean isOffBoard() {
+            return offBoard;
+        }
+
+        public boolean isProne() {
+            return prone;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public int getOwnerId() {
+            return ownerId;
+        }
+
+        /**
+         * @return true if the unit was deployed onto the map
+         */
+        public boolean isOnMap() {
+            return deployed && !offBoard && (position != null);
+        }
+    }
+}
@@ -16,6 +16,7 @@ package megamek.common;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import megamek.common.Building.BasementType;
@@ -143,10 +144,10 @@ public class Hex implements IHex, Serializable {
      * @see megamek.common.IHex#clearExits()
      */
     public void clearExits() {
-        for (Integer i : terrains.keySet()) {
-            ITerrain t = terrains.get(i);
+        for (Map.Entry<Integer, ITerrain> entry : terrains.entrySet()) {
+            ITerrain t = entry.getValue();
             if ((t != null) && !t.hasExitsSpecified()) {
-                t.setExits(0);
+                entry.setValue(t.withExits(0));
             }
         }
     }
@@ -166,8 +167,8 @@ public class Hex implements IHex, Serializable {
      * @see megamek.common.IHex#setExits(megamek.common.IHex, int, boolean)
      */
     public void setExits(IHex other, int direction, boolean roadsAutoExit) {
-        for (Integer i : terrains.keySet()) {
-            ITerrain cTerr = getTerrain(i);
+        for (Map.Entry<Integer, ITerrain> entry : terrains.entrySet()) {
+            ITerrain cTerr = entry.getValue();
             ITerrain oTerr;
 
             if ((cTerr == null) || cTerr.hasExitsSpecified()) {
@@ -175,31 +176,32 @@ public class Hex implements IHex, Serializable {
             }
 
             if (other != null) {
-                oTerr = other.getTerrain(i);
+                oTerr = other.getTerrain(entry.getKey());
             } else {
                 oTerr = null;
             }
 
-            cTerr.setExit(direction, cTerr.exitsTo(oTerr));
+            boolean exit = cTerr.exitsTo(oTerr);
 
             // Roads exit into pavement, too.
             if ((other != null) && roadsAutoExit && (cTerr.getType() == Terrains.ROAD)
                     && other.containsTerrain(Terrains.PAVEMENT)) {
-                cTerr.setExit(direction, true);
+                exit = true;
             }
 
             // buildings must have the same building class
             if ((other != null) && (cTerr.getType() == Terrains.BUILDING)
                     && (terrainLevel(Terrains.BLDG_CLASS) != other.terrainLevel(Terrains.BLDG_CLASS))) {
-                cTerr.setExit(direction, false);
+                exit = false;
             }
 
             // gun emplacements can only be single hex buildings
             if ((cTerr.getType() == Terrains.BUILDING)
                     && (terrainLevel(Terrains.BLDG_CLASS) == Building.GUN_EMPLACEMENT)) {
-                cTerr.setExit(direction, false);
+                exit = false;
             }
 
+            entry.setValue(cTerr.withExit(direction, exit));
         }
     }
 
@@ -447,10 +449,10 @@ public class Hex implements IHex, Serializable {
      * @see megamek.common.IHex#duplicate
      */
     public IHex duplicate() {
+        // terrains are immutable, so the copy can share them
         ITerrain[] tcopy = new ITerrain[Terrains.SIZE];
-        ITerrainFactory f = Terrains.getTerrainFactory();
         for (Integer i : terrains.keySet()) {
-            tcopy[i] = f.createTerrain(terrains.get(i));
+            tcopy[i] = terrains.get(i);
         }
         return new Hex(level, tcopy, theme, coords);
     }
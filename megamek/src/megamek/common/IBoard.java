@@ -42,6 +42,12 @@ public interface IBoard {
      */
     public abstract int getHeight();
 
+    /**
+     * @return a number that changes every time a board event is fired, so that
+     *         anything calculated from the hexes can tell when it's out of date
+     */
+    public abstract int getChangeCount();
+
     Coords getCenter();
 
     /**
@@ -16,6 +16,8 @@
 
 package megamek.common;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -24,6 +26,7 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
+import java.util.function.Predicate;
 
 import megamek.common.actions.ArtilleryAttackAction;
 import megamek.common.actions.AttackAction;
@@ -318,6 +321,18 @@ public interface IGame {
      */
     abstract void setOptions(GameOptions options);
 
+    /**
+     * @return the seeded RNG of this game, which is saved with it, or
+     *         <code>null</code> if it doesn't use one
+     */
+    abstract MMRandom.SeededRandom getSeededRandom();
+
+    /**
+     * Sets the seeded RNG of this game. Only the server should use this; the
+     * seed lets whoever knows it predict the rolls.
+     */
+    abstract void setSeededRandom(MMRandom.SeededRandom random);
+
     /**
      * @return the game board
      */
@@ -798,6 +813,24 @@ public interface IGame {
      */
     abstract List<Entity> getEntitiesVector(Coords c, boolean ignore);
 
+    /**
+     * Returns the entities whose position is at most the given distance from a
+     * hex, in the order of their ids, including those that can't be targeted.
+     */
+    abstract List<Entity> getEntitiesWithin(Coords c, int radius);
+
+    /**
+     * Returns the entities whose position is at most the given distance from a
+     * hex and that pass the filter, in the order of their ids.
+     */
+    abstract List<Entity> getEntitiesWithin(Coords c, int radius, Predicate<Entity> filter);
+
+    /**
+     * Returns the entities whose position is exactly the given distance from a
+     * hex and that pass the filter, in the order of their ids.
+     */
+    abstract List<Entity> getEntitiesAtDistance(Coords c, int distance, Predicate<Entity> filter);
+
     abstract List<Entity> getAllOffboardEnemyEntities(IPlayer player);
     
     /**
@@ -1250,6 +1283,39 @@ public interface IGame {
      */
     void setAllReports(Vector<Vector<Report>> v);
 
+    /**
+     * Sets the reports of a single round, e.g. when a client receives the
+     * rounds it is missing.
+     *
+     * @param r Round number
+     * @param v Vector of reports
+     */
+    void setReports(int r, Vector<Report> v);
+
+    /**
+     * @return true if the reports of the given round are available
+     */
+    boolean hasReports(int r);
+
+    /**
+     * @return the last round there are reports for
+     */
+    int getReportRoundCount();
+
+    /**
+     * Keeps the reports of completed rounds in a file in the given directory
+     * instead of memory. They are read back when they are asked for.
+     *
+     * @param directory where to put the file
+     */
+    void setReportArchiveDirectory(File directory) throws IOException;
+
+    /**
+     * Deletes the file the reports of completed rounds are kept in, if any.
+     * Those reports are lost, so this is only for a game that is done with.
+     */
+    void closeReportArchive();
+
     /**
      * Clears out all the current reports, paving the way for a new game.
      */
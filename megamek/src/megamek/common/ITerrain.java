@@ -15,9 +15,10 @@
 package megamek.common;
 
 /**
- * Represents a single type of terrain or condition in a hex. The type of a
- * terrain is immutable, once created, but the level and exits are changable.
- * Each type of terrain should only be represented once in a hex.
+ * Represents a single type of terrain or condition in a hex. Terrains are
+ * immutable; the <code>with</code> methods return another terrain that has to
+ * be put into the hex in place of this one. Each type of terrain should only be
+ * represented once in a hex.
  *
  * @author Ben
  */
@@ -42,9 +43,9 @@ public interface ITerrain {
     public abstract int getTerrainFactor();
 
     /**
-     * set terrain factor
+     * @return a terrain like this one with the given terrain factor
      */
-    public abstract void setTerrainFactor(int tf);
+    public abstract ITerrain withTerrainFactor(int tf);
     
     /**
      * Returns the number of altitudes/elevations this Terrain is above the
@@ -67,19 +68,18 @@ public interface ITerrain {
     public abstract boolean hasExitsSpecified();
 
     /**
-     * Sets the exits
-     *
      * @param exits
+     * @return a terrain like this one with the given exits
      */
-    public abstract void setExits(int exits);
+    public abstract ITerrain withExits(int exits);
 
     /**
-     * Sets the exit in specified direction
-     *
      * @param direction - the direction to add/remove the exit
      * @param connection - true to add, false to remove
+     * @return a terrain like this one with the exit in the specified direction
+     *         added or removed
      */
-    public abstract void setExit(int direction, boolean connection);
+    public abstract ITerrain withExit(int direction, boolean connection);
 
     /**
      * Flips the exits around the vertical axis (North-for-South) and/or the
@@ -89,8 +89,9 @@ public interface ITerrain {
      *            indicates that the exits are being flipped North-for-South.
      * @param vert - a <code>boolean</code> value that, if <code>true</code>,
      *            indicates that the exits are being flipped East-for-West.
+     * @return a terrain like this one with the flipped exits
      */
-    public abstract void flipExits(boolean horiz, boolean vert);
+    public abstract ITerrain withFlippedExits(boolean horiz, boolean vert);
 
     /**
      * @return true if the terrain in this hex exits to the terrain in the other
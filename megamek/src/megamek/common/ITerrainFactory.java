@@ -47,7 +47,8 @@ public interface ITerrainFactory {
     public abstract ITerrain createTerrain(String terrain);
 
     /**
-     * Create terrain as copy of other
+     * Create terrain equal to other. As terrains are immutable, this may
+     * return the same instance.
      * 
      * @param other
      * @return new terrain
@@ -20,6 +20,8 @@
 
 package megamek.common;
 
+import java.io.Serializable;
+import java.security.SecureRandom;
 import java.util.Random;
 
 /**
@@ -36,12 +38,13 @@ public abstract class MMRandom {
     public static final int R_SUN = 0;
     public static final int R_CRYPTO = 1;
     public static final int R_POOL36 = 2;
+    public static final int R_SEEDED = 3;
 
     /**
      * Gives you the type asked for, defaulting to SunRandom if there are any
      * errors.
      */
-    static MMRandom generate(int type) {
+    public static MMRandom generate(int type) {
         System.err.println("MMRandom: generating RNG type #" + type);
         try {
             switch (type) {
@@ -49,6 +52,8 @@ public abstract class MMRandom {
                     return new MMRandom.CryptoRandom();
                 case R_POOL36:
                     return new MMRandom.Pool36Random();
+                case R_SEEDED:
+                    return new MMRandom.SeededRandom(new SecureRandom().nextLong());
                 case R_SUN:
                 default:
                     return new MMRandom.SunRandom();
@@ -126,6 +131,22 @@ public abstract class MMRandom {
      */
     public abstract float randomFloat();
 
+    /**
+     * Returns a generator for a separate stream of numbers, such as the rolls of
+     * one attack or one unit, that can be used on another thread. Only a
+     * {@link SeededRandom} gives streams that are reproducible; the others may
+     * return themselves, as long as they are safe to share between threads.
+     * <p>
+     * A name must only be used for one stream per round, as a seeded stream
+     * starts over with the same numbers when its name is used again in the same
+     * round.
+     *
+     * @param name - the name of the stream, e.g. "attack.12"
+     */
+    public MMRandom stream(String name) {
+        return this;
+    }
+
     /**
      * Uses com.sun.java.util.collections.Random
      */
@@ -190,6 +211,12 @@ public abstract class MMRandom {
             shufflePool();
         }
 
+        /** The pool isn't safe to share between threads, so streams get their own. */
+        @Override
+        public MMRandom stream(String name) {
+            return new Pool36Random();
+        }
+
         /** Watches for 2 as nDice and then does its special thing. */
         @Override
         public Roll d6(int nDice) {
@@ -242,4 +269,81 @@ public abstract class MMRandom {
             index = 0;
         }
     }
+
+    /**
+     * A generator that gives the same numbers for the same seed, so that a game
+     * can be replayed. It keeps all of its state in two <code>long</code>s and
+     * the round, which makes it cheap to save with the game.
+     * <p>
+     * Named streams are derived from the seed, the round and the name only, not
+     * from the numbers drawn so far, so they give the same numbers no matter on
+     * which thread or in which order they are used, and other numbers in the
+     * next round.
+     */
+    public static class SeededRandom extends MMRandom implements Serializable {
+        private static final long serialVersionUID = -2962437213384384237L;
+
+        /** The increment of the SplitMix64 generator */
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+        private final long seed;
+        private long state;
+        private volatile int round;
+
+        public SeededRandom(long seed) {
+            this.seed = seed;
+            state = seed;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Sets the round the named streams are for.
+         */
+        public void setRound(int round) {
+            this.round = round;
+        }
+
+        @Override
+        public synchronized int randomInt(int maxValue) {
+            if (maxValue <= 0) {
+                throw new IllegalArgumentException("maxValue must be positive");
+            }
+            // Same rejection of the uneven top end as java.util.Random
+            int bits;
+            int value;
+            do {
+                bits = (int) (nextLong() >>> 33);
+                value = bits % maxValue;
+            } while (bits - value + (maxValue - 1) < 0);
+            return value;
+        }
+
+        @Override
+        public synchronized float randomFloat() {
+            return (nextLong() >>> 40) * 0x1.0p-24f;
+        }
+
+        @Override
+        public SeededRandom stream(String name) {
+            long hash = mix(seed + (round * GOLDEN_GAMMA));
+            for (int i = 0; i < name.length(); i++) {
+                hash = mix((hash ^ name.charAt(i)) + GOLDEN_GAMMA);
+            }
+            return new SeededRandom(mix(hash));
+        }
+
+        private long nextLong() {
+            state += GOLDEN_GAMMA;
+            return mix(state);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
 }
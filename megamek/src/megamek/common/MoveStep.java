@@ -2909,9 +2909,24 @@ public class MoveStep implements Serializable {
     }
 
     /**
-     * Amount of movement points required to move from start to dest
+     * Amount of movement points required to move from start to dest. Paths built
+     * by the pathfinders share their {@link CachedEntityState}, so the cost of
+     * each hex to hex move only has to be worked out once.
      */
     protected void calcMovementCostFor(IGame game, MoveStep prevStep, CachedEntityState cachedEntityState) {
+        final CachedEntityState.MovementCostKey key = new CachedEntityState.MovementCostKey(
+                prevStep.getPosition(), prevStep.getElevation(), getPosition(), elevation,
+                movementType, isCareful(), isJumping(), isPavementStep(), distance > 0);
+        final Integer cost = cachedEntityState.getMovementCost(key);
+        if (cost != null) {
+            mp = cost;
+            return;
+        }
+        calcMovementCostForWorker(game, prevStep, cachedEntityState);
+        cachedEntityState.putMovementCost(key, mp);
+    }
+
+    private void calcMovementCostForWorker(IGame game, MoveStep prevStep, CachedEntityState cachedEntityState) {
         final Coords prev = prevStep.getPosition();
         final int prevEl = prevStep.getElevation();
         final EntityMovementMode moveMode = getEntity()
@@ -3546,7 +3561,7 @@ public class MoveStep implements Serializable {
         // restrictions are lifted when moving along a road or bridge,
         // or when flying. Naval movement does not have the pavement
         // exemption.
-        if (entity.isLocationProhibited(dest, getElevation())
+        if (cachedEntityState.isLocationProhibited(dest, getElevation())
                 // Units in prohibited terran should still be able to unload/disconnect
                 && (type != MoveStepType.UNLOAD)
                 && (type != MoveStepType.DISCONNECT)
@@ -3574,7 +3589,7 @@ public class MoveStep implements Serializable {
         // We need extra checking for dropships, due to secondary positions
         // if the Dropship is taking off, movetype will be safe thrust
         if ((entity instanceof Dropship) && !entity.isAirborne()
-                && isPavementStep() && entity.isLocationProhibited(dest, getElevation())
+                && isPavementStep() && cachedEntityState.isLocationProhibited(dest, getElevation())
                 && (movementType != EntityMovementType.MOVE_SAFE_THRUST)
                 && (type != MoveStepType.LOAD)
                 && (type != MoveStepType.UNLOAD)) {
@@ -3628,7 +3643,7 @@ public class MoveStep implements Serializable {
                 && (type != MoveStepType.VTAKEOFF)
                 // QuadVees can still convert to vehicle mode in prohibited terrain, but cannot leave
                 && (type != MoveStepType.CONVERT_MODE)
-                && entity.isLocationProhibited(src, getElevation()) && !isPavementStep()) {
+                && cachedEntityState.isLocationProhibited(src, getElevation()) && !isPavementStep()) {
             // System.err.println("in restricted terrain");
             return false;
         }
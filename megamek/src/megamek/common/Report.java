@@ -14,9 +14,14 @@
  */
 package megamek.common;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.Map;
 import java.util.Vector;
 
 /**
@@ -419,118 +424,88 @@ public class Report implements Serializable {
      * @return a String with the final report
      */
     public String getText() {
-        // The raw text of the message, with tags.
-        String raw = ReportMessages.getString(String.valueOf(messageId));
+        StringBuilder text = new StringBuilder();
+        appendText(text);
+        return text.toString();
+    }
 
-        // This will be the finished product, with data substituted for tags.
-        StringBuffer text = new StringBuffer();
+    /**
+     * Appends the report in its final form to the given buffer, so that many
+     * reports can be put together without creating a String for each of them.
+     *
+     * @param text the buffer to add the report to
+     */
+    public void appendText(StringBuilder text) {
+        // Where this report starts in the buffer
+        final int start = text.length();
+        ReportTemplate template = ReportTemplate.forMessage(messageId);
 
-        if (raw == null) {
+        if (template == null) {
             // Should we handle this better? Check alternate language files?
             System.out.println("Error: No message found for ID "
                     + messageId);
             text.append("[Reporting Error for message ID ").append(
                     messageId).append("]");
         } else {
-            int i = 0;
-            int mark = 0;
-            while (i < raw.length()) {
-                if (raw.charAt(i) == '<') {
-                    // find end of tag
-                    int endTagIdx = raw.indexOf('>', i);
-                    if ((raw.indexOf('<', i + 1) != -1)
-                            && (raw.indexOf('<', i + 1) < endTagIdx)) {
-                        // hmm...this must be a literal '<' character
-                        i++;
-                        continue;
-                    }
-                    // copy the preceeding characters into the buffer
-                    text.append(raw.substring(mark, i));
-                    if (raw.substring(i + 1, endTagIdx).equals("data")) {
+            for (ReportTemplate.Segment segment : template.getSegments()) {
+                switch (segment.type) {
+                    case ReportTemplate.DATA:
                         text.append(getTag());
-                        // System.out.println("Report-->getText(): " +
-                        // this.tagData.elementAt(this.tagCounter));
                         tagCounter++;
-                    } else if (raw.substring(i + 1, endTagIdx).equals("list")) {
+                        break;
+                    case ReportTemplate.LIST:
                         for (int j = tagCounter; j < tagData.size(); j++) {
                             text.append(getTag(j)).append(", ");
                         }
-                        text.setLength(text.length() - 2); // trim last comma
-                    } else if (raw.substring(i + 1, endTagIdx).startsWith(
-                            "msg:")) {
-                        boolean selector = Boolean.valueOf(getTag())
-                                .booleanValue();
-                        if (selector) {
-                            text.append(ReportMessages.getString(raw.substring(
-                                    i + 5, raw.indexOf(',', i))));
-                        } else {
-                            text.append(ReportMessages.getString(raw.substring(
-                                    raw.indexOf(',', i) + 1, endTagIdx)));
-                        }
+                        // trim last comma
+                        text.setLength(Math.max(start, text.length() - 2));
+                        break;
+                    case ReportTemplate.MESSAGE:
+                        boolean selector = Boolean.parseBoolean(getTag());
+                        text.append(selector ? segment.text : segment.alternative);
                         tagCounter++;
-                    } else if (raw.substring(i + 1, endTagIdx)
-                            .equals("newline")) {
-                        text.append("\n");
-                    } else {
-                        // not a special tag, so treat as literal text
-                        text.append(raw.substring(i, endTagIdx + 1));
-                    }
-                    mark = endTagIdx + 1;
-                    i = endTagIdx;
+                        break;
+                    default:
+                        text.append(segment.text);
                 }
-                i++;
             }
             //add the sprite code at the beginning of the line
             if (imageCode != null && !imageCode.isEmpty()) {
-                if (text.toString().startsWith("\n")) {
-                    text.insert(1, imageCode);
+                if ((text.length() > start) && (text.charAt(start) == '\n')) {
+                    text.insert(start + 1, imageCode);
                 }
                 else {
-                    text.insert(0, imageCode);
+                    text.insert(start, imageCode);
                 }
             }
-            text.append(raw.substring(mark));
-            handleIndentation(text);
-            text.append(getNewlines());
+            text.append(template.getTail());
+            handleIndentation(text, start);
+            for (int i = 0; i < newlines; i++) {
+                text.append('\n');
+            }
         }
         tagCounter = 0;
         // debugReport
         if (type == Report.TESTING) {
-            Report.mark(text);
+            Report.mark(text, start);
         }
-        return text.toString();
     }
 
-    private void handleIndentation(StringBuffer sb) {
-        if ((indentation == 0) || (sb.length() == 0)) {
+    private void handleIndentation(StringBuilder sb, int start) {
+        if ((indentation == 0) || (sb.length() == start)) {
             return;
         }
-        int i = 0;
-        while (sb.substring(i, i+4).equals("\n")) {
-            i+=4;
-            if (i == sb.length()) {
-                continue;
-            }
-        }
-        sb.insert(i, getSpaces());
+        sb.insert(start, getSpaces());
     }
 
     private String getSpaces() {
-        StringBuffer spaces = new StringBuffer();
+        StringBuilder spaces = new StringBuilder();
         for (int i = 0; i < indentation; i++) {
             spaces.append("&nbsp;");
         }
         return spaces.toString();
     }
 
-    private String getNewlines() {
-        StringBuffer sbNewlines = new StringBuffer();
-        for (int i = 0; i < newlines; i++) {
-            sbNewlines.append("\n");
-        }
-        return sbNewlines.toString();
-    }
-
     /**
      * Adds a newline to the last report in the given Vector.
      *
@@ -602,17 +577,90 @@ public class Report implements Serializable {
     }
 
     // debugReport method
-    private static StringBuffer mark(StringBuffer sb) {
-        sb.insert(0, "<hidden>");
+    private static void mark(StringBuilder sb, int start) {
+        sb.insert(start, "<hidden>");
         int i = sb.length() - 1;
         while (sb.charAt(i) == '\n') {
             i--;
-            if (i == 0) {
-                continue;
-            }
         }
         sb.insert(i + 1, "</hidden>");
-        return sb;
+    }
+
+    /**
+     * Writes everything about this report, including the fields that aren't
+     * serialized, for the {@link ReportArchive}.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(messageId);
+        out.writeInt(indentation);
+        out.writeInt(newlines);
+        out.writeInt(tagData.size());
+        for (String data : tagData) {
+            writeString(out, data);
+        }
+        writeString(out, tagTranslate);
+        out.writeInt(type);
+        out.writeInt(subject);
+        out.writeInt(player);
+        out.writeInt(obscuredIndexes.size());
+        for (Map.Entry<Integer, Boolean> entry : obscuredIndexes.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeBoolean(entry.getValue());
+        }
+        out.writeInt(obscuredRecipients.size());
+        for (String recipient : obscuredRecipients) {
+            writeString(out, recipient);
+        }
+        out.writeBoolean(showImage);
+        writeString(out, imageCode);
+    }
+
+    /**
+     * Reads a report written by {@link #writeTo(DataOutput)}.
+     */
+    static Report readFrom(DataInput in) throws IOException {
+        Report r = new Report(in.readInt());
+        r.indentation = in.readInt();
+        r.newlines = in.readInt();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            r.tagData.add(readString(in));
+        }
+        r.tagTranslate = readString(in);
+        r.type = in.readInt();
+        r.subject = in.readInt();
+        r.player = in.readInt();
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            r.obscuredIndexes.put(in.readInt(), in.readBoolean());
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            r.obscuredRecipients.add(readString(in));
+        }
+        r.showImage = in.readBoolean();
+        r.imageCode = readString(in);
+        return r;
+    }
+
+    private static void writeString(DataOutput out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
     }
 
     public static void indentAll(Vector<Report> vDesc, int amount) {
@@ -0,0 +1,126 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Keeps the reports of whole rounds in a temporary file, so that the server
+ * doesn't have to hold the reports of a long game in memory. Each round is
+ * written as one compressed block and read back when it is asked for.
+ */
+class ReportArchive {
+
+    private final File file;
+    private final RandomAccessFile data;
+
+    /** The position and length of each round's block, by round - 1 */
+    private final List<long[]> blocks = new ArrayList<>();
+
+    ReportArchive(File directory) throws IOException {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        file = File.createTempFile("reports", ".dat", directory);
+        file.deleteOnExit();
+        data = new RandomAccessFile(file, "rw");
+    }
+
+    /**
+     * Writes the reports of the given round, replacing any that were written
+     * for it before.
+     */
+    synchronized void write(int round, List<Report> reports) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new DeflaterOutputStream(bytes)))) {
+            out.writeInt(reports.size());
+            for (Report r : reports) {
+                r.writeTo(out);
+            }
+        }
+        long position = data.length();
+        data.seek(position);
+        data.write(bytes.toByteArray());
+        while (blocks.size() < round) {
+            blocks.add(null);
+        }
+        blocks.set(round - 1, new long[] { position, bytes.size() });
+    }
+
+    /**
+     * @return true if the reports of the given round have been written
+     */
+    synchronized boolean contains(int round) {
+        return (round > 0) && (round <= blocks.size()) && (blocks.get(round - 1) != null);
+    }
+
+    /**
+     * @return the reports of the given round, or <code>null</code> if they
+     *         haven't been written
+     */
+    synchronized Vector<Report> read(int round) throws IOException {
+        if (!contains(round)) {
+            return null;
+        }
+        long[] block = blocks.get(round - 1);
+        byte[] bytes = new byte[(int) block[1]];
+        data.seek(block[0]);
+        data.readFully(bytes);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(bytes))))) {
+            int count = in.readInt();
+            Vector<Report> reports = new Vector<>(count);
+            for (int i = 0; i < count; i++) {
+                reports.add(Report.readFrom(in));
+            }
+            return reports;
+        }
+    }
+
+    /**
+     * Forgets all the rounds that were written.
+     */
+    synchronized void clear() throws IOException {
+        blocks.clear();
+        data.setLength(0);
+    }
+
+    /**
+     * Closes and deletes the file.
+     */
+    synchronized void close() {
+        blocks.clear();
+        try {
+            data.close();
+        } catch (IOException ignored) {
+            // nothing left to do with it
+        }
+        file.delete();
+    }
+}
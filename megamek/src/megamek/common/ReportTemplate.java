@@ -0,0 +1,146 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The text of a report message, split up into the literal text and the tags
+ * that {@link Report} fills in with its data. Each message is only parsed the
+ * first time it is needed.
+ */
+final class ReportTemplate {
+
+    /** Literal text, already including any &lt;newline&gt; and unknown tags */
+    static final int LITERAL = 0;
+    /** A &lt;data&gt; tag */
+    static final int DATA = 1;
+    /** A &lt;list&gt; tag */
+    static final int LIST = 2;
+    /** A &lt;msg:x,y&gt; tag, with the text of both messages */
+    static final int MESSAGE = 3;
+
+    private static final Map<Integer, ReportTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final List<Segment> segments;
+    private final String tail;
+
+    private ReportTemplate(List<Segment> segments, String tail) {
+        this.segments = Collections.unmodifiableList(segments);
+        this.tail = tail;
+    }
+
+    /**
+     * @return the template for the given message id, or <code>null</code> if
+     *         there is no such message
+     */
+    static ReportTemplate forMessage(int messageId) {
+        ReportTemplate template = TEMPLATES.get(messageId);
+        if (template == null) {
+            String raw = ReportMessages.getString(String.valueOf(messageId));
+            if (raw == null) {
+                return null;
+            }
+            template = compile(raw);
+            TEMPLATES.putIfAbsent(messageId, template);
+        }
+        return template;
+    }
+
+    /**
+     * Splits up the raw text of a message. A '&lt;' that isn't closed before the
+     * next one is literal text.
+     */
+    static ReportTemplate compile(String raw) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int mark = 0;
+        while (i < raw.length()) {
+            if (raw.charAt(i) == '<') {
+                int endTagIdx = raw.indexOf('>', i);
+                int nextTagIdx = raw.indexOf('<', i + 1);
+                if ((endTagIdx == -1) || ((nextTagIdx != -1) && (nextTagIdx < endTagIdx))) {
+                    i++;
+                    continue;
+                }
+                literal.append(raw, mark, i);
+                String tag = raw.substring(i + 1, endTagIdx);
+                if (tag.equals("data")) {
+                    addLiteral(segments, literal);
+                    segments.add(new Segment(DATA, null, null));
+                } else if (tag.equals("list")) {
+                    addLiteral(segments, literal);
+                    segments.add(new Segment(LIST, null, null));
+                } else if (tag.startsWith("msg:")) {
+                    addLiteral(segments, literal);
+                    int comma = raw.indexOf(',', i);
+                    segments.add(new Segment(MESSAGE,
+                            ReportMessages.getString(raw.substring(i + 5, comma)),
+                            ReportMessages.getString(raw.substring(comma + 1, endTagIdx))));
+                } else if (tag.equals("newline")) {
+                    literal.append('\n');
+                } else {
+                    // not a special tag, so treat as literal text
+                    literal.append(raw, i, endTagIdx + 1);
+                }
+                mark = endTagIdx + 1;
+                i = endTagIdx;
+            }
+            i++;
+        }
+        addLiteral(segments, literal);
+        return new ReportTemplate(segments, raw.substring(mark));
+    }
+
+    private static void addLiteral(List<Segment> segments, StringBuilder literal) {
+        if (literal.length() > 0) {
+            segments.add(new Segment(LITERAL, literal.toString(), null));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * @return the text and tags up to the end of the last tag
+     */
+    List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return the literal text after the last tag
+     */
+    String getTail() {
+        return tail;
+    }
+
+    static final class Segment {
+        final int type;
+        /** The literal text, or the message to use when the choice is true */
+        final String text;
+        /** The message to use when the choice is false */
+        final String alternative;
+
+        Segment(int type, String text, String alternative) {
+            this.type = type;
+            this.text = text;
+            this.alternative = alternative;
+        }
+    }
+}
@@ -20,9 +20,12 @@ import java.util.Objects;
 import megamek.common.options.OptionsConstants;
 
 /**
- * Represents a single type of terrain or condition in a hex. The type of a
- * terrain is immutable, once created, but the level and exits are changeable.
- * Each type of terrain should only be represented once in a hex.
+ * Represents a single type of terrain or condition in a hex. Terrains are
+ * immutable, and identical ones are shared between hexes; see
+ * {@link TerrainFactory}. Changing the level, exits or terrain factor of a
+ * terrain in a hex means replacing it with another terrain, e.g.
+ * <code>hex.addTerrain(terrain.withExits(exits))</code>. Each type of terrain
+ * should only be represented once in a hex.
  *
  * @author Ben
  */
@@ -38,38 +41,39 @@ public class Terrain implements ITerrain, Serializable {
      * types (ie, Light Woods vs Heavy woods). Not to be confused with Hex
      * levels.
      */
-    private int level;
-    private boolean exitsSpecified = false;
-    private int exits;
-    private int terrainFactor;
+    private final int level;
+    private final boolean exitsSpecified;
+    private final int exits;
+    private final int terrainFactor;
 
     /**
      * Terrain constructor
      */
-    public Terrain(int type, int level) {
+    Terrain(int type, int level) {
         this(type, level, false, 0);
     }
 
-    public Terrain(int type, int level, boolean exitsSpecified, int exits) {
+    Terrain(int type, int level, boolean exitsSpecified, int exits) {
+        this(type, level, exitsSpecified, exits, Terrains.getTerrainFactor(type, level));
+    }
+
+    Terrain(ITerrain other) {
+        this(other.getType(), other.getLevel(), other.hasExitsSpecified(), other.getExits(),
+                other.getTerrainFactor());
+    }
+
+    private Terrain(int type, int level, boolean exitsSpecified, int exits, int terrainFactor) {
         this.type = type;
         this.level = level;
         this.exitsSpecified = exitsSpecified;
         this.exits = exits;
-        terrainFactor = Terrains.getTerrainFactor(type, level);
-    }
-
-    public Terrain(ITerrain other) {
-        type = other.getType();
-        level = other.getLevel();
-        exitsSpecified = other.hasExitsSpecified();
-        exits = other.getExits();
-        terrainFactor = other.getTerrainFactor();
+        this.terrainFactor = terrainFactor;
     }
 
     /**
      * Parses a string containing terrain info into the actual terrain
      */
-    public Terrain(String terrain) {
+    Terrain(String terrain) {
         // should have at least one colon, maybe two
         int firstColon = terrain.indexOf(':');
         int lastColon = terrain.lastIndexOf(':');
@@ -78,12 +82,9 @@ public class Terrain implements ITerrain, Serializable {
         type = Terrains.getType(name);
         if (firstColon == lastColon) {
             level = levelFor(terrain.substring(firstColon + 1));
-            exitsSpecified = false;
-
             // Buildings *never* use implicit exits.
-            if ((type == Terrains.BUILDING) || (type == Terrains.FUEL_TANK)) {
-                exitsSpecified = true;
-            }
+            exitsSpecified = (type == Terrains.BUILDING) || (type == Terrains.FUEL_TANK);
+            exits = 0;
         } else {
             level = levelFor(terrain.substring(firstColon + 1, lastColon));
             exitsSpecified = true;
@@ -92,6 +93,14 @@ public class Terrain implements ITerrain, Serializable {
         terrainFactor = Terrains.getTerrainFactor(type, level);
     }
 
+    /**
+     * Replaces terrains read from a saved game or a packet with the shared
+     * instances.
+     */
+    private Object readResolve() {
+        return TerrainFactory.intern(this);
+    }
+
     public static int levelFor(String string) {
         if (string.equals("*")) {
             return WILDCARD;
@@ -111,8 +120,11 @@ public class Terrain implements ITerrain, Serializable {
         return terrainFactor;
     }
 
-    public void setTerrainFactor(int tf) {
-        terrainFactor = tf;
+    public ITerrain withTerrainFactor(int tf) {
+        if (tf == terrainFactor) {
+            return this;
+        }
+        return TerrainFactory.intern(new Terrain(type, level, exitsSpecified, exits, tf));
     }
 
     public int getTerrainElevation(boolean inAtmosphere) {
@@ -127,16 +139,19 @@ public class Terrain implements ITerrain, Serializable {
         return exitsSpecified;
     }
 
-    public void setExits(int exits) {
-        this.exits = exits;
+    public ITerrain withExits(int exits) {
+        if (exits == this.exits) {
+            return this;
+        }
+        return TerrainFactory.intern(new Terrain(type, level, exitsSpecified, exits, terrainFactor));
     }
 
-    public void setExit(int direction, boolean connection) {
+    public ITerrain withExit(int direction, boolean connection) {
         int mask = (int) Math.pow(2, direction);
         if (connection) {
-            exits |= mask;
+            return withExits(exits | mask);
         } else {
-            exits &= (63 ^ mask);
+            return withExits(exits & (63 ^ mask));
         }
     }
 
@@ -150,11 +165,12 @@ public class Terrain implements ITerrain, Serializable {
      * @param vert
      *            - a <code>boolean</code> value that, if <code>true</code>,
      *            indicates that the exits are being flipped East-for-West.
+     * @return the terrain with the flipped exits
      */
-    public void flipExits(boolean horiz, boolean vert) {
+    public ITerrain withFlippedExits(boolean horiz, boolean vert) {
         // Do nothing if no flips are defined.
         if (!horiz && !vert) {
-            return;
+            return this;
         }
 
         // Determine the new exits.
@@ -228,8 +244,7 @@ public class Terrain implements ITerrain, Serializable {
         }
 
         // Update the exits.
-        setExits(newExits);
-
+        return withExits(newExits);
     }
 
     /**
@@ -14,15 +14,38 @@
 
 package megamek.common;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates terrains. As terrains are immutable, there is only one instance of
+ * each distinct terrain, which is shared by every hex that has it. This saves
+ * memory on large boards and makes board packets and saved games smaller, as
+ * each shared terrain is only serialized once.
+ */
 public class TerrainFactory implements ITerrainFactory {
 
+    /**
+     * The shared terrains. There are few distinct terrains, so they are kept
+     * for the life of the process.
+     */
+    private static final Map<Key, Terrain> terrains = new ConcurrentHashMap<>();
+
+    /**
+     * @return the shared terrain equal to the given one in every respect
+     */
+    static Terrain intern(Terrain terrain) {
+        final Terrain shared = terrains.putIfAbsent(new Key(terrain), terrain);
+        return (shared == null) ? terrain : shared;
+    }
+
     /*
      * (non-Javadoc)
      * 
      * @see megamek.common.ITerrainFactory#createTerrain(int, int)
      */
     public ITerrain createTerrain(int type, int level) {
-        return new Terrain(type, level);
+        return intern(new Terrain(type, level));
     }
 
     /*
@@ -32,7 +55,7 @@ public class TerrainFactory implements ITerrainFactory {
      */
     public ITerrain createTerrain(int type, int level, boolean exitsSpecified,
             int exits) {
-        return new Terrain(type, level, exitsSpecified, exits);
+        return intern(new Terrain(type, level, exitsSpecified, exits));
     }
 
     /*
@@ -41,7 +64,7 @@ public class TerrainFactory implements ITerrainFactory {
      * @see megamek.common.ITerrainFactory#createTerrain(java.lang.String)
      */
     public ITerrain createTerrain(String terrain) {
-        return new Terrain(terrain);
+        return intern(new Terrain(terrain));
     }
 
     /*
@@ -50,7 +73,51 @@ public class TerrainFactory implements ITerrainFactory {
      * @see megamek.common.ITerrainFactory#createTerrain(megamek.common.ITerrain)
      */
     public ITerrain createTerrain(ITerrain other) {
-        return new Terrain(other);
+        if (other instanceof Terrain) {
+            return intern((Terrain) other);
+        }
+        return intern(new Terrain(other));
     }
 
+    /**
+     * Compares everything about a terrain, unlike {@link Terrain#equals(Object)}
+     * which ignores the exits.
+     */
+    private static final class Key {
+        private final int type;
+        private final int level;
+        private final boolean exitsSpecified;
+        private final int exits;
+        private final int terrainFactor;
+
+        private Key(ITerrain terrain) {
+            type = terrain.getType();
+            level = terrain.getLevel();
+            exitsSpecified = terrain.hasExitsSpecified();
+            exits = terrain.getExits();
+            terrainFactor = terrain.getTerrainFactor();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return (type == other.type) && (level == other.level) && (exitsSpecified == other.exitsSpecified)
+                    && (exits == other.exits) && (terrainFactor == other.terrainFactor);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type;
+            result = (31 * result) + level;
+            result = (31 * result) + (exitsSpecified ? 1 : 0);
+            result = (31 * result) + exits;
+            return (31 * result) + terrainFactor;
+        }
+    }
 }
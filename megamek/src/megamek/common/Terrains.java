@@ -418,10 +418,12 @@ public class Terrains implements ITerrainFactory {
 
     protected static Hashtable<String, Integer> getHash() {
         if (hash == null) {
-            hash = new Hashtable<>(SIZE);
+            // Fill it before publishing it, boards may be generated on several threads
+            Hashtable<String, Integer> newHash = new Hashtable<>(SIZE);
             for (int i = 0; i < names.length; i++) {
-                hash.put(names[i], i);
+                newHash.put(names[i], i);
             }
+            hash = newHash;
         }
         return hash;
     }
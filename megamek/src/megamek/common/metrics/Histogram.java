@@ -0,0 +1,108 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the distribution of a non-negative value. Values are counted in
+ * power-of-two buckets, so recording is lock-free and constant time; the
+ * reported percentiles are the upper bound of the bucket they fall in and are
+ * therefore accurate to within a factor of two.
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        count.increment();
+        sum.add(value);
+        final long v = value;
+        min.accumulateAndGet(v, Math::min);
+        max.accumulateAndGet(v, Math::max);
+        buckets.incrementAndGet(bucketFor(value));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    public double getMean() {
+        final long n = getCount();
+        return n == 0 ? 0 : (double) getSum() / n;
+    }
+
+    /**
+     * @param quantile A value between 0 and 1
+     * @return An upper bound for the given quantile of the recorded values
+     */
+    public long getPercentile(double quantile) {
+        final long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    void reset() {
+        count.reset();
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+    }
+
+    /** Bucket 0 holds 0, bucket i holds values in [2^(i-1), 2^i - 1]. */
+    private static int bucketFor(long value) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    private static long upperBound(int bucket) {
+        return (bucket >= BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long an operation takes. Durations are kept in nanoseconds and
+ * reported in microseconds.
+ * <p>
+ * Typical use:
+ * <pre>
+ * MetricTimer.Context timing = metrics.timer("server.autoSave").time();
+ * try {
+ *     ...
+ * } finally {
+ *     timing.stop();
+ * }
+ * </pre>
+ */
+public class MetricTimer {
+
+    private final Histogram durations = new Histogram();
+
+    /**
+     * Starts timing an operation; stopping the returned context records it.
+     */
+    public Context time() {
+        return new Context(this);
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        durations.record(unit.toNanos(duration));
+    }
+
+    /**
+     * @return The recorded durations, in nanoseconds
+     */
+    public Histogram getDurations() {
+        return durations;
+    }
+
+    void reset() {
+        durations.reset();
+    }
+
+    /**
+     * A running measurement. Stopping it more than once only records the first stop.
+     */
+    public static class Context implements AutoCloseable {
+        private final MetricTimer timer;
+        private final long start;
+        private boolean stopped;
+
+        private Context(MetricTimer timer) {
+            this.timer = timer;
+            start = System.nanoTime();
+        }
+
+        /**
+         * @return The elapsed time in nanoseconds
+         */
+        public long stop() {
+            final long elapsed = System.nanoTime() - start;
+            if (!stopped) {
+                stopped = true;
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            return elapsed;
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+}
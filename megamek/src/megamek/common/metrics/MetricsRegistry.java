@@ -0,0 +1,185 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A lightweight, thread-safe registry of named counters, timers, histograms and
+ * gauges. Metrics are created on first use, so instrumenting a code path is a
+ * single call such as <code>metrics.counter("server.packets").increment()</code>.
+ * <p>
+ * Names are dotted paths; they are reported in alphabetical order so related
+ * metrics stay together.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, MetricTimer> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    private volatile long resetAt = System.currentTimeMillis();
+
+    /**
+     * @return The process-wide registry used by the network layer and a server
+     *         with its own socket; game rooms have registries of their own
+     */
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    public MetricTimer timer(String name) {
+        return timers.computeIfAbsent(name, k -> new MetricTimer());
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    /**
+     * Registers a value that is sampled whenever the metrics are reported, such as
+     * a queue depth. Registering a gauge under an existing name replaces it.
+     */
+    public void registerGauge(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    /**
+     * Removes every gauge whose name starts with the given prefix.
+     */
+    public void removeGauges(String prefix) {
+        gauges.keySet().removeIf(name -> name.startsWith(prefix));
+    }
+
+    /**
+     * Clears all counters, timers and histograms. Gauges are left registered.
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(MetricTimer::reset);
+        histograms.values().forEach(Histogram::reset);
+        resetAt = System.currentTimeMillis();
+    }
+
+    /**
+     * @return One human readable line per metric; timer values are in microseconds
+     */
+    public List<String> getSummary() {
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "metrics collected over the last %d seconds",
+                (System.currentTimeMillis() - resetAt) / 1000));
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            lines.add(gauge.getKey() + " = " + sample(gauge.getValue()));
+        }
+        for (Map.Entry<String, Counter> counter : counters.entrySet()) {
+            lines.add(counter.getKey() + " = " + counter.getValue().getCount());
+        }
+        for (Map.Entry<String, MetricTimer> timer : timers.entrySet()) {
+            lines.add(timer.getKey() + " " + describe(timer.getValue().getDurations(), 1000) + " us");
+        }
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet()) {
+            lines.add(histogram.getKey() + " " + describe(histogram.getValue(), 1));
+        }
+        return lines;
+    }
+
+    /**
+     * @return A JSON document with the current value of every metric; timer values
+     *         are in microseconds
+     */
+    public String toJson() {
+        final StringBuilder json = new StringBuilder(1024);
+        json.append("{\"timestamp\":").append(System.currentTimeMillis());
+        json.append(",\"since\":").append(resetAt);
+        json.append(",\"gauges\":{");
+        String separator = "";
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            json.append(separator).append(quote(gauge.getKey())).append(':')
+                    .append(sample(gauge.getValue()));
+            separator = ",";
+        }
+        json.append("},\"counters\":{");
+        separator = "";
+        for (Map.Entry<String, Counter> counter : counters.entrySet()) {
+            json.append(separator).append(quote(counter.getKey())).append(':')
+                    .append(counter.getValue().getCount());
+            separator = ",";
+        }
+        json.append("},\"timers\":{");
+        separator = "";
+        for (Map.Entry<String, MetricTimer> timer : timers.entrySet()) {
+            json.append(separator).append(quote(timer.getKey())).append(':');
+            appendJson(json, timer.getValue().getDurations(), 1000);
+            separator = ",";
+        }
+        json.append("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet()) {
+            json.append(separator).append(quote(histogram.getKey())).append(':');
+            appendJson(json, histogram.getValue(), 1);
+            separator = ",";
+        }
+        json.append("}}");
+        return json.toString();
+    }
+
+    private static long sample(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            // The sampled object may be in the middle of being torn down
+            return -1;
+        }
+    }
+
+    private static String describe(Histogram h, long divisor) {
+        return String.format(Locale.ROOT, "count=%d mean=%.1f p50=%d p95=%d p99=%d max=%d",
+                h.getCount(), h.getMean() / divisor, h.getPercentile(0.5) / divisor,
+                h.getPercentile(0.95) / divisor, h.getPercentile(0.99) / divisor,
+                h.getMax() / divisor);
+    }
+
+    private static void appendJson(StringBuilder json, Histogram h, long divisor) {
+        json.append("{\"count\":").append(h.getCount())
+                .append(",\"sum\":").append(h.getSum() / divisor)
+                .append(",\"min\":").append(h.getMin() / divisor)
+                .append(",\"mean\":").append(String.format(Locale.ROOT, "%.1f", h.getMean() / divisor))
+                .append(",\"p50\":").append(h.getPercentile(0.5) / divisor)
+                .append(",\"p95\":").append(h.getPercentile(0.95) / divisor)
+                .append(",\"p99\":").append(h.getPercentile(0.99) / divisor)
+                .append(",\"max\":").append(h.getMax() / divisor)
+                .append('}');
+    }
+
+    private static String quote(String name) {
+        return '"' + name.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -30,6 +30,8 @@ import java.util.Vector;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import megamek.common.metrics.MetricTimer;
+import megamek.common.metrics.MetricsRegistry;
 import megamek.common.net.marshall.PacketMarshaller;
 import megamek.common.net.marshall.PacketMarshallerFactory;
 import megamek.common.util.CircularIntegerBuffer;
@@ -116,6 +118,11 @@ public abstract class AbstractConnection implements IConnection {
      */
     private boolean zipData = true;
 
+    /**
+     * Network timings and packet sizes, shared by all connections
+     */
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
     /**
      * Creates new client (connection from client to server) connection
      *
@@ -277,11 +284,14 @@ public abstract class AbstractConnection implements IConnection {
      * Send packet now; This is the blocking call.
      */
     public void sendNow(SendPacket packet) {
+        MetricTimer.Context timing = metrics.timer("net.send").time();
         try {
             sendNetworkPacket(packet.getData(), packet.isCompressed());
             debugLastFewCommandsSent.push(packet.getCommand());
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            timing.stop();
         }
     }
 
@@ -495,6 +505,7 @@ public abstract class AbstractConnection implements IConnection {
         Packet packet = null;
         byte[] data = np.getData();
         bytesReceived += data.length;
+        metrics.histogram("net.packetBytesReceived").record(data.length);
         ByteArrayInputStream bis = new ByteArrayInputStream(data);
         InputStream in;
         if (np.isCompressed()) {
@@ -502,7 +513,12 @@ public abstract class AbstractConnection implements IConnection {
         } else {
             in = bis;
         }
-        packet = pm.unmarshall(in);
+        MetricTimer.Context timing = metrics.timer("net.unmarshall").time();
+        try {
+            packet = pm.unmarshall(in);
+        } finally {
+            timing.stop();
+        }
         if (packet != null) {
             debugLastFewCommandsReceived.push(packet.getCommand());
             processConnectionEvent(new PacketReceivedEvent(
@@ -615,6 +631,7 @@ public abstract class AbstractConnection implements IConnection {
             command = packet.getCommand();
             ByteArrayOutputStream bos = new ByteArrayOutputStream();
             OutputStream out;
+            MetricTimer.Context timing = metrics.timer("net.marshall").time();
             try {
                 if (zipData && packet.getData() != null) {
                     out = new GZIPOutputStream(bos);
@@ -626,8 +643,11 @@ public abstract class AbstractConnection implements IConnection {
                 out.close();
                 data = bos.toByteArray();
                 bytesSent += data.length;
+                metrics.histogram("net.packetBytesSent").record(data.length);
             } catch (Exception e) {
                 e.printStackTrace();
+            } finally {
+                timing.stop();
             }
         }
 
@@ -65,6 +65,8 @@ public class Packet {
     public static final int COMMAND_ROUND_UPDATE = 260;
 
     public static final int COMMAND_SENDING_BOARD = 270;
+    public static final int COMMAND_SENDING_BOARD_SOURCE = 271;
+    public static final int COMMAND_REQUEST_BOARD = 272;
     public static final int COMMAND_SENDING_ILLUM_HEXES = 275;
     public static final int COMMAND_CLEAR_ILLUM_HEXES = 276;
     public static final int COMMAND_SENDING_ENTITIES = 280;
@@ -74,6 +76,9 @@ public class Packet {
     public static final int COMMAND_SENDING_REPORTS_SPECIAL = 320;
     public static final int COMMAND_SENDING_REPORTS_TACTICAL_GENIUS = 330;
     public static final int COMMAND_SENDING_REPORTS_ALL = 340;
+    public static final int COMMAND_SENDING_REPORTS_ROUNDS = 341;
+    public static final int COMMAND_REQUEST_REPORTS = 342;
+    public static final int COMMAND_SENDING_REPORT_ROUND_COUNT = 343;
 
     public static final int COMMAND_SENDING_GAME_SETTINGS = 350;
     public static final int COMMAND_SENDING_MAP_DIMENSIONS = 360;
@@ -203,6 +203,17 @@ public class AbstractPathFinder<N, C, E> {
 
     }
 
+    /**
+     * Stops the search when the thread running it has been interrupted, so that
+     * a search that is no longer needed can be cancelled.
+     */
+    public static class StopConditionInterrupted<E> implements AbstractPathFinder.StopCondition<E> {
+        @Override
+        public boolean shouldStop(E e) {
+            return Thread.currentThread().isInterrupted();
+        }
+    }
+
     private AdjacencyMap<E> adjacencyMap;
 
     private PriorityQueue<E> candidates;
@@ -3,8 +3,12 @@ package megamek.common.pathfinder;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
+import megamek.common.Coords;
 import megamek.common.Entity;
+import megamek.common.EntityMovementType;
+import megamek.common.IBoard;
 import megamek.common.Mech;
 import megamek.common.MiscType;
 
@@ -26,10 +30,18 @@ public class CachedEntityState {
     private Map<BigInteger, Boolean> hasWorkingMisc;
     private Integer torsoJumpJets;
     private Integer jumpMPNoGravity;
+
+    // per hex results, dropped whenever the board changes
+    private IBoard cachedBoard;
+    private int cachedBoardChangeCount;
+    private Map<Long, Boolean> locationProhibited;
+    private Map<MovementCostKey, Integer> movementCosts;
     
     public CachedEntityState(Entity entity) {
         backingEntity = entity;
         hasWorkingMisc = new HashMap<>();
+        locationProhibited = new HashMap<>();
+        movementCosts = new HashMap<>();
     }
     
     public int getWalkMP() {
@@ -132,4 +144,86 @@ public class CachedEntityState {
                 hasWorkingMisc(MiscType.F_AMPHIBIOUS) ||
                 hasWorkingMisc(MiscType.F_LIMITED_AMPHIBIOUS);
     }
+    /**
+     * Cached version of {@link Entity#isLocationProhibited(Coords, int)}.
+     */
+    public boolean isLocationProhibited(Coords coords, int elevation) {
+        checkBoard();
+        final Long key = (((long) coords.getX() & 0xFFFFF) << 40) | (((long) coords.getY() & 0xFFFFF) << 20)
+                | (elevation & 0xFFFFF);
+        Boolean prohibited = locationProhibited.get(key);
+        if (prohibited == null) {
+            prohibited = backingEntity.isLocationProhibited(coords, elevation);
+            locationProhibited.put(key, prohibited);
+        }
+        return prohibited;
+    }
+
+    /**
+     * Returns the MP cost of a step between two hexes worked out earlier for the
+     * same entity, or null if it hasn't been stored yet.
+     */
+    public Integer getMovementCost(MovementCostKey key) {
+        checkBoard();
+        return movementCosts.get(key);
+    }
+
+    public void putMovementCost(MovementCostKey key, int mp) {
+        checkBoard();
+        movementCosts.put(key, mp);
+    }
+
+    /**
+     * Throws away the per hex results if the board they were calculated for has
+     * changed since.
+     */
+    private void checkBoard() {
+        final IBoard board = (backingEntity.getGame() == null) ? null : backingEntity.getGame().getBoard();
+        final int changeCount = (board == null) ? 0 : board.getChangeCount();
+        if ((board != cachedBoard) || (changeCount != cachedBoardChangeCount)) {
+            locationProhibited.clear();
+            movementCosts.clear();
+            cachedBoard = board;
+            cachedBoardChangeCount = changeCount;
+        }
+    }
+
+    /**
+     * Everything besides the entity itself that the MP cost of moving from one hex
+     * to the next depends on.
+     */
+    public static class MovementCostKey {
+        private final Coords src;
+        private final int srcElevation;
+        private final Coords dest;
+        private final int destElevation;
+        private final EntityMovementType movementType;
+        private final int flags;
+
+        public MovementCostKey(Coords src, int srcElevation, Coords dest, int destElevation,
+                EntityMovementType movementType, boolean careful, boolean jumping, boolean pavement, boolean moved) {
+            this.src = src;
+            this.srcElevation = srcElevation;
+            this.dest = dest;
+            this.destElevation = destElevation;
+            this.movementType = movementType;
+            this.flags = (careful ? 1 : 0) | (jumping ? 2 : 0) | (pavement ? 4 : 0) | (moved ? 8 : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MovementCostKey)) {
+                return false;
+            }
+            final MovementCostKey other = (MovementCostKey) obj;
+            return (srcElevation == other.srcElevation) && (destElevation == other.destElevation)
+                    && (flags == other.flags) && (movementType == other.movementType)
+                    && Objects.equals(src, other.src) && Objects.equals(dest, other.dest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(src, srcElevation, dest, destElevation, movementType, flags);
+        }
+    }
 }
@@ -20,13 +20,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Random;
 
 import megamek.client.bot.princess.CardinalEdge;
 import megamek.common.Board;
-import megamek.common.Compute;
 import megamek.common.Coords;
 import megamek.common.Entity;
 import megamek.common.Hex;
@@ -135,6 +136,20 @@ public class BoardUtilities {
      * @param mapSettings The parameters for random board creation.
      */
     public static IBoard generateRandom(MapSettings mapSettings) {
+        return generateRandom(mapSettings, new Random().nextLong());
+    }
+
+    /**
+     * Generates a Random Board. All random choices are drawn from a generator
+     * seeded with the given seed, so the same settings and seed always give the
+     * same board, whichever thread it is generated on. This lets several sheets
+     * of a map be generated in parallel.
+     *
+     * @param mapSettings The parameters for random board creation.
+     * @param seed The seed for the random choices.
+     */
+    public static IBoard generateRandom(MapSettings mapSettings, long seed) {
+        Random rng = new Random(seed);
         int elevationMap[][] = new int[mapSettings.getBoardWidth()][mapSettings
                 .getBoardHeight()];
         double sizeScale = (double) (mapSettings.getBoardWidth() * mapSettings
@@ -145,7 +160,7 @@ public class BoardUtilities {
                 .getBoardWidth(), mapSettings.getBoardHeight(), mapSettings
                 .getRange() + 1, mapSettings.getProbInvert(), mapSettings
                 .getInvertNegativeTerrain(), elevationMap, mapSettings
-                .getAlgorithmToUse());
+                .getAlgorithmToUse(), rng);
 
         IHex[] nb = new IHex[mapSettings.getBoardWidth()
                 * mapSettings.getBoardHeight()];
@@ -182,190 +197,190 @@ public class BoardUtilities {
         while (peaks > 0) {
             peaks--;
             int mountainHeight = mapSettings.getMountainHeightMin()
-                    + Compute.randomInt(1 + mapSettings.getMountainHeightMax()
+                    + rng.nextInt(1 + mapSettings.getMountainHeightMax()
                             - mapSettings.getMountainHeightMin());
             int mountainWidth = mapSettings.getMountainWidthMin()
-                    + Compute.randomInt(1 + mapSettings.getMountainWidthMax()
+                    + rng.nextInt(1 + mapSettings.getMountainWidthMax()
                             - mapSettings.getMountainWidthMin());
             int mapWidth = result.getWidth();
             int mapHeight = result.getHeight();
 
             // put the peak somewhere in the middle of the map...
             Coords peak = new Coords(mapWidth / 4
-                    + Compute.randomInt((mapWidth + 1) / 2), mapHeight / 4
-                    + Compute.randomInt((mapHeight + 1) / 2));
+                    + rng.nextInt((mapWidth + 1) / 2), mapHeight / 4
+                    + rng.nextInt((mapHeight + 1) / 2));
 
             generateMountain(result, mountainWidth, peak, mountainHeight,
-                    mapSettings.getMountainStyle());
+                    mapSettings.getMountainStyle(), rng);
         }
 
         if (mapSettings.getCliffs() > 0) {
-            addCliffs(result, mapSettings.getCliffs());
+            addCliffs(result, mapSettings.getCliffs(), rng);
         }
 
         /* Add the woods */
         int count = mapSettings.getMinForestSpots();
         if (mapSettings.getMaxForestSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxForestSpots());
+            count += rng.nextInt(mapSettings.getMaxForestSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.WOODS,
                     mapSettings.getProbHeavy(), mapSettings.getMinForestSize(),
-                    mapSettings.getMaxForestSize(), reverseHex, true);
+                    mapSettings.getMaxForestSize(), reverseHex, true, rng);
         }
         
         /* Add foliage (1 elevation high woods) */
         count = mapSettings.getMinFoliageSpots();
         if (mapSettings.getMaxFoliageSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxFoliageSpots());
+            count += rng.nextInt(mapSettings.getMaxFoliageSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeFoliage(result, Terrains.WOODS,
                     mapSettings.getProbFoliageHeavy(), mapSettings.getMinFoliageSize(),
-                    mapSettings.getMaxFoliageSize(), reverseHex, true);
+                    mapSettings.getMaxFoliageSize(), reverseHex, true, rng);
         }
         
         /* Add the rough */
         count = mapSettings.getMinRoughSpots();
         if (mapSettings.getMaxRoughSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxRoughSpots());
+            count += rng.nextInt(mapSettings.getMaxRoughSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.ROUGH, 0, mapSettings
                     .getMinRoughSize(), mapSettings.getMaxRoughSize(),
-                    reverseHex, true);
+                    reverseHex, true, rng);
         }
         /* Add the sand */
         count = mapSettings.getMinSandSpots();
         if (mapSettings.getMaxSandSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxSandSpots());
+            count += rng.nextInt(mapSettings.getMaxSandSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.SAND, 0, mapSettings
                     .getMinSandSize(), mapSettings.getMaxSandSize(),
-                    reverseHex, true);
+                    reverseHex, true, rng);
         }
         /* Add the planted field */
         count = mapSettings.getMinPlantedFieldSpots();
         if (mapSettings.getMaxPlantedFieldSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxPlantedFieldSpots());
+            count += rng.nextInt(mapSettings.getMaxPlantedFieldSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.FIELDS, 0, mapSettings
                     .getMinPlantedFieldSize(), mapSettings.getMaxPlantedFieldSize(),
-                    reverseHex, true);
+                    reverseHex, true, rng);
         }
         /* Add the swamp */
         count = mapSettings.getMinSwampSpots();
         if (mapSettings.getMaxSwampSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxSwampSpots());
+            count += rng.nextInt(mapSettings.getMaxSwampSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.SWAMP, 0, mapSettings
                     .getMinSwampSize(), mapSettings.getMaxSwampSize(),
-                    reverseHex, false); // can stack with woods or roughs
+                    reverseHex, false, rng); // can stack with woods or roughs
         }
 
         // Add the Fortified hexes
         count = mapSettings.getMinFortifiedSpots();
         if (mapSettings.getMaxFortifiedSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxFortifiedSpots());
+            count += rng.nextInt(mapSettings.getMaxFortifiedSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.FORTIFIED, 0, mapSettings
                     .getMinFortifiedSize(), mapSettings.getMaxFortifiedSize(),
-                    reverseHex, false);
+                    reverseHex, false, rng);
         }
 
         // Add the rubble
         count = mapSettings.getMinRubbleSpots();
         if (mapSettings.getMaxRubbleSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxRubbleSpots());
+            count += rng.nextInt(mapSettings.getMaxRubbleSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.RUBBLE, 0, mapSettings
                     .getMinRubbleSize(), mapSettings.getMaxRubbleSize(),
-                    reverseHex, true);
+                    reverseHex, true, rng);
         }
 
         /* Add the water */
         count = mapSettings.getMinWaterSpots();
         if (mapSettings.getMaxWaterSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxWaterSpots());
+            count += rng.nextInt(mapSettings.getMaxWaterSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.WATER, mapSettings.getProbDeep(),
                     mapSettings.getMinWaterSize(), mapSettings
-                            .getMaxWaterSize(), reverseHex, true);
+                            .getMaxWaterSize(), reverseHex, true, rng);
         }
         /* Add the pavements */
         count = mapSettings.getMinPavementSpots();
         if (mapSettings.getMaxPavementSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxPavementSpots());
+            count += rng.nextInt(mapSettings.getMaxPavementSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.PAVEMENT, 0, mapSettings
                     .getMinPavementSize(), mapSettings.getMaxPavementSize(),
-                    reverseHex, true);
+                    reverseHex, true, rng);
         }
 
         /* Add the ice */
         count = mapSettings.getMinIceSpots();
         if (mapSettings.getMaxIceSpots() > 0) {
-            count += Compute.randomInt(mapSettings.getMaxIceSpots());
+            count += rng.nextInt(mapSettings.getMaxIceSpots());
         }
         count *= sizeScale;
         for (int i = 0; i < count; i++) {
             placeSomeTerrain(result, Terrains.ICE, 0, mapSettings
                     .getMinIceSize(), mapSettings.getMaxIceSize(), reverseHex,
-                    true);
+                    true, rng);
         }
 
         /* Add the craters */
-        if (Compute.randomInt(100) < mapSettings.getProbCrater()) {
+        if (rng.nextInt(100) < mapSettings.getProbCrater()) {
             addCraters(result, mapSettings.getMinRadius(), mapSettings.getMaxRadius(),
                     (int) (mapSettings.getMinCraters() * sizeScale),
-                    (int) (mapSettings.getMaxCraters() * sizeScale));
+                    (int) (mapSettings.getMaxCraters() * sizeScale), rng);
         }
 
         /* Add the river */
-        if (Compute.randomInt(100) < mapSettings.getProbRiver()) {
-            addRiver(result, reverseHex);
+        if (rng.nextInt(100) < mapSettings.getProbRiver()) {
+            addRiver(result, reverseHex, rng);
         }
 
         /* Add special effects */
-        if (Compute.randomInt(100) < mapSettings.getProbFlood()) {
+        if (rng.nextInt(100) < mapSettings.getProbFlood()) {
             postProcessFlood(nb, mapSettings.getFxMod());
         }
-        if (Compute.randomInt(100) < mapSettings.getProbDrought()) {
-            postProcessDrought(nb, mapSettings.getFxMod());
+        if (rng.nextInt(100) < mapSettings.getProbDrought()) {
+            postProcessDrought(nb, mapSettings.getFxMod(), rng);
         }
-        if (Compute.randomInt(100) < mapSettings.getProbFreeze()) {
-            postProcessDeepFreeze(nb, mapSettings.getFxMod());
+        if (rng.nextInt(100) < mapSettings.getProbFreeze()) {
+            postProcessDeepFreeze(nb, mapSettings.getFxMod(), rng);
         }
-        if (Compute.randomInt(100) < mapSettings.getProbForestFire()) {
-            postProcessForestFire(nb, mapSettings.getFxMod());
+        if (rng.nextInt(100) < mapSettings.getProbForestFire()) {
+            postProcessForestFire(nb, mapSettings.getFxMod(), rng);
         }
 
         /* Add the road */
         boolean roadNeeded = false;
-        if (Compute.randomInt(100) < mapSettings.getProbRoad()) {
+        if (rng.nextInt(100) < mapSettings.getProbRoad()) {
             roadNeeded = true;
         }
 
         // add buildings
         ArrayList<BuildingTemplate> buildings = mapSettings.getBoardBuildings();
-        CityBuilder cityBuilder = new CityBuilder(mapSettings, result);
+        CityBuilder cityBuilder = new CityBuilder(mapSettings, result, rng);
         if (buildings.size() == 0) {
             buildings = cityBuilder.generateCity(roadNeeded);
         }
@@ -422,17 +437,17 @@ public class BoardUtilities {
      * @param exclusive Set TRUE if this terrain cannot be combined with any other terrain types.
      */
     protected static void placeSomeTerrain(IBoard board, int terrainType, int probMore, int minHexes, int maxHexes,
-            HashMap<IHex, Point> reverseHex, boolean exclusive) {
-        Point p = new Point(Compute.randomInt(board.getWidth()), Compute
-                .randomInt(board.getHeight()));
+            HashMap<IHex, Point> reverseHex, boolean exclusive, Random rng) {
+        Point p = new Point(rng.nextInt(board.getWidth()), rng
+                .nextInt(board.getHeight()));
         int count = minHexes;
         if ((maxHexes - minHexes) > 0) {
-            count += Compute.randomInt(maxHexes - minHexes);
+            count += rng.nextInt(maxHexes - minHexes);
         }
         IHex field;
 
-        HashSet<IHex> alreadyUsed = new HashSet<IHex>();
-        HashSet<IHex> unUsed = new HashSet<IHex>();
+        HashSet<IHex> alreadyUsed = new LinkedHashSet<IHex>();
+        HashSet<IHex> unUsed = new LinkedHashSet<IHex>();
         field = board.getHex(p.x, p.y);
         if (!field.containsTerrain(terrainType)) {
             unUsed.add(field);
@@ -445,7 +460,7 @@ public class BoardUtilities {
             if (unUsed.isEmpty()) {
                 return;
             }
-            int which = Compute.randomInt(unUsed.size());
+            int which = rng.nextInt(unUsed.size());
             Iterator<IHex> iter = unUsed.iterator();
             for (int n = 0; n < (which - 1); n++) {
                 iter.next();
@@ -454,7 +469,7 @@ public class BoardUtilities {
             if (exclusive) {
                 field.removeAllTerrains();
             }
-            int tempInt = (Compute.randomInt(100) < probMore) ? 2 : 1;
+            int tempInt = (rng.nextInt(100) < probMore) ? 2 : 1;
             ITerrain tempTerrain = f.createTerrain(terrainType, tempInt);
             field.addTerrain(tempTerrain);
             if (terrainType == Terrains.WOODS) {
@@ -498,17 +513,17 @@ public class BoardUtilities {
      * @param exclusive Set TRUE if this terrain cannot be combined with any other terrain types.
      */
     protected static void placeFoliage(IBoard board, int terrainType, int probMore, int minHexes, int maxHexes,
-            HashMap<IHex, Point> reverseHex, boolean exclusive) {
-        Point p = new Point(Compute.randomInt(board.getWidth()), Compute
-                .randomInt(board.getHeight()));
+            HashMap<IHex, Point> reverseHex, boolean exclusive, Random rng) {
+        Point p = new Point(rng.nextInt(board.getWidth()), rng
+                .nextInt(board.getHeight()));
         int count = minHexes;
         if ((maxHexes - minHexes) > 0) {
-            count += Compute.randomInt(maxHexes - minHexes);
+            count += rng.nextInt(maxHexes - minHexes);
         }
         IHex field;
 
-        HashSet<IHex> alreadyUsed = new HashSet<IHex>();
-        HashSet<IHex> unUsed = new HashSet<IHex>();
+        HashSet<IHex> alreadyUsed = new LinkedHashSet<IHex>();
+        HashSet<IHex> unUsed = new LinkedHashSet<IHex>();
         field = board.getHex(p.x, p.y);
         if (!field.containsTerrain(terrainType)) {
             unUsed.add(field);
@@ -521,7 +536,7 @@ public class BoardUtilities {
             if (unUsed.isEmpty()) {
                 return;
             }
-            int which = Compute.randomInt(unUsed.size());
+            int which = rng.nextInt(unUsed.size());
             Iterator<IHex> iter = unUsed.iterator();
             for (int n = 0; n < (which - 1); n++) {
                 iter.next();
@@ -530,7 +545,7 @@ public class BoardUtilities {
             if (exclusive) {
                 field.removeAllTerrains();
             }
-            int tempInt = (Compute.randomInt(100) < probMore) ? 2 : 1;
+            int tempInt = (rng.nextInt(100) < probMore) ? 2 : 1;
             ITerrain tempTerrain = f.createTerrain(terrainType, tempInt);
             field.addTerrain(tempTerrain);
             field.addTerrain(f.createTerrain(Terrains.FOLIAGE_ELEV, 1));
@@ -558,7 +573,7 @@ public class BoardUtilities {
             HashSet<IHex> alreadyUsed, HashSet<IHex> unUsed, IHex searchFrom,
             HashMap<IHex, Point> reverseHex) {
         IHex field;
-        HashSet<IHex> notYetUsed = new HashSet<IHex>();
+        HashSet<IHex> notYetUsed = new LinkedHashSet<IHex>();
 
         notYetUsed.add(searchFrom);
         do {
@@ -586,12 +601,12 @@ public class BoardUtilities {
      * add a crater to the board
      */
     public static void addCraters(IBoard board, int minRadius, int maxRadius,
-            int minCraters, int maxCraters) {
+            int minCraters, int maxCraters, Random rng) {
 
         // Calculate number of craters to generate.
         int numberCraters = minCraters;
         if (maxCraters > minCraters) {
-            numberCraters += Compute.randomInt(maxCraters - minCraters);
+            numberCraters += rng.nextInt(maxCraters - minCraters);
         }
 
         // Stay within the board boundaries.
@@ -604,16 +619,16 @@ public class BoardUtilities {
         for (int i = 0; i < numberCraters; i++) {
 
             // Locate the center of the crater.
-            Point center = new Point(Compute.randomInt(width), Compute.randomInt(height));
+            Point center = new Point(rng.nextInt(width), rng.nextInt(height));
 
             // What is the diameter of this crater?
-            int radius = Compute.randomInt(maxRadius - minRadius) + minRadius;
+            int radius = rng.nextInt(maxRadius - minRadius) + minRadius;
 
             // Terrestrial crater depth to radius ratio is typically 1:5 to 1:7.
             // Hexes are 30m across and levels are 6m high.
             // This ends up with rather deep craters (a 6-diameter crater can have a depth of 4-6).  For gamability
             // and verisimilitude, we're making crater's more shallow than is typical (1:8 to 1:10 ratio).
-            int divisor = Compute.randomInt(2) + 8;
+            int divisor = rng.nextInt(2) + 8;
             int radiusM = radius * 30;
             int maxDepthM = Math.max(6, radiusM / divisor);
             int maxDepth = maxDepthM / 6;
@@ -716,9 +731,9 @@ public class BoardUtilities {
      * river has an width of 1-3 hexes (everything else is no more a river). The
      * river goes from one border to another. Nor Params, no results.
      */
-    public static void addRiver(IBoard board, HashMap<IHex, Point> reverseHex) {
+    public static void addRiver(IBoard board, HashMap<IHex, Point> reverseHex, Random rng) {
         int minElevation = Integer.MAX_VALUE;
-        HashSet<IHex> riverHexes = new HashSet<IHex>();
+        HashSet<IHex> riverHexes = new LinkedHashSet<IHex>();
         IHex field;
         Point p = null;
         int direction = 0;
@@ -733,22 +748,22 @@ public class BoardUtilities {
             return;
         }
         /* First select start and the direction */
-        switch (Compute.randomInt(4)) {
+        switch (rng.nextInt(4)) {
             case 0:
-                p = new Point(0, Compute.randomInt(5) - 2 + height / 2);
-                direction = Compute.randomInt(2) + 1;
+                p = new Point(0, rng.nextInt(5) - 2 + height / 2);
+                direction = rng.nextInt(2) + 1;
                 nextLeft = direction - 1;
                 nextRight = direction + 1;
                 break;
             case 1:
-                p = new Point(width - 1, Compute.randomInt(5) - 2 + height / 2);
-                direction = Compute.randomInt(2) + 4;
+                p = new Point(width - 1, rng.nextInt(5) - 2 + height / 2);
+                direction = rng.nextInt(2) + 4;
                 nextLeft = direction - 1;
                 nextRight = (direction + 1) % 6;
                 break;
             case 2:
             case 3:
-                p = new Point(Compute.randomInt(5) - 2 + width / 2, 0);
+                p = new Point(rng.nextInt(5) - 2 + width / 2, 0);
                 direction = 2;
                 nextRight = 3;
                 nextLeft = 4;
@@ -764,11 +779,11 @@ public class BoardUtilities {
             riverHexes.add(field);
             p = reverseHex.get(field);
             /* then maybe the left and right neighbours */
-            riverHexes.addAll(extendRiverToSide(board, p, Compute.randomInt(3),
+            riverHexes.addAll(extendRiverToSide(board, p, rng.nextInt(3),
                     nextLeft, reverseHex));
-            riverHexes.addAll(extendRiverToSide(board, p, Compute.randomInt(3),
+            riverHexes.addAll(extendRiverToSide(board, p, rng.nextInt(3),
                     nextRight, reverseHex));
-            switch (Compute.randomInt(4)) {
+            switch (rng.nextInt(4)) {
                 case 0:
                     field = board.getHexInDir(p.x, p.y, (direction + 5) % 6);
                     break;
@@ -783,7 +798,7 @@ public class BoardUtilities {
         } while (field != null);
 
         /* search the elevation for the river */
-        HashSet<IHex> tmpRiverHexes = new HashSet<IHex>(riverHexes);
+        HashSet<IHex> tmpRiverHexes = new LinkedHashSet<IHex>(riverHexes);
         while (!tmpRiverHexes.isEmpty()) {
             Iterator<IHex> iter = tmpRiverHexes.iterator();
             field = iter.next();
@@ -825,7 +840,7 @@ public class BoardUtilities {
     private static HashSet<IHex> extendRiverToSide(IBoard board, Point hexloc,
             int width, int direction, HashMap<IHex, Point> reverseHex) {
         Point current = new Point(hexloc);
-        HashSet<IHex> result = new HashSet<IHex>();
+        HashSet<IHex> result = new LinkedHashSet<IHex>();
         IHex hex;
 
         hex = board.getHexInDir(current.x, current.y, direction);
@@ -868,7 +883,7 @@ public class BoardUtilities {
     /**
      * Converts water hexes to ice hexes. Works best with snow&ice theme.
      */
-    protected static void postProcessDeepFreeze(IHex[] hexSet, int modifier) {
+    protected static void postProcessDeepFreeze(IHex[] hexSet, int modifier, Random rng) {
         int n;
         IHex field;
         ITerrainFactory f = Terrains.getTerrainFactory();
@@ -888,7 +903,7 @@ public class BoardUtilities {
             } else if (field.containsTerrain(Terrains.SWAMP)) {
                 field.removeTerrain(Terrains.SWAMP);
                 if (field.terrainsPresent() == 0) {
-                    if (Compute.randomInt(100) < 30) {
+                    if (rng.nextInt(100) < 30) {
                         // if no other terrains present, 30% chance to change to
                         // rough
                         field.addTerrain(f.createTerrain(Terrains.ROUGH, 1));
@@ -903,7 +918,7 @@ public class BoardUtilities {
     /**
      * Burning woods, with chance to be burnt down already
      */
-    protected static void postProcessForestFire(IHex[] hexSet, int modifier) {
+    protected static void postProcessForestFire(IHex[] hexSet, int modifier, Random rng) {
         int n;
         IHex field;
         int level, newlevel;
@@ -913,7 +928,7 @@ public class BoardUtilities {
             field = hexSet[n];
             level = field.terrainLevel(Terrains.WOODS);
             if (level != ITerrain.LEVEL_NONE) {
-                severity = Compute.randomInt(5) - 2 + modifier;
+                severity = rng.nextInt(5) - 2 + modifier;
                 newlevel = level - severity;
 
                 if (newlevel <= level) {
@@ -937,11 +952,11 @@ public class BoardUtilities {
      * Dries up all bodies of water by 1-3 levels. dried up water becomes swamp
      * then rough
      */
-    protected static void postProcessDrought(IHex[] hexSet, int modifier) {
+    protected static void postProcessDrought(IHex[] hexSet, int modifier, Random rng) {
         int n;
         IHex field;
         int level, newlevel;
-        int severity = 1 + Compute.randomInt(3) + modifier;
+        int severity = 1 + rng.nextInt(3) + modifier;
         if (severity < 0) {
             return;
         }
@@ -951,7 +966,7 @@ public class BoardUtilities {
             if (field.containsTerrain(Terrains.SWAMP)) {
                 field.removeTerrain(Terrains.SWAMP); // any swamps are dried
                                                         // up to hardened mud
-                if ((field.terrainsPresent() == 0) && (Compute.randomInt(100) < 30)) {
+                if ((field.terrainsPresent() == 0) && (rng.nextInt(100) < 30)) {
                     // if no other terrains present, 30% chance to change to
                     // rough
                     field.addTerrain(f.createTerrain(Terrains.ROUGH, 1));
@@ -1022,7 +1037,7 @@ public class BoardUtilities {
         }
     }
 
-    protected static void addCliffs(IBoard board, int modifier) {
+    protected static void addCliffs(IBoard board, int modifier, Random rng) {
         HashSet<Coords> ignore = new HashSet<Coords>(); // previously considered
                                                         // hexes
         ArrayList<Coords> candidate = new ArrayList<Coords>();
@@ -1040,7 +1055,7 @@ public class BoardUtilities {
 
                 findCliffNeighbours(board, c, candidate, ignore);
                 // is the candidate interesting (at least 3 hexes)?
-                if ((candidate.size() >= 3) && (Compute.randomInt(100) < modifier)) {
+                if ((candidate.size() >= 3) && (rng.nextInt(100) < modifier)) {
                     if (elevation > 0) {
                         elevation--;
                     } else {
@@ -1140,13 +1155,14 @@ public class BoardUtilities {
      * @param invertProb Probability for the invertion of the map (0..100)
      * @param invertNegative If 1, invert negative hexes, else do nothing
      * @param elevationMap here is the result stored
+     * @param rng The source of the random choices
      */
     public static void generateElevation(int hilliness, int width, int height,
             int range, int invertProb, int invertNegative,
-            int elevationMap[][], int algorithm) {
+            int elevationMap[][], int algorithm, Random rng) {
         int minLevel = 0;
         int maxLevel = range;
-        boolean invert = (Compute.randomInt(100) < invertProb);
+        boolean invert = (rng.nextInt(100) < invertProb);
 
         /* init elevation map with 0 */
         for (int w = 0; w < width; w++) {
@@ -1157,19 +1173,19 @@ public class BoardUtilities {
         /* generate landscape */
         switch (algorithm) {
             case 0:
-                cutSteps(hilliness, width, height, elevationMap);
+                cutSteps(hilliness, width, height, elevationMap, rng);
                 break;
             case 1:
-                midPoint(hilliness, width, height, elevationMap);
+                midPoint(hilliness, width, height, elevationMap, rng);
                 break;
             case 2:
-                cutSteps(hilliness, width, height, elevationMap);
-                midPoint(hilliness, width, height, elevationMap);
+                cutSteps(hilliness, width, height, elevationMap, rng);
+                midPoint(hilliness, width, height, elevationMap, rng);
                 break;
             default:
                 // Non-hardcoded generators, if we have any
                 if((algorithm > 2) && (algorithm - 3 < elevationGenerators.size())) {
-                    elevationGenerators.get(algorithm - 3).generate(hilliness, width, height, elevationMap);
+                    elevationGenerators.get(algorithm - 3).generate(hilliness, width, height, elevationMap, rng);
                 }
         }
 
@@ -1224,7 +1240,7 @@ public class BoardUtilities {
     }
 
     public static void generateMountain(IBoard board, int width, Coords centre,
-            int height, int capStyle) {
+            int height, int capStyle, Random rng) {
         final int mapW = board.getWidth();
         final int mapH = board.getHeight();
 
@@ -1236,7 +1252,7 @@ public class BoardUtilities {
                 int distance = c.distance(centre);
                 int elev = (100 * height * (width - distance)) / width;
                 elev = (elev / 100)
-                        + (Compute.randomInt(100) < (elev % 100) ? 1 : 0);
+                        + (rng.nextInt(100) < (elev % 100) ? 1 : 0);
 
                 IHex hex = board.getHex(c);
 
@@ -1352,41 +1368,41 @@ public class BoardUtilities {
                 // Update the road exits in the swapped hexes.
                 terr = newHex.getTerrain(Terrains.ROAD);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    newHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
                 terr = oldHex.getTerrain(Terrains.ROAD);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    oldHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
 
                 // Update the building exits in the swapped hexes.
                 terr = newHex.getTerrain(Terrains.BUILDING);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    newHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
                 terr = oldHex.getTerrain(Terrains.BUILDING);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    oldHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
 
                 // Update the fuel tank exits in the swapped hexes.
                 terr = newHex.getTerrain(Terrains.FUEL_TANK);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    newHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
                 terr = oldHex.getTerrain(Terrains.FUEL_TANK);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    oldHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
 
                 // Update the bridge exits in the swapped hexes.
                 terr = newHex.getTerrain(Terrains.BRIDGE);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    newHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
                 terr = oldHex.getTerrain(Terrains.BRIDGE);
                 if (null != terr) {
-                    terr.flipExits(horiz, vert);
+                    oldHex.addTerrain(terr.withFlippedExits(horiz, vert));
                 }
             }
         }
@@ -1396,7 +1412,7 @@ public class BoardUtilities {
      * one of the landscape generation algorithms
      */
     protected static void cutSteps(int hilliness, int width, int height,
-            int elevationMap[][]) {
+            int elevationMap[][], Random rng) {
         Point p1, p2;
         int sideA, sideB;
         int type;
@@ -1407,23 +1423,23 @@ public class BoardUtilities {
             /*
              * select which side should be decremented, and which increemented
              */
-            sideA = (Compute.randomInt(2) == 0) ? -1 : 1;
+            sideA = (rng.nextInt(2) == 0) ? -1 : 1;
             sideB = -sideA;
-            type = Compute.randomInt(6);
+            type = rng.nextInt(6);
             /*
              * 6 different lines in rectangular area from border to border
              * possible
              */
             switch (type) {
                 case 0: /* left to upper border */
-                    p1.setLocation(0, Compute.randomInt(height));
-                    p2.setLocation(Compute.randomInt(width), height - 1);
+                    p1.setLocation(0, rng.nextInt(height));
+                    p2.setLocation(rng.nextInt(width), height - 1);
                     markSides(p1, p2, sideB, sideA, elevationMap, height);
                     markRect(p2.x, width, sideA, elevationMap, height);
                     break;
                 case 1: /* upper to lower border */
-                    p1.setLocation(Compute.randomInt(width), 0);
-                    p2.setLocation(Compute.randomInt(width), height - 1);
+                    p1.setLocation(rng.nextInt(width), 0);
+                    p2.setLocation(rng.nextInt(width), height - 1);
                     if (p1.x < p2.x) {
                         markSides(p1, p2, sideA, sideB, elevationMap, height);
                     } else {
@@ -1433,25 +1449,25 @@ public class BoardUtilities {
                     markRect(p2.x, width, sideB, elevationMap, height);
                     break;
                 case 2: /* upper to right border */
-                    p1.setLocation(Compute.randomInt(width), height - 1);
-                    p2.setLocation(width, Compute.randomInt(height));
+                    p1.setLocation(rng.nextInt(width), height - 1);
+                    p2.setLocation(width, rng.nextInt(height));
                     markSides(p1, p2, sideB, sideA, elevationMap, height);
                     markRect(0, p1.x, sideA, elevationMap, height);
                     break;
                 case 3: /* left to right border */
-                    p1.setLocation(0, Compute.randomInt(height));
-                    p2.setLocation(width, Compute.randomInt(height));
+                    p1.setLocation(0, rng.nextInt(height));
+                    p2.setLocation(width, rng.nextInt(height));
                     markSides(p1, p2, sideA, sideB, elevationMap, height);
                     break;
                 case 4: /* left to lower border */
-                    p1.setLocation(0, Compute.randomInt(height));
-                    p2.setLocation(Compute.randomInt(width), 0);
+                    p1.setLocation(0, rng.nextInt(height));
+                    p2.setLocation(rng.nextInt(width), 0);
                     markSides(p1, p2, sideB, sideA, elevationMap, height);
                     markRect(p2.x, width, sideB, elevationMap, height);
                     break;
                 case 5: /* lower to right border */
-                    p1.setLocation(Compute.randomInt(width), 0);
-                    p2.setLocation(width, Compute.randomInt(height));
+                    p1.setLocation(rng.nextInt(width), 0);
+                    p2.setLocation(width, rng.nextInt(height));
                     markSides(p1, p2, sideB, sideA, elevationMap, height);
                     markRect(0, p1.x, sideB, elevationMap, height);
                     break;
@@ -1495,7 +1511,7 @@ public class BoardUtilities {
      * midpoint algorithm for landscape generartion
      */
     protected static void midPoint(int hilliness, int width, int height,
-            int elevationMap[][]) {
+            int elevationMap[][], Random rng) {
         int size;
         int steps = 1;
         int tmpElevation[][];
@@ -1519,7 +1535,7 @@ public class BoardUtilities {
         }
         for (int i = steps; i > 0; i--) {
             midPointStep((double) hilliness / 100, size, 100, tmpElevation, i,
-                    true);
+                    true, rng);
         }
         for (int w = 0; w < width; w++) {
             for (int h = 0; h < height; h++) {
@@ -1532,7 +1548,7 @@ public class BoardUtilities {
      * Helper function for landscape generation
      */
     protected static void midPointStep(double fracdim, int size, int delta,
-            int elevationMap[][], int step, boolean newBorder) {
+            int elevationMap[][], int step, boolean newBorder, Random rng) {
         int d1, d2;
         int delta5;
         int x, y;
@@ -1548,7 +1564,7 @@ public class BoardUtilities {
             do {
                 elevationMap[x][y] = middleValue(elevationMap[x + d2][y + d2],
                         elevationMap[x + d2][y - d2], elevationMap[x - d2][y
-                                + d2], elevationMap[x - d2][y - d2], delta5);
+                                + d2], elevationMap[x - d2][y - d2], delta5, rng);
                 y += d1;
             } while (y < size - d2);
             x += d1;
@@ -1561,22 +1577,22 @@ public class BoardUtilities {
             do {
                 y = x;
                 elevationMap[0][x] = middleValue(elevationMap[0][x + d2],
-                        elevationMap[0][x - d2], elevationMap[d2][x], delta5);
+                        elevationMap[0][x - d2], elevationMap[d2][x], delta5, rng);
                 elevationMap[size][x] = middleValue(elevationMap[size - 1][x
                         + d2], elevationMap[size - 1][x - d2],
-                        elevationMap[size - d2 - 1][x], delta5);
+                        elevationMap[size - d2 - 1][x], delta5, rng);
                 y = 0;
                 elevationMap[x][0] = middleValue(elevationMap[x + d2][0],
-                        elevationMap[x - d2][0], elevationMap[x][d2], delta5);
+                        elevationMap[x - d2][0], elevationMap[x][d2], delta5, rng);
                 elevationMap[x][size] = middleValue(
                         elevationMap[x + d2][size - 1],
                         elevationMap[x - d2][size - 1], elevationMap[x][size
-                                - d2 - 1], delta5);
+                                - d2 - 1], delta5, rng);
                 x += d1;
             } while (x < size - d2);
         }
-        diagMid(new Point(d2, d1), d1, d2, delta5, size, elevationMap);
-        diagMid(new Point(d1, d2), d1, d2, delta5, size, elevationMap);
+        diagMid(new Point(d2, d1), d1, d2, delta5, size, elevationMap, rng);
+        diagMid(new Point(d1, d2), d1, d2, delta5, size, elevationMap, rng);
     }
 
     /**
@@ -1585,7 +1601,7 @@ public class BoardUtilities {
      * @param p Starting point.
      */
     protected static void diagMid(Point p, int d1, int d2, int delta, int size,
-            int elevationMap[][]) {
+            int elevationMap[][], Random rng) {
         int x = p.x;
         int y;
         int hx = x + d2;
@@ -1597,7 +1613,7 @@ public class BoardUtilities {
             while ((y < size - d2) && (hy < size)) {
                 elevationMap[x][y] = middleValue(elevationMap[x][hy],
                         elevationMap[x][y - d2], elevationMap[hx][y],
-                        elevationMap[x - d2][y], delta);
+                        elevationMap[x - d2][y], delta, rng);
                 y += d1;
                 hy = y + d2;
             }
@@ -1610,8 +1626,8 @@ public class BoardUtilities {
      * calculates the arithmetic medium of 3 values and add random value in
      * range of delta.
      */
-    protected static int middleValue(int a, int b, int c, int delta) {
-        int result = (((a + b + c) / 3) + normRNG(delta));
+    protected static int middleValue(int a, int b, int c, int delta, Random rng) {
+        int result = (((a + b + c) / 3) + normRNG(delta, rng));
         return result;
     }
 
@@ -1619,8 +1635,8 @@ public class BoardUtilities {
      * calculates the arithmetic medium of 4 values and add random value in
      * range of delta.
      */
-    protected static int middleValue(int a, int b, int c, int d, int delta) {
-        int result = (((a + b + c + d) / 4) + normRNG(delta));
+    protected static int middleValue(int a, int b, int c, int d, int delta, Random rng) {
+        int result = (((a + b + c + d) / 4) + normRNG(delta, rng));
         return result;
     }
 
@@ -1632,10 +1648,10 @@ public class BoardUtilities {
      * @return Random number, most times in the range -factor .. +factor, at
      *         most in the range of -3*factor .. +3*factor.
      */
-    private static int normRNG(int factor) {
+    private static int normRNG(int factor, Random rng) {
         factor++;
-        return (2 * (Compute.randomInt(factor) + Compute.randomInt(factor) + Compute
-                .randomInt(factor)) - 3 * (factor - 1)) / 32;
+        return (2 * (rng.nextInt(factor) + rng.nextInt(factor) + rng
+                .nextInt(factor)) - 3 * (factor - 1)) / 32;
     }
 
     /**
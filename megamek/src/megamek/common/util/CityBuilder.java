@@ -17,10 +17,10 @@ package megamek.common.util;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Vector;
 
 import megamek.common.Building;
-import megamek.common.Compute;
 import megamek.common.Coords;
 import megamek.common.IBoard;
 import megamek.common.IHex;
@@ -47,13 +47,19 @@ public class CityBuilder {
     private MapSettings mapSettings;
     private IBoard board;
     private HashSet<Coords> cityPlan;
+    private final Random rng;
 
     public CityBuilder(MapSettings mapSettings, IBoard board) {
-        super();
-        // Auto-generated constructor stub
+        this(mapSettings, board, new Random());
+    }
 
+    /**
+     * @param rng The source of all random choices made while building the city
+     */
+    public CityBuilder(MapSettings mapSettings, IBoard board, Random rng) {
         this.mapSettings = mapSettings;
         this.board = board;
+        this.rng = rng;
     }
 
     /**
@@ -119,15 +125,15 @@ public class CityBuilder {
                             * distance * distance));
                 }
 
-                if (Compute.randomInt(100) > localdensity) {
+                if (rng.nextInt(100) > localdensity) {
                     continue; // empty lot
                 }
                 coordList = new ArrayList<Coords>();
                 coordList.add(coord);
                 buildingUsed.add(coord);
-                while (Compute.randomInt(100) < localdensity) {
+                while (rng.nextInt(100) < localdensity) {
                     // try to make a bigger building!
-                    int dir = Compute.randomInt(6);
+                    int dir = rng.nextInt(6);
                     Coords next = coord.translated(dir);
                     if (cityPlan.contains(next) || buildingUsed.contains(next)
                             || !board.contains(next)
@@ -144,7 +150,7 @@ public class CityBuilder {
                 if (floors <= 0)
                     floors = mapSettings.getCityMinFloors();
                 else
-                    floors = Compute.randomInt(floors + 1)
+                    floors = rng.nextInt(floors + 1)
                             + mapSettings.getCityMinFloors();
 
                 int totalCF = mapSettings.getCityMaxCF()
@@ -153,7 +159,7 @@ public class CityBuilder {
                 if (totalCF <= 0)
                     totalCF = mapSettings.getCityMinCF();
                 else
-                    totalCF = Compute.randomInt(totalCF + 1)
+                    totalCF = rng.nextInt(totalCF + 1)
                             + mapSettings.getCityMinCF();
 
                 int type = getBuildingTypeByCF(totalCF);
@@ -168,22 +174,22 @@ public class CityBuilder {
 
     private void buildGridCity(int maxX, int maxY, int roads) {
         for (int y = 0; y < roads; y++) {
-            int startY = Compute.randomInt(maxY / roads) + ((y * maxY) / roads);
-            // int start = Compute.randomInt(2);
+            int startY = rng.nextInt(maxY / roads) + ((y * maxY) / roads);
+            // int start = rng.nextInt(2);
             Coords coords = new Coords(-1, startY);
-            int roadStyle = Compute.randomInt(2) + 1;
-            int dir = Compute.randomInt(2) + NE;
+            int roadStyle = rng.nextInt(2) + 1;
+            int dir = rng.nextInt(2) + NE;
             buildStraightRoad(coords, dir, roadStyle);
-            startY = Compute.randomInt(maxY / roads) + ((y * maxY) / roads);
+            startY = rng.nextInt(maxY / roads) + ((y * maxY) / roads);
             coords = new Coords(maxX, startY);
-            dir = Compute.randomInt(2) + SW;
+            dir = rng.nextInt(2) + SW;
             buildStraightRoad(coords, dir, roadStyle);
         }
 
         for (int x = 0; x < roads; x++) {
-            int startX = Compute.randomInt(maxX / roads) + (x * (maxX / roads));
+            int startX = rng.nextInt(maxX / roads) + (x * (maxX / roads));
             Coords coords = new Coords(startX, -1);
-            int roadStyle = Compute.randomInt(2) + 1;
+            int roadStyle = rng.nextInt(2) + 1;
             buildStraightRoad(coords, S, roadStyle);
         }
     }
@@ -216,34 +222,34 @@ public class CityBuilder {
         int y = 0;
         for (int dir = 0; dir < roads; dir++) {
             int baseDirection = -1;
-            int roadStyle = Compute.randomInt(2) + 1;
+            int roadStyle = rng.nextInt(2) + 1;
 
             if (dir < 8) {
                 x = midX;
                 y = midY;
-                baseDirection = directions.remove(Compute.randomInt(directions
+                baseDirection = directions.remove(rng.nextInt(directions
                         .size()));
             } else {
-                switch (Compute.randomInt(4)) {
+                switch (rng.nextInt(4)) {
                     case 1:
-                        x = Compute.randomInt(maxX);
+                        x = rng.nextInt(maxX);
                         y = -1;
                         baseDirection = S;
                         break;
                     case 2:
-                        x = Compute.randomInt(maxX);
+                        x = rng.nextInt(maxX);
                         y = maxY;
                         baseDirection = N;
                         break;
                     case 3:
                         x = -1;
-                        y = Compute.randomInt(maxY);
-                        baseDirection = NE + Compute.randomInt(2);
+                        y = rng.nextInt(maxY);
+                        baseDirection = NE + rng.nextInt(2);
                         break;
                     default:
                         x = maxX;
-                        y = Compute.randomInt(maxY);
-                        baseDirection = SW + Compute.randomInt(2);
+                        y = rng.nextInt(maxY);
+                        baseDirection = SW + rng.nextInt(2);
                         break;
                 }
             }
@@ -252,7 +258,7 @@ public class CityBuilder {
             int nextDirection = baseDirection;
             while (coords.getX() >= -1 && coords.getX() <= maxX && coords.getY() >= -1
                    && coords.getY() <= maxY) {
-                int choice = Compute.randomInt(10);
+                int choice = rng.nextInt(10);
 
                 if (board.contains(coords)) {
                     // don't change direction offboard
@@ -391,7 +397,7 @@ public class CityBuilder {
             if (t == null) {
                 addRoad(hex, src.direction(dest), roadStyle);
             } else {
-                t.setExit(src.direction(dest), true);
+                hex.addTerrain(t.withExit(src.direction(dest), true));
             }
         }
     }
@@ -443,7 +449,7 @@ public class CityBuilder {
             // build the bridge
             int exits = (1 << direction) | (1 << ((direction + 3) % 6));
             int cf = mapSettings.getCityMinCF()
-                    + Compute.randomInt(1 + mapSettings.getCityMaxCF()
+                    + rng.nextInt(1 + mapSettings.getCityMaxCF()
                             - mapSettings.getCityMinCF());
 
             for (Enumeration<Coords> e = hexes.elements(); e.hasMoreElements();) {
@@ -514,10 +520,10 @@ public class CityBuilder {
      * turn in it. Map must be at least 3x3.
      */
     private void addGenericRoad() {
-        Coords c = new Coords(Compute.randomInt(board.getWidth()), Compute
-                .randomInt(board.getHeight()));
-        int side0 = Compute.randomInt(6);
-        int side1 = Compute.randomInt(5);
+        Coords c = new Coords(rng.nextInt(board.getWidth()), rng
+                .nextInt(board.getHeight()));
+        int side0 = rng.nextInt(6);
+        int side1 = rng.nextInt(5);
         if (side1 >= side0) {
             side1++;
         }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 - The MegaMek Team. All Rights Reserved.
+ *
+ * This file is part of MegaMek.
+ *
+ * MegaMek is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MegaMek is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MegaMek. If not, see <http://www.gnu.org/licenses/>.
+ */
+package megamek.common.util;
+
+/**
+ * Picks entries from a table of weights in constant expected time, for tables
+ * that are rolled on many times. It works like walking the table and
+ * subtracting each weight from the roll until it is smaller than the next
+ * weight, and so gives the same entry for the same roll, but starts the walk
+ * from a precomputed index near the answer.
+ * <p>
+ * The weights are copied when the sampler is made; it can be shared between
+ * threads.
+ */
+public final class WeightedSampler {
+
+    /** The sum of the weights of each entry and all entries before it */
+    private final double[] cumulative;
+    /** For each of the equally sized slices of the total weight, the first entry that reaches into it */
+    private final int[] guide;
+    private final double total;
+
+    /**
+     * @param weights the weight of each entry; none may be negative
+     */
+    public WeightedSampler(double[] weights) {
+        cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Negative weight " + weights[i] + " at index " + i);
+            }
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        total = sum;
+
+        guide = new int[weights.length];
+        int entry = 0;
+        for (int slice = 0; slice < guide.length; slice++) {
+            final double start = (total * slice) / guide.length;
+            while ((entry < cumulative.length - 1) && (cumulative[entry] <= start)) {
+                entry++;
+            }
+            guide[slice] = entry;
+        }
+    }
+
+    /**
+     * @param weights the weight of each entry; none may be negative
+     */
+    public WeightedSampler(int[] weights) {
+        this(toDoubles(weights));
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * @return the sum of all weights
+     */
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Finds the entry for a roll between 0 (inclusive) and the total weight
+     * (exclusive): the first entry whose weight, added to the weights before
+     * it, exceeds the roll. Rolls outside that range give the first or last
+     * entry with a weight.
+     *
+     * @param roll the roll
+     * @return the index of the entry, or -1 if the total weight is 0
+     */
+    public int indexOf(double roll) {
+        if (total <= 0) {
+            return -1;
+        }
+        roll = Math.max(roll, 0);
+        int slice = (int) ((roll * guide.length) / total);
+        slice = Math.max(0, Math.min(slice, guide.length - 1));
+        int entry = guide[slice];
+        // rounding can put the roll into the slice after its own
+        while ((entry > 0) && (roll < cumulative[entry - 1])) {
+            entry--;
+        }
+        while ((entry < cumulative.length - 1) && (roll >= cumulative[entry])) {
+            entry++;
+        }
+        // skip back over trailing entries without weight
+        while ((entry > 0) && (cumulative[entry] == cumulative[entry - 1])) {
+            entry--;
+        }
+        return entry;
+    }
+
+    private static double[] toDoubles(int[] weights) {
+        final double[] result = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            result[i] = weights[i];
+        }
+        return result;
+    }
+}
@@ -13,6 +13,8 @@
  */
 package megamek.common.util.generator;
 
+import java.util.Random;
+
 public interface ElevationGenerator {
     /** @return translatable string for the generator name */
     String getName();
@@ -29,4 +31,19 @@ public interface ElevationGenerator {
      * @param elevationMap the target elevation map, indexed as <tt>elevationMap[width][height]</tt>
      */
     void generate(int hilliness, int width, int height, int elevationMap[][]);
+
+    /**
+     * Generate a map of given width and height and put it into the supplied elevation map,
+     * drawing all random values from the given generator. Generators should override this
+     * so that a seeded map comes out the same every time; the default ignores it.
+     *
+     * @param hilliness 1-100
+     * @param width width of the map, in hexes
+     * @param height height of the map, in hexes
+     * @param elevationMap the target elevation map, indexed as <tt>elevationMap[width][height]</tt>
+     * @param rnd the source of random values
+     */
+    default void generate(int hilliness, int width, int height, int elevationMap[][], Random rnd) {
+        generate(hilliness, width, height, elevationMap);
+    }
 }
@@ -44,6 +44,11 @@ public abstract class AmmoWeapon extends Weapon {
      * megamek.common.weapons.Weapon#fire(megamek.common.actions.WeaponAttackAction
      * , megamek.common.IGame)
      */
+    @Override
+    public boolean isToHitIndependentOfOtherAttacks() {
+        return false;
+    }
+
     @Override
     public AttackHandler fire(WeaponAttackAction waa, IGame game, Server server) {
         // Just in case. Often necessary when/if multiple ammo weapons are
@@ -94,7 +94,16 @@ public abstract class Weapon extends WeaponType implements Serializable {
     
 
     public AttackHandler fire(WeaponAttackAction waa, IGame game, Server server) {
-        ToHitData toHit = waa.toHit(game);
+        return fire(waa, game, server, waa.toHit(game));
+    }
+
+    /**
+     * Fires the weapon with a to-hit that was worked out beforehand. Only valid
+     * for weapons that are {@link #isToHitIndependentOfOtherAttacks()
+     * independent of the other attacks}; weapons with ammo need the checks done
+     * by their own <code>fire</code>.
+     */
+    public AttackHandler fire(WeaponAttackAction waa, IGame game, Server server, ToHitData toHit) {
         // FIXME: SUPER DUPER EVIL HACK: swarm missile handlers must be returned
         // even
         // if the have an impossible to hit, because there might be other
@@ -106,6 +115,16 @@ public abstract class Weapon extends WeaponType implements Serializable {
         return toHit.getValue() == TargetRoll.IMPOSSIBLE ? null : ah;
     }
 
+    /**
+     * @return true if the to-hit of an attack with this weapon can be worked out
+     *         before the attacks declared ahead of it have been fired. This isn't
+     *         the case for weapons with ammo, as the attacks ahead of them may
+     *         use up or switch their ammo.
+     */
+    public boolean isToHitIndependentOfOtherAttacks() {
+        return getAmmoType() == AmmoType.T_NA;
+    }
+
     protected AttackHandler getCorrectHandler(ToHitData toHit,
             WeaponAttackAction waa, IGame game, Server server) {
         return new WeaponHandler(toHit, waa, game, server);
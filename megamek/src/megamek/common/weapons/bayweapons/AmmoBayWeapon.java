@@ -40,6 +40,11 @@ public abstract class AmmoBayWeapon extends BayWeapon {
         super();
     }
 
+    @Override
+    public boolean isToHitIndependentOfOtherAttacks() {
+        return false;
+    }
+
     @Override
     public AttackHandler fire(WeaponAttackAction waa, IGame game, Server server) {
         // Just in case. Often necessary when/if multiple ammo weapons are
@@ -0,0 +1,179 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import megamek.common.Coords;
+import megamek.common.IBoard;
+import megamek.common.IHex;
+import megamek.common.Terrains;
+import megamek.common.event.BoardEvent;
+import megamek.common.event.BoardListenerAdapter;
+
+/**
+ * Keeps track of the hexes on the game board that contain the terrain the
+ * {@link DynamicTerrainProcessor}s work on, so that the end phase doesn't have
+ * to scan the whole board for them.
+ * <p>
+ * Hexes replaced on the board are picked up from board events. The server
+ * changes most terrain in place though, so it also has to tell the tracker about
+ * every hex it sends out to the clients.
+ */
+class ActiveHexTracker extends BoardListenerAdapter {
+
+    /**
+     * The terrain types that are tracked
+     */
+    static final int[] TRACKED_TERRAINS = { Terrains.FIRE, Terrains.SCREEN, Terrains.SWAMP,
+            Terrains.GEYSER, Terrains.ELEVATOR, Terrains.WATER };
+
+    /**
+     * Orders hexes the same way as scanning the board column by column, so
+     * processors visit them in the same order as they used to.
+     */
+    static final Comparator<Coords> BOARD_ORDER = Comparator.comparingInt(Coords::getX)
+            .thenComparingInt(Coords::getY);
+
+    private IBoard board;
+    private final Map<Integer, NavigableSet<Coords>> hexes = new HashMap<>();
+
+    ActiveHexTracker() {
+        for (int terrain : TRACKED_TERRAINS) {
+            hexes.put(terrain, new TreeSet<>(BOARD_ORDER));
+        }
+    }
+
+    /**
+     * Starts tracking the given board, if it isn't the one being tracked already.
+     */
+    void setBoard(IBoard newBoard) {
+        if (newBoard == board) {
+            return;
+        }
+        if (board != null) {
+            board.removeBoardListener(this);
+        }
+        board = newBoard;
+        if (board != null) {
+            board.addBoardListener(this);
+        }
+        rescan();
+    }
+
+    /**
+     * @return the hexes that contain the given terrain type, in board order. The
+     *         list is a copy, so the hexes may be changed while going through it.
+     */
+    List<Coords> getHexes(int terrainType) {
+        final NavigableSet<Coords> tracked = hexes.get(terrainType);
+        if (tracked == null) {
+            throw new IllegalArgumentException("Terrain type " + terrainType + " isn't tracked");
+        }
+        return new ArrayList<>(tracked);
+    }
+
+    /**
+     * @return the hexes that contain any of the given terrain types, in board order
+     */
+    List<Coords> getHexes(int... terrainTypes) {
+        final NavigableSet<Coords> union = new TreeSet<>(BOARD_ORDER);
+        for (int terrainType : terrainTypes) {
+            union.addAll(getHexes(terrainType));
+        }
+        return new ArrayList<>(union);
+    }
+
+    /**
+     * Updates the tracked terrain of a hex that was changed in place.
+     */
+    void hexChanged(Coords coords) {
+        if ((board == null) || (coords == null)) {
+            return;
+        }
+        final IHex hex = board.getHex(coords);
+        for (int terrain : TRACKED_TERRAINS) {
+            if ((hex != null) && hex.containsTerrain(terrain)) {
+                hexes.get(terrain).add(coords);
+            } else {
+                hexes.get(terrain).remove(coords);
+            }
+        }
+    }
+
+    void hexesChanged(Collection<Coords> changed) {
+        for (Coords coords : changed) {
+            hexChanged(coords);
+        }
+    }
+
+    /**
+     * @return true if the tracked hexes are the same as those found by scanning
+     *         the whole board; for checking that no terrain change was missed
+     */
+    boolean isUpToDate() {
+        final Map<Integer, NavigableSet<Coords>> scanned = new HashMap<>();
+        for (int terrain : TRACKED_TERRAINS) {
+            scanned.put(terrain, new TreeSet<>(BOARD_ORDER));
+        }
+        scan(scanned);
+        return scanned.equals(hexes);
+    }
+
+    private void rescan() {
+        for (NavigableSet<Coords> tracked : hexes.values()) {
+            tracked.clear();
+        }
+        scan(hexes);
+    }
+
+    private void scan(Map<Integer, NavigableSet<Coords>> found) {
+        if (board == null) {
+            return;
+        }
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                final IHex hex = board.getHex(x, y);
+                for (int terrain : TRACKED_TERRAINS) {
+                    if (hex.containsTerrain(terrain)) {
+                        found.get(terrain).add(new Coords(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void boardNewBoard(BoardEvent b) {
+        rescan();
+    }
+
+    @Override
+    public void boardChangedHex(BoardEvent b) {
+        hexChanged(b.getCoords());
+    }
+
+    @Override
+    public void boardChangedAllHexes(BoardEvent b) {
+        rescan();
+    }
+}
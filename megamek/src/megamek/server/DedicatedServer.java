@@ -23,7 +23,7 @@ import megamek.common.util.AbstractCommandLineParser;
 public class DedicatedServer {
     private static final String INCORRECT_ARGUMENTS_MESSAGE = "Incorrect arguments:";
     private static final String ARGUMENTS_DESCRIPTION_MESSAGE = "Arguments syntax:\n\t "
-            + "[-password <pass>] [-port <port>] [<saved game>]";
+            + "[-password <pass>] [-port <port>] [-metrics <seconds>] [-rooms <count>] [-seed <seed>] [-archivereports] [<saved game>]";
 
     public static void start(String[] args) {
         CommandLineParser cp = new CommandLineParser(args);
@@ -41,6 +41,10 @@ public class DedicatedServer {
 
             // kick off a RNG check
             megamek.common.Compute.d6();
+            if (cp.getMaxRooms() > 0) {
+                startRooms(cp, password, usePort, saveGameFileName);
+                return;
+            }
             // start server
             Server dedicated;
             try {
@@ -56,12 +60,61 @@ public class DedicatedServer {
             if (null != saveGameFileName) {
                 dedicated.loadGame(new File(saveGameFileName));
             }
+            if (cp.getSeed() != null) {
+                dedicated.setRandomSeed(cp.getSeed());
+            }
+            if (cp.getMetricsInterval() > 0) {
+                dedicated.setMetricsReportInterval(cp.getMetricsInterval());
+            }
+            if (cp.archiveReports()) {
+                dedicated.setReportArchiveDirectory(getLogDirectory());
+            }
         } catch (AbstractCommandLineParser.ParseException e) {
             MegaMek.getLogger().error(INCORRECT_ARGUMENTS_MESSAGE + e.getMessage() + '\n'
                             + ARGUMENTS_DESCRIPTION_MESSAGE);
         }
     }
 
+    /**
+     * Starts a server that hosts up to the given number of games on the port.
+     * The saved game, if any, is loaded into the default room.
+     */
+    private static void startRooms(CommandLineParser cp, String password, int usePort,
+                                   String saveGameFileName) {
+        if (password == null || password.length() == 0) {
+            password = PreferenceManager.getClientPreferences().getLastServerPass();
+        }
+        if (!cp.getAnnounceUrl().equals("")) {
+            MegaMek.getLogger().warning("Game rooms are not announced to the server browser");
+        }
+        MultiGameServer host;
+        try {
+            host = new MultiGameServer(password, usePort, cp.getMaxRooms());
+        } catch (IOException ex) {
+            MegaMek.getLogger().error("Error: could not start server at localhost" + ":" + usePort + " ("
+                    + ex.getMessage() + ").");
+            return;
+        }
+        if (cp.archiveReports()) {
+            host.setReportArchiveDirectory(getLogDirectory());
+        }
+        Server lobby = host.getRoom(MultiGameServer.DEFAULT_ROOM);
+        if (null != saveGameFileName) {
+            lobby.loadGame(new File(saveGameFileName));
+        }
+        if (cp.getSeed() != null) {
+            // every room rolls with a generator of its own
+            lobby.setRandomSeed(cp.getSeed());
+        }
+        if (cp.getMetricsInterval() > 0) {
+            host.setMetricsReportInterval(cp.getMetricsInterval());
+        }
+    }
+
+    private static File getLogDirectory() {
+        return new File(PreferenceManager.getClientPreferences().getLogDirectory());
+    }
+
     public static void main(String[] args) {
         start(args);
     }
@@ -71,11 +124,19 @@ public class DedicatedServer {
         private int port;
         private String password;
         private String announceUrl = "";
+        private int metricsInterval;
+        private int maxRooms;
+        private Long seed;
+        private boolean archiveReports;
 
         // Options
         private static final String OPTION_PORT = "port";
         private static final String OPTION_PASSWORD = "password";
         private static final String OPTION_ANNOUNCE = "announce";
+        private static final String OPTION_METRICS = "metrics";
+        private static final String OPTION_ROOMS = "rooms";
+        private static final String OPTION_SEED = "seed";
+        private static final String OPTION_ARCHIVE_REPORTS = "archivereports";
 
         public CommandLineParser(String[] args) {
             super(args);
@@ -101,6 +162,38 @@ public class DedicatedServer {
             return announceUrl;
         }
 
+        /**
+         *
+         * @return the interval in seconds between metrics reports or <code>0</code> if it wasn't set
+         */
+        public int getMetricsInterval() {
+            return metricsInterval;
+        }
+
+        /**
+         *
+         * @return the number of games to host or <code>0</code> if it wasn't set
+         */
+        public int getMaxRooms() {
+            return maxRooms;
+        }
+
+        /**
+         *
+         * @return the seed of the RNG or <code>null</code> if it wasn't set
+         */
+        public Long getSeed() {
+            return seed;
+        }
+
+        /**
+         *
+         * @return true if the reports of completed rounds should be kept in the log directory
+         */
+        public boolean archiveReports() {
+            return archiveReports;
+        }
+
         /**
          *
          * @return the game file name option value or <code>null</code> if it wasn't set
@@ -128,6 +221,21 @@ public class DedicatedServer {
                             nextToken();
                             parsePassword();
                             break;
+                        case OPTION_METRICS:
+                            nextToken();
+                            parseMetricsInterval();
+                            break;
+                        case OPTION_ROOMS:
+                            nextToken();
+                            parseMaxRooms();
+                            break;
+                        case OPTION_SEED:
+                            nextToken();
+                            parseSeed();
+                            break;
+                        case OPTION_ARCHIVE_REPORTS:
+                            archiveReports = true;
+                            break;
                     }
                     break;
                 case TOK_LITERAL:
@@ -169,6 +277,48 @@ public class DedicatedServer {
             }
         }
         
+        private void parseMetricsInterval() throws ParseException {
+            if (getToken() == TOK_LITERAL) {
+                try {
+                    metricsInterval = Integer.parseInt(getTokenValue());
+                } catch (NumberFormatException e) {
+                    throw new ParseException("invalid metrics interval");
+                }
+                if (metricsInterval < 0) {
+                    throw new ParseException("invalid metrics interval");
+                }
+            } else {
+                throw new ParseException("metrics interval expected");
+            }
+        }
+
+        private void parseMaxRooms() throws ParseException {
+            if (getToken() == TOK_LITERAL) {
+                try {
+                    maxRooms = Integer.parseInt(getTokenValue());
+                } catch (NumberFormatException e) {
+                    throw new ParseException("invalid room count");
+                }
+                if (maxRooms < 1) {
+                    throw new ParseException("invalid room count");
+                }
+            } else {
+                throw new ParseException("room count expected");
+            }
+        }
+
+        private void parseSeed() throws ParseException {
+            if (getToken() == TOK_LITERAL) {
+                try {
+                    seed = Long.decode(getTokenValue());
+                } catch (NumberFormatException e) {
+                    throw new ParseException("invalid RNG seed");
+                }
+            } else {
+                throw new ParseException("RNG seed expected");
+            }
+        }
+
         private void parsePassword() throws ParseException {
             if (getToken() == TOK_LITERAL) {
                 password = getTokenValue();
@@ -79,24 +79,17 @@ public class ElevatorProcessor extends DynamicTerrainProcessor {
 
     private void findElevators() {
         IBoard b = server.getGame().getBoard();
-        int height = b.getHeight();
-        int width = b.getWidth();
         int exits = 0;
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (b.getHex(x, y).containsTerrain(Terrains.ELEVATOR)) {
-                    exits = b.getHex(x, y).getTerrain(Terrains.ELEVATOR)
-                            .getExits();
-                    // add the elevator to each list it belongs in.
-                    // exits are abused to hold which d6 roll(s) move this
-                    // elevator
-                    for (int z = 0; z < 6; z++) {
-                        if ((exits & 1) == 1) {
-                            elevators[z].positions.add(new Coords(x, y));
-                        }
-                        exits >>= 1;
-                    }
+        for (Coords c : server.getActiveHexes().getHexes(Terrains.ELEVATOR)) {
+            exits = b.getHex(c).getTerrain(Terrains.ELEVATOR).getExits();
+            // add the elevator to each list it belongs in.
+            // exits are abused to hold which d6 roll(s) move this
+            // elevator
+            for (int z = 0; z < 6; z++) {
+                if ((exits & 1) == 1) {
+                    elevators[z].positions.add(c);
                 }
+                exits >>= 1;
             }
         }
     }
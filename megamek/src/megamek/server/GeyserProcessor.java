@@ -20,7 +20,6 @@ import java.util.Vector;
 import megamek.common.Compute;
 import megamek.common.Coords;
 import megamek.common.Entity;
-import megamek.common.IBoard;
 import megamek.common.IHex;
 import megamek.common.ITerrainFactory;
 import megamek.common.Report;
@@ -94,15 +93,8 @@ public class GeyserProcessor extends DynamicTerrainProcessor {
     }
 
     private void findGeysers() {
-        IBoard b = server.getGame().getBoard();
-        int height = b.getHeight();
-        int width = b.getWidth();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (b.getHex(x, y).containsTerrain(Terrains.GEYSER)) {
-                    geysers.add(new GeyserInfo(new Coords(x, y)));
-                }
-            }
+        for (Coords c : server.getActiveHexes().getHexes(Terrains.GEYSER)) {
+            geysers.add(new GeyserInfo(c));
         }
     }
 
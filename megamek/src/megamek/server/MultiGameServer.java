@@ -0,0 +1,332 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+
+import megamek.MegaMek;
+import megamek.common.net.ConnectionFactory;
+import megamek.common.net.ConnectionListenerAdapter;
+import megamek.common.net.DisconnectedEvent;
+import megamek.common.net.IConnection;
+import megamek.common.net.Packet;
+import megamek.common.net.PacketReceivedEvent;
+
+/**
+ * Hosts several independent games in one process, behind one port.
+ * <p>
+ * Each game room is a {@link Server} of its own, with its own game, lock and
+ * packet pump; what the rooms share is the static data of the process, like
+ * the equipment types, the unit cache and the boards.
+ * <p>
+ * A client picks its room with the name it connects with: a player named
+ * <code>Name@room</code> joins the room <code>room</code>, which is opened if it
+ * doesn't exist yet. Players without a room in their name join the
+ * {@link #DEFAULT_ROOM}. The name is kept as it is, so a player that reconnects
+ * or is replaced by a bot ends up in the same room again. Rooms other than the
+ * default room are closed once nobody has been connected to them for a while.
+ */
+public class MultiGameServer implements Runnable {
+
+    public static final String DEFAULT_ROOM = "lobby";
+
+    private static final char ROOM_SEPARATOR = '@';
+    private static final int MAX_ROOM_NAME_LENGTH = 32;
+
+    /** Packets a client may send before its name, i.e. its versions. */
+    private static final int MAX_PACKETS_BEFORE_NAME = 4;
+    private static final long PENDING_TIMEOUT = 60 * 1000L;
+    static final long IDLE_ROOM_TIMEOUT = 10 * 60 * 1000L;
+    private static final long REAPER_INTERVAL = 30 * 1000L;
+
+    private final String password;
+    private final int maxRooms;
+    private final ServerSocket serverSocket;
+
+    private final Map<String, Server> rooms = new HashMap<>();
+    private final Map<String, Long> idleSince = new HashMap<>();
+    private final Set<PendingConnection> pending = ConcurrentHashMap.newKeySet();
+
+    private File reportArchiveDirectory;
+    private int metricsReportInterval;
+
+    private volatile Thread connector;
+    private final Timer reaper = new Timer("Game Room Reaper", true);
+    private int connectionCounter;
+
+    /**
+     * Opens the port and the default room and starts accepting clients.
+     *
+     * @param password the password of every room, may be empty
+     * @param port     the port to listen on
+     * @param maxRooms the most rooms that may be open at the same time
+     */
+    public MultiGameServer(String password, int port, int maxRooms) throws IOException {
+        this.password = password;
+        this.maxRooms = Math.max(1, maxRooms);
+        serverSocket = new ServerSocket(port);
+        getRoom(DEFAULT_ROOM, true);
+
+        reaper.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                closeIdle(System.currentTimeMillis());
+            }
+        }, REAPER_INTERVAL, REAPER_INTERVAL);
+
+        MegaMek.getLogger().info("s: hosting up to " + this.maxRooms + " games on port " + getPort());
+        connector = new Thread(this, "Connection Listener");
+        connector.start();
+    }
+
+    /**
+     * @return the port the rooms are reached through
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the room with the given name, or null if it isn't open
+     */
+    public synchronized Server getRoom(String name) {
+        return rooms.get(name);
+    }
+
+    /**
+     * @return the names of the open rooms
+     */
+    public synchronized List<String> getRoomNames() {
+        List<String> names = new ArrayList<>(rooms.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * @return the room with the given name, opening it if allowed, or null if
+     *         there are too many rooms already
+     */
+    private synchronized Server getRoom(String name, boolean open) {
+        Server room = rooms.get(name);
+        if ((null == room) && open && (rooms.size() < maxRooms)) {
+            MegaMek.getLogger().info("s: opening game room " + name);
+            room = new Server(password, this, name);
+            room.setReportArchiveDirectory(reportArchiveDirectory);
+            room.setMetricsReportInterval(metricsReportInterval);
+            rooms.put(name, room);
+        }
+        idleSince.remove(name);
+        return room;
+    }
+
+    /**
+     * Keeps the reports of completed rounds on disk in every room, the open
+     * ones and those opened later.
+     *
+     * @see Server#setReportArchiveDirectory(File)
+     */
+    public synchronized void setReportArchiveDirectory(File directory) {
+        reportArchiveDirectory = directory;
+        for (Server room : rooms.values()) {
+            room.setReportArchiveDirectory(directory);
+        }
+    }
+
+    /**
+     * Reports the metrics of every room, the open ones and those opened later,
+     * each to a file of its own.
+     *
+     * @see Server#setMetricsReportInterval(int)
+     */
+    public synchronized void setMetricsReportInterval(int seconds) {
+        metricsReportInterval = seconds;
+        for (Server room : rooms.values()) {
+            room.setMetricsReportInterval(seconds);
+        }
+    }
+
+    /**
+     * @return the room a player with the given name wants to join
+     */
+    static String getRoomName(String playerName) {
+        if (null == playerName) {
+            return DEFAULT_ROOM;
+        }
+        int separator = playerName.lastIndexOf(ROOM_SEPARATOR);
+        if (separator < 0) {
+            return DEFAULT_ROOM;
+        }
+        String room = playerName.substring(separator + 1).trim();
+        if (room.isEmpty() || (room.length() > MAX_ROOM_NAME_LENGTH)) {
+            return DEFAULT_ROOM;
+        }
+        return room;
+    }
+
+    /**
+     * Listen for incoming clients.
+     */
+    @Override
+    public void run() {
+        Thread currentThread = Thread.currentThread();
+        MegaMek.getLogger().info("s: listening for clients...");
+        while (connector == currentThread) {
+            try {
+                Socket s = serverSocket.accept();
+                int id;
+                synchronized (this) {
+                    id = connectionCounter++;
+                }
+                accept(ConnectionFactory.getInstance().createServerConnection(s, id));
+            } catch (InterruptedIOException ignored) {
+                // ignore , just SOTimeout blowing..
+            } catch (IOException ignored) { }
+        }
+    }
+
+    /**
+     * Greets a new client and holds on to its connection until it says which
+     * room it wants.
+     */
+    void accept(IConnection c) {
+        ConnectionHandler handler = new ConnectionHandler(c);
+        PendingConnection pc = new PendingConnection(c, handler);
+        c.addConnectionListener(pc);
+        c.open();
+        pending.add(pc);
+        new Thread(handler, "Connection " + c.getId()).start();
+
+        // the client replies with its versions and name
+        c.send(new Packet(Packet.COMMAND_SERVER_GREETING));
+    }
+
+    /**
+     * Closes the rooms that nobody has been connected to for a while, and drops
+     * the connections that never said which room they want.
+     *
+     * @param now the current time in milliseconds
+     */
+    void closeIdle(long now) {
+        for (PendingConnection pc : pending) {
+            if ((now - pc.since) > PENDING_TIMEOUT) {
+                pc.connection.close();
+            }
+        }
+
+        List<Server> closed = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, Server> room : rooms.entrySet()) {
+                if (DEFAULT_ROOM.equals(room.getKey()) || room.getValue().hasConnections()) {
+                    idleSince.remove(room.getKey());
+                } else if (!idleSince.containsKey(room.getKey())) {
+                    idleSince.put(room.getKey(), now);
+                } else if ((now - idleSince.get(room.getKey())) > IDLE_ROOM_TIMEOUT) {
+                    MegaMek.getLogger().info("s: closing idle game room " + room.getKey());
+                    closed.add(room.getValue());
+                }
+            }
+            rooms.values().removeAll(closed);
+            idleSince.keySet().retainAll(rooms.keySet());
+        }
+        for (Server room : closed) {
+            room.die();
+        }
+    }
+
+    /**
+     * Shuts down all rooms.
+     */
+    public void die() {
+        connector = null;
+        reaper.cancel();
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        for (PendingConnection pc : pending) {
+            pc.connection.close();
+        }
+        List<Server> closed;
+        synchronized (this) {
+            closed = new ArrayList<>(rooms.values());
+            rooms.clear();
+            idleSince.clear();
+        }
+        for (Server room : closed) {
+            room.die();
+        }
+    }
+
+    /**
+     * Holds on to what a new client sends until it names itself, and then hands
+     * the connection over to the room it asked for.
+     */
+    private class PendingConnection extends ConnectionListenerAdapter {
+        final IConnection connection;
+        final ConnectionHandler handler;
+        final List<Packet> received = new ArrayList<>();
+        final long since = System.currentTimeMillis();
+
+        PendingConnection(IConnection connection, ConnectionHandler handler) {
+            this.connection = connection;
+            this.handler = handler;
+        }
+
+        @Override
+        public void packetReceived(PacketReceivedEvent e) {
+            Packet packet = e.getPacket();
+            if ((packet.getCommand() == Packet.COMMAND_CLOSE_CONNECTION)
+                    || (received.size() >= MAX_PACKETS_BEFORE_NAME)) {
+                connection.close();
+                return;
+            }
+            received.add(packet);
+            if (packet.getCommand() != Packet.COMMAND_CLIENT_NAME) {
+                return;
+            }
+
+            String roomName = getRoomName((String) packet.getObject(0));
+            Server room = getRoom(roomName, true);
+            if (null == room) {
+                MegaMek.getLogger().warning("s: can't open game room " + roomName
+                        + ", there are " + maxRooms + " rooms already");
+                connection.close();
+                return;
+            }
+            pending.remove(this);
+            connection.removeConnectionListener(this);
+            room.adoptConnection(connection, handler, received);
+        }
+
+        @Override
+        public void disconnected(DisconnectedEvent e) {
+            pending.remove(this);
+            handler.signalStop();
+        }
+    }
+}
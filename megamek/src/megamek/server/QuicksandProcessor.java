@@ -71,34 +71,27 @@ public class QuicksandProcessor extends DynamicTerrainProcessor {
      */
     private void resolveQuicksand() {
         IBoard board = game.getBoard();
-        int width = board.getWidth();
-        int height = board.getHeight();
-        // Cycle through all hexes, checking for screens
+        // Cycle through all swamp hexes, checking for quicksand
         debugTime("resolve quicksand 1", true);
 
-        for (int currentXCoord = 0; currentXCoord < width; currentXCoord++ ) {
+        for (Coords currentCoords : server.getActiveHexes().getHexes(Terrains.SWAMP)) {
+            IHex currentHex = board.getHex(currentCoords);
 
-            for (int currentYCoord = 0; currentYCoord < height; currentYCoord++) {
-                Coords currentCoords = new Coords(currentXCoord, currentYCoord);
-                IHex currentHex = board.getHex(currentXCoord, currentYCoord);
-
-                //check for quicksand that has been around at least one turn
-                if(currentHex.terrainLevel(Terrains.SWAMP) == 3) {
-                    //sink any units that occupy this hex
-                    for (Entity entity : game.getEntitiesVector(currentCoords)) {
-                        if(entity.isStuck()) {
-                            server.doSinkEntity(entity);
-                        }
+            //check for quicksand that has been around at least one turn
+            if(currentHex.terrainLevel(Terrains.SWAMP) == 3) {
+                //sink any units that occupy this hex
+                for (Entity entity : game.getEntitiesVector(currentCoords)) {
+                    if(entity.isStuck()) {
+                        server.doSinkEntity(entity);
                     }
                 }
-                // check for any quicksand created this turn
-                else if (currentHex.terrainLevel(Terrains.SWAMP) == 2){
-                    currentHex.removeTerrain(Terrains.SWAMP);
-                    currentHex.addTerrain(Terrains.getTerrainFactory().createTerrain(Terrains.SWAMP, 3));
-                    server.getHexUpdateSet().add(currentCoords);
-                }
             }
-
+            // check for any quicksand created this turn
+            else if (currentHex.terrainLevel(Terrains.SWAMP) == 2){
+                currentHex.removeTerrain(Terrains.SWAMP);
+                currentHex.addTerrain(Terrains.getTerrainFactory().createTerrain(Terrains.SWAMP, 3));
+                server.getHexUpdateSet().add(currentCoords);
+            }
         }
         debugTime("resolve quicksand 1 end", true);
     }
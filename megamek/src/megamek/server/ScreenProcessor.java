@@ -70,31 +70,24 @@ public class ScreenProcessor extends DynamicTerrainProcessor {
      */
     private void resolveScreen() {
         IBoard board = game.getBoard();
-        int width = board.getWidth();
-        int height = board.getHeight();
-        // Cycle through all hexes, checking for screens
+        // Cycle through all screened hexes
         debugTime("resolve screen 1", true);
 
-        for (int currentXCoord = 0; currentXCoord < width; currentXCoord++ ) {
+        for (Coords currentCoords : server.getActiveHexes().getHexes(Terrains.SCREEN)) {
+            IHex currentHex = board.getHex(currentCoords);
 
-            for (int currentYCoord = 0; currentYCoord < height; currentYCoord++) {
-                Coords currentCoords = new Coords(currentXCoord, currentYCoord);
-                IHex currentHex = board.getHex(currentXCoord, currentYCoord);
+            // check for existence of screen
+            if (currentHex.containsTerrain(Terrains.SCREEN)){
 
-                // check for existence of screen
-                if (currentHex.containsTerrain(Terrains.SCREEN)){
+                if(Compute.d6(2)>6) {
+                    Report r = new Report(9075, Report.PUBLIC);
+                    r.add(currentCoords.getBoardNum());
+                    vPhaseReport.addElement(r);
 
-                    if(Compute.d6(2)>6) {
-                        Report r = new Report(9075, Report.PUBLIC);
-                        r.add(currentCoords.getBoardNum());
-                        vPhaseReport.addElement(r);
-
-                        currentHex.removeTerrain(Terrains.SCREEN);
-                        server.getHexUpdateSet().add(currentCoords);
-                    }
+                    currentHex.removeTerrain(Terrains.SCREEN);
+                    server.getHexUpdateSet().add(currentCoords);
                 }
             }
-
         }
         debugTime("resolve screen 1 end", true);
     }
@@ -25,6 +25,7 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -49,7 +50,9 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -102,6 +105,8 @@ import megamek.common.containers.PlayerIDandList;
 import megamek.common.event.GameListener;
 import megamek.common.event.GameVictoryEvent;
 import megamek.common.icons.Camouflage;
+import megamek.common.metrics.MetricTimer;
+import megamek.common.metrics.MetricsRegistry;
 import megamek.common.net.ConnectionFactory;
 import megamek.common.net.ConnectionListenerAdapter;
 import megamek.common.net.DisconnectedEvent;
@@ -152,6 +157,7 @@ import megamek.server.commands.ListSavesCommand;
 import megamek.server.commands.LoadGameCommand;
 import megamek.server.commands.LocalLoadGameCommand;
 import megamek.server.commands.LocalSaveGameCommand;
+import megamek.server.commands.MetricsCommand;
 import megamek.server.commands.NukeCommand;
 import megamek.server.commands.ResetCommand;
 import megamek.server.commands.RollCommand;
@@ -247,10 +253,13 @@ public class Server implements Runnable {
 
         @Override
         public void run() {
+            currentServer.set(Server.this);
             while (!shouldStop) {
                 while (!packetQueue.isEmpty()) {
                     ReceivedPacket rp = packetQueue.poll();
+                    MetricTimer.Context lockWait = metrics.timer("server.serverLockWait").time();
                     synchronized (serverLock) {
+                        lockWait.stop();
                         handle(rp.connId, rp.packet);
                     }
                 }
@@ -295,6 +304,14 @@ public class Server implements Runnable {
 
     private MapSettings mapSettings = MapSettings.getInstance();
 
+    /**
+     * How the current board was built from the board files, so that clients can
+     * build it themselves. Only used while the game still has that board.
+     */
+    private BoardSource boardSource;
+    private IBoard boardSourceBase;
+    private IBoard sourcedBoard;
+
     // commands
     private Hashtable<String, ServerCommand> commandsHash = new Hashtable<>();
 
@@ -315,12 +332,59 @@ public class Server implements Runnable {
 
     private Timer watchdogTimer = new Timer("Watchdog Timer");
 
+    /**
+     * The timings, counters and gauges of this server. A game room has its own,
+     * so that its numbers and resets don't mix with those of the other rooms.
+     */
+    private final MetricsRegistry metrics;
+
+    /**
+     * Periodically logs the metrics and writes them to disk, if enabled.
+     */
+    private Timer metricsReportTimer = null;
+
+    /**
+     * Times the end of the current phase; stopped when the next phase starts.
+     */
+    private MetricTimer.Context endPhaseTiming = null;
+
     private static EntityVerifier entityVerifier;
 
     private ArrayList<int[]> scheduledNukes = new ArrayList<>();
 
     private static Server serverInstance = null;
 
+    /**
+     * The server whose packets the current thread is handling, for the code
+     * that finds the server through {@link #getServerInstance()} while there
+     * are several of them in this process.
+     */
+    private static final ThreadLocal<Server> currentServer = new ThreadLocal<>();
+
+    /**
+     * The host of this server's game room, or null if this server has its own
+     * socket.
+     */
+    private final MultiGameServer roomHost;
+
+    /**
+     * The generator the rolls of this game room are made with, so that rooms
+     * neither share rolls nor replace each other's generator. Null if this
+     * server has its own socket and rolls with the one of {@link Compute}.
+     */
+    private volatile MMRandom roomRNG;
+
+    /**
+     * The directory the reports of completed rounds are archived in, or null
+     * to keep them in memory.
+     */
+    private File reportArchiveDirectory;
+
+    /**
+     * The name of the file in the log directory that the metrics are appended to.
+     */
+    private final String metricsFileName;
+
     private String serverAccessKey = null;
 
     private Timer serverBrowserUpdateTimer = null;
@@ -346,6 +410,16 @@ public class Server implements Runnable {
      */
     private Set<Coords> hexUpdateSet = new LinkedHashSet<>();
 
+    /**
+     * How many rounds of reports are sent in one packet
+     */
+    private static final int REPORT_ROUNDS_PER_PACKET = 10;
+
+    /**
+     * Tracks the hexes with terrain the terrain processors work on.
+     */
+    private final ActiveHexTracker activeHexes = new ActiveHexTracker();
+
     private List<DemolitionCharge> explodingCharges = new ArrayList<>();
 
     private ConnectionListenerAdapter connectionListener = new ConnectionListenerAdapter() {
@@ -364,6 +438,7 @@ public class Server implements Runnable {
                 connections.removeElement(conn);
                 connectionsPending.removeElement(conn);
                 connectionIds.remove(conn.getId());
+                metrics.removeGauges("connection." + conn.getId() + ".");
                 ConnectionHandler ch = connectionHandlers.get(conn.getId());
                 if (ch != null) {
                     ch.signalStop();
@@ -383,6 +458,7 @@ public class Server implements Runnable {
             ReceivedPacket rp = new ReceivedPacket(e.getConnection().getId(),
                     e.getPacket());
             int cmd = e.getPacket().getCommand();
+            metrics.counter("server.packetsReceived").increment();
             // Handled CFR packets specially
             if (cmd == Packet.COMMAND_CLIENT_FEEDBACK_REQUEST) {
                 synchronized (cfrPacketQueue) {
@@ -394,6 +470,7 @@ public class Server implements Runnable {
                     || (cmd == Packet.COMMAND_CLIENT_NAME)
                     || (cmd == Packet.COMMAND_CLIENT_VERSIONS)
                     || (cmd == Packet.COMMAND_CHAT)) {
+                currentServer.set(Server.this);
                 handle(rp.connId, rp.packet);
             } else {
                 synchronized (packetQueue) {
@@ -426,15 +503,39 @@ public class Server implements Runnable {
      */
     public Server(String password, int port, boolean registerWithServerBrowser,
                   String metaServerUrl) throws IOException {
+        this(password, new ServerSocket(port), registerWithServerBrowser, metaServerUrl, null,
+                "server-metrics.json");
+    }
+
+    /**
+     * Creates a game room of a {@link MultiGameServer}. The room has no socket of
+     * its own; the host hands it the connections of its players.
+     *
+     * @param password the password of the room, may be empty
+     * @param host     the server that accepts the connections for the room
+     * @param roomName the name of the room
+     */
+    Server(String password, MultiGameServer host, String roomName) {
+        this(password, null, false, "", host,
+                "server-metrics-" + roomName.replaceAll("[^\\w-]", "_") + ".json");
+    }
+
+    private Server(String password, ServerSocket serverSocket, boolean registerWithServerBrowser,
+                   String metaServerUrl, MultiGameServer roomHost, String metricsFileName) {
         this.metaServerUrl = metaServerUrl;
         this.password = password.length() > 0 ? password : null;
-        // initialize server socket
-        serverSocket = new ServerSocket(port);
+        this.serverSocket = serverSocket;
+        this.roomHost = roomHost;
+        this.metricsFileName = metricsFileName;
+        metrics = (null == roomHost) ? MetricsRegistry.getInstance() : new MetricsRegistry();
 
         motd = createMotd();
 
         game.getOptions().initialize();
         game.getOptions().loadOptions();
+        if (null != roomHost) {
+            setUpRNG();
+        }
 
         changePhase(IGame.Phase.PHASE_LOUNGE);
 
@@ -447,7 +548,7 @@ public class Server implements Runnable {
             sb.append("s: hostname = '");
             sb.append(host);
             sb.append("' port = ");
-            sb.append(serverSocket.getLocalPort());
+            sb.append(getPort());
             sb.append("\n");
             InetAddress[] addresses = InetAddress.getAllByName(host);
             for (InetAddress address : addresses) {
@@ -494,6 +595,7 @@ public class Server implements Runnable {
         registerCommand(new AssignNovaNetServerCommand(this));
         registerCommand(new AllowTeamChangeCommand(this));
         registerCommand(new JoinTeamCommand(this));
+        registerCommand(new MetricsCommand(this));
 
         // register terrain processors
         terrainProcessors.add(new FireProcessor(this));
@@ -508,6 +610,11 @@ public class Server implements Runnable {
         packetPumpThread = new Thread(packetPump, "Packet Pump");
         packetPumpThread.start();
 
+        metrics.registerGauge("server.packetQueue.depth", packetQueue::size);
+        metrics.registerGauge("server.cfrPacketQueue.depth", cfrPacketQueue::size);
+        metrics.registerGauge("server.entities", () -> game.getNoOfEntities());
+        metrics.registerGauge("server.connections", () -> connections.size());
+
         if (registerWithServerBrowser) {
 
             final TimerTask register = new TimerTask() {
@@ -523,10 +630,12 @@ public class Server implements Runnable {
         }
 
         // Fully initialised, now accept connections
-        connector = new Thread(this, "Connection Listener");
-        connector.start();
+        if (null == roomHost) {
+            connector = new Thread(this, "Connection Listener");
+            connector.start();
 
-        serverInstance = this;
+            serverInstance = this;
+        }
     }
 
     /**
@@ -538,7 +647,11 @@ public class Server implements Runnable {
         // game listeners are transient so we need to save and restore them
         Vector<GameListener> gameListenersClone = new Vector<>(getGame().getGameListeners());
 
+        if (game != g) {
+            game.closeReportArchive();
+        }
         game = g;
+        setUpReportArchive();
 
         for (GameListener listener : gameListenersClone) {
             getGame().addGameListener(listener);
@@ -582,7 +695,74 @@ public class Server implements Runnable {
                 ((WeaponHandler) handler).restore();
             }
         }
+        // a saved seeded RNG carries on where it stopped
+        setUpRNG();
+    }
+
+    /**
+     * Uses the RNG type of the game options for all rolls. The seeded RNG is
+     * kept in the game, so it isn't reset when other options change and its
+     * position is saved with the game. A game room only sets up its own
+     * generator, the others keep theirs.
+     */
+    private void setUpRNG() {
+        int type = game.getOptions().intOption(OptionsConstants.BASE_RNG_TYPE);
+        MMRandom generator;
+        if (type != MMRandom.R_SEEDED) {
+            generator = MMRandom.generate(type);
+        } else {
+            if (game.getSeededRandom() == null) {
+                game.setSeededRandom(new MMRandom.SeededRandom(new SecureRandom().nextLong()));
+            }
+            game.getSeededRandom().setRound(game.getRoundCount());
+            generator = game.getSeededRandom();
+        }
+        if (null == roomHost) {
+            Compute.setRNG(generator);
+        } else {
+            roomRNG = generator;
+        }
+    }
 
+    /**
+     * Switches the game to the seeded RNG, starting from the given seed, so that
+     * it can be replayed with the same rolls.
+     */
+    public void setRandomSeed(long seed) {
+        game.getOptions().getOption(OptionsConstants.BASE_RNG_TYPE).setValue(MMRandom.R_SEEDED);
+        game.setSeededRandom(new MMRandom.SeededRandom(seed));
+        setUpRNG();
+    }
+
+    /**
+     * Keeps the reports of completed rounds on disk from now on, in this and
+     * every later game, so a long game doesn't hold them all in memory.
+     *
+     * @param directory the directory to keep them in, or null to keep them in
+     *                  memory
+     */
+    public void setReportArchiveDirectory(File directory) {
+        if (Objects.equals(directory, reportArchiveDirectory)) {
+            return;
+        }
+        reportArchiveDirectory = directory;
+        setUpReportArchive();
+    }
+
+    /**
+     * Keeps the reports of completed rounds on disk, if the server is set up to
+     * archive them, else in memory.
+     */
+    private void setUpReportArchive() {
+        if (null == reportArchiveDirectory) {
+            return;
+        }
+        try {
+            game.setReportArchiveDirectory(reportArchiveDirectory);
+        } catch (IOException e) {
+            MegaMek.getLogger().error("Unable to archive reports in " + reportArchiveDirectory
+                    + ", keeping them in memory", e);
+        }
     }
 
     /**
@@ -592,6 +772,62 @@ public class Server implements Runnable {
         return game;
     }
 
+    /**
+     * Returns the timings, counters and gauges recorded by the server
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts periodically logging the server metrics and appending them to the
+     * metrics file, replacing any previous schedule.
+     *
+     * @param seconds the report interval; 0 stops reporting
+     */
+    public synchronized void setMetricsReportInterval(int seconds) {
+        if (metricsReportTimer != null) {
+            metricsReportTimer.cancel();
+            metricsReportTimer = null;
+        }
+        if (seconds > 0) {
+            final TimerTask report = new TimerTask() {
+                @Override
+                public void run() {
+                    reportMetrics();
+                }
+            };
+            metricsReportTimer = new Timer("Metrics Report Timer", true);
+            metricsReportTimer.schedule(report, seconds * 1000L, seconds * 1000L);
+        }
+    }
+
+    /**
+     * Writes the current metrics to the log and appends them as a single line
+     * of JSON to the metrics file in the log directory.
+     *
+     * @return the metrics file, or <code>null</code> if it could not be written
+     */
+    public File reportMetrics() {
+        for (String line : metrics.getSummary()) {
+            MegaMek.getLogger().info("metrics: " + line);
+        }
+        File logDir = new File(PreferenceManager.getClientPreferences().getLogDirectory());
+        if (!logDir.exists()) {
+            logDir.mkdirs();
+        }
+        File metricsFile = new File(logDir, metricsFileName);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(metricsFile, true),
+                StandardCharsets.UTF_8)) {
+            writer.write(metrics.toJson());
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            MegaMek.getLogger().error("Unable to write " + metricsFile, e);
+            return null;
+        }
+        return metricsFile;
+    }
+
     /**
      * Make a default message o' the day containing the version string, and if
      * it was found, the build timestamp
@@ -643,6 +879,10 @@ public class Server implements Runnable {
      */
     public void die() {
         watchdogTimer.cancel();
+        setMetricsReportInterval(0);
+        metrics.removeGauges("server.");
+        metrics.removeGauges("connection.");
+        game.closeReportArchive();
 
         // kill thread accepting new connections
         connector = null;
@@ -651,9 +891,11 @@ public class Server implements Runnable {
         packetPumpThread = null;
 
         // close socket
-        try {
-            serverSocket.close();
-        } catch (IOException ignored) {
+        if (null != serverSocket) {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+            }
         }
 
         // kill pending connections
@@ -916,7 +1158,7 @@ public class Server implements Runnable {
         // Send the port we're listening on. Only useful for the player
         // on the server machine to check.
         sendServerChat(connId,
-                       "Listening on port " + serverSocket.getLocalPort());
+                       "Listening on port " + getPort());
 
         // Get the player *again*, because they may have disconnected.
         player = getPlayer(connId);
@@ -959,7 +1201,9 @@ public class Server implements Runnable {
             } else {
                 send(connId, new Packet(Packet.COMMAND_ROUND_UPDATE, game.getRoundCount()));
                 send(connId, createBoardPacket());
-                send(connId, createAllReportsPacket(player));
+                // the client asks for the rounds of reports it doesn't have
+                send(connId, new Packet(Packet.COMMAND_SENDING_REPORT_ROUND_COUNT,
+                        game.getReportRoundCount()));
 
                 // Send entities *before* other phase changes.
                 if (doBlind()) {
@@ -1192,7 +1436,12 @@ public class Server implements Runnable {
         if (PreferenceManager.getClientPreferences().stampFilenames()) {
             fileName = StringUtil.addDateTimeStamp(fileName);
         }
-        saveGame(fileName, game.getOptions().booleanOption(OptionsConstants.BASE_AUTOSAVE_MSG));
+        MetricTimer.Context timing = metrics.timer("server.autoSave").time();
+        try {
+            saveGame(fileName, game.getOptions().booleanOption(OptionsConstants.BASE_AUTOSAVE_MSG));
+        } finally {
+            timing.stop();
+        }
     }
 
     /**
@@ -1204,7 +1453,7 @@ public class Server implements Runnable {
      *                   client
      */
     public void sendSaveGame(int connId, String sFile, String sLocalPath) {
-        saveGame(sFile, false);
+        saveGame(sFile, false, true);
         String sFinalFile = sFile;
         if (!sFinalFile.endsWith(".sav.gz")) {
             if (sFinalFile.endsWith(".sav")) {
@@ -1237,6 +1486,20 @@ public class Server implements Runnable {
      *                 saving to the server chat.
      */
     public void saveGame(String sFile, boolean sendChat) {
+        saveGame(sFile, sendChat, false);
+    }
+
+    /**
+     * save the game
+     *
+     * @param sFile     The <code>String</code> filename to use
+     * @param sendChat  A <code>boolean</code> value whether or not to announce
+     *                  the saving to the server chat.
+     * @param forClient A <code>boolean</code> value whether the save is sent to
+     *                  a client, in which case the seeded RNG is left out, as
+     *                  its seed lets the player predict the rolls.
+     */
+    private void saveGame(String sFile, boolean sendChat, boolean forClient) {
         // We need to strip the .gz if it exists,
         // otherwise we'll double up on it.
         if (sFile.endsWith(".gz")) {
@@ -1248,6 +1511,9 @@ public class Server implements Runnable {
         // by using a more efficient means of referencing
         // objects in the XML graph
         xstream.setMode(XStream.ID_REFERENCES);
+        if (forClient) {
+            xstream.omitField(Game.class, "seededRandom");
+        }
 
         String sFinalFile = sFile;
         if (!sFinalFile.endsWith(".sav")) {
@@ -2220,18 +2486,32 @@ public class Server implements Runnable {
      * @param phase the <code>int</code> id of the phase to change to
      */
     private void changePhase(IGame.Phase phase) {
+        if (endPhaseTiming != null) {
+            endPhaseTiming.stop();
+            endPhaseTiming = null;
+        }
         game.setLastPhase(game.getPhase());
         game.setPhase(phase);
 
         // prepare for the phase
-        prepareForPhase(phase);
+        MetricTimer.Context prepareTiming = metrics.timer("server.phase." + phase.name() + ".prepare").time();
+        try {
+            prepareForPhase(phase);
+        } finally {
+            prepareTiming.stop();
+        }
 
         if (isPhasePlayable(phase)) {
             // tell the players about the new phase
             send(new Packet(Packet.COMMAND_PHASE_CHANGE, phase));
 
             // post phase change stuff
-            executePhase(phase);
+            MetricTimer.Context executeTiming = metrics.timer("server.phase." + phase.name() + ".execute").time();
+            try {
+                executePhase(phase);
+            } finally {
+                executeTiming.stop();
+            }
         } else {
             endCurrentPhase();
         }
@@ -2421,11 +2701,7 @@ public class Server implements Runnable {
                 // more important updates when you have 300+ messages of smoke filling
                 // whatever hex. Please don't move it above the other things again.
                 // Thanks! Ralgith - 2018/03/15
-                hexUpdateSet.clear();
-                for (DynamicTerrainProcessor tp : terrainProcessors) {
-                    tp.doEndPhaseChanges(vPhaseReport);
-                }
-                sendChangedHexes(hexUpdateSet);
+                resolveTerrainChanges();
 
                 checkForObservers();
                 transmitAllPlayerUpdates();
@@ -2758,6 +3034,9 @@ public class Server implements Runnable {
      * Ends this phase and moves on to the next.
      */
     private void endCurrentPhase() {
+        // Ending a phase usually starts the next one, so the timing is stopped by changePhase
+        // to keep it from including the following phases.
+        endPhaseTiming = metrics.timer("server.phase." + game.getPhase().name() + ".end").time();
         switch (game.getPhase()) {
             case PHASE_LOUNGE:
                 game.addReports(vPhaseReport);
@@ -3072,6 +3351,9 @@ public class Server implements Runnable {
      */
     private void incrementAndSendGameRound() {
         game.incrementRoundCount();
+        if (null != game.getSeededRandom()) {
+            game.getSeededRandom().setRound(game.getRoundCount());
+        }
         send(new Packet(Packet.COMMAND_ROUND_UPDATE, game.getRoundCount()));
     }
 
@@ -3377,9 +3659,16 @@ public class Server implements Runnable {
         IBoard[] sheetBoards = new IBoard[mapSettings.getMapWidth()
                 * mapSettings.getMapHeight()];
         List<Boolean> rotateBoard = new ArrayList<>();
+        BoardSource source = new BoardSource(mapSettings.getBoardWidth(), mapSettings.getBoardHeight(),
+                mapSettings.getMapWidth(), mapSettings.getMapHeight(), mapSettings.getMedium());
+        boolean sourceUsable = true;
+        // The sheets don't depend on each other, so they are loaded or generated
+        // in parallel below. Each generated sheet gets its own seed, drawn in
+        // sheet order from the game's RNG, so a seeded game gets the same map.
+        MMRandom sheetSeeds = Compute.randomStream("board");
+        List<Supplier<IBoard>> sheetLoaders = new ArrayList<>();
         for (int i = 0; i < (mapSettings.getMapWidth() * mapSettings
                 .getMapHeight()); i++) {
-            sheetBoards[i] = new Board();
             String name = mapSettings.getBoardsSelectedVector().get(i);
             boolean isRotated = false;
             if (name.startsWith(Board.BOARD_REQUEST_ROTATION)) {
@@ -3391,14 +3680,27 @@ public class Server implements Runnable {
             }
             if (name.startsWith(MapSettings.BOARD_GENERATED)
                     || (mapSettings.getMedium() == MapSettings.MEDIUM_SPACE)) {
-                sheetBoards[i] = BoardUtilities.generateRandom(mapSettings);
+                final long seed = ((long) sheetSeeds.randomInt(Integer.MAX_VALUE) << 31)
+                        | sheetSeeds.randomInt(Integer.MAX_VALUE);
+                MegaMek.getLogger().info("s: generating map sheet " + i + " with seed " + seed);
+                sheetLoaders.add(() -> BoardUtilities.generateRandom(mapSettings, seed));
+                source.addGeneratedSheet(isRotated);
             } else {
-                sheetBoards[i].load(new MegaMekFile(Configuration.boardsDir(), name
-                        + ".board").getFile());
-                BoardUtilities.flip(sheetBoards[i], isRotated, isRotated);
+                final File boardFile = new MegaMekFile(Configuration.boardsDir(), name
+                        + ".board").getFile();
+                final boolean flip = isRotated;
+                sheetLoaders.add(() -> {
+                    IBoard sheet = new Board();
+                    sheet.load(boardFile);
+                    BoardUtilities.flip(sheet, flip, flip);
+                    return sheet;
+                });
+                sourceUsable &= source.addSheet(name, isRotated);
             }
             rotateBoard.add(isRotated);
         }
+        IntStream.range(0, sheetBoards.length).parallel()
+                .forEach(i -> sheetBoards[i] = sheetLoaders.get(i).get());
         IBoard newBoard = BoardUtilities.combine(mapSettings.getBoardWidth(),
                 mapSettings.getBoardHeight(), mapSettings.getMapWidth(),
                 mapSettings.getMapHeight(), sheetBoards, rotateBoard,
@@ -3414,6 +3716,10 @@ public class Server implements Runnable {
                     game.getPlanetaryConditions().getWindStrength());
         }
         game.setBoard(newBoard);
+
+        boardSource = source;
+        boardSourceBase = sourceUsable ? source.prepare() : null;
+        sourcedBoard = newBoard;
     }
 
     /**
@@ -6337,8 +6643,8 @@ public class Server implements Runnable {
                     if (!h.containsTerrain(Terrains.WATER)) {
                         h.removeAllTerrains();
                     }
-                    h.addTerrain(new Terrain(Terrains.WATER, crateredElevation,
-                                             false, 0));
+                    h.addTerrain(Terrains.getTerrainFactory().createTerrain(Terrains.WATER,
+                            crateredElevation, false, 0));
                 }
             }
             sendChangedHex(hitCoords);
@@ -14507,30 +14813,89 @@ public class Server implements Runnable {
      * Called during the fire phase to resolve all (and only) weapon attacks
      */
     private void resolveOnlyWeaponAttacks() {
-        // loop through received attack actions, getting attack handlers
+        List<WeaponAttackAction> attacks = new ArrayList<>();
         for (Enumeration<EntityAction> i = game.getActions(); i
                 .hasMoreElements(); ) {
             EntityAction ea = i.nextElement();
             if (ea instanceof WeaponAttackAction) {
                 WeaponAttackAction waa = (WeaponAttackAction) ea;
-                Entity ae = game.getEntity(waa.getEntityId());
-                Mounted m = ae.getEquipment(waa.getWeaponId());
-                Weapon w = (Weapon) m.getType();
                 // Track attacks original target, for things like swarm LRMs
                 waa.setOriginalTargetId(waa.getTargetId());
                 waa.setOriginalTargetType(waa.getTargetType());
-                AttackHandler ah = w.fire(waa, game, this);
-                if (ah != null) {
-                    ah.setStrafing(waa.isStrafing());
-                    ah.setStrafingFirstShot(waa.isStrafingFirstShot());
-                    game.addAttack(ah);
-                }
+                attacks.add(waa);
+            }
+        }
+        final ToHitData[] toHits = precomputeToHits(attacks);
+
+        // get the attack handlers in the order the attacks were declared, as
+        // creating them rolls dice and uses up ammo
+        for (int i = 0; i < attacks.size(); i++) {
+            WeaponAttackAction waa = attacks.get(i);
+            Entity ae = game.getEntity(waa.getEntityId());
+            Mounted m = ae.getEquipment(waa.getWeaponId());
+            Weapon w = (Weapon) m.getType();
+            AttackHandler ah = (toHits[i] == null) ? w.fire(waa, game, this)
+                    : w.fire(waa, game, this, toHits[i]);
+            if (ah != null) {
+                ah.setStrafing(waa.isStrafing());
+                ah.setStrafingFirstShot(waa.isStrafingFirstShot());
+                game.addAttack(ah);
             }
         }
         // and clear the attacks Vector
         game.resetActions();
     }
 
+    /**
+     * Works out the to-hit of the given weapon attacks on all processors, for the
+     * attacks whose to-hit doesn't depend on the ones declared ahead of them.
+     * <p>
+     * The to-hit doesn't roll any dice, but working out that of a unit with BAP
+     * marks the other units of its C3 network as sharing the BAP bonus, which
+     * they only get if they fire after it. The attacks of units with BAP or on a
+     * network with BAP are therefore left to be worked out in order.
+     *
+     * @return the to-hits by the index of their attack, with <code>null</code>
+     *         for the ones that have to be worked out when the attack is fired
+     */
+    ToHitData[] precomputeToHits(List<WeaponAttackAction> attacks) {
+        final ToHitData[] toHits = new ToHitData[attacks.size()];
+        if (attacks.size() < 2) {
+            return toHits;
+        }
+        MetricTimer.Context timing = metrics.timer("server.precomputeToHits").time();
+        try {
+            final boolean[] independent = new boolean[attacks.size()];
+            for (int i = 0; i < attacks.size(); i++) {
+                final WeaponAttackAction waa = attacks.get(i);
+                final Entity ae = game.getEntity(waa.getEntityId());
+                final Mounted m = (ae == null) ? null : ae.getEquipment(waa.getWeaponId());
+                independent[i] = (m != null) && (m.getType() instanceof Weapon)
+                        && ((Weapon) m.getType()).isToHitIndependentOfOtherAttacks()
+                        && !ae.hasBAP() && !ae.hasNetworkBAP()
+                        && game.getC3NetworkMembers(ae).stream().noneMatch(Entity::hasBAP);
+            }
+            IntStream.range(0, attacks.size()).parallel().forEach(i -> {
+                if (!independent[i]) {
+                    return;
+                }
+                final WeaponAttackAction waa = attacks.get(i);
+                // equipment looks up the game options through the server
+                runAs(() -> {
+                    try {
+                        toHits[i] = waa.toHit(game);
+                    } catch (RuntimeException e) {
+                        // leave it to the attack itself, so it fails where it did before
+                        toHits[i] = null;
+                    }
+                });
+            });
+        } finally {
+            timing.stop();
+        }
+        return toHits;
+    }
+
     /**
      * Trigger the indicated AP Pod of the entity.
      *
@@ -15079,7 +15444,7 @@ public class Server implements Runnable {
                 r.subject = entityId;
                 vPhaseReport.add(r);
             }
-            woods.setTerrainFactor(tf);
+            h.addTerrain(woods.withTerrainFactor(tf));
         }
         if (jungle != null) {
             int tf = jungle.getTerrainFactor() - nDamage;
@@ -15121,7 +15486,7 @@ public class Server implements Runnable {
                 r.subject = entityId;
                 vPhaseReport.add(r);
             }
-            jungle.setTerrainFactor(tf);
+            h.addTerrain(jungle.withTerrainFactor(tf));
         }
         if (ice != null) {
             int tf = ice.getTerrainFactor() - nDamage;
@@ -15132,7 +15497,7 @@ public class Server implements Runnable {
                 vPhaseReport.add(r);
                 vPhaseReport.addAll(resolveIceBroken(c));
             } else {
-                ice.setTerrainFactor(tf);
+                h.addTerrain(ice.withTerrainFactor(tf));
             }
         }
         if ((magma != null) && (magma.getLevel() == 1)) {
@@ -15149,7 +15514,7 @@ public class Server implements Runnable {
                     doMagmaDamage(en, false);
                 }
             } else {
-                magma.setTerrainFactor(tf);
+                h.addTerrain(magma.withTerrainFactor(tf));
             }
         }
         sendChangedHex(c);
@@ -24370,15 +24735,9 @@ public class Server implements Runnable {
 
         // This is technically part of cratering, but...
         // Now we destroy all the units inside the cratering range.
-        for (Entity entity : game.getEntitiesVector()) {
-            // loaded units and off board units don't have a position,
-            // so we don't count 'em here
-            if ((entity.getTransportId() != Entity.NONE) || (entity.getPosition() == null)) {
-                continue;
-            }
-
-            // If it's too far away for this...
-            if (position.distance(entity.getPosition()) >= range) {
+        for (Entity entity : game.getEntitiesWithin(position, range - 1)) {
+            // loaded units don't count here
+            if (entity.getTransportId() != Entity.NONE) {
                 continue;
             }
 
@@ -24471,7 +24830,7 @@ public class Server implements Runnable {
                         myHex.removeTerrain(Terrains.WATER);
                         if (oldLevel > numCleared) {
                             myHex.setLevel(myHex.getLevel() - numCleared);
-                            myHex.addTerrain(new Terrain(Terrains.WATER, oldLevel - numCleared));
+                            myHex.addTerrain(Terrains.getTerrainFactory().createTerrain(Terrains.WATER, oldLevel - numCleared));
                         } else {
                             myHex.setLevel(myHex.getLevel() - oldLevel);
                         }
@@ -24481,7 +24840,7 @@ public class Server implements Runnable {
                     if ((damageAtRange >= 200) && (!myHex.containsTerrain(Terrains.WATER))) {
                         myHex.removeAllTerrains();
                         myHex.clearExits();
-                        myHex.addTerrain(new Terrain(Terrains.ROUGH, 1));
+                        myHex.addTerrain(Terrains.getTerrainFactory().createTerrain(Terrains.ROUGH, 1));
                     } else if ((damageAtRange >= 20)
                             && ((myHex.containsTerrain(Terrains.WOODS))
                             || (myHex.containsTerrain(Terrains.JUNGLE)))) {
@@ -24493,9 +24852,9 @@ public class Server implements Runnable {
                         int oldEl = myHex.terrainLevel(Terrains.FOLIAGE_ELEV);
                         myHex.removeTerrain(terrainType);
                         if (oldLevel > numCleared) {
-                            myHex.addTerrain(new Terrain(terrainType, oldLevel - numCleared));
+                            myHex.addTerrain(Terrains.getTerrainFactory().createTerrain(terrainType, oldLevel - numCleared));
                             if (oldEl != 1) {
-                                myHex.addTerrain(new Terrain(Terrains.FOLIAGE_ELEV, 
+                                myHex.addTerrain(Terrains.getTerrainFactory().createTerrain(Terrains.FOLIAGE_ELEV, 
                                         oldLevel - numCleared == 3 ? 3 : 2));
                             }
                         } else {
@@ -24517,10 +24876,9 @@ public class Server implements Runnable {
         }
 
         // Lastly, do secondary effects.
-        for (Entity entity : game.getEntitiesVector()) {
-            // loaded units and off board units don't have a position,
-            // so we don't count 'em here
-            if ((entity.getTransportId() != Entity.NONE) || (entity.getPosition() == null)) {
+        for (Entity entity : game.getEntitiesWithin(position, secondaryRadius)) {
+            // loaded units don't count here
+            if (entity.getTransportId() != Entity.NONE) {
                 continue;
             }
 
@@ -24529,11 +24887,6 @@ public class Server implements Runnable {
                 continue;
             }
 
-            // If it's too far away for this...
-            if (position.distance(entity.getPosition()) > secondaryRadius) {
-                continue;
-            }
-
             // Actually do secondary effects against it.
             // Since the effects are unit-dependant, we'll just define it in the
             // entity.
@@ -29316,12 +29669,9 @@ public class Server implements Runnable {
             if ((eTarget.getECMRange() > 0) && (eTarget.getPosition() != null)) {
                 int ecmRange = eTarget.getECMRange();
                 Coords pos = eTarget.getPosition();
-                for (Entity ent : game.getEntitiesVector()) {
-                    if ((ent.getPosition() != null)
-                        && (pos.distance(ent.getPosition()) <= ecmRange)) {
-                        if (!vCanSee.contains(ent.getOwner())) {
-                            vCanSee.add(ent.getOwner());
-                        }
+                for (Entity ent : game.getEntitiesWithin(pos, ecmRange)) {
+                    if (!vCanSee.contains(ent.getOwner())) {
+                        vCanSee.add(ent.getOwner());
                     }
                 }
             }
@@ -29402,6 +29752,16 @@ public class Server implements Runnable {
      */
     private Vector<IPlayer> whoCanSee(Entity entity, boolean useSensors,
             Map<EntityTargetPair, LosEffects> losCache) {
+        MetricTimer.Context timing = metrics.timer("server.whoCanSee").time();
+        try {
+            return computeWhoCanSee(entity, useSensors, losCache);
+        } finally {
+            timing.stop();
+        }
+    }
+
+    private Vector<IPlayer> computeWhoCanSee(Entity entity, boolean useSensors,
+            Map<EntityTargetPair, LosEffects> losCache) {
         if (losCache == null) {
             losCache = new HashMap<>();
         }
@@ -30667,7 +31027,7 @@ public class Server implements Runnable {
         }
 
         // Set proper RNG
-        Compute.setRNG(game.getOptions().intOption(OptionsConstants.BASE_RNG_TYPE));
+        setUpRNG();
 
         if (changed > 0) {
             for (Entity en : game.getEntitiesVector()) {
@@ -30823,9 +31183,25 @@ public class Server implements Runnable {
     }
 
     /**
-     * Creates a packet containing the game board
+     * Creates a packet containing the game board. If the board was built from
+     * board files, only the source and the hexes that differ from the files are
+     * sent; clients that don't have the same files ask for the whole board.
      */
     private Packet createBoardPacket() {
+        if ((boardSourceBase != null) && (game.getBoard() == sourcedBoard)
+                && (sourcedBoard instanceof Board)) {
+            final Object[] data = new Object[2];
+            data[0] = boardSource;
+            data[1] = ((Board) sourcedBoard).createDelta(boardSourceBase);
+            return new Packet(Packet.COMMAND_SENDING_BOARD_SOURCE, data);
+        }
+        return createFullBoardPacket();
+    }
+
+    /**
+     * Creates a packet containing the whole game board
+     */
+    private Packet createFullBoardPacket() {
         return new Packet(Packet.COMMAND_SENDING_BOARD, game.getBoard());
     }
 
@@ -30845,13 +31221,19 @@ public class Server implements Runnable {
      * Creates a packet containing a Vector of Reports
      */
     private Packet createReportPacket(IPlayer p) {
+        metrics.histogram("server.phaseReport.size").record(vPhaseReport.size());
         // When the final report is created, MM sends a null player to create
         // the
         // report. This will handle that issue.
         if ((p == null) || !doBlind()) {
             return new Packet(Packet.COMMAND_SENDING_REPORTS, vPhaseReport);
         }
-        return new Packet(Packet.COMMAND_SENDING_REPORTS, filterReportVector(vPhaseReport, p));
+        MetricTimer.Context timing = metrics.timer("server.filterReports").time();
+        try {
+            return new Packet(Packet.COMMAND_SENDING_REPORTS, filterReportVector(vPhaseReport, p));
+        } finally {
+            timing.stop();
+        }
     }
 
     /**
@@ -30871,11 +31253,46 @@ public class Server implements Runnable {
     }
 
     /**
-     * Creates a packet containing all the round reports
+     * Sends the reports of the given rounds to a player, a few rounds per
+     * packet so that archived rounds don't all have to be read back at once.
+     */
+    private void sendReports(int connId, IPlayer p, int firstRound, int lastRound) {
+        firstRound = Math.max(1, firstRound);
+        lastRound = Math.min(lastRound, game.getReportRoundCount());
+        for (int round = firstRound; round <= lastRound; round += REPORT_ROUNDS_PER_PACKET) {
+            send(connId, createReportRoundsPacket(p, round,
+                    Math.min(lastRound, (round + REPORT_ROUNDS_PER_PACKET) - 1)));
+        }
+    }
+
+    /**
+     * Creates a packet containing the reports of the given rounds
      */
-    private Packet createAllReportsPacket(IPlayer p) {
-        return new Packet(Packet.COMMAND_SENDING_REPORTS_ALL,
-                filterPastReports(game.getAllReports(), p));
+    private Packet createReportRoundsPacket(IPlayer p, int firstRound, int lastRound) {
+        MetricTimer.Context timing = metrics.timer("server.filterPastReports").time();
+        try {
+            Vector<Vector<Report>> rounds = new Vector<>(lastRound - firstRound + 1);
+            for (int round = firstRound; round <= lastRound; round++) {
+                Vector<Report> roundReports = game.getReports(round);
+                rounds.add((roundReports == null) ? new Vector<>() : roundReports);
+            }
+            final Object[] data = new Object[2];
+            data[0] = firstRound;
+            data[1] = filterPastReports(rounds, p);
+            return new Packet(Packet.COMMAND_SENDING_REPORTS_ROUNDS, data);
+        } finally {
+            timing.stop();
+        }
+    }
+
+    /**
+     * Sends a player the reports of the rounds they asked for.
+     */
+    private void receiveReportsRequest(Packet packet, int connId) {
+        IPlayer player = game.getPlayer(connId);
+        if (player != null) {
+            sendReports(connId, player, packet.getIntValue(0), packet.getIntValue(1));
+        }
     }
 
     /**
@@ -31050,6 +31467,7 @@ public class Server implements Runnable {
      * Sends notification to clients that the specified hex has changed.
      */
     public void sendChangedHex(Coords coords) {
+        getActiveHexes().hexChanged(coords);
         send(createHexChangePacket(coords, game.getBoard().getHex(coords)));
     }
 
@@ -31067,6 +31485,7 @@ public class Server implements Runnable {
      * Sends notification to clients that the specified hex has changed.
      */
     public void sendChangedHexes(Set<Coords> coords) {
+        getActiveHexes().hexesChanged(coords);
         Set<IHex> hexes = new LinkedHashSet<>();
         for (Coords coord : coords) {
             hexes.add(game.getBoard().getHex(coord));
@@ -31302,6 +31721,19 @@ public class Server implements Runnable {
      *            - the <code>Packet</code> to be processed.
      */
     protected void handle(int connId, Packet packet) {
+        if (packet == null) {
+            MegaMek.getLogger().error("Got null packet");
+            return;
+        }
+        MetricTimer.Context timing = metrics.timer("server.handle." + packet.getCommand()).time();
+        try {
+            handlePacket(connId, packet);
+        } finally {
+            timing.stop();
+        }
+    }
+
+    private void handlePacket(int connId, Packet packet) {
         IPlayer player = game.getPlayer(connId);
         // Check player. Please note, the connection may be pending.
         if ((null == player) && (null == getPendingConnection(connId))) {
@@ -31309,10 +31741,6 @@ public class Server implements Runnable {
             return;
         }
 
-        if (packet == null) {
-            MegaMek.getLogger().error("Got null packet");
-            return;
-        }
         // act on it
         switch (packet.getCommand()) {
             case Packet.COMMAND_CLIENT_VERSIONS:
@@ -31338,6 +31766,12 @@ public class Server implements Runnable {
                 send(createPlayerDonePacket(connId));
                 checkReady();
                 break;
+            case Packet.COMMAND_REQUEST_REPORTS:
+                receiveReportsRequest(packet, connId);
+                break;
+            case Packet.COMMAND_REQUEST_BOARD:
+                send(connId, createFullBoardPacket());
+                break;
             case Packet.COMMAND_REROLL_INITIATIVE:
                 receiveInitiativeRerollRequest(packet, connId);
                 // send(createPlayerDonePacket(connId));
@@ -31581,6 +32015,8 @@ public class Server implements Runnable {
 
                     IConnection c = ConnectionFactory.getInstance().createServerConnection(s, id);
                     c.addConnectionListener(connectionListener);
+                    metrics.registerGauge("connection." + id + ".bytesSent", c::bytesSent);
+                    metrics.registerGauge("connection." + id + ".bytesReceived", c::bytesReceived);
                     c.open();
                     connectionsPending.addElement(c);
                     ConnectionHandler ch = new ConnectionHandler(c);
@@ -31598,6 +32034,41 @@ public class Server implements Runnable {
         }
     }
 
+    /**
+     * Takes over a connection that a {@link MultiGameServer} accepted and greeted
+     * for this game room, and handles the packets the client sent so far.
+     *
+     * @param c        the connection
+     * @param handler  the thread that reads from and writes to the connection
+     * @param received the packets received on the connection, in order
+     */
+    void adoptConnection(IConnection c, ConnectionHandler handler, List<Packet> received) {
+        synchronized (serverLock) {
+            int id = getFreeConnectionId();
+            MegaMek.getLogger().info("s: accepting player connection #" + id + "...");
+
+            c.setId(id);
+            c.addConnectionListener(connectionListener);
+            metrics.registerGauge("connection." + id + ".bytesSent", c::bytesSent);
+            metrics.registerGauge("connection." + id + ".bytesReceived", c::bytesReceived);
+            connectionsPending.addElement(c);
+            connectionHandlers.put(id, handler);
+
+            ConnectionWatchdog w = new ConnectionWatchdog(this, id);
+            watchdogTimer.schedule(w, 1000, 500);
+        }
+        for (Packet packet : received) {
+            connectionListener.packetReceived(new PacketReceivedEvent(c, packet));
+        }
+    }
+
+    /**
+     * @return true if any client is connected to this server, or connecting
+     */
+    boolean hasConnections() {
+        return !connections.isEmpty() || !connectionsPending.isEmpty();
+    }
+
     /**
      * Makes one slot of inferno ammo, determined by certain rules, explode on a
      * mech.
@@ -35461,7 +35932,7 @@ public class Server implements Runnable {
      * @return the <code>int</code> this server is listening on
      */
     public int getPort() {
-        return serverSocket.getLocalPort();
+        return (null == roomHost) ? serverSocket.getLocalPort() : roomHost.getPort();
     }
 
     /**
@@ -35474,6 +35945,30 @@ public class Server implements Runnable {
     }
 
     private void handleAttacks(boolean pointblankShot) {
+        MetricTimer.Context timing = metrics.timer("server.handleAttacks").time();
+        try {
+            resolveAttacks(pointblankShot);
+        } finally {
+            timing.stop();
+        }
+    }
+
+    /**
+     * Resolves a single attack, recording how long each kind of attack handler takes.
+     *
+     * @return whether the handler wants to be kept for a later phase
+     */
+    private boolean handleAttack(AttackHandler ah, Vector<Report> handleAttackReports) {
+        MetricTimer.Context timing = metrics.timer("server.attack."
+                + ah.getClass().getSimpleName()).time();
+        try {
+            return ah.handle(game.getPhase(), handleAttackReports);
+        } finally {
+            timing.stop();
+        }
+    }
+
+    private void resolveAttacks(boolean pointblankShot) {
         Report r;
         int lastAttackerId = -1;
         Vector<AttackHandler> currentAttacks, keptAttacks;
@@ -35501,7 +35996,7 @@ public class Server implements Runnable {
                     ah.setAnnouncedEntityFiring(true);
                     lastAttackerId = aId;
                 }
-                boolean keep = ah.handle(game.getPhase(), handleAttackReports);
+                boolean keep = handleAttack(ah, handleAttackReports);
                 if (keep) {
                     keptAttacks.add(ah);
                 }
@@ -35541,7 +36036,7 @@ public class Server implements Runnable {
                     ah.setAnnouncedEntityFiring(true);
                     lastAttackerId = aId;
                 }
-                boolean keep = ah.handle(game.getPhase(), handleAttackReports);
+                boolean keep = handleAttack(ah, handleAttackReports);
                 if (keep) {
                     keptAttacks.add(ah);
                 }
@@ -35562,10 +36057,35 @@ public class Server implements Runnable {
     }
 
     /**
-     * @return the current server instance
+     * @return the server whose packets the current thread is handling, or else
+     *         the last server that was started with its own socket
      */
     public static Server getServerInstance() {
-        return serverInstance;
+        final Server current = currentServer.get();
+        return (null != current) ? current : serverInstance;
+    }
+
+    /**
+     * @return the generator of the game room whose packets the current thread
+     *         is handling, or null if it isn't handling those of a room
+     */
+    public static MMRandom getRoomRNG() {
+        final Server current = currentServer.get();
+        return (null != current) ? current.roomRNG : null;
+    }
+
+    /**
+     * Runs the task on the current thread as if it were handling a packet of
+     * this server, so that it finds this server and rolls with its generator.
+     */
+    void runAs(Runnable task) {
+        final Server previous = currentServer.get();
+        currentServer.set(this);
+        try {
+            task.run();
+        } finally {
+            currentServer.set(previous);
+        }
     }
 
     /**
@@ -35615,7 +36135,13 @@ public class Server implements Runnable {
             IHex nextHex = game.getBoard().getHex(coords);
             if ((nextHex != null) && nextHex.containsTerrain(Terrains.SMOKE)) {
                 nextHex.removeTerrain(Terrains.SMOKE);
-                sendChangedHex(coords);
+                if (game.getPhase() == IGame.Phase.PHASE_END) {
+                    // the terrain processors put the smoke back straight away, so
+                    // only send the hex once they're done
+                    hexUpdateSet.add(coords);
+                } else {
+                    sendChangedHex(coords);
+                }
             }
         }
     }
@@ -35761,4 +36287,29 @@ public class Server implements Runnable {
     public Set<Coords> getHexUpdateSet() {
         return hexUpdateSet;
     }
+
+    /**
+     * Lets the terrain processors change the board at the end of the round, and
+     * sends the changed hexes to the clients.
+     */
+    void resolveTerrainChanges() {
+        hexUpdateSet.clear();
+        for (DynamicTerrainProcessor tp : terrainProcessors) {
+            tp.doEndPhaseChanges(vPhaseReport);
+            // the hexes changed so far are only sent out at the end
+            getActiveHexes().hexesChanged(hexUpdateSet);
+            assert getActiveHexes().isUpToDate() : tp.getClass().getSimpleName()
+                    + " changed the terrain of a hex without updating it";
+        }
+        sendChangedHexes(hexUpdateSet);
+    }
+
+    /**
+     * @return the tracker of hexes with terrain that changes in the end phase,
+     *         following the current game board
+     */
+    ActiveHexTracker getActiveHexes() {
+        activeHexes.setBoard(game.getBoard());
+        return activeHexes;
+    }
 }
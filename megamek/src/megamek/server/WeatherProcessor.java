@@ -14,6 +14,8 @@
  */
 package megamek.server;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
 
 import megamek.common.Coords;
@@ -85,10 +87,7 @@ public class WeatherProcessor extends DynamicTerrainProcessor {
     }
 
     private void resolveWeather() {
-        ITerrainFactory tf = Terrains.getTerrainFactory();
         IBoard board = game.getBoard();
-        int width = board.getWidth();
-        int height = board.getHeight();
         PlanetaryConditions conditions = game.getPlanetaryConditions();
         boolean lightSnow = false;
         boolean deepSnow = false;
@@ -154,111 +153,130 @@ public class WeatherProcessor extends DynamicTerrainProcessor {
             vPhaseReport.addElement(r);
         }
 
-        // Cycle through all hexes, checking for the appropriate weather changes
-        for (int currentXCoord = 0; currentXCoord < width; currentXCoord++ ) {
-            for (int currentYCoord = 0; currentYCoord < height; currentYCoord++) {
-                Coords currentCoords = new Coords(currentXCoord, currentYCoord);
-                IHex currentHex = board.getHex(currentXCoord, currentYCoord);
-
-                //check for fires and potentially put them out
-                if (currentHex.containsTerrain(Terrains.FIRE)) {
-                    //only standard fires get put out
-                    if(currentHex.terrainLevel(Terrains.FIRE) 
-                            == Terrains.FIRE_LVL_NORMAL) {
-                        if(conditions.putOutFire()) {
-                            server.removeFire(currentCoords, "weather conditions");
-                        }
-                    // Downgrade Inferno fires so they can burn out
-                    } else if (currentHex.terrainLevel(Terrains.FIRE) 
-                            == Terrains.FIRE_LVL_INFERNO) {
-                        //inferno fires should become regular fires
-                        currentHex.removeTerrain(Terrains.FIRE);
-                        currentHex.addTerrain(tf.createTerrain(Terrains.FIRE,1));
-                        server.getHexUpdateSet().add(currentCoords);
-                    // Check Inferno Bombs
-                    } else if (currentHex.terrainLevel(Terrains.FIRE) 
-                            == Terrains.FIRE_LVL_INFERNO_BOMB) {
-                        if (currentHex.getFireTurn() > 30) {
-                            server.removeFire(currentCoords, 
-                                    "inferno bomb burning out");
-                        }
-                    }
-                    // Inferno IV doesn't burn out, TO pg 356
+        // Snow covers every hex, otherwise only burning hexes and water can change
+        List<Coords> hexes;
+        if (lightSnow || deepSnow) {
+            hexes = new ArrayList<>(board.getWidth() * board.getHeight());
+            for (int currentXCoord = 0; currentXCoord < board.getWidth(); currentXCoord++) {
+                for (int currentYCoord = 0; currentYCoord < board.getHeight(); currentYCoord++) {
+                    hexes.add(new Coords(currentXCoord, currentYCoord));
                 }
+            }
+        } else if (ice || (conditions.getWindStrength() > PlanetaryConditions.WI_MOD_GALE)) {
+            hexes = server.getActiveHexes().getHexes(Terrains.FIRE, Terrains.WATER);
+        } else {
+            hexes = server.getActiveHexes().getHexes(Terrains.FIRE);
+        }
 
-                if(ice && !currentHex.containsTerrain(Terrains.ICE)
-                        && currentHex.containsTerrain(Terrains.WATER)) {
-                    currentHex.addTerrain(tf.createTerrain(Terrains.ICE, 1));
-                    server.getHexUpdateSet().add(currentCoords);
-                }
+        // Cycle through the hexes, checking for the appropriate weather changes
+        for (Coords currentCoords : hexes) {
+            resolveWeatherInHex(currentCoords, lightSnow, deepSnow, ice);
+        }
+        debugTime("resolve weather 1 end", true);
+    }
 
-                if(lightSnow
-                        && !currentHex.containsTerrain(Terrains.SNOW)
-                        && !(currentHex.containsTerrain(Terrains.WATER) 
-                                && !currentHex.containsTerrain(Terrains.ICE))
-                        && !currentHex.containsTerrain(Terrains.MAGMA)) {
-                    currentHex.addTerrain(tf.createTerrain(Terrains.SNOW, 1));
-                    server.getHexUpdateSet().add(currentCoords);
-                }
+    private void resolveWeatherInHex(Coords currentCoords, boolean lightSnow,
+            boolean deepSnow, boolean ice) {
+        ITerrainFactory tf = Terrains.getTerrainFactory();
+        PlanetaryConditions conditions = game.getPlanetaryConditions();
+        IHex currentHex = game.getBoard().getHex(currentCoords);
 
-                if(deepSnow && !(currentHex.terrainLevel(Terrains.SNOW) > 1)
-                        && !(currentHex.containsTerrain(Terrains.WATER) 
-                                && !currentHex.containsTerrain(Terrains.ICE))
-                        && !currentHex.containsTerrain(Terrains.MAGMA)) {
-                    currentHex.addTerrain(tf.createTerrain(Terrains.SNOW, 2));
-                    server.getHexUpdateSet().add(currentCoords);
+        //check for fires and potentially put them out
+        if (currentHex.containsTerrain(Terrains.FIRE)) {
+            //only standard fires get put out
+            if(currentHex.terrainLevel(Terrains.FIRE) 
+                    == Terrains.FIRE_LVL_NORMAL) {
+                if(conditions.putOutFire()) {
+                    server.removeFire(currentCoords, "weather conditions");
                 }
-
-                //check for the melting of any snow or ice
-                if(currentHex.terrainLevel(Terrains.SNOW) > 1
-                        && currentHex.containsTerrain(Terrains.FIRE) 
-                        && currentHex.getFireTurn() == 3) {
-                    currentHex.removeTerrain(Terrains.SNOW);
-                    if(!currentHex.containsTerrain(Terrains.MUD) 
-                            && !currentHex.containsTerrain(Terrains.WATER)) {
-                        currentHex.addTerrain(tf.createTerrain(Terrains.MUD, 1));
-                    }
+            // Downgrade Inferno fires so they can burn out
+            } else if (currentHex.terrainLevel(Terrains.FIRE) 
+                    == Terrains.FIRE_LVL_INFERNO) {
+                //inferno fires should become regular fires
+                currentHex.removeTerrain(Terrains.FIRE);
+                currentHex.addTerrain(tf.createTerrain(Terrains.FIRE,1));
+                server.getHexUpdateSet().add(currentCoords);
+            // Check Inferno Bombs
+            } else if (currentHex.terrainLevel(Terrains.FIRE) 
+                    == Terrains.FIRE_LVL_INFERNO_BOMB) {
+                if (currentHex.getFireTurn() > 30) {
+                    server.removeFire(currentCoords, 
+                            "inferno bomb burning out");
                 }
+            }
+            // Inferno IV doesn't burn out, TO pg 356
+        }
 
-                if(currentHex.terrainLevel(Terrains.SNOW) == 1
-                        && currentHex.containsTerrain(Terrains.FIRE) 
-                        && currentHex.getFireTurn() == 1) {
-                    currentHex.removeTerrain(Terrains.SNOW);
-                    if(!currentHex.containsTerrain(Terrains.MUD) 
-                            && !currentHex.containsTerrain(Terrains.WATER)) {
-                        currentHex.addTerrain(tf.createTerrain(Terrains.MUD, 1));
-                    }
-                }
+        if(ice && !currentHex.containsTerrain(Terrains.ICE)
+                && currentHex.containsTerrain(Terrains.WATER)) {
+            currentHex.addTerrain(tf.createTerrain(Terrains.ICE, 1));
+            server.getHexUpdateSet().add(currentCoords);
+        }
 
-                if(currentHex.containsTerrain(Terrains.ICE)
-                        && currentHex.containsTerrain(Terrains.FIRE) 
-                        && currentHex.getFireTurn() == 2) {
-                    currentHex.removeTerrain(Terrains.ICE);
-                    if(!currentHex.containsTerrain(Terrains.MUD) 
-                            && !currentHex.containsTerrain(Terrains.WATER)) {
-                        currentHex.addTerrain(tf.createTerrain(Terrains.MUD, 1));
-                    }
-                }
+        if(lightSnow
+                && !currentHex.containsTerrain(Terrains.SNOW)
+                && !(currentHex.containsTerrain(Terrains.WATER) 
+                        && !currentHex.containsTerrain(Terrains.ICE))
+                && !currentHex.containsTerrain(Terrains.MAGMA)) {
+            currentHex.addTerrain(tf.createTerrain(Terrains.SNOW, 1));
+            server.getHexUpdateSet().add(currentCoords);
+        }
+
+        if(deepSnow && !(currentHex.terrainLevel(Terrains.SNOW) > 1)
+                && !(currentHex.containsTerrain(Terrains.WATER) 
+                        && !currentHex.containsTerrain(Terrains.ICE))
+                && !currentHex.containsTerrain(Terrains.MAGMA)) {
+            currentHex.addTerrain(tf.createTerrain(Terrains.SNOW, 2));
+            server.getHexUpdateSet().add(currentCoords);
+        }
 
-                //check for rapids/torrents created by wind
-                //FIXME: This doesn't seem to be doing anything
-                if(conditions.getWindStrength() > PlanetaryConditions.WI_MOD_GALE
-                        && currentHex.containsTerrain(Terrains.WATER) 
-                        && currentHex.depth(true) > 0) {
+        //check for the melting of any snow or ice
+        if(currentHex.terrainLevel(Terrains.SNOW) > 1
+                && currentHex.containsTerrain(Terrains.FIRE) 
+                && currentHex.getFireTurn() == 3) {
+            currentHex.removeTerrain(Terrains.SNOW);
+            if(!currentHex.containsTerrain(Terrains.MUD) 
+                    && !currentHex.containsTerrain(Terrains.WATER)) {
+                currentHex.addTerrain(tf.createTerrain(Terrains.MUD, 1));
+            }
+        }
 
-                    if(conditions.getWindStrength() > PlanetaryConditions.WI_STORM) {
-                        if(!(currentHex.terrainLevel(Terrains.RAPIDS) > 1)) {
-                            currentHex.addTerrain(tf.createTerrain(Terrains.RAPIDS, 2));
-                        }
-                    } else {
-                        if(!currentHex.containsTerrain(Terrains.RAPIDS)) {
-                            currentHex.addTerrain(tf.createTerrain(Terrains.RAPIDS, 1));
-                        }
-                    }
+        if(currentHex.terrainLevel(Terrains.SNOW) == 1
+                && currentHex.containsTerrain(Terrains.FIRE) 
+                && currentHex.getFireTurn() == 1) {
+            currentHex.removeTerrain(Terrains.SNOW);
+            if(!currentHex.containsTerrain(Terrains.MUD) 
+                    && !currentHex.containsTerrain(Terrains.WATER)) {
+                currentHex.addTerrain(tf.createTerrain(Terrains.MUD, 1));
+            }
+        }
+
+        if(currentHex.containsTerrain(Terrains.ICE)
+                && currentHex.containsTerrain(Terrains.FIRE) 
+                && currentHex.getFireTurn() == 2) {
+            currentHex.removeTerrain(Terrains.ICE);
+            if(!currentHex.containsTerrain(Terrains.MUD) 
+                    && !currentHex.containsTerrain(Terrains.WATER)) {
+                currentHex.addTerrain(tf.createTerrain(Terrains.MUD, 1));
+            }
+        }
+
+        //check for rapids/torrents created by wind
+        //FIXME: This doesn't seem to be doing anything
+        if(conditions.getWindStrength() > PlanetaryConditions.WI_MOD_GALE
+                && currentHex.containsTerrain(Terrains.WATER) 
+                && currentHex.depth(true) > 0) {
+
+            if(conditions.getWindStrength() > PlanetaryConditions.WI_STORM) {
+                if(!(currentHex.terrainLevel(Terrains.RAPIDS) > 1)) {
+                    currentHex.addTerrain(tf.createTerrain(Terrains.RAPIDS, 2));
+                }
+            } else {
+                if(!currentHex.containsTerrain(Terrains.RAPIDS)) {
+                    currentHex.addTerrain(tf.createTerrain(Terrains.RAPIDS, 1));
                 }
             }
         }
-        debugTime("resolve weather 1 end", true);
     }
 
 }
@@ -0,0 +1,86 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.server.commands;
+
+import java.io.File;
+
+import megamek.server.Server;
+
+/**
+ * Shows the server's timing and traffic metrics, and controls their periodic
+ * reporting to the log and the metrics file.
+ */
+public class MetricsCommand extends ServerCommand {
+
+    public MetricsCommand(Server server) {
+        super(server, "metrics",
+                "Shows server timings and traffic. Usage: /metrics [reset | dump | log <seconds>]. "
+                        + "dump writes the metrics to the log and the metrics file; "
+                        + "log <seconds> does so periodically, 0 stops it.");
+    }
+
+    @Override
+    public void run(int connId, String[] args) {
+        if (args.length < 2) {
+            for (String line : server.getMetrics().getSummary()) {
+                server.sendServerChat(connId, line);
+            }
+            return;
+        }
+        switch (args[1]) {
+            case "reset":
+                if (!canRunRestrictedCommand(connId)) {
+                    server.sendServerChat(connId, "Observers are restricted from resetting metrics.");
+                    return;
+                }
+                server.getMetrics().reset();
+                server.sendServerChat(connId, "Metrics reset.");
+                break;
+            case "dump":
+                if (!canRunRestrictedCommand(connId)) {
+                    server.sendServerChat(connId, "Observers are restricted from writing the metrics file.");
+                    return;
+                }
+                File metricsFile = server.reportMetrics();
+                if (metricsFile != null) {
+                    server.sendServerChat(connId, "Metrics written to " + metricsFile.getPath());
+                } else {
+                    server.sendServerChat(connId, "Unable to write the metrics file.");
+                }
+                break;
+            case "log":
+                if (!canRunRestrictedCommand(connId)) {
+                    server.sendServerChat(connId, "Observers are restricted from changing metrics logging.");
+                    return;
+                }
+                int seconds;
+                try {
+                    seconds = (args.length > 2) ? Integer.parseInt(args[2]) : -1;
+                } catch (NumberFormatException e) {
+                    seconds = -1;
+                }
+                if (seconds < 0) {
+                    server.sendServerChat(connId, "Usage: /metrics log <seconds>");
+                    return;
+                }
+                server.setMetricsReportInterval(seconds);
+                server.sendServerChat(connId, (seconds == 0) ? "Periodic metrics logging stopped."
+                        : "Logging metrics every " + seconds + " seconds.");
+                break;
+            default:
+                server.sendServerChat(connId, getHelp());
+        }
+    }
+}
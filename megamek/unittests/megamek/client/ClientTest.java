@@ -0,0 +1,100 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+
+import org.junit.Test;
+
+import megamek.common.Report;
+import megamek.common.net.Packet;
+
+public class ClientTest {
+
+    private static Vector<Vector<Report>> rounds(int first, int last) {
+        Vector<Vector<Report>> rounds = new Vector<>();
+        for (int round = first; round <= last; round++) {
+            Vector<Report> reports = new Vector<>();
+            Report r = new Report(1000, Report.PUBLIC);
+            r.add(round);
+            reports.add(r);
+            rounds.add(reports);
+        }
+        return rounds;
+    }
+
+    @Test
+    public void testReportHistoryInChunks() {
+        Client client = new Client("test", "localhost", 0) {
+            @Override
+            protected boolean keepGameLog() {
+                return false;
+            }
+        };
+        client.getGame().setRoundCount(25);
+
+        client.receiveReportRounds(1, rounds(1, 10));
+        assertNull(client.roundReport);
+        client.receiveReportRounds(11, rounds(11, 20));
+        assertNull(client.roundReport);
+        client.receiveReportRounds(21, rounds(21, 25));
+
+        assertTrue(client.getGame().hasReports(12));
+        assertEquals(client.receiveReport(client.getGame().getReports(25)), client.roundReport);
+        assertEquals(client.roundReport, client.phaseReport);
+        assertNotEquals(client.receiveReport(client.getGame().getReports(24)), client.roundReport);
+    }
+
+    @Test
+    public void testRequestsOnlyMissingReports() {
+        final List<Packet> sent = new ArrayList<>();
+        Client client = new Client("test", "localhost", 0) {
+            @Override
+            protected boolean keepGameLog() {
+                return false;
+            }
+
+            @Override
+            protected void send(Packet packet) {
+                sent.add(packet);
+            }
+        };
+        client.getGame().setRoundCount(25);
+
+        // joining a game in progress, the client asks for the whole history once
+        client.handlePacket(new Packet(Packet.COMMAND_SENDING_REPORT_ROUND_COUNT, 25));
+        client.handlePacket(new Packet(Packet.COMMAND_SENDING_REPORT_ROUND_COUNT, 25));
+        assertEquals(1, sent.size());
+        assertEquals(Packet.COMMAND_REQUEST_REPORTS, sent.get(0).getCommand());
+        assertEquals(1, sent.get(0).getIntValue(0));
+        assertEquals(25, sent.get(0).getIntValue(1));
+
+        // reports of a later round don't ask for the rounds already asked for
+        client.getGame().setRoundCount(26);
+        client.handlePacket(new Packet(Packet.COMMAND_SENDING_REPORTS, rounds(26, 26).get(0)));
+        assertEquals(1, sent.size());
+
+        // but a round missed since then is asked for
+        client.getGame().setRoundCount(28);
+        client.handlePacket(new Packet(Packet.COMMAND_SENDING_REPORTS, rounds(28, 28).get(0)));
+        assertEquals(2, sent.size());
+        assertEquals(27, sent.get(1).getIntValue(0));
+        assertEquals(27, sent.get(1).getIntValue(1));
+    }
+}
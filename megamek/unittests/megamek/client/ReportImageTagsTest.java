@@ -0,0 +1,112 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ReportImageTagsTest {
+
+    private final ReportImageTags tags = Mockito.spy(new ReportImageTags());
+    private final Image image = new BufferedImage(84, 72, BufferedImage.TYPE_INT_ARGB);
+    private final Image other = new BufferedImage(84, 72, BufferedImage.TYPE_INT_ARGB);
+
+    @After
+    public void tearDown() {
+        tags.shutdown();
+    }
+
+    @Test
+    public void testUnitsWithTheSameImageShareATag() {
+        tags.setUnitImage(1, image, true);
+        tags.setUnitImage(2, image, false);
+        tags.setUnitImage(3, other, false);
+
+        final String tag = tags.getTag(1);
+        assertTrue(tag.startsWith("<img src='data:image/png;base64,"));
+        assertSame(tag, tags.getTag(2));
+        // the images are equal, but only the same image shares a tag
+        assertNotSame(tag, tags.getTag(3));
+        Mockito.verify(tags, Mockito.times(2)).createTag(Mockito.any(Image.class));
+    }
+
+    @Test
+    public void testUnknownUnitHasNoTag() {
+        assertNull(tags.getTag(1));
+        tags.setUnitImage(1, image, false);
+        tags.setUnitImage(1, null, false);
+        assertNull(tags.getTag(1));
+    }
+
+    @Test(timeout = 10000)
+    public void testClearDropsPendingTags() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("Report-image-tags")) {
+                started.countDown();
+                release.await();
+            }
+            return invocation.callRealMethod();
+        }).when(tags).createTag(Mockito.any(Image.class));
+
+        tags.setUnitImage(1, image, true);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        tags.setUnitImage(2, other, true);
+        tags.clear();
+        assertNull(tags.getTag(1));
+        assertNull(tags.getTag(2));
+
+        // made right away instead of waiting for the dropped one
+        tags.setUnitImage(1, image, false);
+        assertNotNull(tags.getTag(1));
+        release.countDown();
+        Mockito.verify(tags, Mockito.after(500).never()).createTag(other);
+    }
+
+    @Test(timeout = 10000)
+    public void testShutdownStopsPendingTags() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return invocation.callRealMethod();
+        }).when(tags).createTag(Mockito.any(Image.class));
+
+        tags.setUnitImage(1, image, true);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        tags.shutdown();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertNull(tags.getTag(1));
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+
+package megamek.client.bot.princess;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class FiringPlanOptimizerTest {
+    @Test
+    public void testBestUnderHeat() {
+        int[] heat = { 3, 4, 5, 2 };
+        double[] value = { 4.0, 5.0, 7.0, 1.0 };
+
+        // 4 + 5 heat for 12 damage does not fit under 8, so 3 + 5 heat for 11 damage wins
+        assertEquals(Arrays.asList(0, 2), FiringPlanOptimizer.bestUnderHeat(heat, value, 8));
+        assertEquals(Arrays.asList(1, 2), FiringPlanOptimizer.bestUnderHeat(heat, value, 9));
+        assertEquals(Arrays.asList(0, 1, 2, 3), FiringPlanOptimizer.bestUnderHeat(heat, value, 20));
+        assertEquals(Collections.singletonList(3), FiringPlanOptimizer.bestUnderHeat(heat, value, 2));
+        assertTrue(FiringPlanOptimizer.bestUnderHeat(heat, value, 1).isEmpty());
+        assertTrue(FiringPlanOptimizer.bestUnderHeat(heat, value, -1).isEmpty());
+    }
+
+    @Test
+    public void testBestUnderHeatHeatless() {
+        int[] heat = { 0, 6 };
+        double[] value = { 2.0, 9.0 };
+
+        assertEquals(Collections.singletonList(0), FiringPlanOptimizer.bestUnderHeat(heat, value, 5));
+        assertEquals(Arrays.asList(0, 1), FiringPlanOptimizer.bestUnderHeat(heat, value, 6));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.bot.princess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import megamek.common.BipedMech;
+import megamek.common.Coords;
+import megamek.common.EntityMovementType;
+import megamek.common.IBoard;
+import megamek.common.IGame;
+import megamek.common.IHex;
+import megamek.common.Targetable;
+import megamek.common.Terrains;
+import megamek.common.ToHitData;
+import megamek.common.options.GameOptions;
+
+public class ToHitModifierCacheTest {
+
+    private IGame mockGame;
+    private BipedMech mockTarget;
+    private EntityState mockTargetState;
+    private FireControl fireControl;
+
+    @Before
+    public void setUp() {
+        final IHex mockHex = Mockito.mock(IHex.class);
+        Mockito.when(mockHex.terrainLevel(Terrains.WOODS)).thenReturn(2);
+        final IBoard mockBoard = Mockito.mock(IBoard.class);
+        Mockito.when(mockBoard.getHex(Mockito.any(Coords.class))).thenReturn(mockHex);
+        mockGame = Mockito.mock(IGame.class);
+        Mockito.when(mockGame.getOptions()).thenReturn(Mockito.mock(GameOptions.class));
+        Mockito.when(mockGame.getBoard()).thenReturn(mockBoard);
+
+        mockTarget = Mockito.mock(BipedMech.class);
+        Mockito.when(mockTarget.getTargetType()).thenReturn(Targetable.TYPE_ENTITY);
+        Mockito.when(mockTarget.getTargetId()).thenReturn(7);
+
+        mockTargetState = mockState(new Coords(3, 4), 2);
+        fireControl = new FireControl(Mockito.mock(Princess.class));
+    }
+
+    private static EntityState mockState(Coords position, int hexesMoved) {
+        final EntityState state = Mockito.mock(EntityState.class);
+        Mockito.when(state.getPosition()).thenReturn(position);
+        Mockito.when(state.getHexesMoved()).thenReturn(hexesMoved);
+        Mockito.when(state.getMovementType()).thenReturn(EntityMovementType.MOVE_WALK);
+        return state;
+    }
+
+    private Supplier<ToHitData> counting(AtomicInteger count, EntityState state) {
+        return () -> {
+            count.incrementAndGet();
+            return fireControl.guessTargetToHitModifiers(mockTarget, state, mockGame);
+        };
+    }
+
+    @Test
+    public void testCachedTargetModifiersMatchFreshOnes() {
+        final ToHitModifierCache cache = new ToHitModifierCache();
+        final AtomicInteger count = new AtomicInteger();
+
+        final ToHitData cached = cache.getTargetModifiers(mockTarget, mockTargetState,
+                                                          counting(count, mockTargetState));
+        final ToHitData fresh = fireControl.guessTargetToHitModifiers(mockTarget, mockTargetState, mockGame);
+        assertEquals(2, fresh.getValue());
+        assertEquals(fresh.getValue(), cached.getValue());
+        assertEquals(fresh.getDesc(), cached.getDesc());
+
+        // the same target in the same state is looked up, not worked out again
+        assertSame(cached, cache.getTargetModifiers(mockTarget, mockState(new Coords(3, 4), 2),
+                                                    counting(count, mockTargetState)));
+        assertEquals(1, count.get());
+
+        // moving the target changes the key
+        final EntityState moved = mockState(new Coords(3, 4), 5);
+        assertNotSame(cached, cache.getTargetModifiers(mockTarget, moved, counting(count, moved)));
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    public void testClearDropsModifiers() {
+        final ToHitModifierCache cache = new ToHitModifierCache();
+        final AtomicInteger count = new AtomicInteger();
+        final Coords shooterPosition = new Coords(0, 0);
+        final Supplier<ToHitData> los = () -> {
+            count.incrementAndGet();
+            return new ToHitData(1, "woods");
+        };
+
+        final ToHitData target = cache.getTargetModifiers(mockTarget, mockTargetState,
+                                                          counting(count, mockTargetState));
+        final ToHitData line = cache.getLosModifiers(1, shooterPosition, mockTarget, new Coords(3, 4), los);
+        assertSame(line, cache.getLosModifiers(1, shooterPosition, mockTarget, new Coords(3, 4), los));
+        assertEquals(2, count.get());
+
+        cache.clear();
+        assertNotSame(target, cache.getTargetModifiers(mockTarget, mockTargetState,
+                                                       counting(count, mockTargetState)));
+        assertNotSame(line, cache.getLosModifiers(1, shooterPosition, mockTarget, new Coords(3, 4), los));
+        assertEquals(4, count.get());
+    }
+}
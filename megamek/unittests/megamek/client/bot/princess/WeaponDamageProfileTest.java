@@ -0,0 +1,75 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.bot.princess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import megamek.common.Entity;
+import megamek.common.Mounted;
+import megamek.common.WeaponType;
+
+public class WeaponDamageProfileTest {
+
+    private static Mounted mockWeapon(int damage, int rackSize, boolean crippled, int[] ranges) {
+        WeaponType type = Mockito.mock(WeaponType.class);
+        Mounted weapon = Mockito.mock(Mounted.class);
+        Mockito.when(weapon.getType()).thenReturn(type);
+        Mockito.when(weapon.isCrippled()).thenReturn(crippled);
+        Mockito.when(type.getDamage()).thenReturn(damage);
+        Mockito.when(type.getRackSize()).thenReturn(rackSize);
+        Mockito.when(type.getRanges(weapon)).thenReturn(ranges);
+        return weapon;
+    }
+
+    @Test
+    public void testMatchesFireControl() {
+        Random random = new Random(11);
+        for (int unit = 0; unit < 30; unit++) {
+            ArrayList<Mounted> weapons = new ArrayList<>();
+            for (int i = random.nextInt(8); i >= 0; i--) {
+                int shortRange = random.nextInt(8);
+                int mediumRange = shortRange + random.nextInt(8);
+                int longRange = mediumRange + random.nextInt(8);
+                int[] ranges = {random.nextInt(4), shortRange, mediumRange, longRange,
+                                longRange + random.nextInt(8)};
+                int damage = random.nextBoolean() ? WeaponType.DAMAGE_BY_CLUSTERTABLE : random.nextInt(15);
+                weapons.add(mockWeapon(damage, 5 * random.nextInt(5), random.nextInt(5) == 0,
+                                       (random.nextInt(10) == 0) ? null : ranges));
+            }
+            Entity entity = Mockito.mock(Entity.class);
+            Mockito.when(entity.getWeaponList()).thenReturn(weapons);
+
+            WeaponDamageProfile profile = WeaponDamageProfile.of(entity);
+            assertTrue(profile.isFor(entity));
+            assertFalse(profile.isFor(Mockito.mock(Entity.class)));
+            for (int range = 0; range < 60; range++) {
+                for (int flags = 0; flags < 4; flags++) {
+                    boolean extreme = (flags & 1) != 0;
+                    boolean los = (flags & 2) != 0;
+                    assertEquals(FireControl.getMaxDamageAtRange(entity, range, extreme, los),
+                                 profile.getMaxDamageAtRange(range, extreme, los), 0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.ui.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.Game;
+import megamek.common.Hex;
+import megamek.common.event.GameBoardChangeEvent;
+import megamek.common.event.GameEntityChangeEvent;
+
+public class GameChangeCoalescerTest {
+
+    private static Entity mockEntity(int id) {
+        Entity entity = Mockito.mock(Entity.class);
+        Mockito.when(entity.getId()).thenReturn(id);
+        return entity;
+    }
+
+    @Test
+    public void testBurstIsDeliveredOnce() throws Exception {
+        Game game = new Game();
+        game.setBoard(new Board(5, 5));
+        List<GameChangeCoalescer.ChangeSet> delivered = new ArrayList<>();
+        GameChangeCoalescer coalescer = new GameChangeCoalescer(game, delivered::add);
+
+        Entity first = mockEntity(1);
+        Entity firstAgain = mockEntity(1);
+        Entity second = mockEntity(2);
+        SwingUtilities.invokeAndWait(() -> {
+            game.processGameEvent(new GameEntityChangeEvent(game, first));
+            game.processGameEvent(new GameEntityChangeEvent(game, second));
+            game.processGameEvent(new GameEntityChangeEvent(game, firstAgain));
+            game.getBoard().setHex(new Coords(1, 1), new Hex());
+            game.getBoard().setHex(new Coords(2, 2), new Hex());
+            game.getBoard().setHex(new Coords(1, 1), new Hex());
+        });
+        // let the flush queued by the burst run
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(1, delivered.size());
+        GameChangeCoalescer.ChangeSet changes = delivered.get(0);
+        List<Entity> entities = new ArrayList<>(changes.getEntities());
+        assertEquals(2, entities.size());
+        assertSame(firstAgain, entities.get(0));
+        assertSame(second, entities.get(1));
+        assertEquals(2, changes.getHexes().size());
+        assertFalse(changes.isBoardChanged());
+
+        SwingUtilities.invokeAndWait(() -> game.processGameEvent(new GameBoardChangeEvent(game)));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(2, delivered.size());
+        assertTrue(delivered.get(1).isBoardChanged());
+        assertTrue(delivered.get(1).getEntities().isEmpty());
+
+        coalescer.dispose();
+        SwingUtilities.invokeAndWait(() -> game.processGameEvent(new GameBoardChangeEvent(game)));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(2, delivered.size());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.client.ui.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.IGame;
+import megamek.common.options.GameOptions;
+
+public class MovementEnvelopeServiceTest {
+
+    @Test
+    public void testInvalidatedRequestIsDelivered() throws Exception {
+        final Entity before = Mockito.mock(Entity.class);
+        Mockito.when(before.getId()).thenReturn(3);
+        Mockito.when(before.getPosition()).thenReturn(new Coords(1, 1));
+        final Entity after = Mockito.mock(Entity.class);
+        Mockito.when(after.getId()).thenReturn(3);
+        Mockito.when(after.getPosition()).thenReturn(new Coords(2, 2));
+        final IGame game = Mockito.mock(IGame.class);
+        Mockito.when(game.getOptions()).thenReturn(Mockito.mock(GameOptions.class));
+        Mockito.when(game.getEntity(3)).thenReturn(after);
+
+        final MovementEnvelopeService service = Mockito.spy(new MovementEnvelopeService(game));
+        final Map<Coords, Integer> envelope = Collections.singletonMap(new Coords(2, 3), 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger computed = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            computed.incrementAndGet();
+            if (invocation.getArgument(0) == before) {
+                // runs until the envelope is invalidated
+                started.countDown();
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+            }
+            return envelope;
+        }).when(service).computeEnvelope(Mockito.any(Entity.class), Mockito.anyInt(), Mockito.anyInt());
+
+        final BlockingQueue<Map<Coords, Integer>> delivered = new LinkedBlockingQueue<>();
+        service.request(before, MovementDisplay.GEAR_LAND, delivered::add);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // the unit was updated by the server while its envelope was worked out
+        service.invalidate();
+
+        assertSame(envelope, delivered.poll(5, TimeUnit.SECONDS));
+        assertEquals(2, computed.get());
+        Mockito.verify(service).computeEnvelope(Mockito.eq(after), Mockito.eq(MovementDisplay.GEAR_LAND),
+                Mockito.anyInt());
+        service.shutdown();
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    public void testChangeDropsOnlyTheEnvelopesItAffects() throws Exception {
+        final Entity near = mockEntity(1, new Coords(1, 1));
+        final Entity far = mockEntity(2, new Coords(10, 10));
+        final Entity other = mockEntity(3, new Coords(5, 5));
+        final IGame game = mockGame(near, far, other);
+
+        final MovementEnvelopeService service = Mockito.spy(new MovementEnvelopeService(game));
+        final Map<Entity, AtomicInteger> computed = new ConcurrentHashMap<>();
+        Mockito.doAnswer(invocation -> {
+            final Entity en = invocation.getArgument(0);
+            if ((int) invocation.getArgument(1) == MovementDisplay.GEAR_LAND) {
+                computed.computeIfAbsent(en, e -> new AtomicInteger()).incrementAndGet();
+            }
+            return Collections.singletonMap(en.getPosition().translated(3), 1);
+        }).when(service).computeEnvelope(Mockito.any(Entity.class), Mockito.anyInt(), Mockito.anyInt());
+
+        final BlockingQueue<Map<Coords, Integer>> delivered = new LinkedBlockingQueue<>();
+        service.request(near, MovementDisplay.GEAR_LAND, delivered::add);
+        assertEquals(Collections.singletonMap(new Coords(1, 2), 1), delivered.poll(5, TimeUnit.SECONDS));
+        service.request(far, MovementDisplay.GEAR_LAND, delivered::add);
+        assertEquals(Collections.singletonMap(new Coords(10, 11), 1), delivered.poll(5, TimeUnit.SECONDS));
+
+        // another unit moves next to where the far unit can go
+        Mockito.when(other.getPosition()).thenReturn(new Coords(10, 12));
+        service.invalidate(other);
+        service.request(near, MovementDisplay.GEAR_LAND, delivered::add);
+        assertEquals(Collections.singletonMap(new Coords(1, 2), 1), delivered.poll(5, TimeUnit.SECONDS));
+        service.request(far, MovementDisplay.GEAR_LAND, delivered::add);
+        assertEquals(Collections.singletonMap(new Coords(10, 11), 1), delivered.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, computed.get(near).get());
+        assertEquals(2, computed.get(far).get());
+
+        // a unit's own change always drops its envelopes
+        service.invalidate(near);
+        service.request(near, MovementDisplay.GEAR_LAND, delivered::add);
+        assertEquals(Collections.singletonMap(new Coords(1, 2), 1), delivered.poll(5, TimeUnit.SECONDS));
+        assertEquals(2, computed.get(near).get());
+        service.shutdown();
+    }
+
+    @Test
+    public void testFailedRequestIsComputedAgain() throws Exception {
+        final Entity en = mockEntity(1, new Coords(1, 1));
+        final IGame game = mockGame(en);
+
+        final MovementEnvelopeService service = Mockito.spy(new MovementEnvelopeService(game));
+        final Map<Coords, Integer> envelope = Collections.singletonMap(new Coords(1, 2), 1);
+        final AtomicInteger computed = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            if (computed.incrementAndGet() == 1) {
+                // the game was changed while the paths were found
+                throw new ConcurrentModificationException();
+            }
+            return envelope;
+        }).when(service).computeEnvelope(Mockito.any(Entity.class), Mockito.anyInt(), Mockito.anyInt());
+
+        final BlockingQueue<Map<Coords, Integer>> delivered = new LinkedBlockingQueue<>();
+        service.request(en, MovementDisplay.GEAR_LAND, delivered::add);
+        assertSame(envelope, delivered.poll(5, TimeUnit.SECONDS));
+        assertEquals(2, computed.get());
+        service.shutdown();
+    }
+
+    private static Entity mockEntity(int id, Coords position) {
+        final Entity en = Mockito.mock(Entity.class);
+        Mockito.when(en.getId()).thenReturn(id);
+        Mockito.when(en.getPosition()).thenReturn(position);
+        return en;
+    }
+
+    private static IGame mockGame(Entity... entities) {
+        final IGame game = Mockito.mock(IGame.class);
+        Mockito.when(game.getOptions()).thenReturn(Mockito.mock(GameOptions.class));
+        Mockito.when(game.getEntitiesVector()).thenReturn(Arrays.asList(entities));
+        for (Entity en : entities) {
+            Mockito.when(game.getEntity(en.getId())).thenReturn(en);
+        }
+        return game;
+    }
+}
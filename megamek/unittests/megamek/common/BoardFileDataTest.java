@@ -0,0 +1,79 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StreamTokenizer;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoardFileDataTest {
+
+    private static final String BOARD = "# a comment\n"
+            + "size 2 2\n"
+            + "option exit_roads_to_pavement false\n"
+            + "hex 0101 0 \"\" \"\"\n"
+            + "hex 0201 -2 \"water:2\" \"\"\n"
+            + "hex 0102 1 \"woods:1;foliage_elev:2\" \"snow\"\n"
+            + "hex 0202 3 \"\" \"\" / the rest is a comment\r\n"
+            + "description \"First\"\n"
+            + "description \"Second \\\"quoted\\\"\"\n"
+            + "note 0102 \"A note\"\n"
+            + "end\n";
+
+    @Test
+    public void testParse() throws IOException {
+        BoardFileData data = BoardFileData.parse(new ByteArrayInputStream(BOARD.getBytes()));
+        assertEquals(2, data.getWidth());
+        assertEquals(2, data.getHeight());
+        assertEquals(Boolean.FALSE, data.getRoadsAutoExit());
+        assertEquals("First\n\nSecond \"quoted\"", data.getDescription());
+        assertEquals("A note", data.getAnnotations().get(new Coords(1, 2)).iterator().next());
+
+        IHex[] hexes = data.createHexes();
+        assertEquals(-2, hexes[1].getLevel());
+        assertEquals(2, hexes[1].terrainLevel(Terrains.WATER));
+        assertEquals(1, hexes[2].terrainLevel(Terrains.WOODS));
+        assertEquals("snow", hexes[2].getTheme());
+        assertEquals(3, hexes[3].getLevel());
+        assertEquals(new Coords(1, 1), hexes[3].getCoords());
+        // the parsed hexes are kept, so callers get copies
+        assertNotSame(hexes[1], data.createHexes()[1]);
+    }
+
+    @Test
+    public void testScannerMatchesStreamTokenizer() throws IOException {
+        String text = BOARD + "x-1 -.5 - 3.25 'single' \"unterminated\nété \\101 a_b;c\t\"\\101\\n\"";
+        StreamTokenizer st = new StreamTokenizer(new StringReader(text));
+        st.eolIsSignificant(true);
+        st.commentChar('#');
+        st.quoteChar('"');
+        st.wordChars('_', '_');
+        BoardFileData.Scanner sc = new BoardFileData.Scanner(text);
+        do {
+            st.nextToken();
+            assertEquals(st.ttype, sc.nextToken());
+            if (st.ttype == StreamTokenizer.TT_NUMBER) {
+                assertEquals(st.nval, sc.nval, 1e-9);
+            } else {
+                assertEquals(st.sval, sc.sval);
+            }
+        } while (st.ttype != StreamTokenizer.TT_EOF);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BoardSourceTest {
+
+    private File boardsDir;
+    private File boardFile;
+
+    @Before
+    public void setUp() throws IOException {
+        boardsDir = Files.createTempDirectory("boards").toFile();
+        boardsDir.deleteOnExit();
+        boardFile = new File(boardsDir, "test.board");
+        boardFile.deleteOnExit();
+        writeBoard(0);
+        Configuration.setBoardsDir(boardsDir);
+        BoardCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        Configuration.setBoardsDir(null);
+        BoardCache.getInstance().clear();
+    }
+
+    /**
+     * Writes a 4x3 board with light woods in 0201 and the given level in 0101.
+     */
+    private void writeBoard(int level) throws IOException {
+        try (PrintWriter out = new PrintWriter(boardFile, "UTF-8")) {
+            out.println("size 4 3");
+            for (int y = 1; y <= 3; y++) {
+                for (int x = 1; x <= 4; x++) {
+                    final int hexLevel = ((x == 1) && (y == 1)) ? level : 0;
+                    final String terrain = ((x == 2) && (y == 1)) ? "woods:1" : "";
+                    out.println(String.format("hex %02d%02d %d \"%s\" \"\"", x, y, hexLevel, terrain));
+                }
+            }
+            out.println("end");
+        }
+    }
+
+    private static BoardSource newSource() {
+        final BoardSource source = new BoardSource(4, 3, 1, 1, MapSettings.MEDIUM_GROUND);
+        assertTrue(source.addSheet("test", false));
+        return source;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void testDeltaRoundTrip() throws Exception {
+        final BoardSource source = newSource();
+        final IBoard base = source.prepare();
+        assertNotNull(base);
+        assertEquals(BoardSource.hashHexes(base), source.getHexHash());
+
+        final Board board = new Board();
+        board.load(boardFile);
+        board.setHex(new Coords(2, 1), new Hex(2));
+        final Board delta = board.createDelta(base);
+        assertNull(delta.getHex(0, 0));
+        assertNotNull(delta.getHex(2, 1));
+
+        // the client builds its own base board from the same files
+        BoardCache.getInstance().clear();
+        final BoardSource received = roundTrip(source);
+        final Board receivedDelta = roundTrip(delta);
+        assertTrue(received.restore(receivedDelta));
+        assertEquals(BoardSource.hashHexes(board), BoardSource.hashHexes(receivedDelta));
+        assertEquals(2, receivedDelta.getHex(2, 1).getLevel());
+        assertTrue(receivedDelta.getHex(1, 0).containsTerrain(Terrains.WOODS));
+    }
+
+    @Test
+    public void testChangedBoardFileIsRejected() throws Exception {
+        final BoardSource source = newSource();
+        final IBoard base = source.prepare();
+        final Board board = new Board();
+        board.load(boardFile);
+        final Board delta = roundTrip(board.createDelta(base));
+
+        // the client's copy of the file differs from the server's
+        BoardCache.getInstance().clear();
+        writeBoard(3);
+        assertNull(BoardCache.getInstance().getBaseBoard(source));
+        assertFalse(source.restore(delta));
+        assertNull(delta.getHex(0, 0));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class EntitySpatialIndexTest {
+
+    @Test
+    public void testRadius() {
+        EntitySpatialIndex index = new EntitySpatialIndex();
+        Coords center = new Coords(10, 10);
+        index.update(1, center);
+        index.update(2, center.translated(0, 3));
+        index.update(3, center.translated(2, 9));
+        index.update(4, new Coords(40, 40));
+
+        assertEquals(Collections.singletonList(1), sorted(index.idsBetween(center, 0, 0)));
+        assertEquals(Arrays.asList(1, 2), sorted(index.idsBetween(center, 0, 3)));
+        assertEquals(Collections.singletonList(3), sorted(index.idsBetween(center, 9, 9)));
+        assertEquals(Arrays.asList(1, 2, 3, 4), sorted(index.idsBetween(center, 0, 100)));
+    }
+
+    @Test
+    public void testMatchesDistance() {
+        EntitySpatialIndex index = new EntitySpatialIndex();
+        int id = 0;
+        for (int x = -5; x < 30; x += 3) {
+            for (int y = -5; y < 30; y += 2) {
+                index.update(id++, new Coords(x, y));
+            }
+        }
+        Coords center = new Coords(7, 8);
+        for (int radius = 0; radius < 20; radius++) {
+            List<Integer> found = index.idsBetween(center, radius, radius + 2);
+            int expected = 0;
+            id = 0;
+            for (int x = -5; x < 30; x += 3) {
+                for (int y = -5; y < 30; y += 2) {
+                    int distance = center.distance(new Coords(x, y));
+                    if ((distance >= radius) && (distance <= radius + 2)) {
+                        expected++;
+                        assertTrue(found.contains(id));
+                    }
+                    id++;
+                }
+            }
+            assertEquals(expected, found.size());
+        }
+    }
+
+    @Test
+    public void testMoveAndRemove() {
+        EntitySpatialIndex index = new EntitySpatialIndex();
+        Coords center = new Coords(0, 0);
+        index.update(1, center);
+        index.update(1, new Coords(20, 20));
+        assertTrue(index.idsBetween(center, 0, 5).isEmpty());
+        assertEquals(Collections.singletonList(1), index.idsBetween(new Coords(20, 20), 0, 0));
+
+        index.update(1, null);
+        assertTrue(index.isEmpty());
+        index.update(2, center);
+        index.remove(2);
+        assertTrue(index.idsBetween(center, 0, 5).isEmpty());
+        assertTrue(index.isEmpty());
+    }
+
+    private static List<Integer> sorted(List<Integer> ids) {
+        Collections.sort(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+
+package megamek.common;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Vector;
+
+import org.junit.Test;
+
+public class GameReportsTest {
+
+    private static Vector<Report> roundReports(int round) {
+        Vector<Report> reports = new Vector<>();
+        Report r = new Report(1000 + round, Report.PUBLIC);
+        r.add(round, false);
+        r.add("hidden", true);
+        r.subject = round;
+        r.addObscuredRecipient("Bob");
+        reports.add(r);
+        reports.add(new Report(2000, Report.HIDDEN));
+        return reports;
+    }
+
+    @Test
+    public void archiveTest() throws Exception {
+        File dir = Files.createTempDirectory("reports").toFile();
+        dir.deleteOnExit();
+        GameReports reports = new GameReports();
+        reports.add(1, roundReports(1));
+        reports.setArchiveDirectory(dir);
+        for (int round = 2; round <= 5; round++) {
+            reports.add(round, roundReports(round));
+        }
+        assertEquals(5, reports.getRoundCount());
+
+        for (int round = 1; round <= 5; round++) {
+            assertTrue(reports.has(round));
+            Vector<Report> read = reports.get(round);
+            assertEquals(2, read.size());
+            Report r = read.get(0);
+            assertEquals(1000 + round, r.messageId);
+            assertEquals(Report.PUBLIC, r.type);
+            assertEquals(round, r.subject);
+            assertEquals(2, r.dataCount());
+            assertFalse(r.isValueObscured(0));
+            assertTrue(r.isValueObscured(1));
+            assertTrue(r.isObscuredRecipient("Bob"));
+            assertEquals(Report.HIDDEN, read.get(1).type);
+        }
+        assertEquals(5, reports.get().size());
+
+        // late reports for an archived round are kept
+        reports.add(2, roundReports(7));
+        assertEquals(4, reports.get(2).size());
+
+        reports.clear();
+        assertEquals(0, reports.getRoundCount());
+        assertFalse(reports.has(1));
+    }
+
+    @Test
+    public void missingRoundsTest() {
+        GameReports reports = new GameReports();
+        reports.add(1, roundReports(1));
+        reports.set(4, roundReports(4));
+        assertEquals(4, reports.getRoundCount());
+        assertTrue(reports.has(1));
+        assertFalse(reports.has(2));
+        assertFalse(reports.has(3));
+        assertTrue(reports.has(4));
+
+        reports.add(6, roundReports(6));
+        assertFalse(reports.has(5));
+        assertEquals(1006, reports.get(6).get(0).messageId);
+    }
+}
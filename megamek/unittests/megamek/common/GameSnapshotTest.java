@@ -0,0 +1,43 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GameSnapshotTest {
+
+    @Test
+    public void testSnapshotKeepsReplacedHexes() {
+        Game game = new Game();
+        game.setBoard(new Board(4, 4));
+        game.setPhase(IGame.Phase.PHASE_MOVEMENT);
+        Coords coords = new Coords(1, 2);
+        IHex original = game.getBoard().getHex(coords);
+
+        GameSnapshot snapshot = GameSnapshot.of(game);
+        IHex replacement = new Hex(3);
+        game.getBoard().setHex(coords, replacement);
+        game.setPhase(IGame.Phase.PHASE_FIRING);
+
+        assertSame(original, snapshot.getHex(coords));
+        assertSame(replacement, game.getBoard().getHex(coords));
+        assertSame(replacement, GameSnapshot.of(game).getHex(coords));
+        assertEquals(IGame.Phase.PHASE_MOVEMENT, snapshot.getPhase());
+        assertNull(snapshot.getHex(new Coords(4, 0)));
+        assertTrue(snapshot.getEntityIdsAt(coords).isEmpty());
+    }
+}
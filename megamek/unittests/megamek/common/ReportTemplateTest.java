@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+
+package megamek.common;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class ReportTemplateTest {
+    @Test
+    public void dataAndListTest() {
+        ReportTemplate template = ReportTemplate.compile("<data> hits <list>.");
+        List<ReportTemplate.Segment> segments = template.getSegments();
+        assertEquals(3, segments.size());
+        assertEquals(ReportTemplate.DATA, segments.get(0).type);
+        assertEquals(ReportTemplate.LITERAL, segments.get(1).type);
+        assertEquals(" hits ", segments.get(1).text);
+        assertEquals(ReportTemplate.LIST, segments.get(2).type);
+        assertEquals(".", template.getTail());
+    }
+
+    @Test
+    public void literalTagsTest() {
+        ReportTemplate template = ReportTemplate.compile("a <b>bold</b><newline>x < <data> y");
+        List<ReportTemplate.Segment> segments = template.getSegments();
+        assertEquals(2, segments.size());
+        assertEquals("a <b>bold</b>\nx < ", segments.get(0).text);
+        assertEquals(ReportTemplate.DATA, segments.get(1).type);
+        assertEquals(" y", template.getTail());
+    }
+
+    @Test
+    public void unclosedTagTest() {
+        ReportTemplate template = ReportTemplate.compile("less < than");
+        assertTrue(template.getSegments().isEmpty());
+        assertEquals("less < than", template.getTail());
+    }
+
+    @Test
+    public void reportTextTest() {
+        // 1023 is "for"
+        Report r = new Report(1023);
+        r.indent(1);
+        assertEquals("&nbsp;&nbsp;&nbsp;&nbsp;for\n", r.getText());
+
+        StringBuilder text = new StringBuilder("before\n");
+        r.appendText(text);
+        r.appendText(text);
+        assertEquals("before\n&nbsp;&nbsp;&nbsp;&nbsp;for\n&nbsp;&nbsp;&nbsp;&nbsp;for\n", text.toString());
+    }
+}
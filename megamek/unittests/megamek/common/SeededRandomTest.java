@@ -0,0 +1,88 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import org.junit.Test;
+
+import com.thoughtworks.xstream.XStream;
+
+import static org.junit.Assert.*;
+
+public class SeededRandomTest {
+
+    private static int[] roll(MMRandom random, int count) {
+        int[] rolls = new int[count];
+        for (int i = 0; i < count; i++) {
+            rolls[i] = random.d6(2).getIntValue();
+        }
+        return rolls;
+    }
+
+    @Test
+    public void testSameSeedGivesSameRolls() {
+        assertArrayEquals(roll(new MMRandom.SeededRandom(42), 50),
+                roll(new MMRandom.SeededRandom(42), 50));
+        assertFalse(java.util.Arrays.equals(roll(new MMRandom.SeededRandom(42), 50),
+                roll(new MMRandom.SeededRandom(43), 50)));
+    }
+
+    @Test
+    public void testRollsStayInRange() {
+        MMRandom random = new MMRandom.SeededRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            int value = random.randomInt(6);
+            assertTrue((value >= 0) && (value < 6));
+            float f = random.randomFloat();
+            assertTrue((f >= 0) && (f < 1));
+        }
+    }
+
+    @Test
+    public void testStreamsDontDependOnDrawOrder() {
+        MMRandom.SeededRandom first = new MMRandom.SeededRandom(42);
+        int[] attack = roll(first.stream("attack.1"), 20);
+
+        MMRandom.SeededRandom second = new MMRandom.SeededRandom(42);
+        roll(second, 20);
+        roll(second.stream("attack.2"), 20);
+        assertArrayEquals(attack, roll(second.stream("attack.1"), 20));
+        assertFalse(java.util.Arrays.equals(attack, roll(second.stream("attack.2"), 20)));
+    }
+
+    @Test
+    public void testStreamsChangeEveryRound() {
+        MMRandom.SeededRandom random = new MMRandom.SeededRandom(42);
+        random.setRound(1);
+        int[] firstRound = roll(random.stream("attack.1"), 20);
+        random.setRound(2);
+        assertFalse(java.util.Arrays.equals(firstRound, roll(random.stream("attack.1"), 20)));
+        random.setRound(1);
+        assertArrayEquals(firstRound, roll(random.stream("attack.1"), 20));
+    }
+
+    @Test
+    public void testSavedRandomCarriesOn() {
+        MMRandom.SeededRandom random = new MMRandom.SeededRandom(42);
+        random.setRound(3);
+        roll(random, 10);
+
+        XStream xstream = new XStream();
+        MMRandom.SeededRandom loaded = (MMRandom.SeededRandom) xstream.fromXML(xstream.toXML(random));
+
+        assertEquals(42, loaded.getSeed());
+        assertArrayEquals(roll(random, 10), roll(loaded, 10));
+        assertArrayEquals(roll(random.stream("attack.1"), 10), roll(loaded.stream("attack.1"), 10));
+    }
+}
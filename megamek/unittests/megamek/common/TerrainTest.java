@@ -0,0 +1,76 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class TerrainTest {
+
+    private final ITerrainFactory factory = new TerrainFactory();
+
+    @Test
+    public void testEqualTerrainsAreShared() {
+        final ITerrain woods = factory.createTerrain(Terrains.WOODS, 1);
+        assertSame(woods, factory.createTerrain(Terrains.WOODS, 1));
+        assertSame(woods, factory.createTerrain("woods:1"));
+        assertSame(woods, factory.createTerrain(new Terrain(Terrains.WOODS, 1)));
+        assertNotSame(woods, factory.createTerrain(Terrains.WOODS, 2));
+    }
+
+    @Test
+    public void testWithReturnsNewSharedTerrain() {
+        final ITerrain road = factory.createTerrain(Terrains.ROAD, 1, true, 0);
+
+        final ITerrain withExits = road.withExits(9);
+        assertNotSame(road, withExits);
+        assertEquals(0, road.getExits());
+        assertEquals(9, withExits.getExits());
+        assertTrue(withExits.hasExitsSpecified());
+        assertSame(withExits, factory.createTerrain(Terrains.ROAD, 1, true, 9));
+        assertSame(withExits, road.withExit(0, true).withExit(3, true));
+        assertSame(road, withExits.withExits(0));
+        assertSame(road, road.withExits(0));
+
+        final ITerrain withFactor = road.withTerrainFactor(40);
+        assertNotSame(road, withFactor);
+        assertEquals(40, withFactor.getTerrainFactor());
+        assertSame(withFactor, road.withTerrainFactor(40));
+        assertSame(road, road.withTerrainFactor(road.getTerrainFactor()));
+
+        assertSame(factory.createTerrain(Terrains.ROAD, 1, true, 8), road.withExits(1).withFlippedExits(false, true));
+    }
+
+    @Test
+    public void testDeserializedTerrainsAreShared() throws Exception {
+        final ITerrain woods = factory.createTerrain(Terrains.WOODS, 2);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(woods);
+            // one that was never interned
+            out.writeObject(new Terrain(Terrains.WATER, 3));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(woods, in.readObject());
+            assertSame(factory.createTerrain(Terrains.WATER, 3), in.readObject());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        // Percentiles are reported as the upper bound of a power-of-two bucket
+        assertEquals(63, histogram.getPercentile(0.5));
+        assertEquals(100, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    public void testRegistry() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.counter("a.counter").add(3);
+        metrics.counter("a.counter").increment();
+        metrics.timer("a.timer").record(2, TimeUnit.MILLISECONDS);
+        metrics.registerGauge("a.gauge", () -> 7);
+
+        assertEquals(4, metrics.counter("a.counter").getCount());
+        assertEquals(1, metrics.timer("a.timer").getDurations().getCount());
+        String json = metrics.toJson();
+        assertTrue(json.contains("\"a.counter\":4"));
+        assertTrue(json.contains("\"a.gauge\":7"));
+        assertTrue(json.contains("\"a.timer\":{\"count\":1,\"sum\":2000"));
+
+        metrics.reset();
+        assertEquals(0, metrics.counter("a.counter").getCount());
+        assertTrue(metrics.toJson().contains("\"a.gauge\":7"));
+        metrics.removeGauges("a.");
+        assertFalse(metrics.toJson().contains("a.gauge"));
+    }
+}
@@ -1,5 +1,7 @@
 package megamek.common.util;
 
+import megamek.common.BoardSource;
+import megamek.common.MapSettings;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -58,4 +60,20 @@ public class BoardUtilitiesTest {
         expected = 0;
         Assert.assertEquals(expected, BoardUtilities.craterProfile(distanceFromCenter, craterRadius, maxDepth));
     }
+
+    @Test
+    public void testGenerateRandomIsReproducible() {
+        MapSettings mapSettings = MapSettings.getInstance();
+        mapSettings.setBoardSize(24, 24);
+        mapSettings.setRiverParam(100);
+        mapSettings.setRoadParam(100);
+        mapSettings.setCityParams(4, "HUB", 10, 100, 1, 6, 60, 3);
+
+        for (int algorithm = 0; algorithm < BoardUtilities.getAmountElevationGenerators(); algorithm++) {
+            mapSettings.setAlgorithmToUse(algorithm);
+            String first = BoardSource.hashHexes(BoardUtilities.generateRandom(mapSettings, 1234L));
+            String second = BoardSource.hashHexes(BoardUtilities.generateRandom(mapSettings, 1234L));
+            Assert.assertEquals(first, second);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020 - The MegaMek Team. All Rights Reserved.
+ *
+ * This file is part of MegaMek.
+ *
+ * MegaMek is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MegaMek is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MegaMek. If not, see <http://www.gnu.org/licenses/>.
+ */
+package megamek.common.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class WeightedSamplerTest {
+
+    @Test
+    public void testMatchesLinearScan() {
+        Random random = new Random(7);
+        for (int table = 0; table < 50; table++) {
+            int[] weights = new int[1 + random.nextInt(40)];
+            int total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                // some entries without weight, some very heavy
+                weights[i] = (random.nextInt(4) == 0) ? 0 : random.nextInt(random.nextBoolean() ? 5 : 500);
+                total += weights[i];
+            }
+            WeightedSampler sampler = new WeightedSampler(weights);
+            assertEquals(total, (int) sampler.getTotal());
+            for (int roll = 0; roll < total; roll++) {
+                assertEquals(linearScan(weights, roll), sampler.indexOf(roll));
+            }
+        }
+    }
+
+    @Test
+    public void testEdges() {
+        WeightedSampler sampler = new WeightedSampler(new int[] { 0, 3, 0, 2, 0 });
+        assertEquals(1, sampler.indexOf(-1));
+        assertEquals(1, sampler.indexOf(0));
+        assertEquals(1, sampler.indexOf(2.999));
+        assertEquals(3, sampler.indexOf(3));
+        assertEquals(3, sampler.indexOf(5));
+        assertEquals(3, sampler.indexOf(100));
+
+        assertEquals(-1, new WeightedSampler(new int[] { 0, 0 }).indexOf(0));
+        assertEquals(-1, new WeightedSampler(new int[0]).indexOf(0));
+    }
+
+    private static int linearScan(int[] weights, int roll) {
+        for (int i = 0; i < weights.length; i++) {
+            if (roll < weights[i]) {
+                return i;
+            }
+            roll -= weights[i];
+        }
+        return -1;
+    }
+}
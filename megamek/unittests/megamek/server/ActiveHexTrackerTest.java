@@ -0,0 +1,111 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Hex;
+import megamek.common.IBoard;
+import megamek.common.IGame;
+import megamek.common.IHex;
+import megamek.common.Report;
+import megamek.common.Terrains;
+import megamek.common.options.OptionsConstants;
+
+public class ActiveHexTrackerTest {
+
+    private static final int WIDTH = 16;
+    private static final int HEIGHT = 17;
+
+    private Server server;
+    private IGame game;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new Server("", 0);
+        game = server.getGame();
+        IHex[] hexes = new IHex[WIDTH * HEIGHT];
+        for (int i = 0; i < hexes.length; i++) {
+            // a forest with a lake in it
+            hexes[i] = ((i % WIDTH) < 3) ? new Hex(0, "water:1", "") : new Hex(0, "woods:1", "");
+        }
+        game.setBoard(new Board(WIDTH, HEIGHT, hexes));
+        game.getOptions().getOption(OptionsConstants.ADVCOMBAT_TACOPS_START_FIRE).setValue(true);
+        game.getOptions().getOption(OptionsConstants.ADVANCED_WOODS_BURN_DOWN).setValue(true);
+    }
+
+    @After
+    public void tearDown() {
+        server.die();
+    }
+
+    @Test
+    public void testTerrainChangedInPlaceIsTracked() {
+        Vector<Report> reports = new Vector<>();
+        // start tracking before the board is changed, not with the first check
+        assertTracked();
+        server.ignite(new Coords(8, 8), Terrains.FIRE_LVL_NORMAL, reports);
+        server.ignite(new Coords(12, 3), Terrains.FIRE_LVL_INFERNO, reports);
+        assertTracked();
+        assertEquals(2, server.getActiveHexes().getHexes(Terrains.FIRE).size());
+
+        server.deliverScreen(new Coords(5, 5), reports);
+        server.deliverScreen(new Coords(5, 5), reports);
+        assertTracked();
+
+        // fires spread and burn out through the end phase processors
+        for (int round = 0; round < 20; round++) {
+            server.resolveTerrainChanges();
+            assertTracked();
+        }
+        assertTrue(server.getActiveHexes().getHexes(Terrains.FIRE).size() > 2);
+
+        for (Coords fire : server.getActiveHexes().getHexes(Terrains.FIRE)) {
+            server.removeFire(fire, "test");
+        }
+        assertTracked();
+        assertTrue(server.getActiveHexes().getHexes(Terrains.FIRE).isEmpty());
+    }
+
+    /**
+     * Checks the tracked hexes against a scan of the whole board.
+     */
+    private void assertTracked() {
+        IBoard board = game.getBoard();
+        for (int terrain : ActiveHexTracker.TRACKED_TERRAINS) {
+            List<Coords> scanned = new ArrayList<>();
+            for (int x = 0; x < board.getWidth(); x++) {
+                for (int y = 0; y < board.getHeight(); y++) {
+                    if (board.getHex(x, y).containsTerrain(terrain)) {
+                        scanned.add(new Coords(x, y));
+                    }
+                }
+            }
+            assertEquals(Terrains.getName(terrain), scanned, server.getActiveHexes().getHexes(terrain));
+        }
+        assertTrue(server.getActiveHexes().isUpToDate());
+    }
+}
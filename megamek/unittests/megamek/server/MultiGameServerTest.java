@@ -0,0 +1,272 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import megamek.common.Compute;
+import megamek.common.IPlayer;
+import megamek.common.MMRandom;
+import megamek.common.net.ConnectionListener;
+import megamek.common.net.DisconnectedEvent;
+import megamek.common.net.IConnection;
+import megamek.common.net.Packet;
+import megamek.common.net.PacketReceivedEvent;
+
+public class MultiGameServerTest {
+
+    private MultiGameServer host;
+
+    @Before
+    public void setUp() throws Exception {
+        host = new MultiGameServer("", 0, 4);
+    }
+
+    @After
+    public void tearDown() {
+        host.die();
+    }
+
+    @Test
+    public void testRoomName() {
+        assertEquals("arena", MultiGameServer.getRoomName("Bob@arena"));
+        assertEquals("arena", MultiGameServer.getRoomName("bob@home.net@arena"));
+        assertEquals("arena", MultiGameServer.getRoomName("Bob@ arena "));
+        assertEquals(MultiGameServer.DEFAULT_ROOM, MultiGameServer.getRoomName("Bob"));
+        assertEquals(MultiGameServer.DEFAULT_ROOM, MultiGameServer.getRoomName("Bob@"));
+        assertEquals(MultiGameServer.DEFAULT_ROOM, MultiGameServer.getRoomName(null));
+        assertEquals(MultiGameServer.DEFAULT_ROOM,
+                     MultiGameServer.getRoomName("Bob@abcdefghijklmnopqrstuvwxyzabcdefghijklmnopqrstuvwxyz"));
+    }
+
+    @Test
+    public void testRooms() throws Exception {
+        FakeConnection alice = new FakeConnection(0);
+        FakeConnection bob = new FakeConnection(1);
+        host.accept(alice);
+        host.accept(bob);
+        assertEquals(Packet.COMMAND_SERVER_GREETING, alice.sent.get(0).getCommand());
+        assertEquals(Packet.COMMAND_SERVER_GREETING, bob.sent.get(0).getCommand());
+
+        // each client names itself on a thread of its own, like its connection handler would
+        AtomicReference<Server> aliceServer = new AtomicReference<>();
+        Thread aliceThread = new Thread(() -> {
+            alice.receive(new Packet(Packet.COMMAND_CLIENT_NAME, new Object[] { "Alice@arena", false }));
+            aliceServer.set(Server.getServerInstance());
+        });
+        aliceThread.start();
+        aliceThread.join();
+        AtomicReference<Server> bobServer = new AtomicReference<>();
+        Thread bobThread = new Thread(() -> {
+            bob.receive(new Packet(Packet.COMMAND_CLIENT_NAME, new Object[] { "Bob@keep", false }));
+            bobServer.set(Server.getServerInstance());
+        });
+        bobThread.start();
+        bobThread.join();
+
+        assertEquals(Arrays.asList("arena", "keep", MultiGameServer.DEFAULT_ROOM), host.getRoomNames());
+        Server arena = host.getRoom("arena");
+        Server keep = host.getRoom("keep");
+        assertEquals(Arrays.asList("Alice@arena"), getPlayerNames(arena));
+        assertEquals(Arrays.asList("Bob@keep"), getPlayerNames(keep));
+        assertTrue(getPlayerNames(host.getRoom(MultiGameServer.DEFAULT_ROOM)).isEmpty());
+        assertNotSame(arena.getGame(), keep.getGame());
+        assertNotSame(arena.getMetrics(), keep.getMetrics());
+
+        // the rooms find themselves while handling their clients' packets
+        assertSame(arena, aliceServer.get());
+        assertSame(keep, bobServer.get());
+        AtomicReference<Server> otherServer = new AtomicReference<>();
+        Thread otherThread = new Thread(() -> otherServer.set(Server.getServerInstance()));
+        otherThread.start();
+        otherThread.join();
+        assertNotSame(arena, otherServer.get());
+        assertNotSame(keep, otherServer.get());
+
+        // a room is closed once it has been empty for a while, the others stay
+        bob.close();
+        long now = System.currentTimeMillis();
+        host.closeIdle(now);
+        assertNotNull(host.getRoom("keep"));
+        host.closeIdle(now + MultiGameServer.IDLE_ROOM_TIMEOUT + 1);
+        assertNull(host.getRoom("keep"));
+        assertSame(arena, host.getRoom("arena"));
+        assertNotNull(host.getRoom(MultiGameServer.DEFAULT_ROOM));
+    }
+
+    @Test
+    public void testRoomsRollWithTheirOwnRNG() throws Exception {
+        Server arena = join(new FakeConnection(0), "Alice@arena");
+        Server keep = join(new FakeConnection(1), "Bob@keep");
+        arena.setRandomSeed(42);
+        MMRandom arenaRNG = arena.getGame().getSeededRandom();
+        try {
+            // neither another room nor the process replace the generator of a room
+            keep.setRandomSeed(7);
+            Compute.setRNG(MMRandom.R_CRYPTO);
+            AtomicReference<MMRandom> rng = new AtomicReference<>();
+            arena.runAs(() -> rng.set(Compute.getRNG()));
+            assertSame(arenaRNG, rng.get());
+            keep.runAs(() -> rng.set(Compute.getRNG()));
+            assertSame(keep.getGame().getSeededRandom(), rng.get());
+            assertNotSame(arenaRNG, Compute.getRNG());
+
+            // the seeded room rolls as its seed says, whatever the other room rolls
+            MMRandom replay = new MMRandom.SeededRandom(42);
+            int[] roll = new int[1];
+            for (int i = 0; i < 20; i++) {
+                arena.runAs(() -> roll[0] = Compute.d6(2));
+                keep.runAs(() -> Compute.d6(2));
+                assertEquals(replay.d6(2).getIntValue(), roll[0]);
+            }
+        } finally {
+            Compute.setRNG(MMRandom.R_DEFAULT);
+        }
+    }
+
+    /**
+     * @return the room the client joined by naming itself
+     */
+    private Server join(FakeConnection connection, String name) throws InterruptedException {
+        host.accept(connection);
+        // on a thread of its own, like its connection handler would
+        Thread thread = new Thread(() -> connection.receive(
+                new Packet(Packet.COMMAND_CLIENT_NAME, new Object[] { name, false })));
+        thread.start();
+        thread.join();
+        return host.getRoom(MultiGameServer.getRoomName(name));
+    }
+
+    private static List<String> getPlayerNames(Server server) {
+        List<String> names = new ArrayList<>();
+        for (IPlayer player : server.getGame().getPlayersVector()) {
+            names.add(player.getName());
+        }
+        return names;
+    }
+
+    /**
+     * A connection without a socket that records what is sent through it.
+     */
+    private static class FakeConnection implements IConnection {
+        final List<Packet> sent = new CopyOnWriteArrayList<>();
+        private final List<ConnectionListener> listeners = new CopyOnWriteArrayList<>();
+        private volatile boolean closed = false;
+        private int id;
+
+        FakeConnection(int id) {
+            this.id = id;
+        }
+
+        void receive(Packet packet) {
+            for (ConnectionListener listener : listeners) {
+                listener.packetReceived(new PacketReceivedEvent(this, packet));
+            }
+        }
+
+        @Override
+        public boolean open() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                for (ConnectionListener listener : listeners) {
+                    listener.disconnected(new DisconnectedEvent(this));
+                }
+            }
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getInetAddress() {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public void update() {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void send(Packet packet) {
+            sent.add(packet);
+        }
+
+        @Override
+        public boolean hasPending() {
+            return false;
+        }
+
+        @Override
+        public long bytesSent() {
+            return 0;
+        }
+
+        @Override
+        public long bytesReceived() {
+            return 0;
+        }
+
+        @Override
+        public void addConnectionListener(ConnectionListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeConnectionListener(ConnectionListener listener) {
+            listeners.remove(listener);
+        }
+    }
+}
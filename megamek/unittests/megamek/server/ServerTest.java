@@ -0,0 +1,158 @@
+/*
+ * MegaMek -
+ * Copyright (C) 2020 The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megamek.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import megamek.common.BipedMech;
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Engine;
+import megamek.common.Entity;
+import megamek.common.Game;
+import megamek.common.EquipmentType;
+import megamek.common.Hex;
+import megamek.common.IGame;
+import megamek.common.IHex;
+import megamek.common.IPlayer;
+import megamek.common.LocationFullException;
+import megamek.common.Mech;
+import megamek.common.Player;
+import megamek.common.Targetable;
+import megamek.common.ToHitData;
+import megamek.common.actions.WeaponAttackAction;
+import megamek.common.options.OptionsConstants;
+
+public class ServerTest {
+
+    private Server server;
+    private IGame game;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new Server("", 0);
+        game = server.getGame();
+        IHex[] hexes = new IHex[16 * 17];
+        for (int i = 0; i < hexes.length; i++) {
+            hexes[i] = new Hex();
+        }
+        hexes[5 * 16 + 5] = new Hex(0, "woods:1", "");
+        game.setBoard(new Board(16, 17, hexes));
+        game.getOptions().getOption(OptionsConstants.ADVANCED_TACOPS_BAP).setValue(true);
+        game.addPlayer(0, new Player(0, "Blue"));
+        game.addPlayer(1, new Player(1, "Red"));
+    }
+
+    @After
+    public void tearDown() {
+        if (null != server) {
+            server.die();
+        }
+    }
+
+    @Test
+    public void testReportArchiveIsDeletedWithItsGame() throws Exception {
+        File directory = Files.createTempDirectory("reports").toFile();
+        try {
+            server.setReportArchiveDirectory(directory);
+            File[] files = directory.listFiles();
+            assertEquals(1, files.length);
+
+            // a loaded game gets an archive of its own, the old one is gone
+            server.setGame(new Game());
+            assertFalse(files[0].exists());
+            files = directory.listFiles();
+            assertEquals(1, files.length);
+
+            server.die();
+            server = null;
+            assertFalse(files[0].exists());
+        } finally {
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void testPrecomputedToHitsMatchThoseWorkedOutInOrder() throws Exception {
+        Entity target = createMech(1, new Coords(5, 5));
+        Entity plain = createMech(0, new Coords(4, 9), "ISMediumLaser");
+        Entity networked = createMech(0, new Coords(5, 9), "ISMediumLaser", "ISMediumLaser", "ISC3iUnit");
+        Entity withBAP = createMech(0, new Coords(6, 9), "ISMediumLaser", "ISC3iUnit", "ISBeagleActiveProbe");
+        withBAP.setC3NetIdSelf();
+        networked.setC3NetId(withBAP);
+
+        // the networked unit only shares the BAP bonus once the unit with BAP has fired
+        List<WeaponAttackAction> attacks = Arrays.asList(attack(networked, 0, target), attack(plain, 0, target),
+                attack(withBAP, 0, target), attack(networked, 1, target));
+
+        ToHitData[] inOrder = new ToHitData[attacks.size()];
+        for (int i = 0; i < attacks.size(); i++) {
+            inOrder[i] = attacks.get(i).toHit(game);
+        }
+        assertEquals(inOrder[0].getValue() - 1, inOrder[3].getValue());
+
+        networked.setNetworkBAP(false);
+        ToHitData[] precomputed = server.precomputeToHits(attacks);
+        assertNull(precomputed[0]);
+        assertNotNull(precomputed[1]);
+        assertNull(precomputed[2]);
+        assertNull(precomputed[3]);
+        for (int i = 0; i < attacks.size(); i++) {
+            ToHitData toHit = (precomputed[i] != null) ? precomputed[i] : attacks.get(i).toHit(game);
+            assertEquals(inOrder[i].getValue(), toHit.getValue());
+            assertEquals(inOrder[i].getDesc(), toHit.getDesc());
+        }
+    }
+
+    private Entity createMech(int owner, Coords position, String... equipment) throws LocationFullException {
+        Mech mech = new BipedMech();
+        mech.setWeight(50);
+        mech.setEngine(new Engine(200, Engine.NORMAL_ENGINE, 0));
+        mech.autoSetInternal();
+        for (int loc = 0; loc < mech.locations(); loc++) {
+            mech.initializeArmor(5, loc);
+        }
+        for (String name : equipment) {
+            mech.addEquipment(EquipmentType.get(name), Mech.LOC_RARM);
+        }
+        mech.setOwner(game.getPlayer(owner));
+        mech.setId(game.getNextEntityId());
+        game.addEntity(mech);
+        mech.setPosition(position);
+        mech.setFacing(0);
+        mech.setDeployed(true);
+        return mech;
+    }
+
+    private WeaponAttackAction attack(Entity attacker, int weapon, Entity target) {
+        int weaponId = attacker.getEquipmentNum(attacker.getWeaponList().get(weapon));
+        return new WeaponAttackAction(attacker.getId(), Targetable.TYPE_ENTITY, target.getId(), weaponId);
+    }
+}